@@ -0,0 +1,129 @@
+package minecrafttransportsimulator.blocks.tileentities.instances;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntitySignalController.SignalDirection;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntitySignalController.SignalGroup;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.items.instances.ItemDecor;
+import minecrafttransportsimulator.mcinterface.HeadlessHarness;
+import minecrafttransportsimulator.mcinterface.HeadlessNBT;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+import minecrafttransportsimulator.packloading.PackParser;
+
+/**
+ * Benchmarks signal controllers that change for waiting vehicles.  Intersections are in a grid, each with
+ * 10 vehicles driving through it, so the waiting areas of the controllers are entered and left as vehicles move.
+ * {@link #tick()} is the time of one world tick.  Timed controllers don't check for vehicles, so comparing them
+ * with vehicle controllers gives the cost of the waiting areas, including keeping them up to date as vehicles move.
+ * {@link #scanAllGroups()} is one round of the vehicle scan that controllers used before waiting areas,
+ * which all groups ran once every 40 ticks.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignalControllerBenchmark {
+    private static final int INTERSECTIONS = 50;
+    private static final int INTERSECTIONS_PER_ROW = 10;
+    private static final int INTERSECTION_SPACING = 200;
+    private static final int VEHICLES_PER_INTERSECTION = 10;
+
+    @Param({"none", "timed", "vehicle"})
+    public String controllerMode;
+
+    private HeadlessWorld world;
+    private final List<TileEntitySignalController> signalControllers = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.init();
+        world = new HeadlessWorld(64);
+        ItemDecor item = PackParser.getItem(HeadlessHarness.PACK_ID, HeadlessHarness.SIGNAL_CONTROLLER);
+        for (int i = 0; i < INTERSECTIONS; ++i) {
+            Point3D center = new Point3D(i % INTERSECTIONS_PER_ROW * INTERSECTION_SPACING, 64, i / INTERSECTIONS_PER_ROW * INTERSECTION_SPACING);
+            if (!controllerMode.equals("none")) {
+                TileEntitySignalController controller = new TileEntitySignalController(world, center, null, item, createControllerData(controllerMode.equals("timed")));
+                world.addEntity(controller);
+                signalControllers.add(controller);
+            }
+
+            //Vehicles drive north to south through the intersection, in the 4 lanes.
+            for (int j = 0; j < VEHICLES_PER_INTERSECTION; ++j) {
+                EntityVehicleF_Physics vehicle = HeadlessHarness.spawnVehicle(world, HeadlessHarness.CAR, center.copy().add(-6 + j % 4 * 4, 1, -20 - j / 4 * 8));
+                HeadlessHarness.startVehicle(vehicle, 0.3);
+            }
+        }
+        //Let the vehicles land and the engines start before measuring.
+        for (int i = 0; i < 100; ++i) {
+            world.tick();
+        }
+    }
+
+    /**
+     * Returns the data for a controller with 4 lanes on each of the 4 roads, with east-west as the main road.
+     */
+    private static HeadlessNBT createControllerData(boolean timedMode) {
+        HeadlessNBT data = new HeadlessNBT();
+        data.setBoolean("timedMode", timedMode);
+        data.setString("mainDirectionAxis", Axis.EAST.name());
+        for (Axis axis : new Axis[] { Axis.NORTH, Axis.SOUTH, Axis.EAST, Axis.WEST }) {
+            HeadlessNBT properties = new HeadlessNBT();
+            properties.setInteger("leftLaneCount", 1);
+            properties.setInteger("centerLaneCount", 2);
+            properties.setInteger("rightLaneCount", 1);
+            properties.setDouble("roadWidth", 16);
+            properties.setDouble("centerDistance", 10);
+            properties.setDouble("centerOffset", -8);
+            data.setData(axis.name() + "properties", properties);
+        }
+        return data;
+    }
+
+    @Benchmark
+    public void tick() {
+        world.tick();
+    }
+
+    @Benchmark
+    public int scanAllGroups() {
+        int waitingGroups = 0;
+        for (TileEntitySignalController controller : signalControllers) {
+            for (Set<SignalGroup> signalGroupSet : controller.signalGroups.values()) {
+                for (SignalGroup signalGroup : signalGroupSet) {
+                    if (!controller.timedMode && signalGroup.laneCount != 0 && !(signalGroup.isMainSignal && signalGroup.direction.equals(SignalDirection.CENTER))) {
+                        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+                            Point3D adjustedPos = vehicle.position.copy().subtract(controller.intersectionCenterPoint).reOrigin(signalGroup.axis.yRotation);
+                            if (adjustedPos.x > signalGroup.signalLineCenter.x - signalGroup.signalLineWidth / 2D && adjustedPos.x < signalGroup.signalLineCenter.x + signalGroup.signalLineWidth / 2D && adjustedPos.z > signalGroup.signalLineCenter.z && adjustedPos.z < signalGroup.signalLineCenter.z + 16) {
+                                ++waitingGroups;
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return waitingGroups;
+    }
+}
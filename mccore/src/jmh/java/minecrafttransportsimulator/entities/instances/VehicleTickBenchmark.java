@@ -0,0 +1,66 @@
+package minecrafttransportsimulator.entities.instances;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.mcinterface.HeadlessHarness;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+
+/**
+ * Benchmarks server ticks of the sample vehicles in a {@link HeadlessWorld}.  Vehicles are spawned in a grid
+ * and started, so they're driving during the measurement.  Scores are the time of one world tick divided by
+ * {@link #VEHICLE_COUNT}, so they're the cost per vehicle-tick.  Run with the gc profiler (the default for the jmh task)
+ * to get the allocation rate per vehicle-tick too.  The world is re-made each iteration so the vehicles
+ * don't drive off too far from where they started.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VehicleTickBenchmark {
+    private static final int VEHICLE_COUNT = 25;
+
+    @Param({HeadlessHarness.CAR, HeadlessHarness.TRUCK, HeadlessHarness.AIRCRAFT})
+    public String vehicleType;
+
+    private HeadlessWorld world;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        HeadlessHarness.init();
+        world = new HeadlessWorld(64);
+        int rowSize = (int) Math.ceil(Math.sqrt(VEHICLE_COUNT));
+        for (int i = 0; i < VEHICLE_COUNT; ++i) {
+            EntityVehicleF_Physics vehicle = HeadlessHarness.spawnVehicle(world, vehicleType, new Point3D(i % rowSize * 30, 66, i / rowSize * 30));
+            HeadlessHarness.startVehicle(vehicle, 0.5);
+        }
+        //Let the vehicles land and the engines start before measuring.
+        for (int i = 0; i < 100; ++i) {
+            world.tick();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VEHICLE_COUNT)
+    public void tick() {
+        world.tick();
+    }
+}
@@ -0,0 +1,72 @@
+package minecrafttransportsimulator.rendering;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.mcinterface.HeadlessHarness;
+import minecrafttransportsimulator.rendering.RenderText.TextAlignment;
+
+/**
+ * Benchmarks a frame of text rendering through {@link RenderText}.  Each frame draws {@link #STATIC_TEXTS} strings that
+ * never change, like labels and signs, plus a number of strings that are new every frame, like readouts that count up.
+ * Scores are the time for one frame.  The changing strings shouldn't push the static ones out of the mesh cache,
+ * so the cost of the static strings should be the same with and without them.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderTextBenchmark {
+    private static final int STATIC_TEXTS = 128;
+    private static final int CHANGING_TEXT_VALUES = 1 << 20;
+
+    @Param({"0", "64", "512"})
+    public int changingTexts;
+
+    private final Point3D position = new Point3D();
+    private String[] staticTexts;
+    private String[] changingTextValues;
+    private int nextChangingValue;
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.init();
+        staticTexts = new String[STATIC_TEXTS];
+        for (int i = 0; i < STATIC_TEXTS; ++i) {
+            staticTexts[i] = "Static label number " + i;
+        }
+        //Made up-front so string building isn't part of the score.
+        changingTextValues = new String[CHANGING_TEXT_VALUES];
+        for (int i = 0; i < CHANGING_TEXT_VALUES; ++i) {
+            changingTextValues[i] = "Reading " + i;
+        }
+    }
+
+    @Benchmark
+    public void renderFrame() {
+        for (String text : staticTexts) {
+            RenderText.drawText(text, null, position, ColorRGB.WHITE, TextAlignment.LEFT_ALIGNED, 1.0F, false, 0, false, 0);
+        }
+        for (int i = 0; i < changingTexts; ++i) {
+            RenderText.drawText(changingTextValues[nextChangingValue], null, position, ColorRGB.WHITE, TextAlignment.LEFT_ALIGNED, 1.0F, false, 0, false, 0);
+            nextChangingValue = (nextChangingValue + 1) % CHANGING_TEXT_VALUES;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package minecrafttransportsimulator.baseclasses;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
@@ -15,6 +14,13 @@ import minecrafttransportsimulator.rendering.DurationDelayClock;
  * matrix, all operations are done as pre-operations.  So a translation operation followed by a rotate operation
  * is valid, but the internal code here will take the rotation matrix and multiply it by the translation matrix.  Then
  * any further calls will the calling matrix transform multiplied by the net transform.
+ * <br><br>
+ * The animation list is compiled into a flat clock array on construction, and the applyAfter switchbox is
+ * resolved once on the first run rather than looked up each call.  The switchbox also tracks the variables
+ * its clocks read, and the {@link ComputedVariable#changeVersion} they were at on the last run.  If none of the
+ * clocks depend on time, and this isn't a sub-class with custom operations, the switchbox will skip re-computing
+ * its state if none of those variables, nor the state of the switchbox it applies after, have changed since the
+ * last run.  Sub-classes may check {@link #inputsChanged(float)} themselves to do the same.
  *
  * @author don_bruce
  */
@@ -29,43 +35,92 @@ public class AnimationSwitchbox {
     //Computational variables.
     protected final AEntityD_Definable<?> entity;
     private final String applyAfter;
-    private final List<DurationDelayClock> clocks = new ArrayList<>();
+    private AnimationSwitchbox applyAfterSwitchbox;
+    private final DurationDelayClock[] clocks;
+    private final ComputedVariable[] inputVariables;
+    private final int[] lastInputVersions;
+    private final boolean anyClockDependsOnTime;
+    private final boolean canSkipUnchanged;
     private final Point3D helperPoint = new Point3D();
     private final Point3D helperScalingVector = new Point3D();
     private final RotationMatrix helperRotationMatrix = new RotationMatrix();
     private final TransformationMatrix helperOffsetOperationMatrix = new TransformationMatrix();
     private boolean inhibitAnimations;
     private boolean switchboxEnabled;
+    private boolean hasComputed;
     private long lastTickRun;
     private float lastPartialTickRun;
+    private int computeCount;
+    private int lastApplyAfterComputeCount;
 
     public AnimationSwitchbox(AEntityD_Definable<?> entity, List<JSONAnimationDefinition> animations, String applyAfter) {
         this.entity = entity;
         this.applyAfter = applyAfter;
-        for (JSONAnimationDefinition animation : animations) {
-            clocks.add(new DurationDelayClock(animation));
+        this.clocks = new DurationDelayClock[animations.size()];
+        this.inputVariables = new ComputedVariable[clocks.length];
+        this.lastInputVersions = new int[clocks.length];
+        boolean anyClockDependsOnTime = false;
+        for (int i = 0; i < clocks.length; ++i) {
+            clocks[i] = new DurationDelayClock(entity, animations.get(i));
+            anyClockDependsOnTime |= clocks[i].dependsOnTime;
         }
+        this.anyClockDependsOnTime = anyClockDependsOnTime;
+        //Sub-classes do their own operations with external state, so we can't know if those are unchanged.
+        this.canSkipUnchanged = !anyClockDependsOnTime && getClass() == AnimationSwitchbox.class;
     }
 
     public boolean runSwitchbox(float partialTicks, boolean forceSameTick) {
+        //Time the outermost switchbox for telemetry.  Ones we apply after run inside us, so are already included.
+        if (entity.switchboxDepth++ == 0) {
+            long startTime = System.nanoTime();
+            try {
+                return computeSwitchbox(partialTicks, forceSameTick);
+            } finally {
+                entity.switchboxNanos += System.nanoTime() - startTime;
+                --entity.switchboxDepth;
+            }
+        } else {
+            try {
+                return computeSwitchbox(partialTicks, forceSameTick);
+            } finally {
+                --entity.switchboxDepth;
+            }
+        }
+    }
+
+    private boolean computeSwitchbox(float partialTicks, boolean forceSameTick) {
         if (forceSameTick || lastTickRun != entity.ticksExisted || lastPartialTickRun != partialTicks) {
             lastTickRun = entity.ticksExisted;
             lastPartialTickRun = partialTicks;
 
             if (applyAfter != null) {
-                AnimationSwitchbox switchbox = entity.animatedObjectSwitchboxes.get(applyAfter);
-                if (switchbox == null) {
-                    throw new IllegalArgumentException("Was told to applyAfter the object " + applyAfter + " on " + entity + ", but there aren't any animations to applyAfter!");
+                if (applyAfterSwitchbox == null) {
+                    applyAfterSwitchbox = entity.animatedObjectSwitchboxes.get(applyAfter);
+                    if (applyAfterSwitchbox == null) {
+                        throw new IllegalArgumentException("Was told to applyAfter the object " + applyAfter + " on " + entity + ", but there aren't any animations to applyAfter!");
+                    }
                 }
-                if (switchbox.runSwitchbox(partialTicks, forceSameTick)) {
-                    translation.set(switchbox.translation);
-                    rotation.set(switchbox.rotation);
-                    scale.set(switchbox.scale);
-                    netMatrix.set(switchbox.netMatrix);
-                } else {
+                if (!applyAfterSwitchbox.runSwitchbox(partialTicks, forceSameTick)) {
                     switchboxEnabled = false;
+                    //Force a re-compute next run, since we didn't get to check our inputs.
+                    hasComputed = false;
                     return false;
                 }
+            }
+
+            //Check if anything changed since our last run.  If not, our prior state is still valid.
+            if (canSkipUnchanged && !inputsChanged(partialTicks)) {
+                return switchboxEnabled;
+            }
+            ++computeCount;
+            hasComputed = true;
+
+            if (applyAfterSwitchbox != null) {
+                lastApplyAfterComputeCount = applyAfterSwitchbox.computeCount;
+                translation.set(applyAfterSwitchbox.translation);
+                rotation.set(applyAfterSwitchbox.rotation);
+                scale.set(applyAfterSwitchbox.scale);
+                netMatrix.set(applyAfterSwitchbox.netMatrix);
             } else {
                 translation.set(0, 0, 0);
                 rotation.setToZero();
@@ -132,6 +187,27 @@ public class AnimationSwitchbox {
         }
     }
 
+    /**
+     * Returns true if any of the variables our clocks use have changed since the last call, or if the
+     * switchbox we apply after re-computed its state.  Also stores the current variable versions for the next check.
+     * Always returns true if any of our clocks depend on time, since those can change without their variable changing.
+     * Note that the base class calls this internally when it can skip runs, so only call this externally for sub-classes.
+     */
+    public boolean inputsChanged(float partialTicks) {
+        boolean changed = !hasComputed || anyClockDependsOnTime || (applyAfterSwitchbox != null && applyAfterSwitchbox.computeCount != lastApplyAfterComputeCount);
+        for (int i = 0; i < clocks.length; ++i) {
+            ComputedVariable variable = entity.getOrCreateVariable(clocks[i].variableSlot);
+            variable.computeValue(partialTicks);
+            //Variables can be replaced on the entity on resets, so check for that as well as the version.
+            if (variable != inputVariables[i] || variable.changeVersion != lastInputVersions[i]) {
+                inputVariables[i] = variable;
+                lastInputVersions[i] = variable.changeVersion;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
     public void runTranslation(DurationDelayClock clock, float partialTicks) {
         //Found translation.  This gets applied in the translation axis direction directly.
         double variableValue = entity.getAnimatedVariableValue(clock, clock.animationAxisMagnitude, partialTicks);
@@ -150,7 +226,7 @@ public class AnimationSwitchbox {
 
             //If we have a center offset, do special translation code to handle it.
             //Otherwise, don't bother, as it'll just take cycles.
-            if (clock.animation.centerPoint.x != 0 || clock.animation.centerPoint.y != 0 || clock.animation.centerPoint.z != 0) {
+            if (clock.hasCenterPoint) {
                 //First translate to the center point.
                 helperOffsetOperationMatrix.resetTransforms();
                 helperOffsetOperationMatrix.setTranslation(clock.animation.centerPoint);
@@ -187,7 +263,7 @@ public class AnimationSwitchbox {
 
         //If we have a center offset, do special translation code to handle it.
         //Otherwise, don't bother, as it'll just take cycles.
-        if (clock.animation.centerPoint.x != 0 || clock.animation.centerPoint.y != 0 || clock.animation.centerPoint.z != 0) {
+        if (clock.hasCenterPoint) {
             //First translate to the center point.
             helperOffsetOperationMatrix.resetTransforms();
             helperOffsetOperationMatrix.setTranslation(clock.animation.centerPoint);
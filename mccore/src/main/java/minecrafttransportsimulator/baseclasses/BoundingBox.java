@@ -38,6 +38,7 @@ public class BoundingBox {
     public final Point3D globalCenter;
     public final Point3D currentCollisionDepth;
     public final List<Point3D> collidingBlockPositions = new ArrayList<>();
+    private final List<Point3D> collidingBlockPositionPool = new ArrayList<>();
     private RenderableData wireframeRenderable;
     private RenderableData holographicRenderable;
     private final Point3D tempGlobalCenter;
@@ -134,6 +135,30 @@ public class BoundingBox {
         return !collidingBlockPositions.isEmpty();
     }
 
+    /**
+     * Clears the colliding block positions of this box.  Positions are pooled for re-use by
+     * {@link #addCollidingBlockPosition(int, int, int)}, so don't hold onto them after this call.
+     */
+    public void clearCollidingBlockPositions() {
+        collidingBlockPositions.clear();
+    }
+
+    /**
+     * Adds a colliding block position to this box.  Re-uses positions from prior collision checks to avoid
+     * creating new objects every time a box is checked.
+     */
+    public void addCollidingBlockPosition(int x, int y, int z) {
+        int index = collidingBlockPositions.size();
+        Point3D position;
+        if (index < collidingBlockPositionPool.size()) {
+            position = collidingBlockPositionPool.get(index).set(x, y, z);
+        } else {
+            position = new Point3D(x, y, z);
+            collidingBlockPositionPool.add(position);
+        }
+        collidingBlockPositions.add(position);
+    }
+
     /**
      * Sets the global center of this box to the position of the passed-in entity, rotated by the
      * entity's rotation and offset by the local center, or the passed-in offset if it is non-null.
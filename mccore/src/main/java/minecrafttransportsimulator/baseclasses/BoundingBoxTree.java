@@ -0,0 +1,343 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import minecrafttransportsimulator.jsondefs.JSONCollisionGroup.CollisionType;
+
+/**
+ * Bounding volume hierarchy over a set of {@link BoundingBox}es.  Used by multiparts to find the boxes
+ * a ray, segment, or box could hit without checking every box they have.  Each node holds the bounds of all
+ * boxes under it, plus a mask of all {@link CollisionType}s of those boxes, so whole branches can be skipped
+ * if they can't contain a box of the type being queried.
+ * <br><br>
+ * The tree is built by splitting the boxes at the median of their longest axis.  Calling {@link #update(Collection)}
+ * with the same boxes as the last call just refits the node bounds to the boxes' current positions, which is cheap.
+ * The tree is only rebuilt if the boxes change.  Queries return a list that is re-used between queries, so it
+ * is only valid until the next query.  Like the boxes it holds, this class is not thread-safe.
+ *
+ * @author don_bruce
+ */
+public class BoundingBoxTree {
+    private static final int NODE_SIZE = 6;
+    private final Set<BoundingBox> boxSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<BoundingBox> queryResults = new ArrayList<>();
+    private BoundingBox[] boxes = new BoundingBox[0];
+    private int[] boxTypeMasks = new int[0];
+    private int boxCount;
+
+    //Node data.  Nodes are stored in build order, so children always come after their parent.
+    //Leaf nodes have a negative left child, and their right child is the index of their box.
+    private double[] nodeBounds = new double[0];
+    private int[] nodeTypeMasks = new int[0];
+    private int[] nodeLeftChildren = new int[0];
+    private int[] nodeRightChildren = new int[0];
+    private int nodeCount;
+    private int[] nodeStack = new int[0];
+
+    /**
+     * Updates this tree to hold the passed-in boxes at their current positions.
+     */
+    public void update(Collection<BoundingBox> newBoxes) {
+        boolean sameBoxes = newBoxes.size() == boxCount;
+        if (sameBoxes) {
+            for (BoundingBox box : newBoxes) {
+                if (!boxSet.contains(box)) {
+                    sameBoxes = false;
+                    break;
+                }
+            }
+        }
+        if (sameBoxes) {
+            refit();
+        } else {
+            rebuild(newBoxes);
+        }
+    }
+
+    /**
+     * Returns a mask for the passed-in collision types, for use in queries.
+     */
+    public static int getTypeMask(CollisionType... types) {
+        int mask = 0;
+        for (CollisionType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return mask;
+    }
+
+    private static int getTypeMask(Set<CollisionType> types) {
+        int mask = 0;
+        if (types != null) {
+            for (CollisionType type : types) {
+                mask |= 1 << type.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns all boxes with any of the types in the passed-in mask whose bounds the segment
+     * between the passed-in points passes through.  This is a bounds check only, so callers should
+     * use {@link BoundingBox#getIntersection(Point3D, Point3D)} on the returned boxes to get the hit point.
+     */
+    public List<BoundingBox> getBoxesAlongSegment(Point3D start, Point3D end, int typeMask) {
+        return getBoxesAlongRay(start, end.x - start.x, end.y - start.y, end.z - start.z, 1.0, typeMask);
+    }
+
+    /**
+     * Like {@link #getBoxesAlongSegment(Point3D, Point3D, int)}, but for a ray from the passed-in
+     * origin in the passed-in direction.  The ray ends after it has gone the passed-in distance.
+     */
+    public List<BoundingBox> getBoxesAlongRay(Point3D origin, Point3D direction, double maxDistance, int typeMask) {
+        double length = direction.length();
+        return getBoxesAlongRay(origin, direction.x, direction.y, direction.z, length != 0 ? maxDistance / length : 0, typeMask);
+    }
+
+    /**
+     * Returns all boxes with any of the types in the passed-in mask that intersect the passed-in box.
+     */
+    public List<BoundingBox> getBoxesIntersecting(BoundingBox bounds, int typeMask) {
+        double minX = bounds.globalCenter.x - bounds.widthRadius;
+        double minY = bounds.globalCenter.y - bounds.heightRadius;
+        double minZ = bounds.globalCenter.z - bounds.depthRadius;
+        double maxX = bounds.globalCenter.x + bounds.widthRadius;
+        double maxY = bounds.globalCenter.y + bounds.heightRadius;
+        double maxZ = bounds.globalCenter.z + bounds.depthRadius;
+        queryResults.clear();
+        if (nodeCount == 0) {
+            return queryResults;
+        }
+        int stackSize = 0;
+        nodeStack[stackSize++] = 0;
+        while (stackSize > 0) {
+            int node = nodeStack[--stackSize];
+            int index = node * NODE_SIZE;
+            if ((nodeTypeMasks[node] & typeMask) != 0 && nodeBounds[index] < maxX && nodeBounds[index + 3] > minX && nodeBounds[index + 1] < maxY && nodeBounds[index + 4] > minY && nodeBounds[index + 2] < maxZ && nodeBounds[index + 5] > minZ) {
+                if (nodeLeftChildren[node] < 0) {
+                    queryResults.add(boxes[nodeRightChildren[node]]);
+                } else {
+                    nodeStack[stackSize++] = nodeLeftChildren[node];
+                    nodeStack[stackSize++] = nodeRightChildren[node];
+                }
+            }
+        }
+        return queryResults;
+    }
+
+    private List<BoundingBox> getBoxesAlongRay(Point3D origin, double deltaX, double deltaY, double deltaZ, double maxScale, int typeMask) {
+        queryResults.clear();
+        if (nodeCount == 0) {
+            return queryResults;
+        }
+        double inverseX = 1D / deltaX;
+        double inverseY = 1D / deltaY;
+        double inverseZ = 1D / deltaZ;
+        int stackSize = 0;
+        nodeStack[stackSize++] = 0;
+        while (stackSize > 0) {
+            int node = nodeStack[--stackSize];
+            if ((nodeTypeMasks[node] & typeMask) != 0 && rayHitsNode(node, origin, deltaX, deltaY, deltaZ, inverseX, inverseY, inverseZ, maxScale)) {
+                if (nodeLeftChildren[node] < 0) {
+                    queryResults.add(boxes[nodeRightChildren[node]]);
+                } else {
+                    nodeStack[stackSize++] = nodeLeftChildren[node];
+                    nodeStack[stackSize++] = nodeRightChildren[node];
+                }
+            }
+        }
+        return queryResults;
+    }
+
+    /**
+     * Slab test for the ray against the node bounds.  Bounds are inclusive, to match
+     * the border handling of {@link BoundingBox#getIntersection(Point3D, Point3D)}.
+     */
+    private boolean rayHitsNode(int node, Point3D origin, double deltaX, double deltaY, double deltaZ, double inverseX, double inverseY, double inverseZ, double maxScale) {
+        int index = node * NODE_SIZE;
+        double entry = 0;
+        double exit = maxScale;
+        for (int axis = 0; axis < 3; ++axis) {
+            double start = axis == 0 ? origin.x : (axis == 1 ? origin.y : origin.z);
+            double delta = axis == 0 ? deltaX : (axis == 1 ? deltaY : deltaZ);
+            double min = nodeBounds[index + axis];
+            double max = nodeBounds[index + axis + 3];
+            if (delta == 0) {
+                //Parallel to this slab, so we either always or never are in it.
+                if (start < min || start > max) {
+                    return false;
+                }
+            } else {
+                double inverse = axis == 0 ? inverseX : (axis == 1 ? inverseY : inverseZ);
+                double near = (min - start) * inverse;
+                double far = (max - start) * inverse;
+                if (near > far) {
+                    double temp = near;
+                    near = far;
+                    far = temp;
+                }
+                if (near > entry) {
+                    entry = near;
+                }
+                if (far < exit) {
+                    exit = far;
+                }
+                if (entry > exit) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void rebuild(Collection<BoundingBox> newBoxes) {
+        boxCount = newBoxes.size();
+        if (boxes.length < boxCount) {
+            boxes = new BoundingBox[boxCount];
+            boxTypeMasks = new int[boxCount];
+            int maxNodes = 2 * boxCount - 1;
+            nodeBounds = new double[maxNodes * NODE_SIZE];
+            nodeTypeMasks = new int[maxNodes];
+            nodeLeftChildren = new int[maxNodes];
+            nodeRightChildren = new int[maxNodes];
+            nodeStack = new int[maxNodes];
+        }
+        boxSet.clear();
+        int boxIndex = 0;
+        for (BoundingBox box : newBoxes) {
+            boxes[boxIndex] = box;
+            boxTypeMasks[boxIndex] = getTypeMask(box.collisionTypes);
+            boxSet.add(box);
+            ++boxIndex;
+        }
+        //Don't hold onto boxes we no longer have.
+        Arrays.fill(boxes, boxCount, boxes.length, null);
+        nodeCount = 0;
+        if (boxCount > 0) {
+            buildNode(0, boxCount);
+        }
+    }
+
+    /**
+     * Builds the node for the boxes in the passed-in range, and returns its index.
+     * Boxes in the range are re-ordered so each child gets a continuous range.
+     */
+    private int buildNode(int start, int end) {
+        int node = nodeCount++;
+        if (end - start == 1) {
+            nodeLeftChildren[node] = -1;
+            nodeRightChildren[node] = start;
+            setLeafBounds(node);
+        } else {
+            //Split on the longest axis of the box centers.
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+            for (int i = start; i < end; ++i) {
+                Point3D center = boxes[i].globalCenter;
+                minX = Math.min(minX, center.x);
+                minY = Math.min(minY, center.y);
+                minZ = Math.min(minZ, center.z);
+                maxX = Math.max(maxX, center.x);
+                maxY = Math.max(maxY, center.y);
+                maxZ = Math.max(maxZ, center.z);
+            }
+            int axis;
+            if (maxX - minX >= maxY - minY && maxX - minX >= maxZ - minZ) {
+                axis = 0;
+            } else if (maxY - minY >= maxZ - minZ) {
+                axis = 1;
+            } else {
+                axis = 2;
+            }
+            int middle = (start + end) / 2;
+            selectMedian(start, end - 1, middle, axis);
+            nodeLeftChildren[node] = buildNode(start, middle);
+            nodeRightChildren[node] = buildNode(middle, end);
+            setBranchBounds(node);
+        }
+        return node;
+    }
+
+    /**
+     * Re-orders boxes in the passed-in inclusive range so the box at the target index has the median center
+     * on the passed-in axis, with all boxes before it having lower or equal centers and all after higher or equal.
+     */
+    private void selectMedian(int low, int high, int target, int axis) {
+        while (low < high) {
+            double pivot = getCenter(boxes[(low + high) >>> 1], axis);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (getCenter(boxes[i], axis) < pivot) {
+                    ++i;
+                }
+                while (getCenter(boxes[j], axis) > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    swapBoxes(i++, j--);
+                }
+            }
+            if (target <= j) {
+                high = j;
+            } else if (target >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double getCenter(BoundingBox box, int axis) {
+        return axis == 0 ? box.globalCenter.x : (axis == 1 ? box.globalCenter.y : box.globalCenter.z);
+    }
+
+    private void swapBoxes(int first, int second) {
+        BoundingBox box = boxes[first];
+        boxes[first] = boxes[second];
+        boxes[second] = box;
+        int mask = boxTypeMasks[first];
+        boxTypeMasks[first] = boxTypeMasks[second];
+        boxTypeMasks[second] = mask;
+    }
+
+    private void refit() {
+        //Children always come after their parents, so going backwards updates children first.
+        for (int node = nodeCount - 1; node >= 0; --node) {
+            if (nodeLeftChildren[node] < 0) {
+                setLeafBounds(node);
+            } else {
+                setBranchBounds(node);
+            }
+        }
+    }
+
+    private void setLeafBounds(int node) {
+        int boxIndex = nodeRightChildren[node];
+        BoundingBox box = boxes[boxIndex];
+        int index = node * NODE_SIZE;
+        nodeBounds[index] = box.globalCenter.x - box.widthRadius;
+        nodeBounds[index + 1] = box.globalCenter.y - box.heightRadius;
+        nodeBounds[index + 2] = box.globalCenter.z - box.depthRadius;
+        nodeBounds[index + 3] = box.globalCenter.x + box.widthRadius;
+        nodeBounds[index + 4] = box.globalCenter.y + box.heightRadius;
+        nodeBounds[index + 5] = box.globalCenter.z + box.depthRadius;
+        nodeTypeMasks[node] = boxTypeMasks[boxIndex];
+    }
+
+    private void setBranchBounds(int node) {
+        int index = node * NODE_SIZE;
+        int leftIndex = nodeLeftChildren[node] * NODE_SIZE;
+        int rightIndex = nodeRightChildren[node] * NODE_SIZE;
+        for (int i = 0; i < 3; ++i) {
+            nodeBounds[index + i] = Math.min(nodeBounds[leftIndex + i], nodeBounds[rightIndex + i]);
+            nodeBounds[index + i + 3] = Math.max(nodeBounds[leftIndex + i + 3], nodeBounds[rightIndex + i + 3]);
+        }
+        nodeTypeMasks[node] = nodeTypeMasks[nodeLeftChildren[node]] | nodeTypeMasks[nodeRightChildren[node]];
+    }
+}
@@ -0,0 +1,170 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import minecrafttransportsimulator.jsondefs.JSONCollisionGroup.CollisionType;
+
+/**
+ * Array-backed collection of the collision boxes of an entity and all entities on it.  This is re-populated
+ * every tick by calling {@link #beginUpdate()}, adding the entity's boxes and the registries of the entities on it,
+ * and then calling {@link #endUpdate()}.  The boxes are only changed if they differ from the last update, which only
+ * happens when parts are added or removed, or collision groups are toggled.  Registries that haven't changed since the
+ * last update are skipped over rather than checked box by box.  Boxes are also kept in lists by {@link CollisionType},
+ * so code that only wants one type doesn't need to check every box.  Do NOT modify those lists.
+ *
+ * @author don_bruce
+ */
+public class CollisionBoxRegistry extends AbstractCollection<BoundingBox> {
+    private final Set<BoundingBox> boxSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<List<BoundingBox>> typeBoxes = new ArrayList<>();
+    private BoundingBox[] boxes = new BoundingBox[0];
+    private int boxCount;
+    private CollisionBoxRegistry[] childRegistries = new CollisionBoxRegistry[0];
+    private int[] childVersions = new int[0];
+    private int childCount;
+    private int version;
+
+    //Variables for the update in progress.
+    private int updateBoxIndex;
+    private int updateChildIndex;
+    private boolean updateChanged;
+
+    public CollisionBoxRegistry() {
+        for (int i = 0; i < CollisionType.values().length; ++i) {
+            typeBoxes.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Starts an update of this registry.  Boxes and registries must be added in the same order each update,
+     * otherwise they will be seen as changed.
+     */
+    public void beginUpdate() {
+        updateBoxIndex = 0;
+        updateChildIndex = 0;
+        updateChanged = false;
+    }
+
+    /**
+     * Adds the passed-in boxes to the update in progress.
+     */
+    public void addBoxes(Collection<BoundingBox> newBoxes) {
+        for (BoundingBox box : newBoxes) {
+            addBox(box);
+        }
+    }
+
+    /**
+     * Adds all boxes of the passed-in registry to the update in progress.  The passed-in registry
+     * should have already been updated, as it's skipped if it hasn't changed since our last update.
+     */
+    public void addRegistry(CollisionBoxRegistry registry) {
+        if (!updateChanged && updateChildIndex < childCount && childRegistries[updateChildIndex] == registry && childVersions[updateChildIndex] == registry.version) {
+            //Same boxes as last update, in the same spot, so we already have them.
+            updateBoxIndex += registry.boxCount;
+        } else {
+            if (updateChildIndex == childRegistries.length) {
+                childRegistries = Arrays.copyOf(childRegistries, Math.max(4, childRegistries.length * 2));
+                childVersions = Arrays.copyOf(childVersions, childRegistries.length);
+            }
+            updateChanged = true;
+            childRegistries[updateChildIndex] = registry;
+            childVersions[updateChildIndex] = registry.version;
+            for (int i = 0; i < registry.boxCount; ++i) {
+                addBox(registry.boxes[i]);
+            }
+        }
+        ++updateChildIndex;
+    }
+
+    private void addBox(BoundingBox box) {
+        if (updateBoxIndex == boxes.length) {
+            boxes = Arrays.copyOf(boxes, Math.max(8, boxes.length * 2));
+        }
+        if (boxes[updateBoxIndex] != box) {
+            boxes[updateBoxIndex] = box;
+            updateChanged = true;
+        }
+        ++updateBoxIndex;
+    }
+
+    /**
+     * Ends the update in progress.  Returns true if the boxes changed.
+     */
+    public boolean endUpdate() {
+        if (updateBoxIndex != boxCount || updateChildIndex != childCount) {
+            updateChanged = true;
+        }
+        if (updateChanged) {
+            //Don't hold onto boxes and registries we no longer have.
+            if (updateBoxIndex < boxCount) {
+                Arrays.fill(boxes, updateBoxIndex, boxCount, null);
+            }
+            if (updateChildIndex < childCount) {
+                Arrays.fill(childRegistries, updateChildIndex, childCount, null);
+            }
+            boxCount = updateBoxIndex;
+            childCount = updateChildIndex;
+
+            boxSet.clear();
+            typeBoxes.forEach(List::clear);
+            for (int i = 0; i < boxCount; ++i) {
+                BoundingBox box = boxes[i];
+                boxSet.add(box);
+                if (box.collisionTypes != null) {
+                    for (CollisionType type : box.collisionTypes) {
+                        typeBoxes.get(type.ordinal()).add(box);
+                    }
+                }
+            }
+            ++version;
+        }
+        return updateChanged;
+    }
+
+    /**
+     * Returns all boxes with the passed-in type.
+     */
+    public List<BoundingBox> getBoxes(CollisionType type) {
+        return typeBoxes.get(type.ordinal());
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return boxSet.contains(object);
+    }
+
+    @Override
+    public int size() {
+        return boxCount;
+    }
+
+    @Override
+    public Iterator<BoundingBox> iterator() {
+        return new Iterator<BoundingBox>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < boxCount;
+            }
+
+            @Override
+            public BoundingBox next() {
+                if (index >= boxCount) {
+                    throw new NoSuchElementException();
+                }
+                return boxes[index++];
+            }
+        };
+    }
+}
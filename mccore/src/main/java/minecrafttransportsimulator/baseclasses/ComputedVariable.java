@@ -1,13 +1,13 @@
 package minecrafttransportsimulator.baseclasses;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
-import minecrafttransportsimulator.mcinterface.InterfaceManager;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableIncrement;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableSet;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableToggle;
+import minecrafttransportsimulator.packets.instances.PacketEntityVariableBatch.VariableOperation;
 
 /**
  * A helper class of sorts for calculating computed variables.  This helper class wraps up a set of functions
@@ -22,6 +22,10 @@ public class ComputedVariable {
     public static final String INVERTED_PREFIX = "!";
     public static final String CONSTANT_PREFIX = "#";
 
+    /**Global registry of variable keys to IDs.  IDs are handed out in order of first request and never change.**/
+    private static final Map<String, Integer> variableIDs = new HashMap<>();
+    private static final List<String> variableKeys = new ArrayList<>();
+
 	/**The key of this variable, required to be unique to all variables on the entity.**/
     public final String variableKey;
     /**The entity this variable is defined on.**/
@@ -37,6 +41,9 @@ public class ComputedVariable {
     public double currentValue;
     /**True if {@link #currentValue} is greater than 1, false otherwise.  Used for quicker boolean operations.**/
     public boolean isActive;
+    /**Incremented every time {@link #currentValue} changes.  Lets systems that depend on this variable check
+     * if it changed since they last looked at it without having to store and compare the value themselves.**/
+    public int changeVersion;
     /**Internal variable for the inverted state of this variable.  Is read-only since we just set its states when ours change.
      * Is null on the inverted variable itself.**/
     public final ComputedVariable invertedVariable;
@@ -91,6 +98,35 @@ public class ComputedVariable {
         return variableKey + ":" + currentValue;
     }
 
+    /**
+     * Returns the global ID for the passed-in variable key, registering it if it hasn't been seen before.
+     * This allows systems to resolve variable names once when definitions are loaded, and then use
+     * {@link AEntityD_Definable#getOrCreateVariable(int)} for lookups without any string hashing.
+     */
+    public static synchronized int getVariableID(String variable) {
+        Integer variableID = variableIDs.get(variable);
+        if (variableID == null) {
+            variableID = variableKeys.size();
+            variableIDs.put(variable, variableID);
+            variableKeys.add(variable);
+        }
+        return variableID;
+    }
+
+    /**
+     * Returns the variable key for the passed-in global ID.  The ID must have been obtained from {@link #getVariableID(String)}.
+     */
+    public static synchronized String getVariableKey(int variableID) {
+        return variableKeys.get(variableID);
+    }
+
+    /**
+     * Returns the number of variable IDs that have been registered.  Useful for sizing ID-indexed arrays.
+     */
+    public static synchronized int getVariableIDCount() {
+        return variableKeys.size();
+    }
+
     public static boolean isNumberedVariable(String variable) {
         return variable.matches("^.*_\\d+$");
     }
@@ -108,10 +144,17 @@ public class ComputedVariable {
 
     /**Helper to set the value, does other functions as well to maintain state.**/
     private final void setInternal(double value) {
+        if (value != currentValue) {
+            ++changeVersion;
+        }
         currentValue = value;
         isActive = currentValue > 0;
         if (invertedVariable != null) {
-            invertedVariable.currentValue = currentValue > 0 ? 0 : 1;
+            double invertedValue = currentValue > 0 ? 0 : 1;
+            if (invertedValue != invertedVariable.currentValue) {
+                ++invertedVariable.changeVersion;
+            }
+            invertedVariable.currentValue = invertedValue;
             invertedVariable.isActive = !this.isActive;
         }
     }
@@ -153,7 +196,7 @@ public class ComputedVariable {
         if (!isConstant) {
             setInternal(value);
             if (sendPacket) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(this, currentValue));
+                entity.world.queueVariableChange(this, VariableOperation.SET, currentValue, 0, 0);
             }
         }
     }
@@ -166,7 +209,7 @@ public class ComputedVariable {
         if (!isConstant) {
             setInternal(currentValue + value);
             if (sendPacket) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, value));
+                entity.world.queueVariableChange(this, VariableOperation.INCREMENT, value, 0, 0);
             }
         }
     }
@@ -175,7 +218,7 @@ public class ComputedVariable {
         if (!isConstant) {
             setInternal(currentValue > 0 ? 0 : 1);
             if (sendPacket) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this));
+                entity.world.queueVariableChange(this, VariableOperation.TOGGLE, 0, 0, 0);
             }
         }
     }
@@ -199,7 +242,7 @@ public class ComputedVariable {
                 incrementValue = newValue - currentValue;
                 setInternal(newValue);
                 if (sendPacket) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, incrementValue, minValue, maxValue));
+                    entity.world.queueVariableChange(this, VariableOperation.INCREMENT_CLAMPED, incrementValue, minValue, maxValue);
                 }
                 return true;
             }
@@ -207,6 +250,36 @@ public class ComputedVariable {
         return false;
     }
 
+    /**
+     * Requests the server set this variable to the passed-in value.  The change is sent at the end of the tick
+     * with all other changes to the entity, and sets replace any prior changes in the same tick.
+     * Call this ONLY on clients.
+     */
+    public final void requestSet(double value) {
+        entity.world.queueVariableChange(this, VariableOperation.SET, value, 0, 0);
+    }
+
+    /**
+     * Like {@link #requestSet(double)}, but requests a toggle.
+     */
+    public final void requestToggle() {
+        entity.world.queueVariableChange(this, VariableOperation.TOGGLE, 0, 0, 0);
+    }
+
+    /**
+     * Like {@link #requestSet(double)}, but requests an increment.
+     */
+    public final void requestIncrement(double incrementValue) {
+        entity.world.queueVariableChange(this, VariableOperation.INCREMENT, incrementValue, 0, 0);
+    }
+
+    /**
+     * Like {@link #requestSet(double)}, but requests an increment with clamps.
+     */
+    public final void requestIncrement(double incrementValue, double minValue, double maxValue) {
+        entity.world.queueVariableChange(this, VariableOperation.INCREMENT_CLAMPED, incrementValue, minValue, maxValue);
+    }
+
     public final void saveToNBT(List<String> savedNames, IWrapperNBT data) {
         if (shouldSaveToNBT && currentValue != 0) {
             data.setDouble(variableKey, currentValue);
@@ -3,6 +3,8 @@ package minecrafttransportsimulator.baseclasses;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,6 +12,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+import minecrafttransportsimulator.baseclasses.EntityTelemetry.TimingType;
 import minecrafttransportsimulator.entities.components.AEntityA_Base;
 import minecrafttransportsimulator.entities.components.AEntityA_Base.EntityAutoUpdateTime;
 import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
@@ -18,6 +21,7 @@ import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.entities.components.AEntityG_Towable;
 import minecrafttransportsimulator.entities.instances.APart;
 import minecrafttransportsimulator.entities.instances.EntityBullet;
+import minecrafttransportsimulator.entities.instances.EntityParticleSystem;
 import minecrafttransportsimulator.entities.instances.EntityPlacedPart;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.entities.instances.PartGun;
@@ -26,6 +30,10 @@ import minecrafttransportsimulator.jsondefs.JSONCollisionGroup.CollisionType;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packets.instances.PacketEntityVariableBatch;
+import minecrafttransportsimulator.packets.instances.PacketEntityVariableBatch.VariableChange;
+import minecrafttransportsimulator.packets.instances.PacketEntityVariableBatch.VariableOperation;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovementBatch;
 
 /**
  * Class that manages entities in a world.
@@ -42,6 +50,23 @@ public abstract class EntityManager {
     private final ConcurrentHashMap<UUID, AEntityA_Base> trackedEntityMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, PartGun> gunMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, Map<Integer, EntityBullet>> bulletMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ConcurrentLinkedQueue<MultipartCellEntry>> multipartCells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<AEntityF_Multipart<?>, MultipartCellEntry> multipartCellEntries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ConcurrentLinkedQueue<ProximityTrigger<?>>> proximityTriggerCells = new ConcurrentHashMap<>();
+    private final Set<ProximityTrigger<?>> proximityTriggersToCheck = new HashSet<>();
+    private EntityTickScheduler tickScheduler;
+    private EntityParticleSystem particleSystem;
+    private final Set<EntityVehicleF_Physics> movedVehicles = new LinkedHashSet<>();
+    private final Map<AEntityD_Definable<?>, List<VariableChange>> pendingVariableChanges = new LinkedHashMap<>();
+    private final VariableSyncRegistry variableSyncRegistry = new VariableSyncRegistry();
+    private final EntityTelemetry telemetry = new EntityTelemetry();
+
+    /**
+     * Size, in blocks, of the XZ cells used to spatially index multiparts.  Chunk-sized so most vehicles
+     * only sit in one to four cells, while large aircraft and ships just span a few more.
+     */
+    private static final int MULTIPART_CELL_SIZE = 16;
+    private static final int CLICK_TYPE_MASK = BoundingBoxTree.getTypeMask(CollisionType.CLICK);
     
     private static final byte hotloadCountdownPreset = 20;
     private static byte hotloadCountdown;
@@ -98,6 +123,23 @@ public abstract class EntityManager {
         if (entity.shouldSync()) {
             trackedEntityMap.put(entity.uniqueUUID, entity);
         }
+        if (entity instanceof EntityVehicleF_Physics || entity instanceof EntityPlacedPart) {
+            AEntityF_Multipart<?> multipart = (AEntityF_Multipart<?>) entity;
+            multipartCellEntries.put(multipart, new MultipartCellEntry(multipart));
+            updateMultipartCells(multipart);
+        }
+    }
+
+    /**
+     * Returns the particle system for this world, creating and adding it if required.
+     * Particles are only spawned on clients, so this should only be called there.
+     */
+    public EntityParticleSystem getParticleSystem() {
+        if (particleSystem == null || !particleSystem.isValid) {
+            particleSystem = new EntityParticleSystem(getWorld());
+            addEntity(particleSystem);
+        }
+        return particleSystem;
     }
 
     /**
@@ -156,6 +198,175 @@ public abstract class EntityManager {
         return list;
     }
 
+    /**
+     * Updates the spatial index for the passed-in multipart.  This should be called any time the multipart's
+     * {@link AEntityF_Multipart#encompassingBox} changes, which is normally after movement in the post-update logic.
+     * Multiparts that are not indexed (parts and other non-top-level entities) are ignored.
+     */
+    public void updateMultipartCells(AEntityF_Multipart<?> multipart) {
+        MultipartCellEntry entry = multipartCellEntries.get(multipart);
+        if (entry != null) {
+            BoundingBox box = multipart.encompassingBox;
+            int minCellX = getCellIndex(multipart.position.x - box.widthRadius);
+            int minCellZ = getCellIndex(multipart.position.z - box.depthRadius);
+            int maxCellX = getCellIndex(multipart.position.x + box.widthRadius);
+            int maxCellZ = getCellIndex(multipart.position.z + box.depthRadius);
+            if (!entry.isIndexed || minCellX != entry.minCellX || minCellZ != entry.minCellZ || maxCellX != entry.maxCellX || maxCellZ != entry.maxCellZ) {
+                removeFromCells(entry);
+                entry.minCellX = minCellX;
+                entry.minCellZ = minCellZ;
+                entry.maxCellX = maxCellX;
+                entry.maxCellZ = maxCellZ;
+                for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+                    for (int cellZ = minCellZ; cellZ <= maxCellZ; ++cellZ) {
+                        multipartCells.computeIfAbsent(getCellKey(cellX, cellZ), k -> new ConcurrentLinkedQueue<>()).add(entry);
+                    }
+                }
+                entry.isIndexed = true;
+            }
+            updateProximityTriggers(entry);
+        }
+    }
+
+    /**
+     * Adds the passed-in trigger to this world.  Any multiparts already in the trigger's region will
+     * be added to it, and the trigger's listener will be called for them.
+     */
+    public void addProximityTrigger(ProximityTrigger<?> trigger) {
+        BoundingBox region = trigger.region;
+        trigger.minCellX = getCellIndex(region.globalCenter.x - region.widthRadius);
+        trigger.minCellZ = getCellIndex(region.globalCenter.z - region.depthRadius);
+        trigger.maxCellX = getCellIndex(region.globalCenter.x + region.widthRadius);
+        trigger.maxCellZ = getCellIndex(region.globalCenter.z + region.depthRadius);
+        for (int cellX = trigger.minCellX; cellX <= trigger.maxCellX; ++cellX) {
+            for (int cellZ = trigger.minCellZ; cellZ <= trigger.maxCellZ; ++cellZ) {
+                proximityTriggerCells.computeIfAbsent(getCellKey(cellX, cellZ), k -> new ConcurrentLinkedQueue<>()).add(trigger);
+            }
+        }
+        for (AEntityF_Multipart<?> multipart : getMultipartsWithin(region)) {
+            if (trigger.check(multipart)) {
+                multipartCellEntries.get(multipart).proximityTriggers.add(trigger);
+            }
+        }
+    }
+
+    /**
+     * Removes the passed-in trigger from this world.  The trigger's listener will not be called for
+     * the multiparts that were in it, as it's assumed the owner of the trigger is going away.
+     */
+    public void removeProximityTrigger(ProximityTrigger<?> trigger) {
+        for (int cellX = trigger.minCellX; cellX <= trigger.maxCellX; ++cellX) {
+            for (int cellZ = trigger.minCellZ; cellZ <= trigger.maxCellZ; ++cellZ) {
+                long cellKey = getCellKey(cellX, cellZ);
+                ConcurrentLinkedQueue<ProximityTrigger<?>> cell = proximityTriggerCells.get(cellKey);
+                if (cell != null) {
+                    cell.remove(trigger);
+                    if (cell.isEmpty()) {
+                        proximityTriggerCells.remove(cellKey);
+                    }
+                }
+            }
+        }
+        for (AEntityF_Multipart<?> multipart : trigger.getEntitiesInside()) {
+            MultipartCellEntry entry = multipartCellEntries.get(multipart);
+            if (entry != null) {
+                entry.proximityTriggers.remove(trigger);
+            }
+        }
+        trigger.clear();
+    }
+
+    /**
+     * Checks the multipart for the passed-in entry against the triggers in its cells, and the ones it was in
+     * the last check, since it may have left those cells.  Done whenever the multipart moves.
+     */
+    private void updateProximityTriggers(MultipartCellEntry entry) {
+        if (!proximityTriggerCells.isEmpty() || !entry.proximityTriggers.isEmpty()) {
+            proximityTriggersToCheck.addAll(entry.proximityTriggers);
+            for (int cellX = entry.minCellX; cellX <= entry.maxCellX; ++cellX) {
+                for (int cellZ = entry.minCellZ; cellZ <= entry.maxCellZ; ++cellZ) {
+                    ConcurrentLinkedQueue<ProximityTrigger<?>> cell = proximityTriggerCells.get(getCellKey(cellX, cellZ));
+                    if (cell != null) {
+                        proximityTriggersToCheck.addAll(cell);
+                    }
+                }
+            }
+            for (ProximityTrigger<?> trigger : proximityTriggersToCheck) {
+                if (trigger.check(entry.multipart)) {
+                    entry.proximityTriggers.add(trigger);
+                } else {
+                    entry.proximityTriggers.remove(trigger);
+                }
+            }
+            proximityTriggersToCheck.clear();
+        }
+    }
+
+    /**
+     * Returns a new, mutable list, with all vehicles and placed parts whose {@link AEntityF_Multipart#encompassingBox}
+     * intersects the passed-in box.  Only the spatial cells the box covers are checked, so this is far cheaper than
+     * iterating {@link #getEntitiesOfType(Class)} for every vehicle in the world when only nearby ones matter.
+     */
+    public List<AEntityF_Multipart<?>> getMultipartsWithin(BoundingBox box) {
+        return getMultipartsWithin(box, null);
+    }
+
+    /**
+     * Like {@link #getMultipartsWithin(BoundingBox)}, but only returns multiparts that match the passed-in class.
+     * If the class is null, all multiparts are returned.
+     */
+    @SuppressWarnings("unchecked")
+    public <EntityType extends AEntityF_Multipart<?>> List<EntityType> getMultipartsWithin(BoundingBox box, Class<EntityType> entityClass) {
+        List<EntityType> list = new ArrayList<>();
+        int minCellX = getCellIndex(box.globalCenter.x - box.widthRadius);
+        int minCellZ = getCellIndex(box.globalCenter.z - box.depthRadius);
+        int maxCellX = getCellIndex(box.globalCenter.x + box.widthRadius);
+        int maxCellZ = getCellIndex(box.globalCenter.z + box.depthRadius);
+        for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; ++cellZ) {
+                ConcurrentLinkedQueue<MultipartCellEntry> cell = multipartCells.get(getCellKey(cellX, cellZ));
+                if (cell != null) {
+                    for (MultipartCellEntry entry : cell) {
+                        //Entries that span multiple cells are only returned from the first cell that overlaps the query.
+                        //This prevents duplicates without needing a set to track what we already found.
+                        if (cellX == Math.max(entry.minCellX, minCellX) && cellZ == Math.max(entry.minCellZ, minCellZ)) {
+                            if ((entityClass == null || entry.multipart.getClass() == entityClass) && entry.multipart.encompassingBox.intersects(box)) {
+                                list.add((EntityType) entry.multipart);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return list;
+    }
+
+    private void removeFromCells(MultipartCellEntry entry) {
+        if (entry.isIndexed) {
+            for (int cellX = entry.minCellX; cellX <= entry.maxCellX; ++cellX) {
+                for (int cellZ = entry.minCellZ; cellZ <= entry.maxCellZ; ++cellZ) {
+                    long cellKey = getCellKey(cellX, cellZ);
+                    ConcurrentLinkedQueue<MultipartCellEntry> cell = multipartCells.get(cellKey);
+                    if (cell != null) {
+                        cell.remove(entry);
+                        if (cell.isEmpty()) {
+                            multipartCells.remove(cellKey);
+                        }
+                    }
+                }
+            }
+            entry.isIndexed = false;
+        }
+    }
+
+    private static int getCellIndex(double coord) {
+        return (int) Math.floor(coord / MULTIPART_CELL_SIZE);
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return (((long) cellX) << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
     /**
      * Ticks all entities that exist and need ticking.  These are any entities that
      * are not parts, since parts are ticked by their parents.
@@ -177,11 +388,20 @@ public abstract class EntityManager {
             }
         }
         if (beforePlayer) {
+            //New tick, so any block properties may have changed.
+            world.clearBlockCache();
+            telemetry.tick();
+            if (tickScheduler == null) {
+                tickScheduler = new EntityTickScheduler(world);
+            }
             for (AEntityA_Base entity : allNormalTickableEntities) {
                 if (!(entity instanceof AEntityG_Towable) || !(((AEntityG_Towable<?>) entity).blockMainUpdateCall())) {
-                    doTick(entity);
+                    if (tickScheduler.shouldTickNow(entity)) {
+                        doTick(entity);
+                    }
                 }
             }
+            tickScheduler.runQueuedTicks();
 
             //Do hotload operations.
             //This operates on all threads concurrently as long as we're counting down.
@@ -295,11 +515,90 @@ public abstract class EntityManager {
                 }
             }
         }
+        if (!movedVehicles.isEmpty()) {
+            sendVehicleMovement();
+        }
+        if (!beforePlayer && !pendingVariableChanges.isEmpty()) {
+            sendVariableChanges();
+        }
         world.endProfiling();
     }
 
+    /**
+     * Returns the timing telemetry for entities in this world.
+     */
+    public EntityTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Returns the registry used to map variable IDs for networking.
+     */
+    public VariableSyncRegistry getVariableSyncRegistry() {
+        return variableSyncRegistry;
+    }
+
+    /**
+     * Queues a change to the variable to be sent at the end of this tick.  On servers, this goes to all clients,
+     * on clients, it goes to the server.  Sets replace all prior changes to the variable that are still queued.
+     */
+    public void queueVariableChange(ComputedVariable variable, VariableOperation operation, double value, double minValue, double maxValue) {
+        List<VariableChange> changes = pendingVariableChanges.computeIfAbsent(variable.entity, k -> new ArrayList<>());
+        if (operation == VariableOperation.SET) {
+            changes.removeIf(change -> change.variable == variable);
+        }
+        changes.add(new VariableChange(variable, operation, value, minValue, maxValue));
+    }
+
+    private void sendVariableChanges() {
+        boolean isClient = getWorld().isClient();
+        pendingVariableChanges.forEach((entity, changes) -> {
+            if (entity.isValid) {
+                if (isClient) {
+                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableBatch(entity, changes));
+                } else {
+                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableBatch(entity, changes));
+                }
+            }
+        });
+        pendingVariableChanges.clear();
+    }
+
+    /**
+     * Queues the vehicle's movement to be sent to clients at the end of this tick.
+     * Call this ONLY on the server.
+     */
+    public void queueVehicleMovement(EntityVehicleF_Physics vehicle) {
+        movedVehicles.add(vehicle);
+    }
+
+    private void sendVehicleMovement() {
+        List<EntityVehicleF_Physics> batch = new ArrayList<>();
+        for (EntityVehicleF_Physics vehicle : movedVehicles) {
+            if (vehicle.isValid) {
+                batch.add(vehicle);
+                if (batch.size() == PacketVehicleServerMovementBatch.MAX_VEHICLES_PER_PACKET) {
+                    sendVehicleMovement(batch);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            sendVehicleMovement(batch);
+        }
+        movedVehicles.clear();
+    }
+
+    private static void sendVehicleMovement(List<EntityVehicleF_Physics> batch) {
+        PacketVehicleServerMovementBatch packet = new PacketVehicleServerMovementBatch(batch);
+        if (packet.hasMovement()) {
+            InterfaceManager.packetInterface.sendToAllClients(packet);
+        }
+        batch.clear();
+    }
+
     public static void doTick(AEntityA_Base entity) {
         entity.world.beginProfiling("MTSEntity_" + entity.uniqueUUID, true);
+        long startTime = System.nanoTime();
         if (entity instanceof AEntityD_Definable) {
             AEntityD_Definable<?> definable = (AEntityD_Definable<?>) entity;
             //Need to do this before updating as these require knowledge of prior states.
@@ -311,8 +610,16 @@ public abstract class EntityManager {
             entity.world.beginProfiling("PostUpdate", false);
             definable.doPostUpdateLogic();
             entity.world.endProfiling();
+            entity.world.getTelemetry().record(entity, TimingType.TICK, System.nanoTime() - startTime);
+
+            //Switchbox time is everything since the last tick, so it includes switchboxes run for rendering.
+            if (definable.switchboxNanos != 0) {
+                entity.world.getTelemetry().record(entity, TimingType.SWITCHBOX, definable.switchboxNanos);
+                definable.switchboxNanos = 0;
+            }
         } else {
             entity.update();
+            entity.world.getTelemetry().record(entity, TimingType.TICK, System.nanoTime() - startTime);
         }
         entity.world.endProfiling();
     }
@@ -324,26 +631,20 @@ public abstract class EntityManager {
     public EntityInteractResult getMultipartEntityIntersect(Point3D startPoint, Point3D endPoint) {
         EntityInteractResult closestResult = null;
         BoundingBox vectorBounds = new BoundingBox(startPoint, endPoint);
-        List<AEntityF_Multipart<?>> multiparts = new ArrayList<>();
-        multiparts.addAll(getEntitiesOfType(EntityVehicleF_Physics.class));
-        multiparts.addAll(getEntitiesOfType(EntityPlacedPart.class));
-
-        for (AEntityF_Multipart<?> multipart : multiparts) {
-            if (multipart.encompassingBox.intersects(vectorBounds) && multipart.canBeClicked()) {
+        for (AEntityF_Multipart<?> multipart : getMultipartsWithin(vectorBounds)) {
+            if (multipart.canBeClicked()) {
                 //Could have hit this multipart, check if and what we did via raytracing.
-                for (BoundingBox box : multipart.allCollisionBoxes) {
-                    if (box.collisionTypes.contains(CollisionType.CLICK) && box.intersects(vectorBounds)) {
-                        BoundingBoxHitResult intersectionPoint = box.getIntersection(startPoint, endPoint);
-                        if (intersectionPoint != null) {
-                            if (closestResult == null || startPoint.isFirstCloserThanSecond(intersectionPoint.position, closestResult.position)) {
-                                APart part = multipart.getPartWithBox(box);
-                                if (part != null) {
-                                    if (part.canBeClicked()) {
-                                        closestResult = new EntityInteractResult(part, box, intersectionPoint.position);
-                                    }
-                                } else {
-                                    closestResult = new EntityInteractResult(multipart, box, intersectionPoint.position);
+                for (BoundingBox box : multipart.getCollisionBoxTree().getBoxesAlongSegment(startPoint, endPoint, CLICK_TYPE_MASK)) {
+                    BoundingBoxHitResult intersectionPoint = box.getIntersection(startPoint, endPoint);
+                    if (intersectionPoint != null) {
+                        if (closestResult == null || startPoint.isFirstCloserThanSecond(intersectionPoint.position, closestResult.position)) {
+                            APart part = multipart.getPartWithBox(box);
+                            if (part != null) {
+                                if (part.canBeClicked()) {
+                                    closestResult = new EntityInteractResult(part, box, intersectionPoint.position);
                                 }
+                            } else {
+                                closestResult = new EntityInteractResult(multipart, box, intersectionPoint.position);
                             }
                         }
                     }
@@ -360,6 +661,10 @@ public abstract class EntityManager {
         allEntities.remove(entity);
         allNormalTickableEntities.remove(entity);
         allPlayerTickableEntities.remove(entity);
+        if (tickScheduler != null) {
+            tickScheduler.removeEntity(entity);
+        }
+        telemetry.removeEntity(entity);
         if (entity instanceof AEntityC_Renderable) {
             renderableEntities.remove(entity);
         }
@@ -371,6 +676,13 @@ public abstract class EntityManager {
             EntityBullet bullet = (EntityBullet) entity;
             bulletMap.get(bullet.gun.uniqueUUID).remove(bullet.bulletNumber);
         }
+        if (entity instanceof AEntityF_Multipart) {
+            MultipartCellEntry entry = multipartCellEntries.remove(entity);
+            if (entry != null) {
+                removeFromCells(entry);
+                entry.proximityTriggers.forEach(trigger -> trigger.remove(entry.multipart));
+            }
+        }
     }
     
     //FIXME need to put this on newer MC versions.
@@ -378,36 +690,34 @@ public abstract class EntityManager {
         for (EntityVehicleF_Physics vehicle : getEntitiesOfType(EntityVehicleF_Physics.class)) {
             if (vehicle.encompassingBox.isPointInsideAndBelow(position)) {
                 //Point is inside the box, but we might not be blocked by a collision box.  If we are, we need to block rain.
-                for (BoundingBox box : vehicle.allCollisionBoxes) {
-                    if (box.collisionTypes.contains(CollisionType.ENTITY)) {
-                        //Check all four corners.
-                        //We might only be blocking partially, but we need to block the whole block.
-                        position.x -= 0.5;
-                        position.z -= 0.5;
+                for (BoundingBox box : vehicle.allCollisionBoxes.getBoxes(CollisionType.ENTITY)) {
+                    //Check all four corners.
+                    //We might only be blocking partially, but we need to block the whole block.
+                    position.x -= 0.5;
+                    position.z -= 0.5;
+                    if (box.isPointInsideAndBelow(position)) {
+                        position.y = box.globalCenter.y + box.heightRadius;
+                        position.x += 0.5;
+                        position.z += 0.5;
+                    } else {
+                        position.x += 1.0;
                         if (box.isPointInsideAndBelow(position)) {
                             position.y = box.globalCenter.y + box.heightRadius;
-                            position.x += 0.5;
+                            position.x -= 0.5;
                             position.z += 0.5;
                         } else {
-                            position.x += 1.0;
+                            position.z += 1.0;
                             if (box.isPointInsideAndBelow(position)) {
                                 position.y = box.globalCenter.y + box.heightRadius;
                                 position.x -= 0.5;
-                                position.z += 0.5;
+                                position.z -= 0.5;
                             } else {
-                                position.z += 1.0;
+                                position.x -= 1.0;
                                 if (box.isPointInsideAndBelow(position)) {
                                     position.y = box.globalCenter.y + box.heightRadius;
-                                    position.x -= 0.5;
-                                    position.z -= 0.5;
-                                } else {
-                                    position.x -= 1.0;
-                                    if (box.isPointInsideAndBelow(position)) {
-                                        position.y = box.globalCenter.y + box.heightRadius;
-                                    }
-                                    position.x += 0.5;
-                                    position.z -= 0.5;
                                 }
+                                position.x += 0.5;
+                                position.z -= 0.5;
                             }
                         }
                     }
@@ -435,6 +745,25 @@ public abstract class EntityManager {
     	hotloadStep = 1;
 	}
     
+    /**
+     * Entry for a multipart in the spatial index.  Stores the range of cells the multipart
+     * currently occupies so we know which cells to remove it from when it moves, and the
+     * proximity triggers it's currently in.
+     */
+    private static class MultipartCellEntry {
+        private final AEntityF_Multipart<?> multipart;
+        private final Set<ProximityTrigger<?>> proximityTriggers = new HashSet<>();
+        private boolean isIndexed;
+        private int minCellX;
+        private int minCellZ;
+        private int maxCellX;
+        private int maxCellZ;
+
+        private MultipartCellEntry(AEntityF_Multipart<?> multipart) {
+            this.multipart = multipart;
+        }
+    }
+
     @FunctionalInterface
     public static abstract interface HotloadFunction{
     	public void apply();
@@ -0,0 +1,316 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.gson.GsonBuilder;
+
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
+import minecrafttransportsimulator.systems.LanguageSystem;
+
+/**
+ * Class that records how long entities take to tick, run their switchboxes, and set up rendering.
+ * Times are kept per entity and per definition in histograms that cover the last one to two
+ * {@link #ROLL_INTERVAL}s of ticks, so reports show what is slow now rather than what was slow at some point.
+ * Entity times include the times of their parts, as parts are ticked and rendered by the entity they are on.
+ * Tick and switchbox times are reported per tick.  Render times happen every frame, and more than once per frame
+ * with multiple render passes, so they are reported per render call instead.
+ * Each {@link EntityManager} has its own telemetry, and it should only be used from the thread that ticks it.
+ *
+ * @author don_bruce
+ */
+public class EntityTelemetry {
+    private static final int ROLL_INTERVAL = 600;
+    private static final int BUCKET_COUNT = 32;
+    private static final int REPORT_ENTRIES = 5;
+
+    private final Map<String, TimingStats> definitionStats = new HashMap<>();
+    private final Map<UUID, TimingStats> entityStats = new HashMap<>();
+    private int currentTicks;
+    private int previousTicks;
+
+    /**
+     * Records a time for the passed-in entity.
+     */
+    public void record(AEntityA_Base entity, TimingType type, long nanos) {
+        TimingStats stats = entityStats.get(entity.uniqueUUID);
+        if (stats == null) {
+            String definitionName = getDefinitionName(entity);
+            TimingStats definition = definitionStats.get(definitionName);
+            if (definition == null) {
+                definition = new TimingStats(definitionName, null, null);
+                definitionStats.put(definitionName, definition);
+            }
+            stats = new TimingStats(definitionName, entity, definition);
+            entityStats.put(entity.uniqueUUID, stats);
+        }
+        stats.histograms[type.ordinal()].add(nanos);
+        stats.definition.histograms[type.ordinal()].add(nanos);
+    }
+
+    /**
+     * Removes the stats of the passed-in entity, as it won't have any more times recorded.
+     * Its times are still part of the stats for its definition.
+     */
+    public void removeEntity(AEntityA_Base entity) {
+        entityStats.remove(entity.uniqueUUID);
+    }
+
+    /**
+     * Called once every tick.  Rolls the histograms over every {@link #ROLL_INTERVAL} ticks,
+     * and removes stats of entities that haven't had anything recorded since the last roll.
+     */
+    public void tick() {
+        if (++currentTicks == ROLL_INTERVAL) {
+            previousTicks = currentTicks;
+            currentTicks = 0;
+            rollStats(definitionStats.values().iterator());
+            rollStats(entityStats.values().iterator());
+        }
+    }
+
+    private static void rollStats(Iterator<TimingStats> iterator) {
+        while (iterator.hasNext()) {
+            TimingStats stats = iterator.next();
+            boolean hasSamples = false;
+            for (TimingHistogram histogram : stats.histograms) {
+                hasSamples |= histogram.currentSamples != 0;
+                histogram.roll();
+            }
+            if (!hasSamples) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Shows the report for this telemetry in the player's chat, and exports all times to the telemetry folder
+     * in the game directory with the passed-in name.  On servers, the report is sent to the player with packets.
+     */
+    public void sendReport(IWrapperPlayer player, String reportName, boolean onClient) {
+        List<String> lines = getReport(REPORT_ENTRIES);
+        if (lines.isEmpty()) {
+            lines.add("No " + reportName + " entity timings recorded yet.");
+        }
+        File folder = new File(InterfaceManager.gameDirectory, "mts_telemetry");
+        try {
+            export(folder, reportName);
+            lines.add("Exported all " + reportName + " timings to " + folder.getAbsolutePath());
+        } catch (IOException e) {
+            lines.add("Could not export " + reportName + " timings: " + e.getMessage());
+        }
+        for (String line : lines) {
+            if (onClient) {
+                player.displayChatMessage(LanguageSystem.SYSTEM_DEBUG, line);
+            } else {
+                player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.SYSTEM_DEBUG, line));
+            }
+        }
+    }
+
+    /**
+     * Returns report lines for the definitions and entities that took the most time for each timing type.
+     */
+    public List<String> getReport(int maxEntries) {
+        List<String> lines = new ArrayList<>();
+        int ticks = Math.max(1, currentTicks + previousTicks);
+        for (TimingType type : TimingType.values()) {
+            List<TimingStats> definitions = getTopStats(definitionStats, type, maxEntries);
+            if (!definitions.isEmpty()) {
+                lines.add(String.format("Top %s times over the last %d ticks, by definition:", type.name().toLowerCase(), ticks));
+                definitions.forEach(stats -> lines.add(stats.histograms[type.ordinal()].getSummary(type, ticks) + "  " + stats.getName()));
+                lines.add("By entity:");
+                getTopStats(entityStats, type, maxEntries).forEach(stats -> lines.add(stats.histograms[type.ordinal()].getSummary(type, ticks) + "  " + stats.getName()));
+            }
+        }
+        return lines;
+    }
+
+    private static List<TimingStats> getTopStats(Map<?, TimingStats> statsMap, TimingType type, int maxEntries) {
+        List<TimingStats> sortedStats = new ArrayList<>();
+        for (TimingStats stats : statsMap.values()) {
+            if (stats.histograms[type.ordinal()].getSamples() != 0) {
+                sortedStats.add(stats);
+            }
+        }
+        sortedStats.sort((first, second) -> Long.compare(second.histograms[type.ordinal()].getTotalNanos(), first.histograms[type.ordinal()].getTotalNanos()));
+        return sortedStats.size() > maxEntries ? sortedStats.subList(0, maxEntries) : sortedStats;
+    }
+
+    /**
+     * Exports all recorded times to CSV and JSON files in the passed-in folder.  Files are named with the passed-in name.
+     */
+    public void export(File folder, String fileName) throws IOException {
+        folder.mkdirs();
+        int ticks = Math.max(1, currentTicks + previousTicks);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        definitionStats.values().forEach(stats -> addRows(rows, "definition", stats, ticks));
+        entityStats.values().forEach(stats -> addRows(rows, "entity", stats, ticks));
+
+        try (Writer writer = new FileWriter(new File(folder, fileName + ".csv"))) {
+            writer.write(String.join(",", rows.isEmpty() ? new ArrayList<>() : rows.get(0).keySet()) + "\n");
+            for (Map<String, Object> row : rows) {
+                List<String> values = new ArrayList<>();
+                row.values().forEach(value -> values.add(value instanceof String ? "\"" + ((String) value).replace("\"", "\"\"") + "\"" : (value != null ? String.valueOf(value) : "")));
+                writer.write(String.join(",", values) + "\n");
+            }
+        }
+        try (Writer writer = new FileWriter(new File(folder, fileName + ".json"))) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(rows, writer);
+        }
+    }
+
+    private static void addRows(List<Map<String, Object>> rows, String scope, TimingStats stats, int ticks) {
+        for (TimingType type : TimingType.values()) {
+            TimingHistogram histogram = stats.histograms[type.ordinal()];
+            if (histogram.getSamples() != 0) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("scope", scope);
+                row.put("name", stats.getName());
+                row.put("type", type.name().toLowerCase());
+                row.put("samples", histogram.getSamples());
+                //Render calls aren't once a tick, so a per-tick total for them would be meaningless.
+                row.put("msPerTick", type.perTick ? histogram.getTotalNanos() / 1000000D / ticks : null);
+                row.put("meanMicros", histogram.getTotalNanos() / 1000D / histogram.getSamples());
+                row.put("p50Micros", histogram.getPercentileNanos(0.5) / 1000D);
+                row.put("p99Micros", histogram.getPercentileNanos(0.99) / 1000D);
+                row.put("maxMicros", histogram.getMaxNanos() / 1000D);
+                rows.add(row);
+            }
+        }
+    }
+
+    private static String getDefinitionName(AEntityA_Base entity) {
+        if (entity instanceof AEntityD_Definable) {
+            AEntityD_Definable<?> definable = (AEntityD_Definable<?>) entity;
+            return definable.definition.packID + ":" + definable.definition.systemName + definable.subDefinition.subName;
+        } else {
+            return entity.getClass().getSimpleName();
+        }
+    }
+
+    public static enum TimingType {
+        TICK(true),
+        SWITCHBOX(true),
+        RENDER(false);
+
+        /**True if this is recorded at most once per entity per tick, so can be reported as a time per tick.**/
+        public final boolean perTick;
+
+        private TimingType(boolean perTick) {
+            this.perTick = perTick;
+        }
+    }
+
+    private static class TimingStats {
+        private final String definitionName;
+        private final AEntityA_Base entity;
+        private final TimingStats definition;
+        private final TimingHistogram[] histograms = new TimingHistogram[TimingType.values().length];
+
+        private TimingStats(String definitionName, AEntityA_Base entity, TimingStats definition) {
+            this.definitionName = definitionName;
+            this.entity = entity;
+            this.definition = definition;
+            for (int i = 0; i < histograms.length; ++i) {
+                histograms[i] = new TimingHistogram();
+            }
+        }
+
+        private String getName() {
+            if (entity instanceof AEntityB_Existing) {
+                Point3D position = ((AEntityB_Existing) entity).position;
+                return String.format("%s @ %d, %d, %d", definitionName, (int) position.x, (int) position.y, (int) position.z);
+            } else if (entity != null) {
+                return definitionName + " " + entity.uniqueUUID;
+            } else {
+                return definitionName;
+            }
+        }
+    }
+
+    /**
+     * Histogram of times, with power-of-two nanosecond buckets.  Holds the current and previous
+     * roll intervals, and reports are for both of them combined.
+     */
+    private static class TimingHistogram {
+        private long[] currentBuckets = new long[BUCKET_COUNT];
+        private long[] previousBuckets = new long[BUCKET_COUNT];
+        private long currentSamples;
+        private long previousSamples;
+        private long currentNanos;
+        private long previousNanos;
+        private long currentMaxNanos;
+        private long previousMaxNanos;
+
+        private void add(long nanos) {
+            ++currentBuckets[Math.min(BUCKET_COUNT - 1, 63 - Long.numberOfLeadingZeros(nanos | 1))];
+            ++currentSamples;
+            currentNanos += nanos;
+            if (nanos > currentMaxNanos) {
+                currentMaxNanos = nanos;
+            }
+        }
+
+        private void roll() {
+            long[] oldBuckets = previousBuckets;
+            previousBuckets = currentBuckets;
+            currentBuckets = oldBuckets;
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                currentBuckets[i] = 0;
+            }
+            previousSamples = currentSamples;
+            previousNanos = currentNanos;
+            previousMaxNanos = currentMaxNanos;
+            currentSamples = 0;
+            currentNanos = 0;
+            currentMaxNanos = 0;
+        }
+
+        private long getSamples() {
+            return currentSamples + previousSamples;
+        }
+
+        private long getTotalNanos() {
+            return currentNanos + previousNanos;
+        }
+
+        private long getMaxNanos() {
+            return Math.max(currentMaxNanos, previousMaxNanos);
+        }
+
+        /**
+         * Returns the upper bound of the bucket the passed-in percentile (0 to 1) falls in.
+         */
+        private long getPercentileNanos(double percentile) {
+            long targetSamples = (long) Math.ceil(getSamples() * percentile);
+            long samples = 0;
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                samples += currentBuckets[i] + previousBuckets[i];
+                if (samples >= targetSamples) {
+                    return Math.min(2L << i, getMaxNanos());
+                }
+            }
+            return getMaxNanos();
+        }
+
+        private String getSummary(TimingType type, int ticks) {
+            String total = type.perTick ? String.format("%.3fms/t", getTotalNanos() / 1000000D / ticks) : String.format("%.1fus/call", getTotalNanos() / 1000D / getSamples());
+            return String.format("%s p50:%.1fus p99:%.1fus max:%.1fus", total, getPercentileNanos(0.5) / 1000D, getPercentileNanos(0.99) / 1000D, getMaxNanos() / 1000D);
+        }
+    }
+}
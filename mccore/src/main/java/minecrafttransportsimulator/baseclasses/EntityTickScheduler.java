@@ -0,0 +1,125 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityA_Base.EntityTickTier;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Class that schedules ticks for entities on servers based on their {@link EntityTickTier}.
+ * Entities in the full tier, or with players nearby, are ticked every tick as normal.  Entities in other
+ * tiers are queued for a tick once their tier's interval has passed, and those queues are run after
+ * the normal ticks.  Each tier has a time budget: once it's used, the rest of the queue is left for the next tick,
+ * so a large number of idle entities all coming due at once doesn't cause a lag spike.
+ *
+ * @author don_bruce
+ */
+public class EntityTickScheduler {
+    private final AWrapperWorld world;
+    private final Map<AEntityA_Base, ScheduledEntity> scheduledEntities = new HashMap<>();
+    private final Map<EntityTickTier, ArrayDeque<ScheduledEntity>> tierQueues = new HashMap<>();
+    private final BoundingBox playerCheckBox = new BoundingBox(new Point3D(), 0, 0, 0);
+
+    public EntityTickScheduler(AWrapperWorld world) {
+        this.world = world;
+        for (EntityTickTier tier : EntityTickTier.values()) {
+            if (tier != EntityTickTier.FULL) {
+                tierQueues.put(tier, new ArrayDeque<>());
+            }
+        }
+    }
+
+    /**
+     * Returns true if the entity should be ticked now, as part of the normal tick loop.
+     * If false, the entity may be queued to be ticked in {@link #runQueuedTicks()} instead.
+     */
+    public boolean shouldTickNow(AEntityA_Base entity) {
+        if (world.isClient() || !ConfigSystem.settings.general.scheduleIdleTicks.value) {
+            return true;
+        }
+        EntityTickTier tier = entity.getTickTier();
+        if (tier != EntityTickTier.FULL) {
+            //Only existing entities have a position to check players against, so tick anything else normally.
+            if (entity instanceof AEntityB_Existing) {
+                //Re-use the same box for all checks, this is called for every scheduled entity every tick.
+                double distance = ConfigSystem.settings.general.idleTickDistance.value;
+                playerCheckBox.globalCenter.set(((AEntityB_Existing) entity).position);
+                playerCheckBox.widthRadius = distance;
+                playerCheckBox.heightRadius = distance;
+                playerCheckBox.depthRadius = distance;
+                if (!world.getPlayersWithin(playerCheckBox).isEmpty()) {
+                    tier = EntityTickTier.FULL;
+                }
+            } else {
+                tier = EntityTickTier.FULL;
+            }
+        }
+
+        if (tier == EntityTickTier.FULL) {
+            //Remove any scheduling, this also invalidates any entry still in a queue.
+            scheduledEntities.remove(entity);
+            return true;
+        } else {
+            ScheduledEntity scheduled = scheduledEntities.computeIfAbsent(entity, k -> new ScheduledEntity(entity));
+            if (!scheduled.queued && ++scheduled.ticksSinceUpdate >= getInterval(tier)) {
+                scheduled.queued = true;
+                tierQueues.get(tier).add(scheduled);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Ticks queued entities for all tiers, up to each tier's time budget.
+     * At least one entity is ticked in each tier with a queue, so queues always make progress.
+     */
+    public void runQueuedTicks() {
+        for (EntityTickTier tier : EntityTickTier.values()) {
+            ArrayDeque<ScheduledEntity> queue = tierQueues.get(tier);
+            if (queue != null && !queue.isEmpty()) {
+                long budgetEndTime = System.nanoTime() + (long) (getBudget(tier) * 1000000);
+                boolean tickedEntity = false;
+                while (!queue.isEmpty() && (!tickedEntity || System.nanoTime() < budgetEndTime)) {
+                    ScheduledEntity scheduled = queue.poll();
+                    //Entity may have been removed, or ticked normally, since it was queued.
+                    if (scheduled.entity.isValid && scheduledEntities.get(scheduled.entity) == scheduled) {
+                        scheduled.queued = false;
+                        scheduled.ticksSinceUpdate = 0;
+                        EntityManager.doTick(scheduled.entity);
+                        tickedEntity = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the entity from scheduling.  Should be called when the entity is removed from the world.
+     */
+    public void removeEntity(AEntityA_Base entity) {
+        scheduledEntities.remove(entity);
+    }
+
+    private static int getInterval(EntityTickTier tier) {
+        return tier == EntityTickTier.REDUCED ? ConfigSystem.settings.general.reducedTickInterval.value : ConfigSystem.settings.general.deferredTickInterval.value;
+    }
+
+    private static double getBudget(EntityTickTier tier) {
+        return tier == EntityTickTier.REDUCED ? ConfigSystem.settings.general.reducedTickBudget.value : ConfigSystem.settings.general.deferredTickBudget.value;
+    }
+
+    private static class ScheduledEntity {
+        private final AEntityA_Base entity;
+        private int ticksSinceUpdate;
+        private boolean queued;
+
+        private ScheduledEntity(AEntityA_Base entity) {
+            this.entity = entity;
+        }
+    }
+}
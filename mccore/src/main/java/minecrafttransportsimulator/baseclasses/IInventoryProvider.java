@@ -27,22 +27,28 @@ public interface IInventoryProvider {
      * and extend that class.
      */
     default double getInventoryMass() {
-        Map<String, Double> heavyItems = ConfigSystem.settings.general.itemWeights.weights;
         double currentMass = 0;
         for (int i = 0; i < getSize(); ++i) {
-            IWrapperItemStack stack = getStack(i);
-            double weightMultiplier = 1.0;
-            for (String heavyItemName : heavyItems.keySet()) {
-                if (InterfaceManager.coreInterface.getStackItemName(stack).contains(heavyItemName)) {
-                    weightMultiplier = heavyItems.get(heavyItemName);
-                    break;
-                }
-            }
-            currentMass += 5F * stack.getSize() / stack.getMaxSize() * weightMultiplier;
+            currentMass += getStackMass(getStack(i));
         }
         return currentMass;
     }
 
+    /**
+     * Returns the mass of the passed-in stack, as used in {@link #getInventoryMass()}.
+     */
+    default double getStackMass(IWrapperItemStack stack) {
+        Map<String, Double> heavyItems = ConfigSystem.settings.general.itemWeights.weights;
+        double weightMultiplier = 1.0;
+        for (String heavyItemName : heavyItems.keySet()) {
+            if (InterfaceManager.coreInterface.getStackItemName(stack).contains(heavyItemName)) {
+                weightMultiplier = heavyItems.get(heavyItemName);
+                break;
+            }
+        }
+        return 5F * stack.getSize() / stack.getMaxSize() * weightMultiplier;
+    }
+
     /**
      * Gets the max number of item stacks this inventory can contain.
      */
@@ -0,0 +1,101 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
+
+/**
+ * A region of the world that keeps track of the vehicles and placed parts inside it.  Once added to the world with
+ * {@link EntityManager#addProximityTrigger(ProximityTrigger)}, the listener is told when multiparts that match the
+ * class and filter enter or leave the region.  Multiparts are checked against nearby triggers when they move, so
+ * the owner of the trigger doesn't need to search all entities in the world to find the ones near it.
+ * Remember to remove the trigger with {@link EntityManager#removeProximityTrigger(ProximityTrigger)} when its owner is removed!
+ *
+ * @author don_bruce
+ */
+public class ProximityTrigger<EntityType extends AEntityF_Multipart<?>> {
+    public final BoundingBox region;
+    private final Class<EntityType> entityClass;
+    private final Predicate<EntityType> filter;
+    private final IProximityListener<EntityType> listener;
+    private final Set<EntityType> entitiesInside = new LinkedHashSet<>();
+    private final Set<EntityType> entitiesInsideView = Collections.unmodifiableSet(entitiesInside);
+
+    //Cells this trigger is in, set by the manager when the trigger is added.
+    int minCellX;
+    int minCellZ;
+    int maxCellX;
+    int maxCellZ;
+
+    /**
+     * Creates a new trigger for the passed-in region.  If the class is null, all multiparts match it.
+     * If the filter is null, all multiparts of that class match it.  The listener may also be null,
+     * in which case {@link #getEntitiesInside()} should be used to see what is in the region.
+     */
+    public ProximityTrigger(BoundingBox region, Class<EntityType> entityClass, Predicate<EntityType> filter, IProximityListener<EntityType> listener) {
+        this.region = region;
+        this.entityClass = entityClass;
+        this.filter = filter;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns all multiparts currently in this trigger's region.  Do NOT modify this set.
+     */
+    public Set<EntityType> getEntitiesInside() {
+        return entitiesInsideView;
+    }
+
+    /**
+     * Checks if the passed-in multipart is in our region, and updates our entities and calls the listener if this changed.
+     * Returns true if the multipart is in the region.
+     */
+    @SuppressWarnings("unchecked")
+    boolean check(AEntityF_Multipart<?> multipart) {
+        if ((entityClass == null || entityClass.isInstance(multipart)) && multipart.isValid && region.intersects(multipart.encompassingBox) && (filter == null || filter.test((EntityType) multipart))) {
+            if (entitiesInside.add((EntityType) multipart) && listener != null) {
+                listener.onEntityEnter((EntityType) multipart);
+            }
+            return true;
+        } else {
+            remove(multipart);
+            return false;
+        }
+    }
+
+    /**
+     * Removes the passed-in multipart from this trigger, calling the listener if it was in our region.
+     */
+    @SuppressWarnings("unchecked")
+    void remove(AEntityF_Multipart<?> multipart) {
+        if (entitiesInside.remove(multipart) && listener != null) {
+            listener.onEntityLeave((EntityType) multipart);
+        }
+    }
+
+    /**
+     * Clears all multiparts from this trigger.  Does not call the listener, as this is only done when
+     * the trigger is removed from the world.
+     */
+    void clear() {
+        entitiesInside.clear();
+    }
+
+    /**
+     * Listener for {@link ProximityTrigger}s.
+     */
+    public static interface IProximityListener<EntityType extends AEntityF_Multipart<?>> {
+        /**
+         * Called when a matching multipart enters the region.
+         */
+        public void onEntityEnter(EntityType entity);
+
+        /**
+         * Called when a multipart leaves the region, is removed from the world, or stops matching the filter.
+         */
+        public void onEntityLeave(EntityType entity);
+    }
+}
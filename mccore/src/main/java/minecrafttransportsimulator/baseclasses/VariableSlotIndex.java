@@ -0,0 +1,49 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class that hands out dense slot indexes for the variables used by a single definition.
+ * Each definition has one of these, and entities of that definition size their variable slot table
+ * to {@link #getSlotCount()}, so the table only holds the variables the definition actually references,
+ * rather than every variable seen by any definition.  Slots are handed out the first time a variable is
+ * resolved, which is when the animations and modifiers for the first entity of the definition are set up,
+ * so they never change for the life of the definition.  This is shared between the client and server threads,
+ * hence the synchronization.  Lookups don't go through here, they use the resolved slot directly.
+ *
+ * @author don_bruce
+ */
+public class VariableSlotIndex {
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final List<String> variableKeys = new ArrayList<>();
+
+    /**
+     * Returns the slot for the passed-in variable key, assigning the next free one if the key hasn't been seen before.
+     */
+    public synchronized int getSlot(String variableKey) {
+        Integer slot = slots.get(variableKey);
+        if (slot == null) {
+            slot = variableKeys.size();
+            slots.put(variableKey, slot);
+            variableKeys.add(variableKey);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the variable key for the passed-in slot.  The slot must have been obtained from {@link #getSlot(String)}.
+     */
+    public synchronized String getVariableKey(int slot) {
+        return variableKeys.get(slot);
+    }
+
+    /**
+     * Returns the number of slots that have been assigned.
+     */
+    public synchronized int getSlotCount() {
+        return variableKeys.size();
+    }
+}
@@ -0,0 +1,94 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Class that maps variable IDs between servers and clients for networking.  The global IDs from
+ * {@link ComputedVariable#getVariableID(String)} are handed out in the order variables are first seen,
+ * so they differ between the server and each client.  The server's IDs are the ones used on the network:
+ * clients are sent all of them when they join, and any new ones are sent by name in the first packet
+ * that uses them.  Clients send variables they don't know the server ID of by name.
+ * Clients may get an ID before the packet that names it, so changes for unknown IDs are held until it arrives.
+ * Each client world has its own instance of this class, as it's only valid for one connection.
+ *
+ * @author don_bruce
+ */
+public class VariableSyncRegistry {
+    /**Server IDs that have been sent to all clients with their names.**/
+    private static final BitSet announcedIDs = new BitSet();
+
+    private int[] localToServerIDs = new int[0];
+    private int[] serverToLocalIDs = new int[0];
+    private final Map<Integer, List<Consumer<String>>> deferredChanges = new HashMap<>();
+
+    /**
+     * Marks the passed-in server ID as sent to all clients.  Returns true if it wasn't already,
+     * in which case the name of the variable should be sent with the ID.
+     * Call this ONLY on the server.
+     */
+    public static synchronized boolean announceID(int serverID) {
+        if (announcedIDs.get(serverID)) {
+            return false;
+        } else {
+            announcedIDs.set(serverID);
+            return true;
+        }
+    }
+
+    /**
+     * Sets the server ID for the passed-in variable key.
+     * Call this ONLY on clients.
+     */
+    public void setServerID(int serverID, String variableKey) {
+        int localID = ComputedVariable.getVariableID(variableKey);
+        if (localID >= localToServerIDs.length) {
+            localToServerIDs = grow(localToServerIDs, localID);
+        }
+        if (serverID >= serverToLocalIDs.length) {
+            serverToLocalIDs = grow(serverToLocalIDs, serverID);
+        }
+        localToServerIDs[localID] = serverID;
+        serverToLocalIDs[serverID] = localID;
+
+        //Apply any changes that were waiting on this ID, in the order they arrived.
+        List<Consumer<String>> changes = deferredChanges.remove(serverID);
+        if (changes != null) {
+            changes.forEach(change -> change.accept(variableKey));
+        }
+    }
+
+    /**
+     * Holds the passed-in change until the name of the passed-in server ID is known, at which point the
+     * change is given the variable key.  Used for changes that arrive before the ID is sent to us.
+     * Call this ONLY on clients.
+     */
+    public void deferUntilKnown(int serverID, Consumer<String> change) {
+        deferredChanges.computeIfAbsent(serverID, k -> new ArrayList<>()).add(change);
+    }
+
+    /**
+     * Returns the server ID for the passed-in local ID, or -1 if we don't know it.
+     */
+    public int getServerID(int localID) {
+        return localID < localToServerIDs.length ? localToServerIDs[localID] : -1;
+    }
+
+    /**
+     * Returns the local ID for the passed-in server ID, or -1 if we don't know it.
+     */
+    public int getLocalID(int serverID) {
+        return serverID >= 0 && serverID < serverToLocalIDs.length ? serverToLocalIDs[serverID] : -1;
+    }
+
+    private static int[] grow(int[] ids, int index) {
+        int[] newIDs = Arrays.copyOf(ids, Math.max(index + 1, ids.length * 2));
+        Arrays.fill(newIDs, ids.length, newIDs.length, -1);
+        return newIDs;
+    }
+}
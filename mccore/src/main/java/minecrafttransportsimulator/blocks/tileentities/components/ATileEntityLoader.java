@@ -1,7 +1,12 @@
 package minecrafttransportsimulator.blocks.tileentities.components;
 
+import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.ProximityTrigger;
+import minecrafttransportsimulator.baseclasses.ProximityTrigger.IProximityListener;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityDecor;
+import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
+import minecrafttransportsimulator.entities.instances.APart;
 import minecrafttransportsimulator.entities.instances.PartInteractable;
 import minecrafttransportsimulator.items.instances.ItemDecor;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
@@ -10,11 +15,37 @@ import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityLoaderConnection;
 
-public abstract class ATileEntityLoader extends TileEntityDecor {
+public abstract class ATileEntityLoader extends TileEntityDecor implements IProximityListener<AEntityF_Multipart<?>> {
+    private static final double MAX_PART_DISTANCE = 10;
     public PartInteractable connectedPart;
+    /**Vehicles and placed parts near us.  Only these are checked for parts to connect to.**/
+    private final ProximityTrigger<AEntityF_Multipart<?>> nearbyEntities;
+    private boolean nearbyEntitiesChanged;
 
     public ATileEntityLoader(AWrapperWorld world, Point3D position, IWrapperPlayer placingPlayer, ItemDecor item, IWrapperNBT data) {
         super(world, position, placingPlayer, item, data);
+        this.nearbyEntities = new ProximityTrigger<>(new BoundingBox(this.position.copy(), MAX_PART_DISTANCE), null, null, this);
+        if (!world.isClient()) {
+            world.addProximityTrigger(nearbyEntities);
+        }
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+        if (!world.isClient()) {
+            world.removeProximityTrigger(nearbyEntities);
+        }
+    }
+
+    @Override
+    public void onEntityEnter(AEntityF_Multipart<?> entity) {
+        nearbyEntitiesChanged = true;
+    }
+
+    @Override
+    public void onEntityLeave(AEntityF_Multipart<?> entity) {
+        nearbyEntitiesChanged = true;
     }
 
     @Override
@@ -23,14 +54,16 @@ public abstract class ATileEntityLoader extends TileEntityDecor {
         //Do load/unload checks.  Checks only occur on servers.  Clients get packets for state changes.
         if (!world.isClient()) {
             if (connectedPart == null) {
-                //Check for a new part every second.  We don't want every tick as this would increase server loads.
-                if (ticksExisted % 20 == 0) {
+                //Check for a new part when something comes near us, and every second while things are near us, as parts
+                //may be added or moved on them.  We don't want every tick as this would increase server loads.
+                if (nearbyEntitiesChanged || (ticksExisted % 20 == 0 && !nearbyEntities.getEntitiesInside().isEmpty())) {
+                    nearbyEntitiesChanged = false;
                     updateNearestPart();
                 }
             } else {
                 //Don't load parts that don't exist.
                 //Also check distance to make sure the part hasn't moved away.
-                if (!connectedPart.isValid || !connectedPart.position.isDistanceToCloserThan(position, 10)) {
+                if (!connectedPart.isValid || !connectedPart.position.isDistanceToCloserThan(position, MAX_PART_DISTANCE)) {
                     updateNearestPart();
                 }
             }
@@ -48,12 +81,17 @@ public abstract class ATileEntityLoader extends TileEntityDecor {
 
     protected void updateNearestPart() {
         PartInteractable nearestPart = null;
-        double nearestDistance = 10;
+        double nearestDistance = MAX_PART_DISTANCE;
         if (canOperate()) {
-            for (PartInteractable interactablePart : world.getEntitiesOfType(PartInteractable.class)) {
-                if (canLoadPart(interactablePart)) {
-                    if (interactablePart.position.isDistanceToCloserThan(position, nearestDistance)) {
-                        nearestPart = interactablePart;
+            for (AEntityF_Multipart<?> nearbyEntity : nearbyEntities.getEntitiesInside()) {
+                for (APart part : nearbyEntity.allParts) {
+                    if (part instanceof PartInteractable) {
+                        PartInteractable interactablePart = (PartInteractable) part;
+                        if (canLoadPart(interactablePart)) {
+                            if (interactablePart.position.isDistanceToCloserThan(position, nearestDistance)) {
+                                nearestPart = interactablePart;
+                            }
+                        }
                     }
                 }
             }
@@ -87,6 +87,7 @@ public class RoadLane {
                 curves.add(new BezierCurve(start, end, startRotation, endRotation));
             }
         }
+        road.laneIndex.addLane(this);
     }
 
     /**
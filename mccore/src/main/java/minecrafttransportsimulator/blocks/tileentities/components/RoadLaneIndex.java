@@ -0,0 +1,99 @@
+package minecrafttransportsimulator.blocks.tileentities.components;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.baseclasses.BezierCurve;
+import minecrafttransportsimulator.baseclasses.Point3D;
+
+/**
+ * Spatial index of all lane curves on a road.  Curves are sampled at 1-block steps when their lane
+ * generates them, and the samples are stored in a grid of 1-block cells.  This lets vehicles find the lane
+ * they are on by checking only the cells around them, rather than walking every point of every curve.
+ * Samples keep the order they were added in, so lookups return the same lane a full walk of the lanes would.
+ *
+ * @author don_bruce
+ */
+public class RoadLaneIndex {
+    private final Map<Long, List<LaneSample>> cells = new HashMap<>();
+    private int sampleCount;
+
+    /**
+     * Adds the curves of the passed-in lane to this index.  Should be called once the lane's curves are generated.
+     */
+    public void addLane(RoadLane lane) {
+        for (BezierCurve curve : lane.curves) {
+            for (float f = 0; f < curve.pathLength; ++f) {
+                LaneSample sample = new LaneSample(lane, curve, f, sampleCount++);
+                cells.computeIfAbsent(getCellKey(sample.position.x, sample.position.y, sample.position.z), k -> new ArrayList<>()).add(sample);
+            }
+        }
+    }
+
+    /**
+     * Returns the following state for the lane point within 1 block of the passed-in position, whose yaw
+     * is either aligned with, or opposite to, the passed-in yaw.  If multiple points match, the first-added is returned.
+     * Returns null if no lane point matches.
+     */
+    public RoadFollowingState getFollowingState(Point3D position, double yaw) {
+        LaneSample bestSample = null;
+        boolean bestSameDirection = false;
+        int cellX = (int) Math.floor(position.x);
+        int cellY = (int) Math.floor(position.y);
+        int cellZ = (int) Math.floor(position.z);
+        for (int i = -1; i <= 1; ++i) {
+            for (int j = -1; j <= 1; ++j) {
+                for (int k = -1; k <= 1; ++k) {
+                    List<LaneSample> samples = cells.get(getCellKey(cellX + i, cellY + j, cellZ + k));
+                    if (samples != null) {
+                        for (LaneSample sample : samples) {
+                            //Samples in a cell are in order, so once we pass the best one we can stop.
+                            if (bestSample != null && sample.order > bestSample.order) {
+                                break;
+                            }
+                            if (sample.position.isDistanceToCloserThan(position, 1)) {
+                                double yawDelta = Math.abs(sample.yaw.getClampedYDelta(yaw));
+                                boolean sameDirection = yawDelta < 10;
+                                boolean oppositeDirection = yawDelta > 170;
+                                if (sameDirection || oppositeDirection) {
+                                    bestSample = sample;
+                                    bestSameDirection = sameDirection;
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return bestSample != null ? new RoadFollowingState(bestSample.lane, bestSample.curve, bestSameDirection, bestSample.segment) : null;
+    }
+
+    private static long getCellKey(double x, double y, double z) {
+        return getCellKey((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z));
+    }
+
+    private static long getCellKey(int x, int y, int z) {
+        return ((x & 0x3FFFFFL) << 42) | ((y & 0xFFFFFL) << 22) | (z & 0x3FFFFFL);
+    }
+
+    private static class LaneSample {
+        private final RoadLane lane;
+        private final BezierCurve curve;
+        private final float segment;
+        private final int order;
+        private final Point3D position = new Point3D();
+        private final Point3D yaw;
+
+        private LaneSample(RoadLane lane, BezierCurve curve, float segment, int order) {
+            this.lane = lane;
+            this.curve = curve;
+            this.segment = segment;
+            this.order = order;
+            curve.setPointToPositionAt(position, segment);
+            this.yaw = curve.getRotationAt(segment).angles.copy();
+        }
+    }
+}
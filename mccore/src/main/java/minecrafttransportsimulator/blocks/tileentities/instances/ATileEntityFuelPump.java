@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.ProximityTrigger;
 import minecrafttransportsimulator.entities.instances.AEntityVehicleE_Powered.FuelTankResult;
 import minecrafttransportsimulator.entities.instances.EntityInventoryContainer;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
@@ -23,7 +25,10 @@ import minecrafttransportsimulator.packets.instances.PacketTileEntityFuelPumpDis
 import minecrafttransportsimulator.systems.LanguageSystem;
 
 public abstract class ATileEntityFuelPump extends TileEntityDecor {
+    private static final double MAX_CONNECT_DISTANCE = 16;
     protected EntityVehicleF_Physics connectedVehicle;
+    /**Vehicles near us.  Only these are checked when trying to connect to a vehicle.**/
+    private final ProximityTrigger<EntityVehicleF_Physics> nearbyVehicles;
     protected IWrapperPlayer playerUsing;
     public final EntityInventoryContainer fuelItems;
     public final EntityInventoryContainer paymentItems;
@@ -57,6 +62,18 @@ public abstract class ATileEntityFuelPump extends TileEntityDecor {
             }
             this.placingPlayerID = placingPlayer != null ? placingPlayer.getID() : null;
         }
+        this.nearbyVehicles = new ProximityTrigger<>(new BoundingBox(this.position.copy(), MAX_CONNECT_DISTANCE), EntityVehicleF_Physics.class, null, null);
+        if (!world.isClient()) {
+            world.addProximityTrigger(nearbyVehicles);
+        }
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+        if (!world.isClient()) {
+            world.removeProximityTrigger(nearbyVehicles);
+        }
     }
 
     @Override
@@ -151,8 +168,8 @@ public abstract class ATileEntityFuelPump extends TileEntityDecor {
         if (connectedVehicle == null) {
             //Get the closest vehicle within a 16-block radius.
             EntityVehicleF_Physics nearestVehicle = null;
-            double lowestDistance = 16D;
-            for (EntityVehicleF_Physics testVehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            double lowestDistance = MAX_CONNECT_DISTANCE;
+            for (EntityVehicleF_Physics testVehicle : nearbyVehicles.getEntitiesInside()) {
                 double vehicleDistance = testVehicle.position.distanceTo(position);
                 if (vehicleDistance < lowestDistance) {
                     lowestDistance = vehicleDistance;
@@ -3,9 +3,11 @@ package minecrafttransportsimulator.blocks.tileentities.instances;
 import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import minecrafttransportsimulator.baseclasses.BezierCurve;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
@@ -20,6 +22,7 @@ import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBas
 import minecrafttransportsimulator.blocks.tileentities.components.RoadClickData;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadLane;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadLaneConnection;
+import minecrafttransportsimulator.blocks.tileentities.components.RoadLaneIndex;
 import minecrafttransportsimulator.items.instances.ItemRoadComponent;
 import minecrafttransportsimulator.jsondefs.JSONRoadComponent;
 import minecrafttransportsimulator.jsondefs.JSONRoadComponent.JSONLaneSector;
@@ -59,6 +62,7 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
     //Static variables based on core definition.
     public BezierCurve dynamicCurve;
     public final List<RoadLane> lanes = new ArrayList<>();
+    public final RoadLaneIndex laneIndex = new RoadLaneIndex();
 
     //Dynamic variables based on states.
     private boolean isActive;
@@ -248,20 +252,30 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
         collisionBlockOffsets.clear();
         collidingBlockOffsets.clear();
         Map<Point3D, Integer> collisionHeightMap = new HashMap<>();
+        //Set of all block offsets we've already checked, packed into longs.  Includes the origin so we never put a block there.
+        Set<Long> checkedOffsets = new HashSet<>();
+        checkedOffsets.add(getOffsetKey(0, 0, 0));
         if (definition.road.type.equals(RoadComponent.CORE_DYNAMIC)) {
             //Get all the points that make up our collision points for our dynamic curve.
             //If we find any colliding points, note them.
+            //The road cross-section at each step is a line from the curve out to the road width, so we get the
+            //direction of that line once per step, and then just scale it for each point along the width.
             Point3D testOffset = new Point3D();
+            Point3D widthDirection = new Point3D();
             float segmentDelta = (float) (definition.road.roadWidth / (Math.floor(definition.road.roadWidth) + 1));
             for (float f = 0; f < dynamicCurve.pathLength; f += 0.1) {
+                widthDirection.set(1, 0, 0).rotate(dynamicCurve.getRotationAt(f));
                 for (float offset = 0; offset <= definition.road.roadWidth; offset += segmentDelta) {
-                    testOffset.set(offset, 0, 0).rotate(dynamicCurve.getRotationAt(f));
+                    testOffset.set(widthDirection.x * offset, widthDirection.y * offset, widthDirection.z * offset);
                     dynamicCurve.offsetPointByPositionAt(testOffset, f);
                     testOffset.subtract(position).add(0, definition.road.collisionHeight / 16F, 0);
-                    Point3D testPoint = new Point3D((int) testOffset.x, (int) Math.floor(testOffset.y), (int) testOffset.z);
+                    int testX = (int) testOffset.x;
+                    int testY = (int) Math.floor(testOffset.y);
+                    int testZ = (int) testOffset.z;
 
                     //If we don't have a block in this position, check if we need one.
-                    if (!testPoint.isZero() && !collisionBlockOffsets.contains(testPoint) && !collidingBlockOffsets.contains(testPoint)) {
+                    if (checkedOffsets.add(getOffsetKey(testX, testY, testZ))) {
+                        Point3D testPoint = new Point3D(testX, testY, testZ);
                         //Offset the point to the global cordinate space, get the block, and offset back.
                         testPoint.add(position);
                         if (world.isAir(testPoint)) {
@@ -288,7 +302,7 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
                         testPoint.x = (int) testPoint.x;
                         testPoint.z = (int) testPoint.z;
 
-                        if (!testPoint.isZero() && !collisionBlockOffsets.contains(testPoint) && !collidingBlockOffsets.contains(testPoint)) {
+                        if (checkedOffsets.add(getOffsetKey((int) testPoint.x, (int) Math.floor(testPoint.y), (int) testPoint.z))) {
                             //Offset the point to the global cordinate space, get the block, and offset back.
                             testPoint.add(position);
                             if (world.isAir(testPoint)) {
@@ -309,6 +323,13 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
         return collisionHeightMap;
     }
 
+    /**
+     * Helper method to pack a block offset into a long for hashing.
+     */
+    private static long getOffsetKey(int x, int y, int z) {
+        return ((x & 0x3FFFFFL) << 42) | ((y & 0xFFFFFL) << 22) | (z & 0x3FFFFFL);
+    }
+
     /**
      * Method to spawn collision boxes for this road structure.
      * Returns true and makes this TE active if all the boxes could be spawned.
@@ -13,6 +13,7 @@ import java.util.Set;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.ProximityTrigger;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityPole_Component;
@@ -33,6 +34,8 @@ import minecrafttransportsimulator.packets.instances.PacketEntityInteractGUI;
  */
 public class TileEntitySignalController extends TileEntityDecor {
     private static final TransformationMatrix holoboxTransform = new TransformationMatrix();
+    /**Height of the areas we check for waiting vehicles.  Only the XZ position of vehicles matters, so this is just large.**/
+    private static final double WAITING_AREA_HEIGHT = 512;
 
     //Main settings for all operation.
     public boolean isRightHandDrive;
@@ -129,6 +132,7 @@ public class TileEntitySignalController extends TileEntityDecor {
         super.remove();
         //Clear found poles so signals know we don't exist anymore and to remove their references.
         clearFoundPoles();
+        signalGroups.values().forEach(signalGroupSet -> signalGroupSet.forEach(SignalGroup::removeWaitingArea));
     }
 
     @Override
@@ -182,6 +186,7 @@ public class TileEntitySignalController extends TileEntityDecor {
         componentLocations.addAll(data.getPoint3dsCompact("componentLocations"));
 
         //Create all signal groups.
+        signalGroups.values().forEach(signalGroupSet -> signalGroupSet.forEach(SignalGroup::removeWaitingArea));
         signalGroups.clear();
         for (Axis axis : Axis.values()) {
             if (axis.xzPlanar) {
@@ -333,6 +338,8 @@ public class TileEntitySignalController extends TileEntityDecor {
         public final int laneCount;
         public final double signalLineWidth;
         public final Point3D signalLineCenter;
+        /**Vehicles waiting in the 16-block area behind our stop line.  Null if we don't change based on vehicles.**/
+        private final ProximityTrigger<EntityVehicleF_Physics> waitingVehicles;
 
         private SignalGroup(Axis axis, SignalDirection direction, IWrapperNBT data) {
             this.axis = axis;
@@ -382,6 +389,36 @@ public class TileEntitySignalController extends TileEntityDecor {
                 default:
                     throw new IllegalStateException("We'll never get here, shut up compiler!");
             }
+
+            //Track vehicles waiting at our stop line if we turn green for them.  Main-center signals don't, as they are the default green.
+            //Axes are all 90-degree rotations, so the area is still aligned to the world once rotated.
+            //Unlike loaders and pumps, this is done on clients too, as clients run the signal logic to get their lights.
+            if (!timedMode && laneCount != 0 && !(isMainSignal && direction.equals(SignalDirection.CENTER))) {
+                Point3D areaCenter = new Point3D(signalLineCenter.x, 0, signalLineCenter.z + 8).rotate(axis.yRotation).add(intersectionCenterPoint);
+                Point3D areaSize = new Point3D(signalLineWidth / 2D, 0, 8).rotate(axis.yRotation);
+                BoundingBox area = new BoundingBox(areaCenter, Math.abs(areaSize.x), WAITING_AREA_HEIGHT, Math.abs(areaSize.z));
+                this.waitingVehicles = new ProximityTrigger<>(area, EntityVehicleF_Physics.class, this::isVehicleWaiting, null);
+                world.addProximityTrigger(waitingVehicles);
+            } else {
+                this.waitingVehicles = null;
+            }
+        }
+
+        /**
+         * Returns true if the passed-in vehicle is in the area behind our stop line.
+         */
+        private boolean isVehicleWaiting(EntityVehicleF_Physics vehicle) {
+            Point3D adjustedPos = vehicle.position.copy().subtract(intersectionCenterPoint).reOrigin(axis.yRotation);
+            return adjustedPos.x > signalLineCenter.x - signalLineWidth / 2D && adjustedPos.x < signalLineCenter.x + signalLineWidth / 2D && adjustedPos.z > signalLineCenter.z && adjustedPos.z < signalLineCenter.z + 16;
+        }
+
+        /**
+         * Removes the area we use to check for waiting vehicles from the world.  Call when this group is no longer used.
+         */
+        private void removeWaitingArea() {
+            if (waitingVehicles != null) {
+                world.removeProximityTrigger(waitingVehicles);
+            }
         }
 
         protected void update() {
@@ -412,22 +449,17 @@ public class TileEntitySignalController extends TileEntityDecor {
                             }
                         } else {
                             //See if we have a vehicle in our intersection bounds and need to change other signals.
-                            //We only do this once every 2 seconds, and only if we aren't a main-central intersection.
-                            if (ticksExisted % 40 == 0) {
-                                if (isMainSignal && direction.equals(SignalDirection.CENTER)) {
-                                    //Just wait until the other signals don't have any cooldown, then set them red.
+                            if (isMainSignal && direction.equals(SignalDirection.CENTER)) {
+                                //Just wait until the other signals don't have any cooldown, then set them red.
+                                //We only do this once every 2 seconds.
+                                if (ticksExisted % 40 == 0) {
                                     stateChangeRequested = true;
-                                } else {
-                                    for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
-                                        Point3D adjustedPos = vehicle.position.copy().subtract(intersectionCenterPoint).reOrigin(axis.yRotation);
-                                        if (adjustedPos.x > signalLineCenter.x - signalLineWidth / 2D && adjustedPos.x < signalLineCenter.x + signalLineWidth / 2D && adjustedPos.z > signalLineCenter.z && adjustedPos.z < signalLineCenter.z + 16) {
-                                            //Vehicle present.  If we are blocked, send the respective signal states to the other signals to change them.
-                                            //Flag this signal as pending changes to blocked signals to avoid checking until those signals change.
-                                            stateChangeRequested = true;
-                                            break;
-                                        }
-                                    }
                                 }
+                            } else if (!waitingVehicles.getEntitiesInside().isEmpty()) {
+                                //Vehicle present.  If we are blocked, send the respective signal states to the other signals to change them.
+                                //Flag this signal as pending changes to blocked signals to avoid checking until those signals change.
+                                //The waiting vehicles are updated as vehicles move, so this is cheap enough to check every tick.
+                                stateChangeRequested = true;
                             }
                         }
                     }
@@ -68,6 +68,16 @@ public abstract class AEntityA_Base {
         return EntityAutoUpdateTime.NORMAL;
     }
 
+    /**
+     * Returns the tick tier of this entity.  This is only checked on servers for entities that update
+     * {@link EntityAutoUpdateTime#NORMAL}, and allows entities that aren't doing anything to be ticked less often
+     * when no players are around.  Entities should only return a tier other than {@link EntityTickTier#FULL}
+     * if skipping their updates won't change their state.
+     */
+    public EntityTickTier getTickTier() {
+        return EntityTickTier.FULL;
+    }
+
     /**
      * Normally, all entities sync across clients and servers via their {@link #uniqueUUID}.
      * However, some entities may be client-side, server-side only, or both sides but spawned so frequently
@@ -100,6 +110,13 @@ public abstract class AEntityA_Base {
         return 0;
     }
 
+    /**
+     * Called when something that affects the mass of this entity changes.  Entities that cache
+     * their mass should re-calculate it on the next {@link #getMass()} call.
+     */
+    public void invalidateMass() {
+    }
+
     /**
      * Called when the entity needs to be saved to disk.  The passed-in IWrapper
      * should be written to at this point with any data needing to be saved.
@@ -115,4 +132,13 @@ public abstract class AEntityA_Base {
         AFTER_PLAYER,
         NEVER;
     }
+
+    public static enum EntityTickTier {
+        /**Ticked every tick.**/
+        FULL,
+        /**Ticked every few ticks, for idle entities.**/
+        REDUCED,
+        /**Ticked only occasionally, for entities that are just sitting in the world.**/
+        DEFERRED;
+    }
 }
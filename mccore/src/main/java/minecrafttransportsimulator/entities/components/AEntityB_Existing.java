@@ -314,6 +314,7 @@ public abstract class AEntityB_Existing extends AEntityA_Base {
             return false;
         } else {
             rider = newRider;
+            invalidateMass();
             riderIsClient = world.isClient() && rider.equals(InterfaceManager.clientInterface.getClientPlayer());
 
             //Create variables for use in other code areas.
@@ -354,6 +355,7 @@ public abstract class AEntityB_Existing extends AEntityA_Base {
         }
         rider = null;
         riderIsClient = false;
+        invalidateMass();
     }
 
     /**
@@ -1,11 +1,13 @@
 package minecrafttransportsimulator.entities.components;
 
+import minecrafttransportsimulator.baseclasses.EntityTelemetry.TimingType;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.systems.ConfigSystem;
 
 /**
  * Base class for entities that are rendered in the world in 3D.
@@ -32,6 +34,12 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
 
     public int worldLightValue;
 
+    /**
+     * The distance between this entity and the camera, as of the last render.
+     * Used to skip rendering details that can't be seen at a distance.
+     */
+    public double distanceToCamera;
+
     /**
      * Constructor for synced entities
      **/
@@ -71,6 +79,14 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
     public final void render(boolean blendingEnabled, float partialTicks) {
         //If we need to render, do so now.
         if (!disableRendering()) {
+            long startTime = System.nanoTime();
+
+            //If we can't be seen, skip rendering.  We still need to update sounds though.
+            distanceToCamera = position.distanceTo(InterfaceManager.clientInterface.getCameraPosition());
+            if (!isInView()) {
+                updateSounds(partialTicks);
+                return;
+            }
 
             //Get interpolated orientation if required.
             world.beginProfiling("RenderSetup", true);
@@ -113,9 +129,34 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
             world.beginProfiling("Sounds", true);
             updateSounds(partialTicks);
             world.endProfiling();
+            world.getTelemetry().record(this, TimingType.RENDER, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Returns true if this entity is in view of the camera, and within the render distance.
+     * Entities without a {@link #getRenderRadius()} are only checked against the render distance.
+     */
+    private boolean isInView() {
+        double renderRadius = getRenderRadius();
+        if (distanceToCamera - renderRadius > ConfigSystem.client.renderingSettings.renderDistance.value) {
+            return false;
+        } else if (renderRadius > 0 && ConfigSystem.client.renderingSettings.frustumCulling.value) {
+            //Add our movement, since we render at an interpolated position.
+            return InterfaceManager.renderingInterface.isInView(position, renderRadius + position.distanceTo(prevPosition));
+        } else {
+            return true;
         }
     }
 
+    /**
+     * Returns the radius, from the entity's position, that everything rendered by this entity is within.
+     * Used to cull entities that are out of view.  Return 0 if this isn't known, which prevents culling.
+     */
+    protected double getRenderRadius() {
+        return 0;
+    }
+
     /**
      * If rendering needs to be skipped for any reason, return true here.
      */
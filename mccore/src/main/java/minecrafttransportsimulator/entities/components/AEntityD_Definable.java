@@ -5,6 +5,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -22,7 +23,6 @@ import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.blocks.components.ABlockBase.BlockMaterial;
 import minecrafttransportsimulator.entities.instances.APart;
-import minecrafttransportsimulator.entities.instances.EntityParticle;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.components.AItemSubTyped;
@@ -61,6 +61,8 @@ import minecrafttransportsimulator.systems.ConfigSystem;
  * @author don_bruce
  */
 public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelProvider> extends AEntityC_Renderable {
+    private static final double RENDER_RADIUS_PADDING = 2.0;
+
     /**
      * The pack definition for this entity.  May contain extra sections if the super-classes
      * have them in their respective JSONs.
@@ -82,6 +84,13 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      **/
     private final Map<String, ComputedVariable> computedVariables = new HashMap<>();
 
+    /**
+     * Slot table for {@link #computedVariables}, indexed by the slots in the definition's {@link AJSONMultiModelProvider#variableSlots}.
+     * This mirrors the map for any variable looked up via {@link #getOrCreateVariable(int)}, and is invalidated whenever
+     * the map entries are replaced or removed.
+     **/
+    private ComputedVariable[] variableSlots = new ComputedVariable[0];
+
     private final List<JSONSound> allSoundDefs = new ArrayList<>();
     private final Map<JSONSound, AnimationSwitchbox> soundActiveSwitchboxes = new HashMap<>();
     private final Set<JSONSound> soundDefFalseLastCheck = new HashSet<>();
@@ -93,7 +102,9 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     private final Map<JSONParticle, Long> lastTickParticleSpawned = new HashMap<>();
     private final Map<JSONParticle, Point3D> lastPositionParticleSpawned = new HashMap<>();
     private final Map<JSONVariableModifier, VariableModifierSwitchbox> variableModiferSwitchboxes = new LinkedHashMap<>();
+    private int[] variableModifierSlots;
     private long lastTickParticlesSpawned;
+    private double modelRadius;
     private float lastPartialTickParticlesSpawned;
 
     /**
@@ -143,6 +154,10 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      **/
     public AItemPack<JSONDefinition> cachedItem;
 
+    //Time spent running switchboxes since the last tick, for telemetry.  Depth is used to not count nested switchboxes twice.
+    public long switchboxNanos;
+    public int switchboxDepth;
+
     //Radar lists.  Only updated once a tick.  Created when first requested via animations.
     public final List<EntityVehicleF_Physics> aircraftOnRadar = new ArrayList<>();
     public final List<EntityVehicleF_Physics> groundersOnRadar = new ArrayList<>();
@@ -226,7 +241,10 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
         //Add variable modifiers.
         if (definition.variableModifiers != null) {
-            for (JSONVariableModifier modifier : definition.variableModifiers) {
+            variableModifierSlots = new int[definition.variableModifiers.size()];
+            for (int i = 0; i < definition.variableModifiers.size(); ++i) {
+                JSONVariableModifier modifier = definition.variableModifiers.get(i);
+                variableModifierSlots[i] = getVariableSlot(modifier.variable);
                 if (modifier.animations != null) {
                     variableModiferSwitchboxes.put(modifier, new VariableModifierSwitchbox(this, modifier.animations));
                 }
@@ -533,7 +551,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                             if (spawningSwitchbox != null) {
                                 spawningSwitchbox.runSwitchbox(partialTicks, false);
                             }
-                            world.addEntity(new EntityParticle(this, particleDef, spawningPosition, spawningSwitchbox));
+                            world.getParticleSystem().spawnParticle(this, particleDef, spawningPosition, spawningSwitchbox);
                         }
                         lastParticlePosition.set(spawningPosition);
                     }
@@ -546,7 +564,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                             if (spawningSwitchbox != null) {
                                 spawningSwitchbox.runSwitchbox(partialTicks, false);
                             }
-                            world.addEntity(new EntityParticle(this, particleDef, position, spawningSwitchbox));
+                            world.getParticleSystem().spawnParticle(this, particleDef, position, spawningSwitchbox);
                         }
                         lastTickParticleSpawned.put(particleDef, ticksExisted);
                     }
@@ -598,22 +616,27 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     }
 
     /**
-     * Custom light switchbox class.
+     * Custom light switchbox class.  Brightness and color are only re-computed if the
+     * inputs to the switchbox changed, otherwise the prior values are kept.
      */
     private static class LightSwitchbox extends AnimationSwitchbox {
         private boolean definedBrightness = false;
         private float brightness = 0;
         private ColorRGB color = null;
+        private boolean lastRunResult;
 
         private LightSwitchbox(AEntityD_Definable<?> entity, List<JSONAnimationDefinition> animations) {
             super(entity, animations, null);
         }
 
         public boolean runLight(float partialTicks) {
-            definedBrightness = false;
-            brightness = 0;
-            color = null;
-            return runSwitchbox(partialTicks, true);
+            if (inputsChanged(partialTicks)) {
+                definedBrightness = false;
+                brightness = 0;
+                color = null;
+                lastRunResult = runSwitchbox(partialTicks, true);
+            }
+            return lastRunResult;
         }
 
         @Override
@@ -820,20 +843,25 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     }
 
     /**
-     * Custom sound switchbox class.
+     * Custom sound switchbox class.  Like lights, the value is only re-computed if the
+     * inputs to the switchbox changed.
      */
     private static class SoundSwitchbox extends AnimationSwitchbox {
         private boolean definedValue = false;
         private float value = 0;
+        private boolean lastRunResult;
 
         private SoundSwitchbox(AEntityD_Definable<?> entity, List<JSONAnimationDefinition> animations) {
             super(entity, animations, null);
         }
 
         public boolean runSound(float partialTicks) {
-            value = 0;
-            definedValue = false;
-            return runSwitchbox(partialTicks, true);
+            if (inputsChanged(partialTicks)) {
+                value = 0;
+                definedValue = false;
+                lastRunResult = runSwitchbox(partialTicks, true);
+            }
+            return lastRunResult;
         }
 
         @Override
@@ -1007,7 +1035,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      * the scale parameter as only the variable value should be scaled, not the offset..
      */
     public final double getAnimatedVariableValue(DurationDelayClock clock, double scaleFactor, double offset, float partialTicks) {
-        double value = getOrCreateVariable(clock.animation.variable).computeValue(partialTicks);
+        double value = getOrCreateVariable(clock.variableSlot).computeValue(partialTicks);
         return clock.clampAndScale(this, value, scaleFactor, offset, partialTicks);
     }
 
@@ -1042,16 +1070,50 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         }
         return computedVar;
     }
-    
+
+    /**
+     * Returns the slot for the passed-in variable in this entity's definition, for use with {@link #getOrCreateVariable(int)}.
+     * Slots are the same for all entities of a definition, so this should be resolved once when the definition is set up.
+     */
+    public int getVariableSlot(String variable) {
+        return definition.variableSlots.getSlot(variable);
+    }
+
+    /**
+     * Like {@link #getOrCreateVariable(String)}, but uses the slot from {@link #getVariableSlot(String)}.
+     * The variable is cached in a slot table after the first call, so this should be used for any lookups that
+     * happen every tick or frame.
+     */
+    public ComputedVariable getOrCreateVariable(int variableSlot) {
+        ComputedVariable[] slots = variableSlots;
+        if (variableSlot < slots.length) {
+            ComputedVariable computedVar = slots[variableSlot];
+            if (computedVar != null) {
+                return computedVar;
+            }
+        } else {
+            slots = Arrays.copyOf(slots, Math.max(variableSlot + 1, definition.variableSlots.getSlotCount()));
+            variableSlots = slots;
+        }
+        ComputedVariable computedVar = getOrCreateVariable(definition.variableSlots.getVariableKey(variableSlot));
+        slots[variableSlot] = computedVar;
+        return computedVar;
+    }
+
     public void addVariable(ComputedVariable variable) {
-        computedVariables.put(variable.variableKey, variable);
+        boolean replacedVariable = computedVariables.put(variable.variableKey, variable) != null;
         if (variable.invertedVariable != null) {
-            computedVariables.put(variable.invertedVariable.variableKey, variable.invertedVariable);
+            replacedVariable |= computedVariables.put(variable.invertedVariable.variableKey, variable.invertedVariable) != null;
+        }
+        if (replacedVariable) {
+            //Don't keep the old variable in any slots, or we'll be reading the wrong one.
+            Arrays.fill(variableSlots, null);
         }
     }
 
     public void resetAllVariables() {
         computedVariables.entrySet().removeIf(entry -> entry.getValue().entity != this || entry.getValue().shouldReset);
+        Arrays.fill(variableSlots, null);
     }
 
     public boolean containsVariable(String variable) {
@@ -1065,8 +1127,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         double modifiedValue = modifier.setValue != 0 ? modifier.setValue : currentValue + modifier.addValue;
         VariableModifierSwitchbox switchbox = variableModiferSwitchboxes.get(modifier);
         if (switchbox != null) {
-            switchbox.modifiedValue = (float) modifiedValue;
-            if (switchbox.runSwitchbox(0, true)) {
+            if (switchbox.runModifier(modifiedValue)) {
                 modifiedValue = switchbox.modifiedValue;
             } else {
                 return currentValue;
@@ -1154,11 +1215,26 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      */
     private static class VariableModifierSwitchbox extends AnimationSwitchbox {
         private float modifiedValue = 0;
+        private double lastInputValue;
+        private boolean lastRunResult;
 
         private VariableModifierSwitchbox(AEntityD_Definable<?> entity, List<JSONAnimationDefinition> animations) {
             super(entity, animations, null);
         }
 
+        /**
+         * Runs the switchbox on the passed-in value.  If neither the value nor the switchbox inputs changed
+         * since the last run, the prior result is kept in {@link #modifiedValue} and the switchbox isn't run.
+         */
+        public boolean runModifier(double inputValue) {
+            if (inputsChanged(0) || inputValue != lastInputValue) {
+                lastInputValue = inputValue;
+                modifiedValue = (float) inputValue;
+                lastRunResult = runSwitchbox(0, true);
+            }
+            return lastRunResult;
+        }
+
         @Override
         public void runTranslation(DurationDelayClock clock, float partialTicks) {
             if (clock.animation.axis.x != 0) {
@@ -1212,9 +1288,9 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      */
     public void updateVariableModifiers() {
         if (definition.variableModifiers != null) {
-            for (JSONVariableModifier modifier : definition.variableModifiers) {
-            	ComputedVariable variable = getOrCreateVariable(modifier.variable);
-            	variable.setTo(adjustVariable(modifier, variable.currentValue), false);
+            for (int i = 0; i < definition.variableModifiers.size(); ++i) {
+                ComputedVariable variable = getOrCreateVariable(variableModifierSlots[i]);
+                variable.setTo(adjustVariable(definition.variableModifiers.get(i), variable.currentValue), false);
             }
         }
     }
@@ -1229,6 +1305,8 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         world.beginProfiling("MainModel", false);
         if (objectList == null) {
             objectList = AModelParser.generateRenderables(this);
+            modelRadius = 0;
+            objectList.forEach(modelObject -> modelRadius = Math.max(modelRadius, modelObject.getRadius()));
         }
 
         //Render model object individually.
@@ -1236,7 +1314,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
         //Render any static text.
         world.beginProfiling("MainText", false);
-        if (!blendingEnabled) {
+        if (!blendingEnabled && distanceToCamera <= ConfigSystem.client.renderingSettings.textDetailDistance.value) {
             for (Entry<JSONText, String> textEntry : text.entrySet()) {
                 JSONText textDef = textEntry.getKey();
                 if (textDef.attachedTo == null) {
@@ -1254,6 +1332,13 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         world.endProfiling();
     }
 
+    @Override
+    protected double getRenderRadius() {
+        //Don't cull until we've parsed our model and know how big it is.
+        //Pad the model size, since animations and text may go outside it.
+        return objectList != null ? modelRadius * Math.max(scale.x, Math.max(scale.y, scale.z)) + RENDER_RADIUS_PADDING : 0;
+    }
+
     @Override
     protected boolean disableRendering() {
         //Don't render if we don't have a model.
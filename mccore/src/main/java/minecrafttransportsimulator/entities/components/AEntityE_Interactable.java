@@ -27,15 +27,13 @@ import minecrafttransportsimulator.jsondefs.JSONInstrumentDefinition;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
-import minecrafttransportsimulator.mcinterface.InterfaceManager;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableIncrement;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableSet;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
 import minecrafttransportsimulator.packloading.PackParser;
 import minecrafttransportsimulator.rendering.RenderInstrument;
 import minecrafttransportsimulator.rendering.RenderInstrument.InstrumentSwitchbox;
 import minecrafttransportsimulator.rendering.RenderableData;
 import minecrafttransportsimulator.rendering.RenderableVertices;
+import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
 
 /**
@@ -61,6 +59,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
     public final List<List<BoundingBox>> definitionCollisionBoxes = new ArrayList<>();
     public final Set<BoundingBox> collisionBoxes = new HashSet<>();
     private final Map<JSONCollisionGroup, AnimationSwitchbox> collisionSwitchboxes = new HashMap<>();
+    private int[] collisionDamageVariableSlots;
 
     /**
      * Box that encompasses all boxes on this entity.  This can be used as a pre-check for collision operations
@@ -167,7 +166,9 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
         
         //Create collision boxes.
         if (definition.collisionGroups != null) {
+            collisionDamageVariableSlots = new int[definition.collisionGroups.size()];
             for (JSONCollisionGroup groupDef : definition.collisionGroups) {
+                collisionDamageVariableSlots[definitionCollisionBoxes.size()] = getVariableSlot("collision_" + (definitionCollisionBoxes.size() + 1) + "_damage");
                 List<BoundingBox> boxes = new ArrayList<>();
                 for (JSONCollisionBox boxDef : groupDef.collisions) {
                     boxes.add(new BoundingBox(boxDef, groupDef));
@@ -235,7 +236,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
             for (int i = 0; i < definition.collisionGroups.size(); ++i) {
                 JSONCollisionGroup groupDef = definition.collisionGroups.get(i);
                 List<BoundingBox> boxes = definitionCollisionBoxes.get(i);
-                if (groupDef.health == 0 || getOrCreateVariable("collision_" + (i + 1) + "_damage").currentValue < groupDef.health) {
+                if (groupDef.health == 0 || getOrCreateVariable(collisionDamageVariableSlots[i]).currentValue < groupDef.health) {
                     AnimationSwitchbox switchBox = collisionSwitchboxes.get(groupDef);
                     if (switchBox != null) {
                         if (switchBox.runSwitchbox(0, false)) {
@@ -282,15 +283,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
      */
     public void damageCollisionBox(BoundingBox box, double damageAmount) {
         ComputedVariable variable = getOrCreateVariable("collision_" + (definition.collisionGroups.indexOf(box.groupDef) + 1) + "_damage");
-        double currentDamage = variable.currentValue + damageAmount;
-        if (currentDamage > box.groupDef.health) {
-            double amountActuallyNeeded = damageAmount - (currentDamage - box.groupDef.health);
-            currentDamage = box.groupDef.health;
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(variable, amountActuallyNeeded));
-        } else {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(variable, damageAmount));
-        }
-        variable.setTo(currentDamage, false);
+        variable.increment(damageAmount, 0, box.groupDef.health, true);
     }
 
     @Override
@@ -361,14 +354,11 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
     public void attack(Damage damage) {
         if (!damage.isWater) {
             if (!outOfHealth) {
-                double currentDamage = damageVar.currentValue + damage.amount;
-                if (currentDamage > definition.general.health) {
-                    currentDamage = definition.general.health;
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(damageVar, definition.general.health));
+                if (damageVar.currentValue + damage.amount > definition.general.health) {
+                    damageVar.setTo(definition.general.health, true);
                 } else {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(damageVar, damage.amount, 0, definition.general.health));
+                    damageVar.increment(damage.amount, 0, definition.general.health, true);
                 }
-                damageVar.setTo(currentDamage, false);
             }
         }
     }
@@ -378,6 +368,19 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
         collisionBoxes.forEach(box -> box.renderWireframe(this, transform, null, null));
     }
 
+    @Override
+    protected double getRenderRadius() {
+        //Collision boxes can animate outside the model, so make sure we include them.
+        //The box's corners are at its half-diagonal from its center, which may not be our position.
+        double renderRadius = super.getRenderRadius();
+        if (renderRadius != 0) {
+            double boxRadius = Math.sqrt(encompassingBox.widthRadius * encompassingBox.widthRadius + encompassingBox.heightRadius * encompassingBox.heightRadius + encompassingBox.depthRadius * encompassingBox.depthRadius);
+            return Math.max(renderRadius, position.distanceTo(encompassingBox.globalCenter) + boxRadius);
+        } else {
+            return 0;
+        }
+    }
+
     @Override
     protected void renderModel(TransformationMatrix transform, boolean blendingEnabled, float partialTicks) {
         super.renderModel(transform, blendingEnabled, partialTicks);
@@ -386,7 +389,8 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
         //We only apply the appropriate translation and rotation.
         //Normalization is required here, as otherwise the normals get scaled with the
         //scaling operations, and shading gets applied funny.
-        if (definition.instruments != null) {
+        //Instruments are skipped if we are too far away to read them.
+        if (definition.instruments != null && distanceToCamera <= ConfigSystem.client.renderingSettings.textDetailDistance.value) {
             world.beginProfiling("Instruments", true);
             for (int i = 0; i < definition.instruments.size(); ++i) {
                 ItemInstrument instrument = instruments.get(i);
@@ -15,6 +15,8 @@ import java.util.TreeMap;
 import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.BoundingBoxHitResult;
+import minecrafttransportsimulator.baseclasses.BoundingBoxTree;
+import minecrafttransportsimulator.baseclasses.CollisionBoxRegistry;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.ComputedVariable;
 import minecrafttransportsimulator.baseclasses.Damage;
@@ -60,9 +62,30 @@ import minecrafttransportsimulator.systems.LanguageSystem;
 public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvider> extends AEntityE_Interactable<JSONDefinition> {
 
     /**
-     * List of collision boxes, with all part collision boxes included.
+     * Collection of collision boxes, with all part collision boxes included.
      **/
-    public final Set<BoundingBox> allCollisionBoxes = new HashSet<>();
+    public final CollisionBoxRegistry allCollisionBoxes = new CollisionBoxRegistry();
+
+    /**
+     * True if any box in {@link #allCollisionBoxes} could have moved or changed in the last update.
+     * Static entities, like most placed parts, don't have this set, so we don't re-calculate their bounds.
+     **/
+    private boolean collisionBoxesMoved = true;
+    private final Point3D lastCollisionBoxesPosition = new Point3D();
+    private float partsWidthRadius;
+    private float partsHeightRadius;
+    private float partsDepthRadius;
+
+    /**Mass from the last {@link #calculateMass()} call.  Only re-calculated when {@link #massStale} is set.**/
+    private double cachedMass;
+    protected boolean massStale = true;
+
+    /**
+     * Tree of {@link #allCollisionBoxes}, for queries.  Refit lazily when queried after the boxes move.
+     * Use {@link #getCollisionBoxTree()} to get this.
+     **/
+    private final BoundingBoxTree collisionBoxTree = new BoundingBoxTree();
+    private boolean collisionBoxTreeStale = true;
 
     /**
      * This list contains all parts this entity has.  Do NOT directly modify this list.  Instead,
@@ -98,7 +121,10 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
     private static final float PART_SLOT_LARGE_HITBOX_WIDTH = 0.75F;
     private static final float PART_SLOT_LARGE_HITBOX_HEIGHT = 2.25F;
     private static final Point3D PART_TRANSFER_GROWTH = new Point3D(16, 16, 16);
+    private static final double IDLE_VELOCITY = 0.001;
     private static final Set<CollisionType> partSlotBoxCollisionTypes = new HashSet<>(Arrays.asList(CollisionType.CLICK));
+    private static final int ATTACK_TYPE_MASK = BoundingBoxTree.getTypeMask(CollisionType.ATTACK);
+    private static final int BULLET_TYPE_MASK = BoundingBoxTree.getTypeMask(CollisionType.ATTACK, CollisionType.BULLET);
 
     public AEntityF_Multipart(AWrapperWorld world, IWrapperPlayer placingPlayer, AItemSubTyped<JSONDefinition> item, IWrapperNBT data) {
         super(world, placingPlayer, item, data);
@@ -224,7 +250,20 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
     }
 
     @Override
-    public double getMass() {
+    public final double getMass() {
+        if (massStale) {
+            cachedMass = calculateMass();
+            massStale = false;
+        }
+        return cachedMass;
+    }
+
+    /**
+     * Calculates the mass of this entity.  Only called when the mass has been invalidated, so
+     * sub-classes that add mass should override this rather than {@link #getMass()}, and should call
+     * {@link #invalidateMass()} if anything they add changes.
+     */
+    protected double calculateMass() {
         //Return our mass, plus our parts.
         double currentMass = super.getMass();
         for (APart part : parts) {
@@ -233,6 +272,17 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
         return currentMass;
     }
 
+    @Override
+    public void invalidateMass() {
+        //If we are already stale, so is everything that includes our mass, so don't bother going up.
+        if (!massStale) {
+            massStale = true;
+            if (this instanceof APart) {
+                ((APart) this).entityOn.invalidateMass();
+            }
+        }
+    }
+
     @Override
     public void attack(Damage damage) {
         //If the bounding box attacked corresponds to a part, forward the attack to that part for calculation.
@@ -253,44 +303,56 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
      */
     public Collection<BoundingBoxHitResult> getHitBoxes(Point3D pathStart, Point3D pathEnd, BoundingBox movementBounds, boolean isBullet) {
         if (encompassingBox.intersects(movementBounds)) {
-            //Get all collision boxes and check if we hit any of them.
+            //Get all collision boxes along the path and check if we hit any of them.
             //Sort them by distance for later.
-            TreeMap<Double, BoundingBoxHitResult> hitBoxes = new TreeMap<>();
-            for (BoundingBox box : allCollisionBoxes) {
-                if (box.collisionTypes.contains(CollisionType.ATTACK) || (isBullet && box.collisionTypes.contains(CollisionType.BULLET))) {
-                    BoundingBoxHitResult hitResult = box.getIntersection(pathStart, pathEnd);
-                    if (hitResult != null) {
-                        double boxDistance = hitResult.position.distanceTo(pathStart);
-                        boolean addBox = true;
-                        if (box.groupDef != null) {
-                            //Don't add boxes within the same group.
-                            Iterator<Entry<Double, BoundingBoxHitResult>> iterator = hitBoxes.entrySet().iterator();
-                            while (iterator.hasNext()) {
-                                Entry<Double, BoundingBoxHitResult> entry = iterator.next();
-                                BoundingBoxHitResult otherHitEntry = entry.getValue();
-                                if (otherHitEntry.box.groupDef == box.groupDef) {
-                                    if (entry.getKey() > boxDistance) {
-                                        iterator.remove();
-                                    } else {
-                                        addBox = false;
-                                    }
-                                    break;
+            TreeMap<Double, BoundingBoxHitResult> hitBoxes = null;
+            for (BoundingBox box : getCollisionBoxTree().getBoxesAlongSegment(pathStart, pathEnd, isBullet ? BULLET_TYPE_MASK : ATTACK_TYPE_MASK)) {
+                BoundingBoxHitResult hitResult = box.getIntersection(pathStart, pathEnd);
+                if (hitResult != null) {
+                    if (hitBoxes == null) {
+                        hitBoxes = new TreeMap<>();
+                    }
+                    double boxDistance = hitResult.position.distanceTo(pathStart);
+                    boolean addBox = true;
+                    if (box.groupDef != null) {
+                        //Don't add boxes within the same group.
+                        Iterator<Entry<Double, BoundingBoxHitResult>> iterator = hitBoxes.entrySet().iterator();
+                        while (iterator.hasNext()) {
+                            Entry<Double, BoundingBoxHitResult> entry = iterator.next();
+                            BoundingBoxHitResult otherHitEntry = entry.getValue();
+                            if (otherHitEntry.box.groupDef == box.groupDef) {
+                                if (entry.getKey() > boxDistance) {
+                                    iterator.remove();
+                                } else {
+                                    addBox = false;
                                 }
+                                break;
                             }
                         }
-                        if (addBox) {
-                            hitBoxes.put(boxDistance, hitResult);
-                        }
+                    }
+                    if (addBox) {
+                        hitBoxes.put(boxDistance, hitResult);
                     }
                 }
             }
-            if (!hitBoxes.isEmpty()) {
+            if (hitBoxes != null) {
                 return hitBoxes.values();
             }
         }
         return null;
     }
 
+    /**
+     * Returns the tree of {@link #allCollisionBoxes}, refitting it first if the boxes have moved since the last call.
+     */
+    public BoundingBoxTree getCollisionBoxTree() {
+        if (collisionBoxTreeStale) {
+            collisionBoxTree.update(allCollisionBoxes);
+            collisionBoxTreeStale = false;
+        }
+        return collisionBoxTree;
+    }
+
     /**
      * Called when the entity is attacked by a projectile.  Returns a {@link EntityBullet.HitType} if the projectile hit something.
      * Actual hit logic is handled here, with specific code for bullets calling the appropriate method based on what they hit.
@@ -570,6 +632,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
         } else {
             parts.add(0, part);
         }
+        invalidateMass();
         if (!part.isFake()) {
             partsInSlots.set(part.placementSlot, part);
 
@@ -602,6 +665,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
     public void removePart(APart part, boolean doFinalTick, boolean notifyClients) {
         if (parts.contains(part)) {
             parts.remove(part);
+            invalidateMass();
             if(part.isValid) {
                 part.remove();
             }
@@ -819,25 +883,57 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
             collisionBoxes.addAll(partSlotBoxes.keySet());
         }
 
-        //Populate all box list.
-        allCollisionBoxes.clear();
-        allCollisionBoxes.addAll(collisionBoxes);
+        //Populate all box list.  Parts have already done theirs, so this only changes if we or they have new boxes.
+        allCollisionBoxes.beginUpdate();
+        allCollisionBoxes.addBoxes(collisionBoxes);
         for (APart part : parts) {
-            allCollisionBoxes.addAll(part.allCollisionBoxes);
+            allCollisionBoxes.addRegistry(part.allCollisionBoxes);
         }
+        boolean collisionBoxesChanged = allCollisionBoxes.endUpdate();
+
+        //Check if any boxes could have moved.  They only move if we or our parts do delta updates, or if we moved.
+        boolean partBoxesMoved = false;
+        for (AEntityF_Multipart<?> part : parts) {
+            if (part.collisionBoxesMoved) {
+                partBoxesMoved = true;
+                break;
+            }
+        }
+        collisionBoxesMoved = collisionBoxesChanged || partBoxesMoved || requiresDeltaUpdates() || !activeClientPartSlotBoxes.isEmpty() || position.x != lastCollisionBoxesPosition.x || position.y != lastCollisionBoxesPosition.y || position.z != lastCollisionBoxesPosition.z;
+        lastCollisionBoxesPosition.set(position);
+
+        if (collisionBoxesMoved) {
+            //Boxes have changed or moved, so our tree, and those of all entities we are on, need to be refit.
+            AEntityF_Multipart<?> treeEntity = this;
+            while (treeEntity != null) {
+                treeEntity.collisionBoxTreeStale = true;
+                treeEntity = treeEntity instanceof APart ? ((APart) treeEntity).entityOn : null;
+            }
 
-        //Update encompassing bounding box to reflect all bounding boxes of all parts.
-        if (!parts.isEmpty()) {
+            //Get the bounds of all parts.  We keep these, since they don't change unless the parts move.
+            partsWidthRadius = 0;
+            partsHeightRadius = 0;
+            partsDepthRadius = 0;
             for (APart part : parts) {
                 //Don't check new parts or fake parts for encompassing calculations.
                 if (!part.isFake() && part.ticksExisted > 0) {
-                    encompassingBox.widthRadius = (float) Math.max(encompassingBox.widthRadius, Math.abs(part.encompassingBox.globalCenter.x - position.x) + part.encompassingBox.widthRadius);
-                    encompassingBox.heightRadius = (float) Math.max(encompassingBox.heightRadius, Math.abs(part.encompassingBox.globalCenter.y - position.y) + part.encompassingBox.heightRadius);
-                    encompassingBox.depthRadius = (float) Math.max(encompassingBox.depthRadius, Math.abs(part.encompassingBox.globalCenter.z - position.z) + part.encompassingBox.depthRadius);
+                    partsWidthRadius = (float) Math.max(partsWidthRadius, Math.abs(part.encompassingBox.globalCenter.x - position.x) + part.encompassingBox.widthRadius);
+                    partsHeightRadius = (float) Math.max(partsHeightRadius, Math.abs(part.encompassingBox.globalCenter.y - position.y) + part.encompassingBox.heightRadius);
+                    partsDepthRadius = (float) Math.max(partsDepthRadius, Math.abs(part.encompassingBox.globalCenter.z - position.z) + part.encompassingBox.depthRadius);
                 }
             }
         }
+
+        //Update encompassing bounding box to reflect all bounding boxes of all parts.
+        encompassingBox.widthRadius = Math.max(encompassingBox.widthRadius, partsWidthRadius);
+        encompassingBox.heightRadius = Math.max(encompassingBox.heightRadius, partsHeightRadius);
+        encompassingBox.depthRadius = Math.max(encompassingBox.depthRadius, partsDepthRadius);
         encompassingBox.updateToEntity(this, null);
+
+        //Update spatial index now that we know our final bounds.  Parts move with their master, so they don't need indexing.
+        if (collisionBoxesMoved && !(this instanceof APart)) {
+            world.updateMultipartCells(this);
+        }
     }
 
     @Override
@@ -896,6 +992,24 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
         }
     }
 
+    /**
+     * Returns true if this multipart is idle.  Idle multiparts aren't moving, have no rider, and all their parts
+     * report they are at rest with {@link APart#isAtRest()}, so they don't need to be ticked every tick on servers.
+     * Parts that don't opt in to this keep their multipart ticking normally.
+     */
+    public boolean isIdle() {
+        if (velocity > IDLE_VELOCITY || rider != null) {
+            return false;
+        }
+        for (APart part : allParts) {
+            //Parts do things their first few ticks, such as clearing their newly-added state.
+            if (part.ticksExisted <= 5 || !part.isAtRest()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Helper method used to get the controlling entity for this entity.
      * Is normally the player, but may be a NPC if one is in the seat.
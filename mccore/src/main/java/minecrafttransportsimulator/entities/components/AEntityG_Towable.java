@@ -202,6 +202,11 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
         return towedByConnection != null;
     }
 
+    @Override
+    public boolean isIdle() {
+        return towedByConnection == null && towingConnections.isEmpty() && super.isIdle();
+    }
+
     @Override
     public ComputedVariable createComputedVariable(String variable, boolean createDefaultIfNotPresent) {
         if (variable.startsWith("connection")) {
@@ -364,7 +369,8 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
 
         if (connectionToDisconnect == null) {
             TrailerConnectionResult result;
-            List<AEntityG_Towable<?>> entitiesToCheck = new ArrayList<>(world.getEntitiesOfType(EntityVehicleF_Physics.class));
+            //Only check vehicles that could be close enough to connect.  This matches the range check in checkIfTrailerCanConnect.
+            List<AEntityG_Towable<?>> entitiesToCheck = new ArrayList<>(world.getMultipartsWithin(new BoundingBox(connectionDefiner.position, 25), EntityVehicleF_Physics.class));
 
             if (requestedGroup.isHitch) {
                 //Find an entity to tow.
@@ -516,6 +522,7 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
     public void connectTrailer(TowingConnection connection, boolean notifyClient) {
         towingConnections.add(connection);
         connection.towedVehicle.towedByConnection = connection;
+        invalidateMass();
         connection.towingEntity.connectionGroupsIndexesInUse.add(connection.hitchGroupIndex);
         connection.towedEntity.connectionGroupsIndexesInUse.add(connection.hookupGroupIndex);
 
@@ -548,6 +555,7 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
     public void disconnectTrailer(int connectionIndex) {
         TowingConnection connection = towingConnections.remove(connectionIndex);
         connection.towedVehicle.towedByConnection = null;
+        invalidateMass();
 
         if (connection.hitchConnectionGroup.isSnap || connection.hookupConnectionGroup.isSnap) {
             disconnectedTowingConnections.add(connection);
@@ -578,6 +586,19 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
     public void disconnectAllConnections() {
         towingConnections.clear();
         towedByConnection = null;
+        invalidateMass();
+    }
+
+    @Override
+    public void invalidateMass() {
+        //Whatever is towing us includes our mass, so it needs to re-calculate too.
+        //Stale check here also prevents infinite loops from bad trailer linkings.
+        if (!massStale) {
+            super.invalidateMass();
+            if (towedByConnection != null) {
+                towedByConnection.towingVehicle.invalidateMass();
+            }
+        }
     }
 
     @Override
@@ -104,8 +104,8 @@ abstract class AEntityVehicleC_Colliding extends AEntityG_Towable<JSONVehicle> {
     }
 
     @Override
-    public double getMass() {
-        return super.getMass() + definition.motorized.emptyMass;
+    protected double calculateMass() {
+        return super.calculateMass() + definition.motorized.emptyMass;
     }
 
     @Override
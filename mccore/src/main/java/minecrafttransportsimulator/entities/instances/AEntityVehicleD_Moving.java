@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import minecrafttransportsimulator.baseclasses.BezierCurve;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ComputedVariable;
 import minecrafttransportsimulator.baseclasses.Damage;
@@ -15,7 +14,6 @@ import minecrafttransportsimulator.baseclasses.VehicleGroundDeviceCollection;
 import minecrafttransportsimulator.blocks.components.ABlockBase;
 import minecrafttransportsimulator.blocks.instances.BlockCollision;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadFollowingState;
-import minecrafttransportsimulator.blocks.tileentities.components.RoadLane;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadLane.LaneSelectionRequest;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
 import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
@@ -28,9 +26,8 @@ import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
-import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
-import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovementBatch;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
 
@@ -89,6 +86,9 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     private final Point3D serverDeltaMApplied = new Point3D();
     private final Point3D serverDeltaRApplied = new Point3D();
     private double serverDeltaPApplied;
+    //Server deltas as last sent to clients, and the tick they were last sent in full.  See PacketVehicleServerMovementBatch.
+    public final double[] sentServerDeltas = new double[PacketVehicleServerMovementBatch.DELTA_COUNT];
+    public long lastServerDeltasKeyframe;
 
     private final Point3D clientDeltaM;
     private final Point3D clientDeltaR;
@@ -130,6 +130,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         this.clientDeltaM = serverDeltaM.copy();
         this.clientDeltaR = serverDeltaR.copy();
         this.clientDeltaP = serverDeltaP;
+        getServerDeltas(sentServerDeltas);
         this.groundDeviceCollective = new VehicleGroundDeviceCollection((EntityVehicleF_Physics) this);
         this.placingPlayer = placingPlayer;
         
@@ -152,11 +153,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         world.beginProfiling("VehicleD_Level", true);
         //Update block collision box list with current boxes.
         allBlockCollisionBoxes.clear();
-        for (BoundingBox box : allCollisionBoxes) {
-            if (box.collisionTypes.contains(CollisionType.BLOCK)) {
-                allBlockCollisionBoxes.add(box);
-            }
-        }
+        allBlockCollisionBoxes.addAll(allCollisionBoxes.getBoxes(CollisionType.BLOCK));
 
         //If we were placed down, and this is our first tick, check our collision boxes to make sure we are't in the ground.
         if (ticksExisted == 1 && placingPlayer != null && !world.isClient()) {
@@ -238,8 +235,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
                     //Check each box individually.  Need to do this to know which delta to apply.
                     BoundingBox entityBounds = entity.getBounds();
                     entityBounds.heightRadius += 0.25;
-                    for (BoundingBox box : allCollisionBoxes) {
-                        if (box.collisionTypes.contains(CollisionType.ENTITY) && entityBounds.intersects(box)) {
+                    for (BoundingBox box : allCollisionBoxes.getBoxes(CollisionType.ENTITY)) {
+                        if (entityBounds.intersects(box)) {
                             //If the entity is within 0.5 units of the top of the box, we can move them.
                             //If not, they are just colliding and not on top of the entity and we should leave them be.
                             double entityBottomDelta = box.globalCenter.y + box.heightRadius - (entityBounds.globalCenter.y - entityBounds.heightRadius + 0.25F);
@@ -352,24 +349,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
                 TileEntityRoad road = ((BlockCollision) block).getMasterRoad(world, contactPoint);
                 if (road != null) {
                     //Check to see which lane we are on, if any.
-                    Point3D testPoint = new Point3D();
-                    Point3D testRotation;
-                    for (RoadLane lane : road.lanes) {
-                        //Check path-points on the curve.  If our angles and position are close, set this as the curve.
-                        for (BezierCurve curve : lane.curves) {
-                            for (float f = 0; f < curve.pathLength; ++f) {
-                                curve.setPointToPositionAt(testPoint, f);
-                                if (testPoint.isDistanceToCloserThan(contactPoint, 1)) {
-                                    testRotation = curve.getRotationAt(f).angles;
-                                    boolean sameDirection = Math.abs(testRotation.getClampedYDelta(orientation.angles.y)) < 10;
-                                    boolean oppositeDirection = Math.abs(testRotation.getClampedYDelta(orientation.angles.y)) > 170;
-                                    if (sameDirection || oppositeDirection) {
-                                        return new RoadFollowingState(lane, curve, sameDirection, f);
-                                    }
-                                }
-                            }
-                        }
-                    }
+                    //If our angles and position are close to a path-point on a lane curve, set this as the curve.
+                    return road.laneIndex.getFollowingState(contactPoint, orientation.angles.y);
                 }
             }
         }
@@ -1096,11 +1077,24 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
                 }
                 serverDeltaPApplied += pathingApplied;
                 serverDeltaP += pathingApplied;
-                InterfaceManager.packetInterface.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, motionApplied, rotationApplied.angles, pathingApplied));
+                world.queueVehicleMovement((EntityVehicleF_Physics) this);
             }
         }
     }
 
+    /**
+     * Gets the server deltas, in the order motion XYZ, rotation XYZ, and pathing.
+     */
+    public void getServerDeltas(double[] deltas) {
+        deltas[0] = serverDeltaM.x;
+        deltas[1] = serverDeltaM.y;
+        deltas[2] = serverDeltaM.z;
+        deltas[3] = serverDeltaR.x;
+        deltas[4] = serverDeltaR.y;
+        deltas[5] = serverDeltaR.z;
+        deltas[6] = serverDeltaP;
+    }
+
     /**
      * Locks or unlocks this entity.  Allows for supplemental logic.
      * Call this ONLY on the server.
@@ -83,6 +83,7 @@ public abstract class AEntityVehicleE_Powered extends AEntityVehicleD_Moving {
             this.selectedBeaconName = "";
             this.fuelTank = new EntityFluidTank(world, null, definition.motorized.fuelCapacity);
         }
+        fuelTank.massOwner = this;
         world.addEntity(fuelTank);
         
         addVariable(this.runningLightVar = new ComputedVariable(this, "running_light", data));
@@ -223,8 +224,8 @@ public abstract class AEntityVehicleE_Powered extends AEntityVehicleD_Moving {
     }
 
     @Override
-    public double getMass() {
-        return super.getMass() + fuelTank.getMass();
+    protected double calculateMass() {
+        return super.calculateMass() + fuelTank.getMass();
     }
 
     @Override
@@ -332,6 +333,12 @@ public abstract class AEntityVehicleE_Powered extends AEntityVehicleD_Moving {
     }
 
     //-----START OF SOUND AND ANIMATION CODE-----
+    @Override
+    public boolean isIdle() {
+        //Electric loads and fuel pumps work over time, so we aren't idle while they run.
+        return electricFlow == 0 && !beingFueled && super.isIdle();
+    }
+
     @Override
     public boolean hasRadio() {
         return true;
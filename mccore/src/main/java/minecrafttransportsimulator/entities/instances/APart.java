@@ -90,6 +90,8 @@ public abstract class APart extends AEntityF_Multipart<JSONPart> {
     private final AnimationSwitchbox internalActiveSwitchbox;
     private final AnimationSwitchbox placementMovementSwitchbox;
     private final AnimationSwitchbox internalMovementSwitchbox;
+    /**Mutable helper for offset calculations during updates, so they don't make new points every tick.**/
+    private final Point3D offsetHelper = new Point3D();
 
     public APart(AEntityF_Multipart<?> entityOn, IWrapperPlayer placingPlayer, JSONPartDefinition placementDefinition, AItemPart item, IWrapperNBT data) {
         super(entityOn.world, placingPlayer, item, data);
@@ -162,6 +164,15 @@ public abstract class APart extends AEntityF_Multipart<JSONPart> {
         }
     }
 
+    /**
+     * Returns true if nothing about this part changes over time, so ticking it less often won't change how it behaves.
+     * Multiparts are only ticked less often when all their parts are at rest.  Parts have to opt in to this by
+     * overriding it and checking all their state that changes over time, so parts are never slowed down by default.
+     */
+    public boolean isAtRest() {
+        return false;
+    }
+
     @Override
     public void update() {
         super.update();
@@ -255,14 +266,14 @@ public abstract class APart extends AEntityF_Multipart<JSONPart> {
             isInvisible = !internalMovementSwitchbox.runSwitchbox(0, false) || isInvisible;
             //Offset here, to apply to locals, needs to be multiplied by scale and local orientation.
             //If we don't do this, then we won't calculate the locals right.
-            localOffset.add(internalMovementSwitchbox.translation.multiply(scale).rotate(localOrientation));
+            //Use a helper here, since the switchbox may keep its state between runs if nothing changed.
+            localOffset.add(offsetHelper.set(internalMovementSwitchbox.translation).multiply(scale).rotate(localOrientation));
             localOrientation.multiply(internalMovementSwitchbox.rotation);
         }
 
         //Set global position to reflect new local position.
         world.beginProfiling("AlignmentApply", false);
-        Point3D localPositionDelta = new Point3D().set(localOffset).rotate(orientation);
-        position.add(localPositionDelta);
+        position.add(offsetHelper.set(localOffset).rotate(orientation));
         orientation.multiply(localOrientation);
 
         //Adjust localOffset to align with actual local offset.  This happens if we are a sub-part.
@@ -350,8 +361,8 @@ public abstract class APart extends AEntityF_Multipart<JSONPart> {
     }
 
     @Override
-    public double getMass() {
-        return super.getMass() + definition.generic.mass;
+    protected double calculateMass() {
+        return super.calculateMass() + definition.generic.mass;
     }
 
     @Override
@@ -7,6 +7,7 @@ import java.util.List;
 import minecrafttransportsimulator.baseclasses.BlockHitResult;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.BoundingBoxHitResult;
+import minecrafttransportsimulator.baseclasses.BoundingBoxTree;
 import minecrafttransportsimulator.baseclasses.ComputedVariable;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3D;
@@ -44,6 +45,8 @@ import minecrafttransportsimulator.systems.LanguageSystem;
  */
 
 public class EntityBullet extends AEntityD_Definable<JSONBullet> {
+    private static final int PROXIMITY_TYPE_MASK = BoundingBoxTree.getTypeMask(CollisionType.ATTACK, CollisionType.BULLET);
+
     //Properties
     public final PartGun gun;
     public final int bulletNumber;
@@ -342,14 +345,18 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
                 }
 
                 //Populate multiparts for following functions.
+                //Only get ones near our path, and if we have a proximity fuze, also ones within its range of that path.
+                Point3D endPoint = position.copy().add(motion);
+                BoundingBox bulletMovementBounds = new BoundingBox(position, endPoint);
                 multiparts.clear();
-                multiparts.addAll(world.getEntitiesOfType(EntityVehicleF_Physics.class));
-                multiparts.addAll(world.getEntitiesOfType(EntityPlacedPart.class));
+                if (definition.bullet.proximityFuze != 0) {
+                    multiparts.addAll(world.getMultipartsWithin(new BoundingBox(position, velocity + definition.bullet.proximityFuze)));
+                } else {
+                    multiparts.addAll(world.getMultipartsWithin(bulletMovementBounds));
+                }
 
                 //Check for collided internal entities.
                 //This is a bit more involved, as we need to check all possible types and check hitbox distance.
-                Point3D endPoint = position.copy().add(motion);
-                BoundingBox bulletMovementBounds = new BoundingBox(position, endPoint);
                 for (AEntityF_Multipart<?> multipart : multiparts) {
                     //Don't attack the entity that has the gun that fired us.
                     if (!multipart.allParts.contains(gun)) {
@@ -468,9 +475,9 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
                                     //Don't attack the entity that has the gun that fired us.
                                     if (!multipart.allParts.contains(gun)) {
                                         if (multipart.encompassingBox.intersects(proxBounds)) {
-                                            //Could have hit this multipart, check all boxes.
-                                            for (BoundingBox box : multipart.allCollisionBoxes) {
-                                                if ((box.collisionTypes.contains(CollisionType.ATTACK) || box.collisionTypes.contains(CollisionType.BULLET)) && box.globalCenter.isDistanceToCloserThan(proxBounds.globalCenter, definition.bullet.proximityFuze)) {
+                                            //Could have hit this multipart, check all boxes near us.
+                                            for (BoundingBox box : multipart.getCollisionBoxTree().getBoxesIntersecting(proxBounds, PROXIMITY_TYPE_MASK)) {
+                                                if (box.globalCenter.isDistanceToCloserThan(proxBounds.globalCenter, definition.bullet.proximityFuze)) {
                                                     targetToHit = box.globalCenter.copy();
                                                     hitType = HitType.VEHICLE;
                                                     displayDebugMessage("PROX FUZE HIT VEHICLE");
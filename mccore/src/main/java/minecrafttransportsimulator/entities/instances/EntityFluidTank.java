@@ -20,6 +20,8 @@ public class EntityFluidTank extends AEntityA_Base {
     private final int maxLevel;
     private String currentFluid;
     private double fluidLevel;
+    /**Entity whose mass includes this tank, if any.  Told to update its mass when our fluid level changes.**/
+    public AEntityA_Base massOwner;
 
     public EntityFluidTank(AWrapperWorld world, IWrapperNBT data, int maxLevel) {
         super(world, data);
@@ -72,6 +74,7 @@ public class EntityFluidTank extends AEntityA_Base {
     public void manuallySet(String fluidName, double setLevel) {
         this.currentFluid = fluidName;
         this.fluidLevel = setLevel;
+        invalidateOwnerMass();
     }
 
     /**
@@ -91,6 +94,7 @@ public class EntityFluidTank extends AEntityA_Base {
                 if (currentFluid.isEmpty()) {
                     currentFluid = fluid;
                 }
+                invalidateOwnerMass();
                 //Send off packet now that we know what fluid we will have on this tank.
                 if (!world.isClient()) {
                     InterfaceManager.packetInterface.sendToAllClients(new PacketFluidTankChange(this, maxAmount));
@@ -123,6 +127,7 @@ public class EntityFluidTank extends AEntityA_Base {
                 if (fluidLevel == 0) {
                     currentFluid = "";
                 }
+                invalidateOwnerMass();
             }
             return maxAmount;
         } else {
@@ -130,6 +135,12 @@ public class EntityFluidTank extends AEntityA_Base {
         }
     }
 
+    private void invalidateOwnerMass() {
+        if (massOwner != null) {
+            massOwner.invalidateMass();
+        }
+    }
+
     /**
      * Gets the explosive power of this fluid.  Used when this tank is blown up.
      * In general, 10000 units is one level of explosion.  Explosion is multiplied
@@ -21,8 +21,12 @@ public class EntityInventoryContainer extends AEntityA_Base implements IInventor
     private static final IWrapperNBT blankData = InterfaceManager.coreInterface.getNewNBTWrapper();
     private final List<IWrapperItemStack> inventory;
     private final int stackSize;
+    private final double[] stackMasses;
+    private double inventoryMass;
     public int cachedStackCount;
     public int cachedItemCount;
+    /**Entity whose mass includes this inventory, if any.  Told to update its mass when our items change.**/
+    public AEntityA_Base massOwner;
 
     public EntityInventoryContainer(AWrapperWorld world, IWrapperNBT data, int maxSlots) {
         this(world, data, maxSlots, 64);
@@ -37,6 +41,11 @@ public class EntityInventoryContainer extends AEntityA_Base implements IInventor
             this.inventory = blankData.getStacks(maxSlots);
         }
         this.stackSize = stackSize;
+        this.stackMasses = new double[inventory.size()];
+        for (int i = 0; i < stackMasses.length; ++i) {
+            stackMasses[i] = getStackMass(inventory.get(i));
+            inventoryMass += stackMasses[i];
+        }
         cachedStackCount = getStackCount();
         cachedItemCount = getItemCount();
     }
@@ -49,7 +58,8 @@ public class EntityInventoryContainer extends AEntityA_Base implements IInventor
 
     @Override
     public double getMass() {
-        return getInventoryMass();
+        //Kept up to date in setStack, so we don't have to check every stack every time.
+        return inventoryMass;
     }
 
     @Override
@@ -72,6 +82,14 @@ public class EntityInventoryContainer extends AEntityA_Base implements IInventor
         inventory.set(index, stackToSet);
         cachedStackCount = getStackCount();
         cachedItemCount = getItemCount();
+        double stackMass = getStackMass(stackToSet);
+        if (stackMass != stackMasses[index]) {
+            inventoryMass += stackMass - stackMasses[index];
+            stackMasses[index] = stackMass;
+            if (massOwner != null) {
+                massOwner.invalidateMass();
+            }
+        }
         if (!world.isClient()) {
             InterfaceManager.packetInterface.sendToAllClients(new PacketInventoryContainerChange(this, index, stackToSet));
         }
@@ -0,0 +1,1122 @@
+package minecrafttransportsimulator.entities.instances;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
+import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
+import minecrafttransportsimulator.guis.components.GUIComponentCutout;
+import minecrafttransportsimulator.items.instances.ItemBullet;
+import minecrafttransportsimulator.jsondefs.JSONParticle;
+import minecrafttransportsimulator.jsondefs.JSONParticle.JSONSubParticle;
+import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleSpawningOrientation;
+import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleType;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.rendering.AModelParser;
+import minecrafttransportsimulator.rendering.RenderableData;
+import minecrafttransportsimulator.rendering.RenderableData.LightingMode;
+import minecrafttransportsimulator.rendering.RenderableVertices;
+import minecrafttransportsimulator.sound.SoundInstance;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Particle system for a client world.  This mimic's MC's particle logic, except we can manually set
+ * movement logic.  Rather than each particle being its own entity, all particles are stored in pooled
+ * primitive arrays in this single entity, indexed by a slot number.  Slots of dead particles are re-used for new ones,
+ * so spawning particles doesn't create new objects, and particles never enter the world's entity lists.
+ * When rendering, particles are batched into one set of vertices for each texture and render state,
+ * so many particles with the same state are rendered in a single call.  Translucent particles are sorted
+ * back-to-front instead, and only consecutive particles with the same state are rendered together.
+ *
+ * @author don_bruce
+ */
+public class EntityParticleSystem extends AEntityC_Renderable {
+    private static final RenderableVertices STANDARD_PARTICLE_SPRITE = RenderableVertices.createSprite(1, null, null);
+    private static final Map<String, RenderableVertices> parsedParticleModels = new HashMap<>();
+    private static final Map<String, Boolean> translucentTextures = new HashMap<>();
+    private static final List<String> SMOKE_TEXTURES = new ArrayList<>();
+    static {
+        for (int i = 0; i <= 11; ++i) {
+            SMOKE_TEXTURES.add("mts:textures/particles/big_smoke_" + i + ".png");
+        }
+    }
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int FLOATS_PER_VERTEX = 8;
+    private static final int BATCH_EXPIRATION_RENDERS = 200;
+
+    //Helper objects.  Particles are only updated and rendered on the main client thread, so these are safe to share.
+    private final TransformationMatrix helperTransform = new TransformationMatrix();
+    private final RotationMatrix helperRotation = new RotationMatrix();
+    private final RotationMatrix helperOrientation = new RotationMatrix();
+    private final Point3D helperPoint = new Point3D();
+    private final Point3D helperPosition = new Point3D();
+    private final Point3D helperMotion = new Point3D();
+    private final Point3D helperVertex = new Point3D();
+    private final Point3D blockCheckPosition = new Point3D();
+    private final ColorRGB helperColor = new ColorRGB();
+    private final BoundingBox helperBox = new BoundingBox(new Point3D(), 0.5);
+    private final Random particleRandom = new Random();
+
+    //Spawner properties.  Set from either the entity or parent particle that spawned the current particle.
+    private final Point3D spawnerPosition = new Point3D();
+    private final RotationMatrix spawnerOrientation = new RotationMatrix();
+    private final Point3D spawnerMotion = new Point3D();
+    private final Point3D spawnerScale = new Point3D();
+
+    //Slot management.
+    private int capacity;
+    private int highestSlot;
+    private int particleCount;
+    private int[] freeSlots;
+    private int freeSlotCount;
+    private int nextParticleID;
+
+    //Constant properties, per slot.
+    private int[] particleIDs;
+    private boolean[] alive;
+    private JSONParticle[] definitions;
+    private AEntityC_Renderable[] spawners;
+    private AnimationSwitchbox[] switchboxes;
+    private int[] parentSlots;
+    private int[] parentIDs;
+    private int[] maxAges;
+    private double[] scaleX;
+    private double[] scaleY;
+    private double[] scaleZ;
+    private double[] initialVelocityX;
+    private double[] initialVelocityY;
+    private double[] initialVelocityZ;
+    private RenderableVertices[] sourceVertices;
+    private boolean[] useCustomUVs;
+    private float[] customUVs;
+    private LightingMode[] lightingModes;
+    private ColorRGB[] staticColors;
+
+    //Runtime variables, per slot.
+    private int[] ages;
+    private int[] lightValues;
+    private double[] positionX;
+    private double[] positionY;
+    private double[] positionZ;
+    private double[] prevPositionX;
+    private double[] prevPositionY;
+    private double[] prevPositionZ;
+    private double[] motionX;
+    private double[] motionY;
+    private double[] motionZ;
+    private RotationMatrix[] orientations;
+    private RotationMatrix[] prevOrientations;
+    private boolean[] touchingBlocks;
+    private String[] textures;
+    private List<String>[] textureLists;
+    private float[] timeOfNextTexture;
+    private int[] textureIndexes;
+    private int[] textureDelayIndexes;
+    private ColorRGB[] startColors;
+    private ColorRGB[] endColors;
+    private int[] timeOfCurrentColor;
+    private int[] timeOfNextColor;
+    private int[] colorIndexes;
+    private int[] colorDelayIndexes;
+
+    //Rendering batches, keyed by texture, then by packed state.
+    private final Map<String, Map<Long, ParticleBatch>> batches = new HashMap<>();
+    private final List<ParticleBatch> activeBatches = new ArrayList<>();
+    private int renderCount;
+    private float[] renderAlphas;
+    private long[] renderOrder;
+
+    public EntityParticleSystem(AWrapperWorld world) {
+        super(world, InterfaceManager.clientInterface.getCameraPosition(), ZERO_FOR_CONSTRUCTOR, ZERO_FOR_CONSTRUCTOR);
+        setCapacity(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Spawns a particle from the passed-in entity.  This handles all the spawning logic, and if the particle
+     * is invalid for whatever reason, it simply won't be spawned.
+     */
+    public void spawnParticle(AEntityC_Renderable entitySpawning, JSONParticle definition, Point3D spawningPosition, AnimationSwitchbox spawningSwitchbox) {
+        spawnerPosition.set(entitySpawning.position);
+        spawnerOrientation.set(entitySpawning.orientation);
+        spawnerMotion.set(entitySpawning.motion);
+        spawnerScale.set(entitySpawning.scale);
+        spawnParticle(entitySpawning, -1, definition, spawningPosition, spawningSwitchbox);
+    }
+
+    /**
+     * Returns the number of particles currently alive.
+     */
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    private void spawnParticle(AEntityC_Renderable entitySpawning, int parentSlot, JSONParticle definition, Point3D spawningPosition, AnimationSwitchbox spawningSwitchbox) {
+        //Set transforms based on type.
+        RotationMatrix orientation = helperOrientation;
+        orientation.setToZero();
+        helperTransform.resetTransforms();
+        switch (definition.spawningOrientation) {
+            case ENTITY:
+            case ATTACHED: {
+                orientation.set(spawnerOrientation);
+                helperTransform.set(orientation);
+                break;
+            }
+            case FACING: {
+                if (entitySpawning instanceof EntityBullet) {
+                    EntityBullet bullet = (EntityBullet) entitySpawning;
+                    if (bullet.sideHit != Axis.NONE) {
+                        helperRotation.setToZero().rotateX(-90);
+                        orientation.set(bullet.sideHit.facingRotation).multiplyTranspose(helperRotation);
+                        helperTransform.set(orientation);
+                    } else {
+                        //Nothing for bullet to hit, block spawning.
+                        return;
+                    }
+                }
+                break;
+            }
+            case WORLD: {
+                //Do nothing, world doesn't touch position/orientation.
+                break;
+            }
+        }
+
+        //Set position.
+        setPositionToSpawn(definition, spawningSwitchbox, spawningPosition);
+
+        //Get block position for particle properties.  This changes from our actual position to calculated depending on properties.
+        if (definition.getBlockPropertiesFromGround) {
+            //Center of block for safety of FPEs.
+            blockCheckPosition.set(helperPosition).add(0, -world.getHeight(helperPosition) - 0.5, 0);
+        } else {
+            //Use spawning position here since block properties for particles are usually from bullets, which are slightly in the block.
+            blockCheckPosition.set(spawningPosition);
+        }
+
+        //Now that position is set, check to make sure we aren't an invalid particle.
+        if (definition.type == ParticleType.BREAK) {
+            if (world.isAir(blockCheckPosition)) {
+                //Don't spawn break particles in the air, they're null textures.
+                return;
+            }
+        }
+
+        //Set model and texture.  Do this before we get a slot, as casings may be invalid.
+        String model = definition.model;
+        String texture;
+        if (definition.texture != null) {
+            texture = definition.texture;
+        } else if (definition.type == ParticleType.BREAK) {
+            texture = RenderableData.GLOBAL_TEXTURE_NAME;
+        } else if (definition.type == ParticleType.CASING) {
+            if (entitySpawning instanceof PartGun && !((PartGun) entitySpawning).firedBullets.isEmpty()) {
+                PartGun gun = (PartGun) entitySpawning;
+                ItemBullet bullet = gun.firedBullets.get(0);
+                gun.firedBullets.remove(0);
+                texture = bullet.definition.bullet.casingTexture;
+                model = bullet.definition.bullet.casingModel;
+            } else {
+                //Invalid particle since we haven't fired anything yet to have a casing for.
+                texture = null;
+                model = null;
+            }
+            if (texture == null) {
+                //Not supposed to be spawning any casings for this bullet.
+                return;
+            }
+        } else if (definition.type == ParticleType.SMOKE || definition.textureList != null) {
+            //Set once we know our max age.
+            texture = null;
+        } else {
+            texture = "mts:textures/particles/" + definition.type.name().toLowerCase(Locale.ROOT) + ".png";
+        }
+
+        //Particle is valid, get a slot for it.
+        int slot = allocateSlot();
+        particleIDs[slot] = nextParticleID++;
+        definitions[slot] = definition;
+        spawners[slot] = entitySpawning;
+        switchboxes[slot] = spawningSwitchbox;
+        parentSlots[slot] = parentSlot;
+        parentIDs[slot] = parentSlot != -1 ? particleIDs[parentSlot] : -1;
+        int maxAge = generateMaxAge(definition);
+        maxAges[slot] = maxAge;
+        scaleX[slot] = spawnerScale.x;
+        scaleY[slot] = spawnerScale.y;
+        scaleZ[slot] = spawnerScale.z;
+        ages[slot] = 0;
+        lightValues[slot] = 0;
+        touchingBlocks[slot] = false;
+        setPosition(slot, helperPosition);
+        prevPositionX[slot] = helperPosition.x;
+        prevPositionY[slot] = helperPosition.y;
+        prevPositionZ[slot] = helperPosition.z;
+
+        //Set orientation.
+        setOrientationToSpawn(definition, orientation);
+        orientations[slot].set(orientation);
+        prevOrientations[slot].set(orientation);
+
+        //Get initial motion.
+        helperMotion.set(0, 0, 0);
+        if (definition.initialVelocity != null) {
+            if (definition.spreadRandomness != null) {
+                helperMotion.x = 2 * definition.spreadRandomness.x * Math.random() - definition.spreadRandomness.x;
+                helperMotion.y = 2 * definition.spreadRandomness.y * Math.random() - definition.spreadRandomness.y;
+                helperMotion.z = 2 * definition.spreadRandomness.z * Math.random() - definition.spreadRandomness.z;
+                helperMotion.add(definition.initialVelocity);
+            } else {
+                //Add some basic randomness so particles don't all go in a line.
+                helperMotion.x = definition.initialVelocity.x + 0.2 - Math.random() * 0.4;
+                helperMotion.y = definition.initialVelocity.y + 0.2 - Math.random() * 0.4;
+                helperMotion.z = definition.initialVelocity.z + 0.2 - Math.random() * 0.4;
+            }
+            //Scale down by 10 since most of the time we go too fast.
+            helperMotion.scale(1D / 10D);
+            helperMotion.rotate(helperTransform);
+        }
+        if (definition.relativeInheritedVelocityFactor != null) {
+            helperPoint.set(spawnerMotion);
+            if (entitySpawning instanceof EntityVehicleF_Physics) {
+                helperPoint.scale(((EntityVehicleF_Physics) entitySpawning).speedFactor);
+            } else if (entitySpawning instanceof APart) {
+                APart partSpawning = (APart) entitySpawning;
+                if (partSpawning.vehicleOn != null) {
+                    helperPoint.scale(partSpawning.vehicleOn.speedFactor);
+                }
+            }
+            helperRotation.setToVector(spawnerMotion, true);
+            helperPoint.reOrigin(helperRotation).multiply(definition.relativeInheritedVelocityFactor).rotate(helperRotation);
+            helperMotion.add(helperPoint);
+        }
+        setMotion(slot, helperMotion);
+        initialVelocityX[slot] = helperMotion.x;
+        initialVelocityY[slot] = helperMotion.y;
+        initialVelocityZ[slot] = helperMotion.z;
+        updateOrientation(slot, definition);
+
+        //Set textures.
+        textureLists[slot] = null;
+        textureIndexes[slot] = 0;
+        textureDelayIndexes[slot] = 0;
+        timeOfNextTexture[slot] = 0;
+        if (texture == null) {
+            if (definition.type == ParticleType.SMOKE) {
+                textureLists[slot] = SMOKE_TEXTURES;
+                timeOfNextTexture[slot] = (int) (maxAge / 12F);
+            } else {
+                //Set initial texture delay and texture.
+                textureLists[slot] = definition.textureList;
+                if (definition.randomTexture) {
+                    textureIndexes[slot] = particleRandom.nextInt(definition.textureList.size());
+                }
+                if (definition.textureDelays != null) {
+                    timeOfNextTexture[slot] = definition.textureDelays.get(0);
+                } else {
+                    timeOfNextTexture[slot] = maxAge;
+                }
+            }
+            texture = textureLists[slot].get(textureIndexes[slot]);
+        }
+        textures[slot] = texture;
+
+        //Set vertices.
+        useCustomUVs[slot] = false;
+        if (model != null) {
+            final String modelName = model;
+            sourceVertices[slot] = parsedParticleModels.computeIfAbsent(modelName, k -> {
+                String modelDomain = modelName.substring(0, modelName.indexOf(':'));
+                String modelPath = modelName.substring(modelDomain.length() + 1);
+                List<RenderableVertices> parsedObjects = AModelParser.parseModel("/assets/" + modelDomain + "/" + modelPath, true);
+                int totalVertices = 0;
+                for (RenderableVertices parsedObject : parsedObjects) {
+                    totalVertices += parsedObject.vertices.capacity();
+                }
+                FloatBuffer totalBuffer = FloatBuffer.allocate(totalVertices);
+                for (RenderableVertices parsedObject : parsedObjects) {
+                    totalBuffer.put(parsedObject.vertices);
+                }
+                totalBuffer.flip();
+                return new RenderableVertices("PARTICLE_3D", totalBuffer, false);
+            });
+        } else {
+            sourceVertices[slot] = STANDARD_PARTICLE_SPRITE;
+            if (definition.type == ParticleType.BREAK) {
+                //Break particles have varying UVs, so store them to apply when batching.
+                float[] uvPoints = InterfaceManager.renderingInterface.getBlockBreakTexture(world, blockCheckPosition);
+                System.arraycopy(uvPoints, 0, customUVs, slot * 4, 4);
+                useCustomUVs[slot] = true;
+            }
+        }
+
+        //Set color.
+        startColors[slot] = null;
+        endColors[slot] = null;
+        staticColors[slot] = null;
+        timeOfCurrentColor[slot] = 0;
+        timeOfNextColor[slot] = 0;
+        colorIndexes[slot] = 0;
+        colorDelayIndexes[slot] = 0;
+        if (definition.useBlockColor) {
+            staticColors[slot] = world.getBlockColor(blockCheckPosition);
+        } else if (definition.color != null) {
+            if (definition.toColor != null) {
+                startColors[slot] = definition.color;
+                endColors[slot] = definition.toColor;
+                timeOfNextColor[slot] = maxAge;
+            } else {
+                staticColors[slot] = definition.color;
+            }
+        } else if (definition.colorList != null) {
+            if (definition.randomColor) {
+                colorIndexes[slot] = particleRandom.nextInt(definition.colorList.size());
+            }
+            setColorsFromList(slot, definition);
+            if (definition.colorDelays != null) {
+                timeOfNextColor[slot] = definition.colorDelays.get(0);
+            } else {
+                timeOfNextColor[slot] = maxAge;
+            }
+        } else {
+            staticColors[slot] = ColorRGB.WHITE;
+        }
+
+        //Set lighting mode.
+        if (definition.type.equals(ParticleType.FLAME) || definition.isBright) {
+            lightingModes[slot] = LightingMode.IGNORE_ALL_LIGHTING;
+        } else if (model == null) {
+            lightingModes[slot] = LightingMode.IGNORE_ORIENTATION_LIGHTING;
+        } else {
+            lightingModes[slot] = LightingMode.NORMAL;
+        }
+    }
+
+    /**Make sure helperTransform is set to the orientation before calling this.  Result is stored in helperPosition.**/
+    private void setPositionToSpawn(JSONParticle definition, AnimationSwitchbox spawningSwitchbox, Point3D origin) {
+        //Apply transforms to get position.
+        if (definition.pos != null) {
+            helperPoint.set(definition.pos).multiply(spawnerScale);
+        } else {
+            helperPoint.set(0, 0, 0);
+        }
+        if (spawningSwitchbox != null) {
+            spawningSwitchbox.runSwitchbox(0, false);
+            helperTransform.multiply(spawningSwitchbox.netMatrix);
+        }
+        helperPoint.transform(helperTransform);
+        helperPosition.set(origin).add(helperPoint);
+    }
+
+    private void setOrientationToSpawn(JSONParticle definition, RotationMatrix orientation) {
+        //Apply transforms to get orientation.
+        if (definition.rot != null) {
+            orientation.multiply(definition.rot);
+        }
+        if (definition.rotationRandomness != null) {
+            helperPoint.set(definition.rotationRandomness);
+            helperPoint.x = (2 * Math.random() - 1) * helperPoint.x;
+            helperPoint.y = (2 * Math.random() - 1) * helperPoint.y;
+            helperPoint.z = (2 * Math.random() - 1) * helperPoint.z;
+            helperRotation.setToAngles(helperPoint);
+            orientation.multiply(helperRotation);
+        }
+    }
+
+    /**
+     * Loads the properties of the entity, or parent particle, that spawned the particle in the passed-in slot.
+     * Returns false if the particle was spawned by another particle that no longer exists.
+     */
+    private boolean loadSpawner(int slot) {
+        AEntityC_Renderable entitySpawning = spawners[slot];
+        if (entitySpawning != null) {
+            spawnerPosition.set(entitySpawning.position);
+            spawnerOrientation.set(entitySpawning.orientation);
+            spawnerScale.set(scaleX[slot], scaleY[slot], scaleZ[slot]);
+            return true;
+        } else {
+            int parentSlot = parentSlots[slot];
+            if (alive[parentSlot] && particleIDs[parentSlot] == parentIDs[slot]) {
+                spawnerPosition.set(positionX[parentSlot], positionY[parentSlot], positionZ[parentSlot]);
+                spawnerOrientation.set(orientations[parentSlot]);
+                spawnerScale.set(scaleX[slot], scaleY[slot], scaleZ[slot]);
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public EntityAutoUpdateTime getUpdateTime() {
+        //Update after everything else, so attached particles use the current position of their entity.
+        return EntityAutoUpdateTime.AFTER_PLAYER;
+    }
+
+    @Override
+    public void update() {
+        super.update();
+        //Keep our position at the camera, as all particle vertices are relative to it.
+        position.set(InterfaceManager.clientInterface.getCameraPosition());
+        prevPosition.set(position);
+        world.beginProfiling("ParticleUpdates", true);
+        for (int slot = 0; slot < highestSlot; ++slot) {
+            if (alive[slot]) {
+                updateParticle(slot);
+            }
+        }
+        world.endProfiling();
+    }
+
+    private void updateParticle(int slot) {
+        JSONParticle definition = definitions[slot];
+        RotationMatrix orientation = orientations[slot];
+        int ticksExisted = ++ages[slot];
+        int maxAge = maxAges[slot];
+        prevPositionX[slot] = positionX[slot];
+        prevPositionY[slot] = positionY[slot];
+        prevPositionZ[slot] = positionZ[slot];
+        prevOrientations[slot].set(orientation);
+        helperPosition.set(positionX[slot], positionY[slot], positionZ[slot]);
+        helperMotion.set(motionX[slot], motionY[slot], motionZ[slot]);
+        lightValues[slot] = InterfaceManager.renderingInterface.getLightingAtPosition(helperPosition);
+
+        //Check age to see if we are on our last tick.
+        if (ticksExisted == maxAge) {
+            releaseSlot(slot);
+            return;
+        }
+        boolean removeParticle = false;
+
+        //Set movement.
+        if (!definition.stopsOnGround || !touchingBlocks[slot]) {
+            if (definition.spawningOrientation == ParticleSpawningOrientation.ATTACHED && loadSpawner(slot)) {
+                orientation.set(spawnerOrientation);
+                helperTransform.resetTransforms();
+                helperTransform.set(orientation);
+                setPositionToSpawn(definition, switchboxes[slot], spawnerPosition);
+                setOrientationToSpawn(definition, orientation);
+            }
+
+            if (definition.movementDuration != 0) {
+                if (ticksExisted <= definition.movementDuration) {
+                    double factorLastTick = (definition.movementDuration - (ticksExisted - 1)) / (float) definition.movementDuration;
+                    double factorThisTick = (definition.movementDuration - ticksExisted) / (float) definition.movementDuration;
+                    helperMotion.x += initialVelocityX[slot] * factorThisTick - initialVelocityX[slot] * factorLastTick;
+                    helperMotion.y += initialVelocityY[slot] * factorThisTick - initialVelocityY[slot] * factorLastTick;
+                    helperMotion.z += initialVelocityZ[slot] * factorThisTick - initialVelocityZ[slot] * factorLastTick;
+                }
+            }
+
+            if (definition.movementVelocity != null) {
+                helperMotion.add(definition.movementVelocity);
+            }
+            if (definition.relativeMovementVelocity != null) {
+                helperRotation.setToVector(helperMotion, true);
+                helperPoint.set(definition.relativeMovementVelocity).rotate(helperRotation);
+                helperMotion.add(helperPoint);
+            }
+            if (definition.movementVelocity == null && definition.relativeMovementVelocity == null) {
+                switch (definition.type) {
+                    case SMOKE: {
+                        //Update the motions to make the smoke float up.
+                        helperMotion.x *= 0.9;
+                        helperMotion.y += 0.004;
+                        helperMotion.z *= 0.9;
+                        break;
+                    }
+                    case FLAME: {
+                        //Flame just slowly drifts in the direction it was going.
+                        helperMotion.scale(0.96);
+                        break;
+                    }
+                    case BUBBLE: {
+                        //Bubbles float up until they break the surface of the water, then they pop.
+                        if (!world.isBlockLiquid(helperPosition)) {
+                            removeParticle = true;
+                        } else {
+                            helperMotion.scale(0.85).add(0, 0.002D, 0);
+                        }
+                        break;
+                    }
+                    case BREAK: {
+                        //Breaking just fall down quickly.
+                        if (!touchingBlocks[slot]) {
+                            helperMotion.scale(0.98).add(0D, -0.04D, 0D);
+                        } else {
+                            helperMotion.scale(0.0);
+                        }
+                        break;
+                    }
+                    default: {
+                        //No default movement for generic particles.
+                        break;
+                    }
+                }
+            }
+
+            if (definition.terminalVelocity != null) {
+                if (helperMotion.x > definition.terminalVelocity.x) {
+                    helperMotion.x = definition.terminalVelocity.x;
+                }
+                if (helperMotion.x < -definition.terminalVelocity.x) {
+                    helperMotion.x = -definition.terminalVelocity.x;
+                }
+                if (helperMotion.y > definition.terminalVelocity.y) {
+                    helperMotion.y = definition.terminalVelocity.y;
+                }
+                if (helperMotion.y < -definition.terminalVelocity.y) {
+                    helperMotion.y = -definition.terminalVelocity.y;
+                }
+                if (helperMotion.z > definition.terminalVelocity.z) {
+                    helperMotion.z = definition.terminalVelocity.z;
+                }
+                if (helperMotion.z < -definition.terminalVelocity.z) {
+                    helperMotion.z = -definition.terminalVelocity.z;
+                }
+            }
+
+            //Check collision movement.  If we hit a block, don't move.
+            if (!definition.ignoreCollision) {
+                helperBox.globalCenter.set(helperPosition);
+                helperBox.widthRadius = definition.hitboxSize / 2D;
+                helperBox.heightRadius = helperBox.widthRadius;
+                helperBox.depthRadius = helperBox.widthRadius;
+                touchingBlocks[slot] = helperBox.updateCollisions(world, helperMotion, true);
+                if (touchingBlocks[slot]) {
+                    helperMotion.subtract(helperBox.currentCollisionDepth);
+                    if (definition.stopsOnGround && definition.groundSounds != null) {
+                        playGroundSound(definition, helperPosition);
+                    }
+                }
+            }
+            helperPosition.add(helperMotion);
+            setPosition(slot, helperPosition);
+            setMotion(slot, helperMotion);
+
+            //Update orientation.
+            updateOrientation(slot, definition);
+            if (definition.rotationVelocity != null) {
+                helperRotation.setToAngles(definition.rotationVelocity);
+                orientation.multiply(helperRotation);
+            }
+        }
+
+        //Check if we need to change textures or colors.
+        List<String> textureList = textureLists[slot];
+        if (textureList != null && timeOfNextTexture[slot] <= ticksExisted) {
+            if (++textureIndexes[slot] == textureList.size()) {
+                textureIndexes[slot] = 0;
+            }
+            textures[slot] = textureList.get(textureIndexes[slot]);
+            if (definition.textureDelays != null) {
+                if (++textureDelayIndexes[slot] == definition.textureDelays.size()) {
+                    textureDelayIndexes[slot] = 0;
+                }
+                timeOfNextTexture[slot] += definition.textureDelays.get(textureDelayIndexes[slot]);
+            } else {
+                //Assume internal smoke, so use constant delay.
+                timeOfNextTexture[slot] += maxAge / 12F;
+            }
+        }
+        if (definition.colorDelays != null && timeOfNextColor[slot] == ticksExisted) {
+            if (++colorIndexes[slot] == definition.colorList.size()) {
+                colorIndexes[slot] = 0;
+            }
+            setColorsFromList(slot, definition);
+
+            if (++colorDelayIndexes[slot] == definition.colorDelays.size()) {
+                colorDelayIndexes[slot] = 0;
+            }
+            timeOfCurrentColor[slot] = timeOfNextColor[slot];
+            timeOfNextColor[slot] += definition.colorDelays.get(colorDelayIndexes[slot]);
+        }
+
+        //Check for sub particles.
+        if (definition.subParticles != null) {
+            for (JSONSubParticle subDef : definition.subParticles) {
+                if (subDef.particle.spawnEveryTick ? subDef.time >= ticksExisted : subDef.time == ticksExisted) {
+                    //Sub-particles are spawned from us, and since we aren't an entity we don't have a scale or spawner.
+                    spawnerPosition.set(positionX[slot], positionY[slot], positionZ[slot]);
+                    spawnerOrientation.set(orientation);
+                    spawnerMotion.set(motionX[slot], motionY[slot], motionZ[slot]);
+                    spawnerScale.set(1, 1, 1);
+                    spawnParticle(null, slot, subDef.particle, spawnerPosition, null);
+                }
+            }
+        }
+
+        if (removeParticle) {
+            releaseSlot(slot);
+        }
+    }
+
+    private void playGroundSound(JSONParticle definition, Point3D soundPosition) {
+        double distance = soundPosition.distanceTo(InterfaceManager.clientInterface.getClientPlayer().getPosition());
+        if (distance < SoundInstance.DEFAULT_MAX_DISTANCE) {
+            //Sounds need an entity to play from, so make a simple one where the particle hit.
+            SoundInstance sound = new SoundInstance(new ParticleSoundSource(world, soundPosition), definition.groundSounds.get(particleRandom.nextInt(definition.groundSounds.size())));
+            sound.volume = (float) (1 - distance / SoundInstance.DEFAULT_MAX_DISTANCE);
+            InterfaceManager.soundInterface.playQuickSound(sound);
+        }
+    }
+
+    private void setColorsFromList(int slot, JSONParticle definition) {
+        int colorIndex = colorIndexes[slot];
+        startColors[slot] = definition.colorList.get(colorIndex);
+        if (colorIndex + 1 < definition.colorList.size()) {
+            endColors[slot] = definition.colorList.get(colorIndex + 1);
+        } else {
+            endColors[slot] = definition.colorList.get(0);
+        }
+    }
+
+    private void updateOrientation(int slot, JSONParticle definition) {
+        RotationMatrix orientation = orientations[slot];
+        switch (definition.renderingOrientation) {
+            case FIXED: {
+                //No update since we never change.
+                break;
+            }
+            case PLAYER: {
+                helperPoint.set(InterfaceManager.clientInterface.getCameraPosition()).add(-positionX[slot], -positionY[slot], -positionZ[slot]);
+                orientation.setToVector(helperPoint, true);
+                break;
+            }
+            case YAXIS: {
+                helperPoint.set(InterfaceManager.clientInterface.getCameraPosition()).add(-positionX[slot], -positionY[slot], -positionZ[slot]);
+                helperPoint.y = 0;
+                orientation.setToVector(helperPoint, true);
+                break;
+            }
+            case MOTION: {
+                helperPoint.set(motionX[slot], motionY[slot], motionZ[slot]);
+                orientation.setToVector(helperPoint, true);
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean shouldSync() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldSavePosition() {
+        return false;
+    }
+
+    @Override
+    public void renderBoundingBoxes(TransformationMatrix transform) {
+        //Particles don't have bounding boxes to render.
+    }
+
+    @Override
+    protected void renderModel(TransformationMatrix transform, boolean blendingEnabled, float partialTicks) {
+        ++renderCount;
+
+        //Get the particles to render in this pass.  Translucent particles need to be rendered back-to-front,
+        //so they are sorted by distance.  The distance is packed above the slot so we can sort without boxing.
+        //This works because the bits of positive floats sort in the same order as their values.
+        int renderSlotCount = 0;
+        Point3D cameraPosition = blendingEnabled ? InterfaceManager.clientInterface.getCameraPosition() : null;
+        for (int slot = 0; slot < highestSlot; ++slot) {
+            //Don't render on the first tick, as we haven't updated our light yet.
+            if (!alive[slot] || ages[slot] == 0) {
+                continue;
+            }
+            float alpha = getAlpha(slot, partialTicks);
+            if ((isTextureTranslucent(textures[slot]) || alpha < 1.0) != blendingEnabled) {
+                continue;
+            }
+            renderAlphas[slot] = alpha;
+            if (blendingEnabled) {
+                double deltaX = positionX[slot] - cameraPosition.x;
+                double deltaY = positionY[slot] - cameraPosition.y;
+                double deltaZ = positionZ[slot] - cameraPosition.z;
+                renderOrder[renderSlotCount++] = ((long) Float.floatToIntBits((float) (deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ)) << 32) | slot;
+            } else {
+                renderOrder[renderSlotCount++] = slot;
+            }
+        }
+        if (blendingEnabled) {
+            Arrays.sort(renderOrder, 0, renderSlotCount);
+        }
+
+        String lastTexture = null;
+        long lastKey = 0;
+        ParticleBatch batch = null;
+        boolean enableBrightBlending = ConfigSystem.client.renderingSettings.blendedLights.value;
+        for (int i = 0; i < renderSlotCount; ++i) {
+            int slot = (int) renderOrder[blendingEnabled ? renderSlotCount - 1 - i : i];
+            JSONParticle definition = definitions[slot];
+            int ticksExisted = ages[slot];
+            int maxAge = maxAges[slot];
+            float alpha = renderAlphas[slot];
+            String texture = textures[slot];
+
+            //Get color.
+            ColorRGB color = staticColors[slot];
+            if (color == null) {
+                ColorRGB startColor = startColors[slot];
+                ColorRGB endColor = endColors[slot];
+                float colorDelta = (ticksExisted + partialTicks - timeOfCurrentColor[slot]) / (timeOfNextColor[slot] - timeOfCurrentColor[slot]);
+                helperColor.red = interpolate(startColor.red, endColor.red, colorDelta, true);
+                helperColor.green = interpolate(startColor.green, endColor.green, colorDelta, true);
+                helperColor.blue = interpolate(startColor.blue, endColor.blue, colorDelta, true);
+                color = helperColor;
+            }
+
+            //Get the batch for our state.  Particles from the same source normally share state, so check the last batch first.
+            //Colors and alpha are stored as 8-bit values, which is what they are rendered at anyways.
+            LightingMode lightingMode = lightingModes[slot];
+            boolean brightBlending = definition.isBlended && enableBrightBlending;
+            long key = ((long) toByte(alpha) << 56) | ((long) toByte(color.red) << 48) | ((long) toByte(color.green) << 40) | ((long) toByte(color.blue) << 32) | ((long) lightingMode.ordinal() << 30) | ((brightBlending ? 1L : 0L) << 29) | (lightValues[slot] & 0x1FFFFFFFL);
+            if (batch == null || key != lastKey || !texture.equals(lastTexture)) {
+                if (blendingEnabled && batch != null) {
+                    //Render what we have before changing batches so translucent particles stay in order.
+                    batch.render(transform);
+                }
+                batch = batches.computeIfAbsent(texture, k -> new HashMap<>()).get(key);
+                if (batch == null) {
+                    batch = new ParticleBatch(texture, key, lightingMode, brightBlending, lightValues[slot]);
+                    batches.get(texture).put(key, batch);
+                }
+                if (!blendingEnabled && batch.lastRenderUsed != renderCount) {
+                    activeBatches.add(batch);
+                }
+                batch.lastRenderUsed = renderCount;
+                lastTexture = texture;
+                lastKey = key;
+            }
+
+            //Get our transform relative to this entity.
+            double totalScale;
+            if (definition.type == ParticleType.FLAME && definition.scale == 0 && definition.toScale == 0) {
+                totalScale = 1.0F - Math.pow((ticksExisted + partialTicks) / maxAge, 2) / 2F;
+            } else if (definition.toScale != 0) {
+                totalScale = interpolate(definition.scale, definition.toScale, (ticksExisted + partialTicks) / maxAge, false);
+            } else if (definition.scale != 0) {
+                totalScale = definition.scale;
+            } else {
+                totalScale = 1.0;
+            }
+            if (definition.fadeScaleTime > maxAge - ticksExisted) {
+                totalScale *= (maxAge - ticksExisted) / (float) definition.fadeScaleTime;
+            }
+            helperOrientation.interploate(prevOrientations[slot], orientations[slot], partialTicks);
+            helperTransform.resetTransforms();
+            helperTransform.setTranslation(prevPositionX[slot] + (positionX[slot] - prevPositionX[slot]) * partialTicks - position.x, prevPositionY[slot] + (positionY[slot] - prevPositionY[slot]) * partialTicks - position.y, prevPositionZ[slot] + (positionZ[slot] - prevPositionZ[slot]) * partialTicks - position.z);
+            helperTransform.applyRotation(helperOrientation);
+            helperTransform.applyScaling(totalScale * scaleX[slot], totalScale * scaleY[slot], totalScale * scaleZ[slot]);
+            batch.addVertices(slot);
+        }
+
+        //Render all batches we added to, then remove any that haven't been used in a while.
+        if (blendingEnabled) {
+            if (batch != null) {
+                batch.render(transform);
+            }
+        } else {
+            for (ParticleBatch activeBatch : activeBatches) {
+                activeBatch.render(transform);
+            }
+            activeBatches.clear();
+        }
+        if (renderCount % BATCH_EXPIRATION_RENDERS == 0) {
+            batches.values().forEach(textureBatches -> textureBatches.values().removeIf(textureBatch -> {
+                if (renderCount - textureBatch.lastRenderUsed > BATCH_EXPIRATION_RENDERS) {
+                    textureBatch.renderable.destroy();
+                    return true;
+                } else {
+                    return false;
+                }
+            }));
+            batches.values().removeIf(Map::isEmpty);
+        }
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+        for (Map<Long, ParticleBatch> textureBatches : batches.values()) {
+            for (ParticleBatch batch : textureBatches.values()) {
+                batch.renderable.destroy();
+            }
+        }
+        batches.clear();
+    }
+
+    private float getAlpha(int slot, float partialTicks) {
+        JSONParticle definition = definitions[slot];
+        int ticksExisted = ages[slot];
+        int maxAge = maxAges[slot];
+        float alpha;
+        if (definition.toTransparency != 0) {
+            alpha = interpolate(definition.transparency, definition.toTransparency, (ticksExisted + partialTicks) / maxAge, true);
+        } else {
+            alpha = definition.transparency != 0 ? definition.transparency : 1.0F;
+        }
+        if (definition.fadeTransparencyTime > maxAge - ticksExisted) {
+            alpha = alpha * (maxAge - ticksExisted) / definition.fadeTransparencyTime;
+        }
+        if (definition.daytimeReductionFactor != 0) {
+            //Get world light and factor this into the alpha value.
+            helperPoint.set(positionX[slot], positionY[slot], positionZ[slot]);
+            alpha = alpha * (1 - (definition.daytimeReductionFactor * world.getLightBrightness(helperPoint, true)));
+        }
+        return alpha;
+    }
+
+    private void setPosition(int slot, Point3D newPosition) {
+        positionX[slot] = newPosition.x;
+        positionY[slot] = newPosition.y;
+        positionZ[slot] = newPosition.z;
+    }
+
+    private void setMotion(int slot, Point3D newMotion) {
+        motionX[slot] = newMotion.x;
+        motionY[slot] = newMotion.y;
+        motionZ[slot] = newMotion.z;
+    }
+
+    private int allocateSlot() {
+        int slot;
+        if (freeSlotCount > 0) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            if (highestSlot == capacity) {
+                setCapacity(capacity * 2);
+            }
+            slot = highestSlot++;
+        }
+        alive[slot] = true;
+        ++particleCount;
+        return slot;
+    }
+
+    private void releaseSlot(int slot) {
+        alive[slot] = false;
+        //Clear references so we don't hold onto entities or definitions.
+        definitions[slot] = null;
+        spawners[slot] = null;
+        switchboxes[slot] = null;
+        textureLists[slot] = null;
+        startColors[slot] = null;
+        endColors[slot] = null;
+        staticColors[slot] = null;
+        if (--particleCount == 0) {
+            //No particles, so reset to the start rather than tracking free slots.
+            highestSlot = 0;
+            freeSlotCount = 0;
+        } else {
+            freeSlots[freeSlotCount++] = slot;
+        }
+    }
+
+    private void setCapacity(int newCapacity) {
+        freeSlots = Arrays.copyOf(freeSlots != null ? freeSlots : new int[0], newCapacity);
+        particleIDs = Arrays.copyOf(particleIDs != null ? particleIDs : new int[0], newCapacity);
+        alive = Arrays.copyOf(alive != null ? alive : new boolean[0], newCapacity);
+        definitions = Arrays.copyOf(definitions != null ? definitions : new JSONParticle[0], newCapacity);
+        spawners = Arrays.copyOf(spawners != null ? spawners : new AEntityC_Renderable[0], newCapacity);
+        switchboxes = Arrays.copyOf(switchboxes != null ? switchboxes : new AnimationSwitchbox[0], newCapacity);
+        parentSlots = Arrays.copyOf(parentSlots != null ? parentSlots : new int[0], newCapacity);
+        parentIDs = Arrays.copyOf(parentIDs != null ? parentIDs : new int[0], newCapacity);
+        maxAges = Arrays.copyOf(maxAges != null ? maxAges : new int[0], newCapacity);
+        scaleX = Arrays.copyOf(scaleX != null ? scaleX : new double[0], newCapacity);
+        scaleY = Arrays.copyOf(scaleY != null ? scaleY : new double[0], newCapacity);
+        scaleZ = Arrays.copyOf(scaleZ != null ? scaleZ : new double[0], newCapacity);
+        initialVelocityX = Arrays.copyOf(initialVelocityX != null ? initialVelocityX : new double[0], newCapacity);
+        initialVelocityY = Arrays.copyOf(initialVelocityY != null ? initialVelocityY : new double[0], newCapacity);
+        initialVelocityZ = Arrays.copyOf(initialVelocityZ != null ? initialVelocityZ : new double[0], newCapacity);
+        sourceVertices = Arrays.copyOf(sourceVertices != null ? sourceVertices : new RenderableVertices[0], newCapacity);
+        useCustomUVs = Arrays.copyOf(useCustomUVs != null ? useCustomUVs : new boolean[0], newCapacity);
+        customUVs = Arrays.copyOf(customUVs != null ? customUVs : new float[0], newCapacity * 4);
+        lightingModes = Arrays.copyOf(lightingModes != null ? lightingModes : new LightingMode[0], newCapacity);
+        staticColors = Arrays.copyOf(staticColors != null ? staticColors : new ColorRGB[0], newCapacity);
+        ages = Arrays.copyOf(ages != null ? ages : new int[0], newCapacity);
+        lightValues = Arrays.copyOf(lightValues != null ? lightValues : new int[0], newCapacity);
+        positionX = Arrays.copyOf(positionX != null ? positionX : new double[0], newCapacity);
+        positionY = Arrays.copyOf(positionY != null ? positionY : new double[0], newCapacity);
+        positionZ = Arrays.copyOf(positionZ != null ? positionZ : new double[0], newCapacity);
+        prevPositionX = Arrays.copyOf(prevPositionX != null ? prevPositionX : new double[0], newCapacity);
+        prevPositionY = Arrays.copyOf(prevPositionY != null ? prevPositionY : new double[0], newCapacity);
+        prevPositionZ = Arrays.copyOf(prevPositionZ != null ? prevPositionZ : new double[0], newCapacity);
+        motionX = Arrays.copyOf(motionX != null ? motionX : new double[0], newCapacity);
+        motionY = Arrays.copyOf(motionY != null ? motionY : new double[0], newCapacity);
+        motionZ = Arrays.copyOf(motionZ != null ? motionZ : new double[0], newCapacity);
+        orientations = Arrays.copyOf(orientations != null ? orientations : new RotationMatrix[0], newCapacity);
+        prevOrientations = Arrays.copyOf(prevOrientations != null ? prevOrientations : new RotationMatrix[0], newCapacity);
+        for (int i = capacity; i < newCapacity; ++i) {
+            orientations[i] = new RotationMatrix();
+            prevOrientations[i] = new RotationMatrix();
+        }
+        touchingBlocks = Arrays.copyOf(touchingBlocks != null ? touchingBlocks : new boolean[0], newCapacity);
+        textures = Arrays.copyOf(textures != null ? textures : new String[0], newCapacity);
+        textureLists = Arrays.copyOf(textureLists != null ? textureLists : createTextureListArray(0), newCapacity);
+        timeOfNextTexture = Arrays.copyOf(timeOfNextTexture != null ? timeOfNextTexture : new float[0], newCapacity);
+        textureIndexes = Arrays.copyOf(textureIndexes != null ? textureIndexes : new int[0], newCapacity);
+        textureDelayIndexes = Arrays.copyOf(textureDelayIndexes != null ? textureDelayIndexes : new int[0], newCapacity);
+        startColors = Arrays.copyOf(startColors != null ? startColors : new ColorRGB[0], newCapacity);
+        endColors = Arrays.copyOf(endColors != null ? endColors : new ColorRGB[0], newCapacity);
+        timeOfCurrentColor = Arrays.copyOf(timeOfCurrentColor != null ? timeOfCurrentColor : new int[0], newCapacity);
+        timeOfNextColor = Arrays.copyOf(timeOfNextColor != null ? timeOfNextColor : new int[0], newCapacity);
+        colorIndexes = Arrays.copyOf(colorIndexes != null ? colorIndexes : new int[0], newCapacity);
+        colorDelayIndexes = Arrays.copyOf(colorDelayIndexes != null ? colorDelayIndexes : new int[0], newCapacity);
+        renderAlphas = Arrays.copyOf(renderAlphas != null ? renderAlphas : new float[0], newCapacity);
+        renderOrder = Arrays.copyOf(renderOrder != null ? renderOrder : new long[0], newCapacity);
+        capacity = newCapacity;
+    }
+
+    /**
+     * Creates an array for texture lists.  Java can't create arrays of generic types, so we create
+     * one of wildcard lists and cast it.  This is safe as the array only ever holds lists of texture names.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String>[] createTextureListArray(int length) {
+        return (List<String>[]) new List<?>[length];
+    }
+
+    /**
+     * Gets the max age of the particle.  This tries to use the definition's
+     * maxAge, but will use Vanilla values if not set.  This should only be
+     * called once per particle, as the Vanilla values have a random element that means
+     * this function will return different values on each call for them.
+     */
+    private static int generateMaxAge(JSONParticle definition) {
+        if (definition.duration != 0) {
+            return definition.duration;
+        } else {
+            switch (definition.type) {
+                case SMOKE:
+                    return 33;
+                case BUBBLE:
+                case FLAME:
+                    return (int) (8.0D / (Math.random() * 0.8D + 0.2D)) + 4;
+                case BREAK:
+                    return (int) (4.0D / (Math.random() * 0.9D + 0.1D));
+                default://Generic
+                    return (int) (8.0D / (Math.random() * 0.8D + 0.2D));
+            }
+        }
+    }
+
+    private static boolean isTextureTranslucent(String texture) {
+        return translucentTextures.computeIfAbsent(texture, k -> texture.toLowerCase(Locale.ROOT).contains(AModelParser.TRANSLUCENT_OBJECT_NAME) || texture.endsWith(GUIComponentCutout.LIT_SUFFIX));
+    }
+
+    private static float interpolate(float start, float end, float factor, boolean clamp) {
+        float value = start + (end - start) * factor;
+        return clamp ? value > 1.0F ? 1.0F : (value < 0.0F ? 0.0F : value) : value;
+    }
+
+    private static int toByte(float value) {
+        return Math.round((value < 0 ? 0 : (value > 1 ? 1 : value)) * 255);
+    }
+
+    /**
+     * A batch of particles that share a texture and render state.  Vertices of all particles in the batch
+     * are transformed into a single buffer, which is rendered in one call.
+     */
+    private class ParticleBatch {
+        private RenderableData renderable;
+        private int lastRenderUsed;
+
+        private ParticleBatch(String texture, long key, LightingMode lightingMode, boolean brightBlending, int lightValue) {
+            this.renderable = new RenderableData(new RenderableVertices("PARTICLE_BATCH", FloatBuffer.allocate(FLOATS_PER_VERTEX * 6 * 16), false), texture);
+            //Set state from the key, so all particles in this batch get the same quantized values.
+            helperColor.red = ((key >> 48) & 255) / 255F;
+            helperColor.green = ((key >> 40) & 255) / 255F;
+            helperColor.blue = ((key >> 32) & 255) / 255F;
+            renderable.setColor(helperColor);
+            renderable.setAlpha(((key >> 56) & 255) / 255F);
+            renderable.setLightMode(lightingMode);
+            renderable.setBlending(brightBlending);
+            renderable.setLightValue(lightValue);
+            renderable.vertexObject.vertices.clear();
+        }
+
+        /**
+         * Adds the vertices for the particle in the passed-in slot, transformed by the current helper transform.
+         */
+        private void addVertices(int slot) {
+            FloatBuffer source = sourceVertices[slot].vertices;
+            int sourceFloats = source.limit();
+            FloatBuffer buffer = renderable.vertexObject.vertices;
+            if (buffer.remaining() < sourceFloats) {
+                //Need a larger buffer, copy what we have to it.
+                FloatBuffer newBuffer = FloatBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + sourceFloats));
+                buffer.flip();
+                newBuffer.put(buffer);
+                RenderableData newRenderable = new RenderableData(new RenderableVertices("PARTICLE_BATCH", newBuffer, false), renderable.texture);
+                newRenderable.setColor(renderable.color);
+                newRenderable.setAlpha(renderable.alpha);
+                newRenderable.setLightMode(renderable.lightingMode);
+                newRenderable.setBlending(renderable.enableBrightBlending);
+                newRenderable.setLightValue(renderable.worldLightValue);
+                renderable.destroy();
+                renderable = newRenderable;
+                buffer = newBuffer;
+            }
+
+            boolean customUVs = useCustomUVs[slot];
+            int uvIndex = slot * 4;
+            for (int i = 0; i < sourceFloats; i += FLOATS_PER_VERTEX) {
+                //Normals only get rotated.
+                helperVertex.set(source.get(i), source.get(i + 1), source.get(i + 2)).rotate(helperOrientation);
+                buffer.put((float) helperVertex.x);
+                buffer.put((float) helperVertex.y);
+                buffer.put((float) helperVertex.z);
+                if (customUVs) {
+                    buffer.put(EntityParticleSystem.this.customUVs[uvIndex] + source.get(i + 3) * (EntityParticleSystem.this.customUVs[uvIndex + 1] - EntityParticleSystem.this.customUVs[uvIndex]));
+                    buffer.put(EntityParticleSystem.this.customUVs[uvIndex + 2] + source.get(i + 4) * (EntityParticleSystem.this.customUVs[uvIndex + 3] - EntityParticleSystem.this.customUVs[uvIndex + 2]));
+                } else {
+                    buffer.put(source.get(i + 3));
+                    buffer.put(source.get(i + 4));
+                }
+                helperVertex.set(source.get(i + 5), source.get(i + 6), source.get(i + 7)).transform(helperTransform);
+                buffer.put((float) helperVertex.x);
+                buffer.put((float) helperVertex.y);
+                buffer.put((float) helperVertex.z);
+            }
+        }
+
+        private void render(TransformationMatrix transform) {
+            FloatBuffer buffer = renderable.vertexObject.vertices;
+            buffer.flip();
+            renderable.transform.set(transform);
+            renderable.render();
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Simple entity used as the source for particle sounds.  Never added to the world.
+     */
+    private static class ParticleSoundSource extends AEntityB_Existing {
+        private ParticleSoundSource(AWrapperWorld world, Point3D position) {
+            super(world, position, ZERO_FOR_CONSTRUCTOR, ZERO_FOR_CONSTRUCTOR);
+        }
+
+        @Override
+        public boolean shouldSync() {
+            return false;
+        }
+    }
+}
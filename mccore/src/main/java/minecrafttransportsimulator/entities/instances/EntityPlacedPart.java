@@ -85,12 +85,10 @@ public class EntityPlacedPart extends AEntityF_Multipart<JSONDummyPartProvider>
                             if (motionApplied.y < motion.y) {
                                 motionApplied.y = motion.y;
                             }
-                            for (BoundingBox box : allCollisionBoxes) {
-                                if (box.collisionTypes.contains(CollisionType.BLOCK)) {
-                                    box.updateCollisions(world, motionApplied, false);
-                                    if (box.currentCollisionDepth.y <= maxCollisionDepth) {
-                                        maxCollisionDepth = box.currentCollisionDepth.y;
-                                    }
+                            for (BoundingBox box : allCollisionBoxes.getBoxes(CollisionType.BLOCK)) {
+                                box.updateCollisions(world, motionApplied, false);
+                                if (box.currentCollisionDepth.y <= maxCollisionDepth) {
+                                    maxCollisionDepth = box.currentCollisionDepth.y;
                                 }
                             }
                         }
@@ -123,6 +121,12 @@ public class EntityPlacedPart extends AEntityF_Multipart<JSONDummyPartProvider>
         return partRequiresDeltaUpdates;
     }
 
+    @Override
+    public EntityTickTier getTickTier() {
+        //Parts that haven't found their part yet, or are still falling, need to be ticked normally.
+        return foundPart && motion.isZero() && isIdle() ? EntityTickTier.DEFERRED : EntityTickTier.FULL;
+    }
+
     @Override
     public boolean shouldRenderBeams() {
         return ConfigSystem.client.renderingSettings.vehicleBeams.value;
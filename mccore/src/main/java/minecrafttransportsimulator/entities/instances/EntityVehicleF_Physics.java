@@ -178,10 +178,15 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
     }
 
     @Override
-    public double getMass() {
+    public EntityTickTier getTickTier() {
+        return isIdle() ? EntityTickTier.REDUCED : EntityTickTier.FULL;
+    }
+
+    @Override
+    protected double calculateMass() {
         //Need to use a list here to make sure we don't end up with infinite recursion due to bad trailer linkings.
         //This could lock up a world if not detected!
-        double combinedMass = super.getMass();
+        double combinedMass = super.calculateMass();
         if (!towingConnections.isEmpty()) {
             AEntityG_Towable<?> towedEntity;
             for (TowingConnection connection : towingConnections) {
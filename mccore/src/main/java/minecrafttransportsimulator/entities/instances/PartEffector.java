@@ -73,6 +73,11 @@ public class PartEffector extends APart {
         }
     }
 
+    @Override
+    public boolean isAtRest() {
+        return rider == null && (!isActive || outOfHealth);
+    }
+
     @Override
     public void update() {
         super.update();
@@ -223,6 +223,12 @@ public class PartEngine extends APart {
         }
     }
 
+    @Override
+    public boolean isAtRest() {
+        //Stopped engines still spin down and cool off, so they're only at rest once that's done.
+        return rider == null && !running && rpm == 0 && Math.abs(temp - ambientTemp) < 1 && linkedEngine == null && !electricStarterVar.isActive && !handStarterVar.isActive;
+    }
+
     @Override
     public void update() {
         super.update();
@@ -11,4 +11,9 @@ public final class PartGeneric extends APart {
     public PartGeneric(AEntityF_Multipart<?> entityOn, IWrapperPlayer placingPlayer, JSONPartDefinition placementDefinition, ItemPartGeneric item, IWrapperNBT data) {
         super(entityOn, placingPlayer, placementDefinition, item, data);
     }
+
+    @Override
+    public boolean isAtRest() {
+        return rider == null;
+    }
 }
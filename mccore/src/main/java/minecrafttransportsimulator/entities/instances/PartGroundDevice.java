@@ -110,6 +110,11 @@ public class PartGroundDevice extends APart {
         }
     }
 
+    @Override
+    public boolean isAtRest() {
+        return rider == null && angularVelocity == 0;
+    }
+
     @Override
     public void update() {
         if (vehicleOn != null && !isSpare) {
@@ -276,6 +276,11 @@ public class PartGun extends APart {
         return true;
     }
 
+    @Override
+    public boolean isAtRest() {
+        return rider == null && state == GunState.INACTIVE;
+    }
+
     @Override
     public void update() {
         //Set gun state and do updates.
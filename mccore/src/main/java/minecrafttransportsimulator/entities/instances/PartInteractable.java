@@ -86,6 +86,13 @@ public final class PartInteractable extends APart {
                 this.tank = null;
             }
         }
+
+        //Let our inventory or tank tell us when its mass changes.
+        if (inventory != null) {
+            inventory.massOwner = this;
+        } else if (tank != null) {
+            tank.massOwner = this;
+        }
     }
 
     @Override
@@ -166,6 +173,11 @@ public final class PartInteractable extends APart {
         }
     }
 
+    @Override
+    public boolean isAtRest() {
+        return rider == null && linkedPart == null && linkedVehicle == null && (crafter == null || (crafter.ticksLeftToCraft == 0 && crafter.ticksLeftOfFuel == 0));
+    }
+
     @Override
     public void update() {
         super.update();
@@ -296,9 +308,9 @@ public final class PartInteractable extends APart {
     }
 
     @Override
-    public double getMass() {
+    protected double calculateMass() {
         //Return our mass, plus our inventory or tank.
-        double currentMass = super.getMass();
+        double currentMass = super.calculateMass();
         if (inventory != null) {
             currentMass += inventory.getMass();
         } else if (tank != null) {
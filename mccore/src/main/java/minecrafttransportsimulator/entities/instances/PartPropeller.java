@@ -80,6 +80,22 @@ public class PartPropeller extends APart {
         }
     }
 
+    @Override
+    public boolean isAtRest() {
+        if (rider != null || currentRPM != 0 || angularVelocity != 0) {
+            return false;
+        }
+        //Pitch steps towards its setting each tick, so we're only at rest if it won't step again.
+        if (vehicleOn != null && isActive) {
+            if (definition.propeller.isRotor) {
+                return (vehicleOn.throttleVar.currentValue * 1.35 - 0.35) * definition.propeller.pitch == currentPitch;
+            } else if (definition.propeller.isDynamicPitch) {
+                return vehicleOn.reverseThrustVar.isActive ? currentPitch <= -MIN_DYNAMIC_PITCH : currentPitch >= MIN_DYNAMIC_PITCH;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void update() {
         super.update();
@@ -22,8 +22,6 @@ import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableSet;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableToggle;
 import minecrafttransportsimulator.packets.instances.PacketPartEngine;
 import minecrafttransportsimulator.packets.instances.PacketPartEngine.Signal;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
@@ -97,6 +95,11 @@ public final class PartSeat extends APart {
         return true;
     }
 
+    @Override
+    public boolean isAtRest() {
+        return rider == null;
+    }
+
     @Override
     public void update() {
         super.update();
@@ -187,12 +190,12 @@ public final class PartSeat extends APart {
                 if (placementDefinition.isController && ConfigSystem.client.controlSettings.autostartEng.value && vehicleOn.canPlayerStartEngines((IWrapperPlayer) rider) && !vehicleOn.definition.motorized.overrideAutoStart) {
                     vehicleOn.engines.forEach(engine -> {
                         if (!vehicleOn.definition.motorized.isAircraft) {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.shiftNeutralVar));
+                            engine.shiftNeutralVar.requestToggle();
                         }
                         InterfaceManager.packetInterface.sendToServer(new PacketPartEngine(engine, Signal.AS_ON));
                     });
                     if (vehicleOn.parkingBrakeVar.isActive) {
-                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicleOn.parkingBrakeVar));
+                        vehicleOn.parkingBrakeVar.requestToggle();
                     }
                 }
             }
@@ -249,15 +252,15 @@ public final class PartSeat extends APart {
                 if (placementDefinition.isController && !otherController && ConfigSystem.client.controlSettings.autostartEng.value && !vehicleOn.definition.motorized.overrideAutoStart) {
                     vehicleOn.engines.forEach(engine -> {
                         if (engine.magnetoVar.isActive) {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.magnetoVar));
+                            engine.magnetoVar.requestToggle();
                         }
                         if (engine.electricStarterVar.isActive) {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.electricStarterVar));
+                            engine.electricStarterVar.requestToggle();
                         }
                     });
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(vehicleOn.brakeVar, 0));
+                    vehicleOn.brakeVar.requestSet(0);
                     if (!vehicleOn.parkingBrakeVar.isActive) {
-                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicleOn.parkingBrakeVar));
+                        vehicleOn.parkingBrakeVar.requestToggle();
                     }
                 }
             }
@@ -28,9 +28,6 @@ import minecrafttransportsimulator.jsondefs.JSONPanel.JSONPanelComponent;
 import minecrafttransportsimulator.jsondefs.JSONPanel.SpecialComponent;
 import minecrafttransportsimulator.jsondefs.JSONPartDefinition;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableIncrement;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableSet;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableToggle;
 import minecrafttransportsimulator.packets.instances.PacketVehicleBeaconChange;
 import minecrafttransportsimulator.packloading.PackParser;
 import minecrafttransportsimulator.rendering.RenderText.TextAlignment;
@@ -195,15 +192,15 @@ public class GUIPanel extends AGUIBase {
                                 public void onClicked(boolean leftSide) {
                                     if (leftSide) {
                                         if (vehicle.headLightVar.isActive) {
-                                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicle.headLightVar));
+                                            vehicle.headLightVar.requestToggle();
                                         } else if (vehicle.runningLightVar.isActive) {
-                                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicle.runningLightVar));
+                                            vehicle.runningLightVar.requestToggle();
                                         }
                                     } else {
                                         if (vehicle.definition.motorized.hasRunningLights && !vehicle.runningLightVar.isActive) {
-                                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicle.runningLightVar));
+                                            vehicle.runningLightVar.requestToggle();
                                         } else if (vehicle.definition.motorized.hasHeadlights && !vehicle.headLightVar.isActive) {
-                                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicle.headLightVar));
+                                            vehicle.headLightVar.requestToggle();
                                         }
                                     }
                                 }
@@ -223,9 +220,9 @@ public class GUIPanel extends AGUIBase {
                                 @Override
                                 public void onClicked(boolean leftSide) {
                                     if (leftSide) {
-                                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicle.leftTurnLightVar));
+                                        vehicle.leftTurnLightVar.requestToggle();
                                     } else {
-                                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicle.rightTurnLightVar));
+                                        vehicle.rightTurnLightVar.requestToggle();
                                     }
                                 }
 
@@ -339,7 +336,7 @@ public class GUIPanel extends AGUIBase {
                             newComponent = new GUIPanelButton(this, panelComponent) {
                                 @Override
                                 public void onClicked(boolean leftSide) {
-                                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(switchDef.connectionDefiner.towingConnectionVar, switchDef.connectionGroupIndex + 1));
+                                    switchDef.connectionDefiner.towingConnectionVar.requestSet(switchDef.connectionGroupIndex + 1);
                                 }
 
                                 @Override
@@ -355,11 +352,11 @@ public class GUIPanel extends AGUIBase {
                             @Override
                             public void onClicked(boolean leftSide) {
                                 if (vehicle.autopilotValueVar.isActive) {
-                                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(vehicle.autopilotValueVar, 0));
+                                    vehicle.autopilotValueVar.requestSet(0);
                                 } else if (vehicle.definition.motorized.isAircraft) {
-                                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(vehicle.autopilotValueVar, vehicle.position.y));
+                                    vehicle.autopilotValueVar.requestSet(vehicle.position.y);
                                 } else {
-                                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(vehicle.autopilotValueVar, vehicle.indicatedSpeed));
+                                    vehicle.autopilotValueVar.requestSet(vehicle.indicatedSpeed);
                                 }
                             }
 
@@ -423,7 +420,7 @@ public class GUIPanel extends AGUIBase {
                     newComponent = new GUIPanelButton(this, panelComponent) {
                         @Override
                         public void onClicked(boolean leftSide) {
-                            buttonVariables.forEach(variable -> InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(variable)));
+                            buttonVariables.forEach(variable -> variable.requestToggle());
                         }
 
                         @Override
@@ -570,16 +567,16 @@ public class GUIPanel extends AGUIBase {
         switch (action.action) {
             case INCREMENT: {
                 if (variable.currentValue + action.value >= action.clampMin && variable.currentValue + action.value <= action.clampMax) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(variable, action.value));
+                    variable.requestIncrement(action.value);
                 }
                 break;
             }
             case SET: {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(variable, action.value));
+                variable.requestSet(action.value);
                 break;
             }
             case TOGGLE: {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(variable));
+                variable.requestToggle();
                 break;
             }
         }
@@ -616,20 +613,20 @@ public class GUIPanel extends AGUIBase {
             if (component.specialComponent == SpecialComponent.ENGINE_ON) {
                 //Only one side, toggle magneto state.
                 if (engine != null) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.magnetoVar));
+                    engine.magnetoVar.requestToggle();
                 } else {
                     for (PartEngine engine : vehicle.engines) {
-                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.magnetoVar, vehicle.enginesOn ? 0 : 1));
+                        engine.magnetoVar.requestSet(vehicle.enginesOn ? 0 : 1);
                     }
                 }
             } else if (component.specialComponent == SpecialComponent.ENGINE_START) {
                 //Only one side, engage starter, but only if the magneto is on.
                 if (engine != null ? engine.magnetoVar.isActive : vehicle.enginesOn) {
                     if (engine != null) {
-                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.electricStarterVar, 1));
+                        engine.electricStarterVar.requestSet(1);
                     } else {
                         for (PartEngine engine : vehicle.engines) {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.electricStarterVar, 1));
+                            engine.electricStarterVar.requestSet(1);
                         }
                     }
                 }
@@ -638,10 +635,10 @@ public class GUIPanel extends AGUIBase {
                 if (leftSide) {
                     //Left side.  Turn off magneto.
                     if (engine != null) {
-                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.magnetoVar, 0));
+                        engine.magnetoVar.requestSet(0);
                     } else {
                         for (PartEngine engine : vehicle.engines) {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.magnetoVar, 0));
+                            engine.magnetoVar.requestSet(0);
                         }
                     }
                 } else {
@@ -649,19 +646,19 @@ public class GUIPanel extends AGUIBase {
                     if (engine != null ? engine.magnetoVar.isActive : vehicle.enginesOn) {
                         //Magneto is on, engage starter.
                         if (engine != null) {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.electricStarterVar, 1));
+                            engine.electricStarterVar.requestSet(1);
                         } else {
                             for (PartEngine engine : vehicle.engines) {
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.electricStarterVar, 1));
+                                engine.electricStarterVar.requestSet(1);
                             }
                         }
                     } else {
                         //Magneto is off, turn on.
                         if (engine != null) {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.magnetoVar, 1));
+                            engine.magnetoVar.requestSet(1);
                         } else {
                             for (PartEngine engine : vehicle.engines) {
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.magnetoVar, 1));
+                                engine.magnetoVar.requestSet(1);
                             }
                         }
                     }
@@ -674,10 +671,10 @@ public class GUIPanel extends AGUIBase {
             if (component.specialComponent == SpecialComponent.ENGINE_CONTROL || component.specialComponent == SpecialComponent.ENGINE_START) {
                 //Disengage electric starter if possible.
                 if (engine != null) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.electricStarterVar, 0));
+                    engine.electricStarterVar.requestSet(0);
                 } else {
                     for (PartEngine engine : vehicle.engines) {
-                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.electricStarterVar, 0));
+                        engine.electricStarterVar.requestSet(0);
                     }
                 }
             }
@@ -734,7 +731,7 @@ public class GUIPanel extends AGUIBase {
             if (trimIncrement != 0 && inClockPeriod(3, 1)) {
                 if (!appliedTrimThisRender) {
                     if (trimVariable.currentValue + trimIncrement > -bounds && trimVariable.currentValue + trimIncrement < bounds) {
-                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(trimVariable, trimIncrement, -bounds, bounds));
+                        trimVariable.requestIncrement(trimIncrement, -bounds, bounds);
                         trimCycleVar = !trimCycleVar;
                     }
                     appliedTrimThisRender = true;
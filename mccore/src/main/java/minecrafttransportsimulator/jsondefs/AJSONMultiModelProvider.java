@@ -3,6 +3,7 @@ package minecrafttransportsimulator.jsondefs;
 import java.util.List;
 import java.util.Map;
 
+import minecrafttransportsimulator.baseclasses.VariableSlotIndex;
 import minecrafttransportsimulator.packloading.JSONParser.JSONDescription;
 import minecrafttransportsimulator.packloading.JSONParser.JSONRequired;
 import minecrafttransportsimulator.packloading.PackResourceLoader;
@@ -31,6 +32,9 @@ public abstract class AJSONMultiModelProvider extends AJSONItem {
     @Deprecated
     public List<String> constants;
 
+    /**Dense variable slots for entities of this definition.  Not part of the JSON.**/
+    public final transient VariableSlotIndex variableSlots = new VariableSlotIndex();
+
     /**
      * Returns the model location in the classpath for this definition.
      */
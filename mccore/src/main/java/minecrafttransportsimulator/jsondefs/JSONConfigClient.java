@@ -35,6 +35,14 @@ public class JSONConfigClient {
         public JSONConfigEntry<Boolean> brightLights = new JSONConfigEntry<>(true, "If false, lights from vehicles and blocks will not make themselves bright and instead will render as if they were part of the model at that same brightness.  Useful if you have shaders and this is causing troubles.");
         public JSONConfigEntry<Boolean> blendedLights = new JSONConfigEntry<>(true, "If false, beam-based lights from vehicles and blocks will not do brightness blending.  This is different from the general brightness setting as this will do OpenGL blending on the world to make it brighter, not just the beams themselves.");
 
+        public JSONConfigEntry<Boolean> frustumCulling = new JSONConfigEntry<>(true, "If true, vehicles, parts, and blocks that are out of view of the camera will not be rendered.  Set this to false if models vanish at the edges of the screen, such as with mods that change the camera.");
+        public JSONConfigEntry<Integer> renderDistance = new JSONConfigEntry<>(512, "Distance, in blocks, past which vehicles, parts, and blocks will not be rendered.  Lower this if you have lots of them in view and rendering is slow.");
+        public JSONConfigEntry<Integer> animationDetailDistance = new JSONConfigEntry<>(64, "Distance, in blocks, past which model animations will only be updated once a tick rather than every frame.  Lower this if you have lots of animated models in view and rendering is slow.");
+        public JSONConfigEntry<Integer> lightDetailDistance = new JSONConfigEntry<>(128, "Distance, in blocks, past which light flares and beams will not be rendered.");
+        public JSONConfigEntry<Integer> textDetailDistance = new JSONConfigEntry<>(48, "Distance, in blocks, past which text and instruments on models will not be rendered.  Lower this if you have lots of signs in view and rendering is slow.");
+
+        public JSONConfigEntry<Boolean> preParseModels = new JSONConfigEntry<>(true, "If true, all pack models will be parsed in the background after packs load.  This prevents the stutter when a vehicle is seen for the first time, at the cost of memory to hold all models.  Set to false if you have lots of packs and are low on memory.");
+
         public JSONConfigEntry<Boolean> playerTweaks = new JSONConfigEntry<>(true, "If true, player hands will be modified when holding guns, and hands and legs will be modified when riding in vehicles.  Set this to false (and restart the game) if mods cause issues, like two-hand rendering or player model issues.  Automatically set to false if some mods are detected.");
 
     }
@@ -63,6 +71,8 @@ public class JSONConfigClient {
         public JSONConfigEntry<Double> joystickDeadZone = new JSONConfigEntry<>(0.03D, "Dead zone for joystick axis.  This is NOT joystick specific.");
         public JSONConfigEntry<Float> soundVolume = new JSONConfigEntry<>(1.0F, "Volume for all sounds in the mod.  This is used instead of the game's master volume.");
         public JSONConfigEntry<Float> radioVolume = new JSONConfigEntry<>(1.0F, "Volume for radios in the mod.  This is used instead of the game's master volume.");
+        public JSONConfigEntry<Boolean> preloadSounds = new JSONConfigEntry<>(true, "If true, pack sounds will be decoded in the background after packs load, up to the soundCacheSize.  This prevents the stutter when a sound is played for the first time.");
+        public JSONConfigEntry<Integer> soundCacheSize = new JSONConfigEntry<>(64, "Size, in MB, of the cache for decoded sounds.  This bounds both the sounds waiting to be played and the sounds loaded into the audio system.  Sounds not in the cache are decoded in the background when played, and will start playing once decoded.");
     }
 
     public static class JSONControls {
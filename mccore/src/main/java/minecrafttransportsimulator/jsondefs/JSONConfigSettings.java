@@ -34,7 +34,11 @@ public class JSONConfigSettings {
         public JSONConfigEntry<Boolean> creativePickupVehiclesOnly = new JSONConfigEntry<>(false, "If true, vehicles can only be picked up in creative mode.");
         public JSONConfigEntry<Boolean> keyRequiredToStartVehicles = new JSONConfigEntry<>(false, "If true, vehicles can only be started if the player has the key in their hand.");
         public JSONConfigEntry<Boolean> noclipVehicles = new JSONConfigEntry<>(false, "If true, vehicles will not be able to collide with blocks.  This also prevents them from moving if they do not have wheels on them, as otherwise they would phase through the ground into the void.");
+        public JSONConfigEntry<Boolean> scheduleIdleTicks = new JSONConfigEntry<>(true, "If true, idle vehicles and placed parts with no players nearby will be ticked less often on servers.  This saves a lot of server time in worlds with many parked vehicles.  Turn this off if you have something that needs to interact with parked vehicles every tick.");
         public JSONConfigEntry<Boolean> chunkloadVehicles = new JSONConfigEntry<>(true, "If true, vehicles will be chunkloaded when on roads/tracks.  This allows them to travel into unloaded chunks.");
+        public JSONConfigEntry<Boolean> parallelPackParsing = new JSONConfigEntry<>(true, "If true, pack JSONs will be parsed on multiple threads at boot.  This speeds up boot times with lots of packs installed.  Items are still registered in the same order either way, so only turn this off if you suspect a threading issue.");
+        public JSONConfigEntry<Boolean> cachePackParsing = new JSONConfigEntry<>(true, "If true, parsed pack JSONs will be saved to a binary cache in the config folder.  Packs that haven't changed since the last boot will be loaded from this cache, which is much faster than parsing them again.");
+        public JSONConfigEntry<Boolean> cacheModelParsing = new JSONConfigEntry<>(true, "If true, parsed OBJ models will be saved to a binary cache in the config folder.  Models that haven't changed will be loaded from this cache rather than being parsed again.");
         public JSONConfigEntry<Boolean> doLegacyLightCompats = new JSONConfigEntry<>(true, "If true, legacy compatibility code will be performed on all models to make their lights work with newer versions.  This code will significantly slow down boot times due to needing to parse all models on boot, however, packs may not have functional lights without it.  Choose wisely if you want speed or features.");
         public JSONConfigEntry<Boolean> useHSV = new JSONConfigEntry<>(false, "If enabled, the MTS dev mode will export color values as HSV instead of hex.");
         public JSONConfigEntry<Boolean> allPlanesWithNav = new JSONConfigEntry<>(false, "If true, all planes will have the ability to use beacons for navigation.  This is false to allow pack authors to define new/old planes that have this capability, but can be turned on if you don't care about realism.");
@@ -44,6 +48,11 @@ public class JSONConfigSettings {
         public JSONConfigEntry<Boolean> forceRenderLastSolid = new JSONConfigEntry<>(false, "If enabled, MTS will do rendering on the world-last Forge event.  This is not normally something you want, but can be used if some mods make things invisible.  Replaymod being one such example.");
         public JSONConfigEntry<Boolean> devMode = new JSONConfigEntry<>(false, "If enabled, MTS will allow access to the dev mode GUI while sitting in vehicles.  The GUI allows editing JSONs in-game without the need to restart.");
         public JSONConfigEntry<Integer> roadMaxLength = new JSONConfigEntry<>(32, "How long a single segment of road can be, in blocks.  While you can have longer segements, be aware they have more collision boxes and will generate more lag when broken or interacted with, and may not render if outside the chunk they are in.  Must be a whole number.");
+        public JSONConfigEntry<Integer> idleTickDistance = new JSONConfigEntry<>(64, "How close, in blocks, a player needs to be to an idle vehicle or placed part for it to be ticked every tick.  Only used if scheduleIdleTicks is true.");
+        public JSONConfigEntry<Integer> reducedTickInterval = new JSONConfigEntry<>(4, "How many ticks between updates of idle vehicles with no players nearby.  Only used if scheduleIdleTicks is true.");
+        public JSONConfigEntry<Integer> deferredTickInterval = new JSONConfigEntry<>(20, "How many ticks between updates of idle placed parts with no players nearby.  Only used if scheduleIdleTicks is true.");
+        public JSONConfigEntry<Double> reducedTickBudget = new JSONConfigEntry<>(2.0D, "Time, in milliseconds, that updates of idle vehicles may take each tick.  If there are more vehicles to update than fit in this time, the rest are updated on the following ticks.  At least one vehicle is always updated each tick.");
+        public JSONConfigEntry<Double> deferredTickBudget = new JSONConfigEntry<>(1.0D, "Time, in milliseconds, that updates of idle placed parts may take each tick.  If there are more placed parts to update than fit in this time, the rest are updated on the following ticks.  At least one placed part is always updated each tick.");
         public JSONConfigEntry<Double> aircraftSpeedFactor = new JSONConfigEntry<>(0.35D, "Factor to apply to aircraft movement.  1 is the realistic value, but this makes vehicles move too fast for Minecraft. Adjust with caution.");
         public JSONConfigEntry<Double> carSpeedFactor = new JSONConfigEntry<>(0.35D, "Factor to apply to car movement.  1 is the realistic value, but this makes vehicles move too fast for Minecraft. Adjust with caution.");
         public JSONConfigEntry<Double> fuelUsageFactor = new JSONConfigEntry<>(1.0D, "Factor times which engines use fuel.  Change this if you think engines use fuel too fast or slow.  Setting it to 0 will disable fuel and allow engines to run without it.");
@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.mcinterface;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -33,6 +34,46 @@ import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
  * @author don_bruce
  */
 public abstract class AWrapperWorld extends EntityManager {
+    private static final int CACHED_NAME = 1 << 0;
+    private static final int CACHED_HARDNESS = 1 << 1;
+    private static final int CACHED_SLIPPERINESS = 1 << 2;
+    private static final int CACHED_MATERIAL = 1 << 3;
+    private static final int CACHED_LIQUID = 1 << 4;
+    private static final int CACHED_HEIGHT = 1 << 5;
+    private static final int CACHED_RAIN = 1 << 6;
+    private static final int CACHED_TEMPERATURE = 1 << 7;
+    private static final int CACHED_AIR = 1 << 8;
+    private static final int CACHED_SUN_LIGHT = 1 << 9;
+    private static final int CACHED_TOTAL_LIGHT = 1 << 10;
+
+    /**Cache of block properties, keyed by packed block position.  Cleared every tick, so entities querying the same blocks share lookups.**/
+    private final Map<Long, CachedBlockProperties> blockPropertyCache = new HashMap<>();
+    /**Helper for block collision checks in {@link #updateBoundingBoxCollisions(BoundingBox, Point3D, boolean)} and {@link #checkForCollisions(BoundingBox, Point3D, boolean, boolean)}.**/
+    protected final BlockCollisionHelper collisionHelper = new BlockCollisionHelper();
+
+    /**
+     * Clears the block property cache.  This is done at the start of every tick, as
+     * things like lighting and weather can change without any block changing.
+     */
+    public void clearBlockCache() {
+        blockPropertyCache.clear();
+    }
+
+    /**
+     * Removes the cached properties for the block at the passed-in position.  Should be called by
+     * the interface whenever a block changes, so queries later in the same tick see the new block.
+     */
+    public void invalidateBlockCache(int x, int y, int z) {
+        blockPropertyCache.remove(getBlockKey(x, y, z));
+    }
+
+    private CachedBlockProperties getCachedProperties(Point3D position) {
+        return blockPropertyCache.computeIfAbsent(getBlockKey((int) Math.floor(position.x), (int) Math.floor(position.y), (int) Math.floor(position.z)), k -> new CachedBlockProperties());
+    }
+
+    private static long getBlockKey(int x, int y, int z) {
+        return ((x & 0x3FFFFFFL) << 38) | ((y & 0xFFFL) << 26) | (z & 0x3FFFFFFL);
+    }
 
     /**
      * Returns true if this is a client world, false if we're on the server.
@@ -170,23 +211,71 @@ public abstract class AWrapperWorld extends EntityManager {
     /**
      * Returns the name of the block.
      */
-    public abstract String getBlockName(Point3D position);
+    public String getBlockName(Point3D position) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_NAME) == 0) {
+            properties.blockName = getBlockNameInternal(position);
+            properties.cachedFlags |= CACHED_NAME;
+        }
+        return properties.blockName;
+    }
+
+    /**
+     * Uncached version of {@link #getBlockName(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract String getBlockNameInternal(Point3D position);
 
     /**
      * Returns the hardness of the block at the passed-in point.
      */
-    public abstract float getBlockHardness(Point3D position);
+    public float getBlockHardness(Point3D position) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_HARDNESS) == 0) {
+            properties.blockHardness = getBlockHardnessInternal(position);
+            properties.cachedFlags |= CACHED_HARDNESS;
+        }
+        return properties.blockHardness;
+    }
+
+    /**
+     * Uncached version of {@link #getBlockHardness(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract float getBlockHardnessInternal(Point3D position);
 
     /**
      * Returns the slipperiness of the block at the passed-in position.
      * 0.6 is default slipperiness for blocks. higher values are more slippery.
      */
-    public abstract float getBlockSlipperiness(Point3D position);
+    public float getBlockSlipperiness(Point3D position) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_SLIPPERINESS) == 0) {
+            properties.blockSlipperiness = getBlockSlipperinessInternal(position);
+            properties.cachedFlags |= CACHED_SLIPPERINESS;
+        }
+        return properties.blockSlipperiness;
+    }
+
+    /**
+     * Uncached version of {@link #getBlockSlipperiness(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract float getBlockSlipperinessInternal(Point3D position);
 
     /**
      * Returns the material of the block.
      */
-    public abstract BlockMaterial getBlockMaterial(Point3D position);
+    public BlockMaterial getBlockMaterial(Point3D position) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_MATERIAL) == 0) {
+            properties.blockMaterial = getBlockMaterialInternal(position);
+            properties.cachedFlags |= CACHED_MATERIAL;
+        }
+        return properties.blockMaterial;
+    }
+
+    /**
+     * Uncached version of {@link #getBlockMaterial(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract BlockMaterial getBlockMaterialInternal(Point3D position);
     
     /**
      * Returns the color of the block as determined by map coloring.
@@ -215,7 +304,19 @@ public abstract class AWrapperWorld extends EntityManager {
     /**
      * Returns true if the block is liquid.
      */
-    public abstract boolean isBlockLiquid(Point3D position);
+    public boolean isBlockLiquid(Point3D position) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_LIQUID) == 0) {
+            properties.blockLiquid = isBlockLiquidInternal(position);
+            properties.cachedFlags |= CACHED_LIQUID;
+        }
+        return properties.blockLiquid;
+    }
+
+    /**
+     * Uncached version of {@link #isBlockLiquid(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract boolean isBlockLiquidInternal(Point3D position);
 
     /**
      * Returns true if the block below the passed-in position is a slab, but only the
@@ -235,7 +336,22 @@ public abstract class AWrapperWorld extends EntityManager {
      * Returns the distance from the passed-in position to highest block below this position in the world, at the position's X/Z coords.
      * This may or may not be the highest block in the column depending on block layout.
      */
-    public abstract double getHeight(Point3D position);
+    public double getHeight(Point3D position) {
+        //Height depends on where in the block the position is, so cache the ground level rather than the height.
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_HEIGHT) == 0) {
+            double height = getHeightInternal(position);
+            properties.groundLevel = position.y - height;
+            properties.cachedFlags |= CACHED_HEIGHT;
+            return height;
+        }
+        return position.y - properties.groundLevel;
+    }
+
+    /**
+     * Uncached version of {@link #getHeight(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract double getHeightInternal(Point3D position);
 
     /**
      * Updates the blocks and depths of collisions for the passed-in BoundingBox to the box's internal variables.
@@ -268,13 +384,37 @@ public abstract class AWrapperWorld extends EntityManager {
      * for blocks to query rain strength and not get 0 due to no rain
      * being possible "in" that block.
      */
-    public abstract float getRainStrength(Point3D position);
+    public float getRainStrength(Point3D position) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_RAIN) == 0) {
+            properties.rainStrength = getRainStrengthInternal(position);
+            properties.cachedFlags |= CACHED_RAIN;
+        }
+        return properties.rainStrength;
+    }
+
+    /**
+     * Uncached version of {@link #getRainStrength(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract float getRainStrengthInternal(Point3D position);
 
     /**
      * Returns the current temperature at the passed-in position.
      * Dependent on biome, and likely modified by mods that add new boimes.
      */
-    public abstract float getTemperature(Point3D position);
+    public float getTemperature(Point3D position) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_TEMPERATURE) == 0) {
+            properties.temperature = getTemperatureInternal(position);
+            properties.cachedFlags |= CACHED_TEMPERATURE;
+        }
+        return properties.temperature;
+    }
+
+    /**
+     * Uncached version of {@link #getTemperature(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract float getTemperatureInternal(Point3D position);
 
     /**
      * Places the passed-in block at the point specified.
@@ -300,7 +440,27 @@ public abstract class AWrapperWorld extends EntityManager {
      * Gets the brightness at this position, as a value between 0.0-1.0. Calculated from the
      * sun brightness, and possibly the block brightness if calculateBlock is true.
      */
-    public abstract float getLightBrightness(Point3D position, boolean calculateBlock);
+    public float getLightBrightness(Point3D position, boolean calculateBlock) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if (calculateBlock) {
+            if ((properties.cachedFlags & CACHED_TOTAL_LIGHT) == 0) {
+                properties.totalLight = getLightBrightnessInternal(position, true);
+                properties.cachedFlags |= CACHED_TOTAL_LIGHT;
+            }
+            return properties.totalLight;
+        } else {
+            if ((properties.cachedFlags & CACHED_SUN_LIGHT) == 0) {
+                properties.sunLight = getLightBrightnessInternal(position, false);
+                properties.cachedFlags |= CACHED_SUN_LIGHT;
+            }
+            return properties.sunLight;
+        }
+    }
+
+    /**
+     * Uncached version of {@link #getLightBrightness(Point3D, boolean)}.  Implemented by the interface.
+     */
+    protected abstract float getLightBrightnessInternal(Point3D position, boolean calculateBlock);
 
     /**
      * Updates the brightness of the block at this position.  Only works if the block
@@ -318,7 +478,19 @@ public abstract class AWrapperWorld extends EntityManager {
     /**
      * Returns true if the block at this position is air.
      */
-    public abstract boolean isAir(Point3D position);
+    public boolean isAir(Point3D position) {
+        CachedBlockProperties properties = getCachedProperties(position);
+        if ((properties.cachedFlags & CACHED_AIR) == 0) {
+            properties.air = isAirInternal(position);
+            properties.cachedFlags |= CACHED_AIR;
+        }
+        return properties.air;
+    }
+
+    /**
+     * Uncached version of {@link #isAir(Point3D)}.  Implemented by the interface.
+     */
+    protected abstract boolean isAirInternal(Point3D position);
 
     /**
      * Returns true if the block at this position is fire.
@@ -418,4 +590,19 @@ public abstract class AWrapperWorld extends EntityManager {
      * Spawns an explosion of the specified strength at the passed-in point.
      */
     public abstract void spawnExplosion(Point3D location, double strength, boolean flames);
-}
\ No newline at end of file
+
+    private static class CachedBlockProperties {
+        private int cachedFlags;
+        private String blockName;
+        private float blockHardness;
+        private float blockSlipperiness;
+        private BlockMaterial blockMaterial;
+        private boolean blockLiquid;
+        private double groundLevel;
+        private float rainStrength;
+        private float temperature;
+        private boolean air;
+        private float sunLight;
+        private float totalLight;
+    }
+}
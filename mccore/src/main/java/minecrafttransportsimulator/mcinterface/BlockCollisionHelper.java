@@ -0,0 +1,201 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Point3D;
+
+/**
+ * Helper class for the block collision code in {@link AWrapperWorld} implementations.  Holds re-usable storage
+ * for the collision boxes of blocks, so interfaces don't need to create new boxes and lists for every block checked,
+ * and the common logic to turn those boxes into collision depths.  Also holds a cache of known air blocks, stored
+ * as bits per 16x16x16 chunk section.  Each world has its own helper, and it is only used on the thread that ticks
+ * that world, so it is not thread-safe.
+ *
+ * @author don_bruce
+ */
+public class BlockCollisionHelper {
+    private static final int BOX_SIZE = 6;
+    private double[] boxBounds = new double[BOX_SIZE * 32];
+    private int boxCount;
+    private final Map<Long, long[]> knownAirSections = new HashMap<>();
+
+    //Bounds of the box we are checking.  Set at the start of each check.
+    public double minX;
+    public double minY;
+    public double minZ;
+    public double maxX;
+    public double maxY;
+    public double maxZ;
+
+    /**
+     * Sets the bounds of the box to check to those of the passed-in box, offset by the passed-in offset.
+     * Also clears all collision boxes from prior checks.
+     */
+    public void startCheck(BoundingBox box, Point3D offset) {
+        if (offset != null) {
+            minX = offset.x + box.globalCenter.x - box.widthRadius;
+            minY = offset.y + box.globalCenter.y - box.heightRadius;
+            minZ = offset.z + box.globalCenter.z - box.depthRadius;
+            maxX = offset.x + box.globalCenter.x + box.widthRadius;
+            maxY = offset.y + box.globalCenter.y + box.heightRadius;
+            maxZ = offset.z + box.globalCenter.z + box.depthRadius;
+        } else {
+            minX = box.globalCenter.x - box.widthRadius;
+            minY = box.globalCenter.y - box.heightRadius;
+            minZ = box.globalCenter.z - box.depthRadius;
+            maxX = box.globalCenter.x + box.widthRadius;
+            maxY = box.globalCenter.y + box.heightRadius;
+            maxZ = box.globalCenter.z + box.depthRadius;
+        }
+        boxCount = 0;
+    }
+
+    /**
+     * Returns the number of collision boxes added since the check started.
+     */
+    public int getBoxCount() {
+        return boxCount;
+    }
+
+    /**
+     * Removes all collision boxes added after the passed-in count.  Used to discard the boxes of a block
+     * if none of them ended up colliding with the box being checked.
+     */
+    public void resetBoxCount(int count) {
+        boxCount = count;
+    }
+
+    /**
+     * Adds a collision box, and returns true if it intersects the box being checked.
+     */
+    public boolean addBox(double boxMinX, double boxMinY, double boxMinZ, double boxMaxX, double boxMaxY, double boxMaxZ) {
+        if ((boxCount + 1) * BOX_SIZE > boxBounds.length) {
+            double[] newBounds = new double[boxBounds.length * 2];
+            System.arraycopy(boxBounds, 0, newBounds, 0, boxBounds.length);
+            boxBounds = newBounds;
+        }
+        int index = boxCount++ * BOX_SIZE;
+        boxBounds[index] = boxMinX;
+        boxBounds[index + 1] = boxMinY;
+        boxBounds[index + 2] = boxMinZ;
+        boxBounds[index + 3] = boxMaxX;
+        boxBounds[index + 4] = boxMaxY;
+        boxBounds[index + 5] = boxMaxZ;
+        return intersects(boxMinX, boxMinY, boxMinZ, boxMaxX, boxMaxY, boxMaxZ);
+    }
+
+    /**
+     * Returns true if the passed-in bounds intersect the box being checked.
+     */
+    public boolean intersects(double boxMinX, double boxMinY, double boxMinZ, double boxMaxX, double boxMaxY, double boxMaxZ) {
+        return boxMinX < maxX && boxMaxX > minX && boxMinY < maxY && boxMaxY > minY && boxMinZ < maxZ && boxMaxZ > minZ;
+    }
+
+    /**
+     * Returns true if the block at the passed-in position is known to be air.
+     */
+    public boolean isKnownAir(int x, int y, int z) {
+        long[] section = knownAirSections.get(getSectionKey(x, y, z));
+        if (section != null) {
+            int bitIndex = getBitIndex(x, y, z);
+            return (section[bitIndex >> 6] & (1L << bitIndex)) != 0;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Marks the block at the passed-in position as known air.
+     */
+    public void setKnownAir(int x, int y, int z) {
+        int bitIndex = getBitIndex(x, y, z);
+        knownAirSections.computeIfAbsent(getSectionKey(x, y, z), k -> new long[64])[bitIndex >> 6] |= 1L << bitIndex;
+    }
+
+    /**
+     * Clears all known air blocks.
+     */
+    public void clearKnownAir() {
+        knownAirSections.clear();
+    }
+
+    private static long getSectionKey(int x, int y, int z) {
+        return (((long) (x >> 4) & 0x3FFFFFL) << 42) | (((long) (y >> 4) & 0xFFFFFL) << 22) | ((long) (z >> 4) & 0x3FFFFFL);
+    }
+
+    private static int getBitIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    /**
+     * Sets the collision depth of the passed-in box from the collision boxes added since the check started.
+     * The depth on each axis is the deepest any collision box goes into the box in the direction of motion.
+     * If ignoreIfGreater is set, depths are clamped to the motion.  If there's no depth, the box's colliding
+     * block positions are cleared, as it didn't actually collide with anything.
+     */
+    public void applyCollisionDepths(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
+        //If we are in the depth bounds for this collision, set it as the collision depth.
+        box.currentCollisionDepth.set(0D, 0D, 0D);
+        double boxCollisionDepth;
+        for (int i = 0; i < boxCount; ++i) {
+            int index = i * BOX_SIZE;
+            if (collisionMotion.x > 0) {
+                boxCollisionDepth = maxX - boxBounds[index];
+                if (box.currentCollisionDepth.x < boxCollisionDepth) {
+                    box.currentCollisionDepth.x = boxCollisionDepth;
+                }
+            } else if (collisionMotion.x < 0) {
+                boxCollisionDepth = -(boxBounds[index + 3] - minX);
+                if (box.currentCollisionDepth.x > boxCollisionDepth) {
+                    box.currentCollisionDepth.x = boxCollisionDepth;
+                }
+            }
+            if (collisionMotion.y > 0) {
+                boxCollisionDepth = maxY - boxBounds[index + 1];
+                if (box.currentCollisionDepth.y < boxCollisionDepth) {
+                    box.currentCollisionDepth.y = boxCollisionDepth;
+                }
+            } else if (collisionMotion.y < 0) {
+                boxCollisionDepth = -(boxBounds[index + 4] - minY);
+                if (box.currentCollisionDepth.y > boxCollisionDepth) {
+                    box.currentCollisionDepth.y = boxCollisionDepth;
+                }
+            }
+            if (collisionMotion.z > 0) {
+                boxCollisionDepth = maxZ - boxBounds[index + 2];
+                if (box.currentCollisionDepth.z < boxCollisionDepth) {
+                    box.currentCollisionDepth.z = boxCollisionDepth;
+                }
+            } else if (collisionMotion.z < 0) {
+                boxCollisionDepth = -(boxBounds[index + 5] - minZ);
+                if (box.currentCollisionDepth.z > boxCollisionDepth) {
+                    box.currentCollisionDepth.z = boxCollisionDepth;
+                }
+            }
+        }
+
+        if (ignoreIfGreater) {
+            if (collisionMotion.x > 0 && box.currentCollisionDepth.x > collisionMotion.x) {
+                box.currentCollisionDepth.x = collisionMotion.x;
+            } else if (collisionMotion.x < 0 && box.currentCollisionDepth.x < collisionMotion.x) {
+                box.currentCollisionDepth.x = collisionMotion.x;
+            }
+            if (collisionMotion.y > 0 && box.currentCollisionDepth.y > collisionMotion.y) {
+                box.currentCollisionDepth.y = collisionMotion.y;
+            } else if (collisionMotion.y < 0 && box.currentCollisionDepth.y < collisionMotion.y) {
+                box.currentCollisionDepth.y = collisionMotion.y;
+            }
+            if (collisionMotion.z > 0 && box.currentCollisionDepth.z > collisionMotion.z) {
+                box.currentCollisionDepth.z = collisionMotion.z;
+            } else if (collisionMotion.z < 0 && box.currentCollisionDepth.z < collisionMotion.z) {
+                box.currentCollisionDepth.z = collisionMotion.z;
+            }
+        }
+
+        if (box.currentCollisionDepth.isZero()) {
+            box.clearCollidingBlockPositions();
+        }
+    }
+}
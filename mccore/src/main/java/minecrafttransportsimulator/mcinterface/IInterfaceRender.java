@@ -74,4 +74,10 @@ public interface IInterfaceRender {
      * Returns true if bounding boxes should be rendered.
      */
     boolean shouldRenderBoundingBoxes();
+
+    /**
+     * Returns true if any part of the cube with the passed-in center and radius is in view of the camera.
+     * This uses the camera from the current frame, so only call it when rendering.
+     */
+    boolean isInView(Point3D center, double radius);
 }
@@ -26,9 +26,8 @@ import minecrafttransportsimulator.packets.instances.PacketEntityKeyChange;
 import minecrafttransportsimulator.packets.instances.PacketEntityRiderChange;
 import minecrafttransportsimulator.packets.instances.PacketEntityTextChange;
 import minecrafttransportsimulator.packets.instances.PacketEntityTowingChange;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableIncrement;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableSet;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableToggle;
+import minecrafttransportsimulator.packets.instances.PacketEntityVariableBatch;
+import minecrafttransportsimulator.packets.instances.PacketEntityVariableRegistry;
 import minecrafttransportsimulator.packets.instances.PacketFluidTankChange;
 import minecrafttransportsimulator.packets.instances.PacketCrafterFuelAdd;
 import minecrafttransportsimulator.packets.instances.PacketCrafterTimeSet;
@@ -46,6 +45,7 @@ import minecrafttransportsimulator.packets.instances.PacketPartSeat;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
 import minecrafttransportsimulator.packets.instances.PacketPlayerCraftItem;
 import minecrafttransportsimulator.packets.instances.PacketPlayerItemTransfer;
+import minecrafttransportsimulator.packets.instances.PacketPlayerTelemetryRequest;
 import minecrafttransportsimulator.packets.instances.PacketRadioStateChange;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityChargerBattery;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityFuelPumpConnection;
@@ -60,7 +60,7 @@ import minecrafttransportsimulator.packets.instances.PacketTileEntityRoadConnect
 import minecrafttransportsimulator.packets.instances.PacketTileEntitySignalControllerChange;
 import minecrafttransportsimulator.packets.instances.PacketVehicleBeaconChange;
 import minecrafttransportsimulator.packets.instances.PacketVehicleControlNotification;
-import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovementBatch;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataRequest;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataUpdate;
 import minecrafttransportsimulator.packloading.PackParser;
@@ -202,6 +202,35 @@ public abstract class APacketBase {
         return new Point3D(buf.readInt(), buf.readInt(), buf.readInt());
     }
 
+    /**
+     * Helper method to write a long to the buffer as a variable-length integer.
+     * Values are zig-zag encoded first, so small negative values are just as small as small positive ones.
+     * Useful for quantized values, which are almost always close to 0.
+     */
+    protected static void writeVarLongToBuffer(long value, ByteBuf buf) {
+        long encoded = (value << 1) ^ (value >> 63);
+        while ((encoded & ~0x7FL) != 0) {
+            buf.writeByte((int) ((encoded & 0x7F) | 0x80));
+            encoded >>>= 7;
+        }
+        buf.writeByte((int) encoded);
+    }
+
+    /**
+     * Helper method to read a variable-length long from the buffer.
+     */
+    protected static long readVarLongFromBuffer(ByteBuf buf) {
+        long encoded = 0;
+        int shift = 0;
+        byte readByte;
+        do {
+            readByte = buf.readByte();
+            encoded |= (long) (readByte & 0x7F) << shift;
+            shift += 7;
+        } while ((readByte & 0x80) != 0);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
     /**
      * Forwarder to interface method for cleaner packet code.
      */
@@ -234,9 +263,8 @@ public abstract class APacketBase {
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityRiderChange.class);
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityTextChange.class);
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityTowingChange.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableIncrement.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableSet.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableToggle.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableBatch.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityVariableRegistry.class);
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityInteract.class);
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketEntityInteractGUI.class);
 
@@ -276,6 +304,7 @@ public abstract class APacketBase {
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerChatMessage.class);
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerCraftItem.class);
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerItemTransfer.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketPlayerTelemetryRequest.class);
 
         //Radio packets.
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketRadioStateChange.class);
@@ -296,7 +325,7 @@ public abstract class APacketBase {
         //Vehicle packets.
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleBeaconChange.class);
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleControlNotification.class);
-        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleServerMovement.class);
+        InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketVehicleServerMovementBatch.class);
 
         //World packets.
         InterfaceManager.packetInterface.registerPacket(packetIndex++, PacketWorldSavedDataRequest.class);
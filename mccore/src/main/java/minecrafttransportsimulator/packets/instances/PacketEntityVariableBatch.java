@@ -0,0 +1,188 @@
+package minecrafttransportsimulator.packets.instances;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.ComputedVariable;
+import minecrafttransportsimulator.baseclasses.VariableSyncRegistry;
+import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.packets.components.APacketEntity;
+
+/**
+ * Packet used to send all variable changes for an entity in a tick.  Sent from clients to servers to
+ * request changes, and from servers to all clients to have them update their states.  Changes are
+ * queued on the world as they happen, and sent at the end of the tick, so held buttons and the like
+ * don't send a packet for every change.  Sets of a variable replace any prior changes to it in the same tick.
+ * Variables are sent by their ID from {@link VariableSyncRegistry}, with the name included only if the other
+ * side may not know that ID.  Changes are applied in the order they were made, with increments done on
+ * the receiving end, so they still work if packets from prior ticks haven't arrived yet.
+ * If a client gets an ID it doesn't know yet because the {@link PacketEntityVariableRegistry} packets
+ * haven't all arrived, the change is held by the registry and applied once they do.
+ *
+ * @author don_bruce
+ */
+public class PacketEntityVariableBatch extends APacketEntity<AEntityD_Definable<?>> {
+    private final List<VariableChange> changes;
+    private final List<Integer> variableIDs = new ArrayList<>();
+    private final List<String> variableNames = new ArrayList<>();
+
+    public PacketEntityVariableBatch(AEntityD_Definable<?> entity, List<VariableChange> changes) {
+        super(entity);
+        this.changes = changes;
+        VariableSyncRegistry registry = entity.world.getVariableSyncRegistry();
+        for (VariableChange change : changes) {
+            int localID = ComputedVariable.getVariableID(change.variable.variableKey);
+            if (entity.world.isClient()) {
+                int serverID = registry.getServerID(localID);
+                variableIDs.add(serverID);
+                variableNames.add(serverID == -1 ? change.variable.variableKey : null);
+            } else {
+                variableIDs.add(localID);
+                variableNames.add(VariableSyncRegistry.announceID(localID) ? change.variable.variableKey : null);
+            }
+        }
+    }
+
+    public PacketEntityVariableBatch(ByteBuf buf) {
+        super(buf);
+        int changeCount = (int) readVarLongFromBuffer(buf);
+        this.changes = new ArrayList<>(changeCount);
+        for (int i = 0; i < changeCount; ++i) {
+            long header = readVarLongFromBuffer(buf);
+            variableIDs.add((int) (header >> 1));
+            variableNames.add((header & 1) != 0 ? readStringFromBuffer(buf) : null);
+            VariableOperation operation = VariableOperation.values()[buf.readByte()];
+            switch (operation) {
+                case SET:
+                case INCREMENT: {
+                    changes.add(new VariableChange(null, operation, buf.readDouble(), 0, 0));
+                    break;
+                }
+                case INCREMENT_CLAMPED: {
+                    changes.add(new VariableChange(null, operation, buf.readDouble(), buf.readDouble(), buf.readDouble()));
+                    break;
+                }
+                case TOGGLE: {
+                    changes.add(new VariableChange(null, operation, 0, 0, 0));
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void writeToBuffer(ByteBuf buf) {
+        super.writeToBuffer(buf);
+        writeVarLongToBuffer(changes.size(), buf);
+        for (int i = 0; i < changes.size(); ++i) {
+            VariableChange change = changes.get(i);
+            String variableName = variableNames.get(i);
+            writeVarLongToBuffer(((long) variableIDs.get(i) << 1) | (variableName != null ? 1 : 0), buf);
+            if (variableName != null) {
+                writeStringToBuffer(variableName, buf);
+            }
+            buf.writeByte(change.operation.ordinal());
+            switch (change.operation) {
+                case SET:
+                case INCREMENT: {
+                    buf.writeDouble(change.value);
+                    break;
+                }
+                case INCREMENT_CLAMPED: {
+                    buf.writeDouble(change.value);
+                    buf.writeDouble(change.minValue);
+                    buf.writeDouble(change.maxValue);
+                    break;
+                }
+                case TOGGLE:
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public boolean handle(AWrapperWorld world, AEntityD_Definable<?> entity) {
+        //Servers queue the changes to go back out to all clients, clients just apply them.
+        boolean sendPacket = !world.isClient();
+        VariableSyncRegistry registry = world.getVariableSyncRegistry();
+        for (int i = 0; i < changes.size(); ++i) {
+            int variableID = variableIDs.get(i);
+            String variableKey = variableNames.get(i);
+            if (variableKey != null) {
+                if (world.isClient() && variableID != -1) {
+                    registry.setServerID(variableID, variableKey);
+                }
+            } else if (world.isClient()) {
+                int localID = registry.getLocalID(variableID);
+                if (localID != -1) {
+                    variableKey = ComputedVariable.getVariableKey(localID);
+                }
+            } else if (variableID >= 0 && variableID < ComputedVariable.getVariableIDCount()) {
+                variableKey = ComputedVariable.getVariableKey(variableID);
+            }
+
+            VariableChange change = changes.get(i);
+            if (variableKey != null) {
+                applyChange(entity, variableKey, change, sendPacket);
+            } else if (world.isClient() && variableID >= 0) {
+                //Registry for this ID hasn't arrived yet.  Hold onto the change until it does.
+                registry.deferUntilKnown(variableID, deferredKey -> {
+                    if (entity.isValid) {
+                        applyChange(entity, deferredKey, change, false);
+                    }
+                });
+            }
+        }
+        return false;
+    }
+
+    private static void applyChange(AEntityD_Definable<?> entity, String variableKey, VariableChange change, boolean sendPacket) {
+        ComputedVariable variable = entity.getOrCreateVariable(variableKey);
+        switch (change.operation) {
+            case SET: {
+                variable.setTo(change.value, sendPacket);
+                break;
+            }
+            case INCREMENT: {
+                variable.increment(change.value, -Double.MAX_VALUE, Double.MAX_VALUE, sendPacket);
+                break;
+            }
+            case INCREMENT_CLAMPED: {
+                variable.increment(change.value, change.minValue, change.maxValue, sendPacket);
+                break;
+            }
+            case TOGGLE: {
+                variable.toggle(sendPacket);
+                break;
+            }
+        }
+    }
+
+    public static enum VariableOperation {
+        SET,
+        INCREMENT,
+        INCREMENT_CLAMPED,
+        TOGGLE;
+    }
+
+    /**
+     * A queued change to a variable.
+     */
+    public static class VariableChange {
+        public final ComputedVariable variable;
+        public final VariableOperation operation;
+        private final double value;
+        private final double minValue;
+        private final double maxValue;
+
+        public VariableChange(ComputedVariable variable, VariableOperation operation, double value, double minValue, double maxValue) {
+            this.variable = variable;
+            this.operation = operation;
+            this.value = value;
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package minecrafttransportsimulator.packets.instances;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.ComputedVariable;
+import minecrafttransportsimulator.baseclasses.VariableSyncRegistry;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**
+ * Packet used to send the server's variable IDs to a client.  Sent when the client requests
+ * the world data, so the client knows all IDs that {@link PacketEntityVariableBatch} may use.
+ * IDs are sent in blocks, starting at the passed-in ID.  See {@link VariableSyncRegistry}.
+ *
+ * @author don_bruce
+ */
+public class PacketEntityVariableRegistry extends APacketBase {
+    public static final int MAX_IDS_PER_PACKET = 1024;
+    private final int startID;
+    private final List<String> variableKeys;
+
+    public PacketEntityVariableRegistry(int startID) {
+        super(null);
+        this.startID = startID;
+        this.variableKeys = new ArrayList<>();
+        int endID = Math.min(startID + MAX_IDS_PER_PACKET, ComputedVariable.getVariableIDCount());
+        for (int i = startID; i < endID; ++i) {
+            variableKeys.add(ComputedVariable.getVariableKey(i));
+        }
+    }
+
+    public PacketEntityVariableRegistry(ByteBuf buf) {
+        super(buf);
+        this.startID = buf.readInt();
+        int keyCount = buf.readInt();
+        this.variableKeys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; ++i) {
+            variableKeys.add(readStringFromBuffer(buf));
+        }
+    }
+
+    @Override
+    public void writeToBuffer(ByteBuf buf) {
+        super.writeToBuffer(buf);
+        buf.writeInt(startID);
+        buf.writeInt(variableKeys.size());
+        variableKeys.forEach(variableKey -> writeStringToBuffer(variableKey, buf));
+    }
+
+    @Override
+    public void handle(AWrapperWorld world) {
+        VariableSyncRegistry registry = world.getVariableSyncRegistry();
+        for (int i = 0; i < variableKeys.size(); ++i) {
+            registry.setServerID(startID + i, variableKeys.get(i));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package minecrafttransportsimulator.packets.instances;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.packets.components.APacketPlayer;
+
+/**
+ * Packet used to request the entity timing report for the world the player is in.
+ * Sent from clients to servers.  Only OPs get the report, as it exposes where entities are.
+ *
+ * @author don_bruce
+ */
+public class PacketPlayerTelemetryRequest extends APacketPlayer {
+
+    public PacketPlayerTelemetryRequest(IWrapperPlayer player) {
+        super(player);
+    }
+
+    public PacketPlayerTelemetryRequest(ByteBuf buf) {
+        super(buf);
+    }
+
+    @Override
+    public void handle(AWrapperWorld world, IWrapperPlayer player) {
+        if (player.isOP()) {
+            world.getTelemetry().sendReport(player, "server_" + world.getName().replaceAll("[^A-Za-z0-9_-]", "_"), false);
+        }
+    }
+}
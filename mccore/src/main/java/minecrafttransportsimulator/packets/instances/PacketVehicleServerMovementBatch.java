@@ -0,0 +1,145 @@
+package minecrafttransportsimulator.packets.instances;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**
+ * Packet used to send server vehicle movement to clients.  This packet doesn't directly
+ * move the vehicles (such an action results in horrid movement lag due to network
+ * latency and packet handling pipelines), rather it simply tells the client how much
+ * the vehicles have moved since they were first spawned.  This way clients can adjust the
+ * vehicle position while at the same time running their own calculations to "soft-sync"
+ * the position and rotation.  This system of syncing has the side-effect of significant
+ * rubberbanding when server TPS suffers or networking goes bad, but it's far better than
+ * the alternatives when the connection is good, hence why we use it.
+ * <br><br>
+ * All vehicles that moved in a tick are sent in one packet.  Deltas are quantized to fixed
+ * steps and sent as variable-length integers, and only non-zero deltas are sent.
+ * The quantization error isn't lost: each vehicle keeps track of the deltas clients have
+ * been sent, so the error is sent with the next movement.  Every {@link #KEYFRAME_INTERVAL} ticks,
+ * the full deltas are sent instead, which corrects any difference clients may have,
+ * such as those from joining after the vehicle spawned.
+ *
+ * @author don_bruce
+ */
+public class PacketVehicleServerMovementBatch extends APacketBase {
+    public static final int MAX_VEHICLES_PER_PACKET = 256;
+    public static final int DELTA_COUNT = 7;
+    private static final int KEYFRAME_INTERVAL = 100;
+    private static final int KEYFRAME_FLAG = 1 << DELTA_COUNT;
+    //Steps per unit for motion XYZ, rotation XYZ, and pathing.  Motion and pathing are in blocks, rotation in degrees.
+    private static final double[] DELTA_SCALES = new double[] { 8192, 8192, 8192, 1024, 1024, 1024, 8192 };
+
+    private final List<MovementEntry> entries = new ArrayList<>();
+
+    public PacketVehicleServerMovementBatch(Collection<EntityVehicleF_Physics> vehicles) {
+        super(null);
+        double[] deltas = new double[DELTA_COUNT];
+        for (EntityVehicleF_Physics vehicle : vehicles) {
+            MovementEntry entry = new MovementEntry(vehicle.uniqueUUID);
+            vehicle.getServerDeltas(deltas);
+            if (vehicle.ticksExisted - vehicle.lastServerDeltasKeyframe >= KEYFRAME_INTERVAL) {
+                entry.flags = KEYFRAME_FLAG;
+                for (int i = 0; i < DELTA_COUNT; ++i) {
+                    entry.values[i] = deltas[i];
+                    vehicle.sentServerDeltas[i] = deltas[i];
+                }
+                vehicle.lastServerDeltasKeyframe = vehicle.ticksExisted;
+            } else {
+                //Send the difference between what clients have and what we have, so the error from prior packets is included.
+                for (int i = 0; i < DELTA_COUNT; ++i) {
+                    long steps = Math.round((deltas[i] - vehicle.sentServerDeltas[i]) * DELTA_SCALES[i]);
+                    if (steps != 0) {
+                        entry.flags |= 1 << i;
+                        entry.steps[i] = steps;
+                        vehicle.sentServerDeltas[i] += steps / DELTA_SCALES[i];
+                    }
+                }
+            }
+            if (entry.flags != 0) {
+                entries.add(entry);
+            }
+        }
+    }
+
+    public PacketVehicleServerMovementBatch(ByteBuf buf) {
+        super(buf);
+        int entryCount = buf.readShort();
+        for (int i = 0; i < entryCount; ++i) {
+            MovementEntry entry = new MovementEntry(readUUIDFromBuffer(buf));
+            entry.flags = buf.readUnsignedByte();
+            for (int j = 0; j < DELTA_COUNT; ++j) {
+                if (entry.flags == KEYFRAME_FLAG) {
+                    entry.values[j] = buf.readDouble();
+                } else if ((entry.flags & (1 << j)) != 0) {
+                    entry.values[j] = readVarLongFromBuffer(buf) / DELTA_SCALES[j];
+                }
+            }
+            entries.add(entry);
+        }
+    }
+
+    @Override
+    public void writeToBuffer(ByteBuf buf) {
+        super.writeToBuffer(buf);
+        buf.writeShort(entries.size());
+        for (MovementEntry entry : entries) {
+            writeUUIDToBuffer(entry.vehicleID, buf);
+            buf.writeByte(entry.flags);
+            for (int i = 0; i < DELTA_COUNT; ++i) {
+                if (entry.flags == KEYFRAME_FLAG) {
+                    buf.writeDouble(entry.values[i]);
+                } else if ((entry.flags & (1 << i)) != 0) {
+                    writeVarLongToBuffer(entry.steps[i], buf);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void handle(AWrapperWorld world) {
+        double[] deltas = new double[DELTA_COUNT];
+        for (MovementEntry entry : entries) {
+            EntityVehicleF_Physics vehicle = world.getEntity(entry.vehicleID);
+            if (vehicle != null) {
+                if (entry.flags == KEYFRAME_FLAG) {
+                    //Full deltas, add the difference from ours.
+                    vehicle.getServerDeltas(deltas);
+                    for (int i = 0; i < DELTA_COUNT; ++i) {
+                        deltas[i] = entry.values[i] - deltas[i];
+                    }
+                } else {
+                    System.arraycopy(entry.values, 0, deltas, 0, DELTA_COUNT);
+                }
+                vehicle.addToServerDeltas(new Point3D(deltas[0], deltas[1], deltas[2]), new Point3D(deltas[3], deltas[4], deltas[5]), deltas[6]);
+            }
+        }
+    }
+
+    /**
+     * Returns true if there is movement to send in this packet.
+     * Vehicles whose movement was too small to make a step aren't included, so this may be false.
+     */
+    public boolean hasMovement() {
+        return !entries.isEmpty();
+    }
+
+    private static class MovementEntry {
+        private final UUID vehicleID;
+        private int flags;
+        private final long[] steps = new long[DELTA_COUNT];
+        private final double[] values = new double[DELTA_COUNT];
+
+        private MovementEntry(UUID vehicleID) {
+            this.vehicleID = vehicleID;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.packets.instances;
 
 import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.ComputedVariable;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
@@ -9,7 +10,8 @@ import minecrafttransportsimulator.packets.components.APacketPlayer;
 /**
  * Packet used to request world NBT data from the server, and to send that data back to clients.
  * This only happens when the world is first created.  Subsequent updates happen on-demand when
- * the data changes and will use their own packet, {@link PacketWorldSavedDataUpdate}
+ * the data changes and will use their own packet, {@link PacketWorldSavedDataUpdate}.
+ * The server's variable IDs are also sent here with {@link PacketEntityVariableRegistry}.
  *
  * @author don_bruce
  */
@@ -30,6 +32,12 @@ public class PacketWorldSavedDataRequest extends APacketPlayer {
         for (String dataName : savedData.getAllNames()) {
             player.sendPacket(new PacketWorldSavedDataUpdate(dataName, savedData.getData(dataName)));
         }
+
+        //Also send variable IDs, so the client can decode variable changes.
+        int variableIDCount = ComputedVariable.getVariableIDCount();
+        for (int startID = 0; startID < variableIDCount; startID += PacketEntityVariableRegistry.MAX_IDS_PER_PACKET) {
+            player.sendPacket(new PacketEntityVariableRegistry(startID));
+        }
     }
 
     @Override
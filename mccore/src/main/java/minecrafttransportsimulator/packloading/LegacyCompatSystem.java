@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.packloading;
 
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -111,6 +112,16 @@ public final class LegacyCompatSystem {
     }
 
     public static void performLegacyCompats(AJSONBase definition) {
+        List<String> errors = new ArrayList<>();
+        performLegacyCompats(definition, errors);
+        errors.forEach(InterfaceManager.coreInterface::logError);
+    }
+
+    /**
+     * Like {@link #performLegacyCompats(AJSONBase)}, but adds any non-fatal errors to the passed-in
+     * list rather than logging them.  Used by the pack parser so the errors are kept with the definition.
+     */
+    public static void performLegacyCompats(AJSONBase definition, List<String> errors) {
         if (definition instanceof AJSONItem) {
             AJSONItem item = (AJSONItem) definition;
             //Update materials to match new format.
@@ -240,7 +251,7 @@ public final class LegacyCompatSystem {
             //This happens after general parsing so we don't clobber anything with the model LCs.
             AJSONMultiModelProvider provider = (AJSONMultiModelProvider) definition;
             if (ConfigSystem.settings != null && ConfigSystem.settings.general.doLegacyLightCompats.value && !(definition instanceof JSONSkin) && provider.rendering.modelType.equals(ModelType.OBJ)) {
-                performModelLegacyCompats((AJSONMultiModelProvider) definition);
+                performModelLegacyCompats((AJSONMultiModelProvider) definition, errors);
             }
 
 
@@ -2510,7 +2521,7 @@ public final class LegacyCompatSystem {
         }
     }
 
-    private static void performModelLegacyCompats(AJSONMultiModelProvider definition) {
+    private static void performModelLegacyCompats(AJSONMultiModelProvider definition, List<String> errors) {
         if (definition.rendering == null) {
             definition.rendering = new JSONRendering();
         } else if (definition.rendering.particles != null) {
@@ -2672,8 +2683,11 @@ public final class LegacyCompatSystem {
                                 lightDef.blendableComponents = new ArrayList<>();
                             }
 
+                            //Use a duplicate, as models are shared and may be read by multiple threads during pack loading.
+                            FloatBuffer objectVertices = object.vertices.duplicate();
+                            objectVertices.rewind();
                             float[] masterVertex = new float[8];
-                            for (int i = 0; i < object.vertices.capacity(); i += 8 * 3) {
+                            for (int i = 0; i < objectVertices.capacity(); i += 8 * 3) {
                                 float minX = 999;
                                 float maxX = -999;
                                 float minY = 999;
@@ -2681,7 +2695,7 @@ public final class LegacyCompatSystem {
                                 float minZ = 999;
                                 float maxZ = -999;
                                 for (byte j = 0; j < 8 * 3; j += 8) {
-                                    object.vertices.get(masterVertex);
+                                    objectVertices.get(masterVertex);
                                     minX = Math.min(masterVertex[5], minX);
                                     maxX = Math.max(masterVertex[5], maxX);
                                     minY = Math.min(masterVertex[6], minY);
@@ -2704,7 +2718,6 @@ public final class LegacyCompatSystem {
                                 lightDef.blendableComponents.add(blendable);
                             }
                         }
-                        object.vertices.rewind();
                         definition.rendering.lightObjects.add(lightDef);
                     }
                 }
@@ -2819,8 +2832,8 @@ public final class LegacyCompatSystem {
                 }
             }
         } catch (Exception e) {
-            InterfaceManager.coreInterface.logError("Could not do model-based legacy compats on " + definition.packID + ":" + definition.systemName + ".  Lights and treads will likely not be present on this model.");
-            InterfaceManager.coreInterface.logError(e.getMessage());
+            errors.add("Could not do model-based legacy compats on " + definition.packID + ":" + definition.systemName + ".  Lights and treads will likely not be present on this model.");
+            errors.add(e.getMessage());
         }
     }
 }
@@ -0,0 +1,550 @@
+package minecrafttransportsimulator.packloading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import minecrafttransportsimulator.jsondefs.AJSONBase;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Class responsible for the binary pack cache.  Once a pack jar's JSONs have been parsed, had their
+ * legacy compats done, and been validated, the resulting definitions are written to a cache file.
+ * On the next boot, if the jar is unchanged, the definitions are read back from this file rather than
+ * going through GSON and the {@link LegacyCompatSystem} again.  Jars are checked by size, modified time,
+ * and a hash of their contents, and the cache is also tied to the core mod build and any configs that
+ * change the result of parsing.  If anything doesn't match, or the cache can't be read, the normal
+ * parsing path is used.
+ * <br><br>
+ * The format is a simple tagged binary format that mirrors the object tree of the definition.  Fields are
+ * written in a fixed order for each class, and class names are only written the first time they appear.
+ * Objects, arrays, collections and maps are only written the first time they appear too: later uses are
+ * written as a reference to the first, so shared and self-referencing objects are restored as they were.
+ *
+ * @author don_bruce
+ */
+final class PackCacheSystem {
+    private static final int FORMAT_VERSION = 3;
+    private static final String CACHE_FOLDER = "mtspackcache";
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte CHAR = 4;
+    private static final byte INT = 5;
+    private static final byte LONG = 6;
+    private static final byte FLOAT = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte STRING = 9;
+    private static final byte ENUM = 10;
+    private static final byte ARRAY = 11;
+    private static final byte COLLECTION = 12;
+    private static final byte MAP = 13;
+    private static final byte OBJECT = 14;
+    private static final byte REFERENCE = 15;
+
+    private static final Map<Class<?>, Field[]> classFields = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Constructor<?>> classConstructors = new ConcurrentHashMap<>();
+    private static final Map<String, String> jarHashes = new ConcurrentHashMap<>();
+    private static String coreBuildKey;
+
+    /**
+     * Returns true if the cache is enabled.  Requires the config system to be loaded, as that's where the cache folder is.
+     */
+    static boolean isEnabled() {
+        return ConfigSystem.settings != null && ConfigSystem.settings.general.cachePackParsing.value && ConfigSystem.getConfigDirectory() != null;
+    }
+
+    /**
+     * Returns the cache file for the passed-in pack and asset path prefix.
+     */
+    static File getCacheFile(String packID, String assetPathPrefix) {
+        return new File(new File(ConfigSystem.getConfigDirectory(), CACHE_FOLDER), packID + "_" + Integer.toHexString(assetPathPrefix.hashCode()) + ".bin");
+    }
+
+    /**
+     * Returns the key for the passed-in jar.  This is the jar size, modified time, and SHA-1 hash of its contents,
+     * plus the core mod build and configs that affect parsing.  If the key in a cache file doesn't match this, the cache is stale.
+     */
+    static String getCacheKey(File packJar, String assetPathPrefix) throws Exception {
+        String jarKey = packJar.length() + ":" + packJar.lastModified();
+        String hash;
+        try {
+            //Packs have a task per sub-folder, so only hash each jar once rather than once per task.
+            hash = jarHashes.computeIfAbsent(packJar.getAbsolutePath() + ":" + jarKey, k -> getJarHash(packJar));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return FORMAT_VERSION + ":" + getCoreBuildKey() + ":" + ConfigSystem.settings.general.doLegacyLightCompats.value + ":" + assetPathPrefix + ":" + jarKey + ":" + hash;
+    }
+
+    /**
+     * Returns the SHA-1 hash of the contents of the passed-in jar.
+     */
+    private static String getJarHash(File packJar) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] buffer = new byte[65536];
+            try (InputStream stream = Files.newInputStream(packJar.toPath())) {
+                int bytesRead;
+                while ((bytesRead = stream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, bytesRead);
+                }
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte hashByte : digest.digest()) {
+                hash.append(Integer.toHexString((hashByte & 0xFF) | 0x100).substring(1));
+            }
+            return hash.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns a key for the core mod build.  Legacy compats and definition classes change between builds,
+     * so caches from other builds aren't valid.  We use the size and time of the jar (or folder in dev) we were loaded from.
+     */
+    private static synchronized String getCoreBuildKey() {
+        if (coreBuildKey == null) {
+            try {
+                File coreSource = new File(PackCacheSystem.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+                coreBuildKey = coreSource.length() + "-" + coreSource.lastModified();
+            } catch (Exception e) {
+                coreBuildKey = "unknown";
+            }
+        }
+        return coreBuildKey;
+    }
+
+    /**
+     * Opens the passed-in cache file for reading, and checks its key.  Returns null if the file doesn't
+     * exist or the key doesn't match.
+     */
+    static CacheReader openReader(File cacheFile, String key) throws IOException {
+        if (cacheFile.exists()) {
+            CacheReader reader = new CacheReader(new DataInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))));
+            if (key.equals(reader.readString())) {
+                return reader;
+            } else {
+                reader.close();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Opens the passed-in cache file for writing, and writes the key to it.
+     */
+    static CacheWriter openWriter(File cacheFile, String key) throws IOException {
+        cacheFile.getParentFile().mkdirs();
+        CacheWriter writer = new CacheWriter(new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(cacheFile.toPath())))));
+        writer.writeString(key);
+        return writer;
+    }
+
+    /**
+     * Returns all fields that are saved for the passed-in class.  These are the same fields GSON
+     * would save: all non-static, non-transient fields, including those of super-classes.
+     * Transient fields set by the parser, such as {@link AJSONBase#packID}, must be saved separately.
+     */
+    private static Field[] getFields(Class<?> objectClass) {
+        return classFields.computeIfAbsent(objectClass, clazz -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> fieldClass = clazz; fieldClass != Object.class; fieldClass = fieldClass.getSuperclass()) {
+                List<Field> declaredFields = new ArrayList<>();
+                for (Field field : fieldClass.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        declaredFields.add(field);
+                    }
+                }
+                //Sort to make the order fixed, as reflection doesn't guarantee it.
+                declaredFields.sort(Comparator.comparing(Field::getName));
+                fields.addAll(0, declaredFields);
+            }
+            return fields.toArray(new Field[0]);
+        });
+    }
+
+    /**
+     * Returns the constructor used to create new instances of the passed-in class.  Non-static
+     * inner classes are created without their outer instance, same as GSON does.
+     */
+    private static Constructor<?> getConstructor(Class<?> objectClass) throws IOException {
+        Constructor<?> constructor = classConstructors.get(objectClass);
+        if (constructor == null) {
+            try {
+                if (objectClass.isMemberClass() && !Modifier.isStatic(objectClass.getModifiers())) {
+                    constructor = objectClass.getDeclaredConstructor(objectClass.getEnclosingClass());
+                } else {
+                    constructor = objectClass.getDeclaredConstructor();
+                }
+                constructor.setAccessible(true);
+            } catch (Exception e) {
+                throw new IOException("Cannot cache objects of type " + objectClass.getName() + " as they have no default constructor.");
+            }
+            classConstructors.put(objectClass, constructor);
+        }
+        return constructor;
+    }
+
+    /**
+     * Returns true if the two passed-in values have the same content.  This compares the same things the
+     * cache saves, so a value read from the cache should always have the same content as the one written.
+     * Collections and maps are compared in iteration order, and only need to be of the same kind, as the
+     * cache may restore a collection type it can't create as a default one.
+     */
+    static boolean contentEquals(Object first, Object second) throws IllegalAccessException {
+        return contentEquals(first, second, new IdentityHashMap<>());
+    }
+
+    private static boolean contentEquals(Object first, Object second, Map<Object, Object> comparedObjects) throws IllegalAccessException {
+        if (first == null || second == null) {
+            return first == second;
+        } else if (first instanceof Boolean || first instanceof Number || first instanceof Character || first instanceof String || first instanceof Enum) {
+            return first.equals(second);
+        } else if (comparedObjects.get(first) == second) {
+            //Already compared, or being compared further up.  This stops cycles from recursing forever.
+            return true;
+        }
+        comparedObjects.put(first, second);
+        if (first.getClass().isArray()) {
+            int length = Array.getLength(first);
+            if (second.getClass() != first.getClass() || Array.getLength(second) != length) {
+                return false;
+            }
+            for (int i = 0; i < length; ++i) {
+                if (!contentEquals(Array.get(first, i), Array.get(second, i), comparedObjects)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (first instanceof Collection) {
+            if (!(second instanceof Collection) || (first instanceof Set) != (second instanceof Set) || ((Collection<?>) first).size() != ((Collection<?>) second).size()) {
+                return false;
+            }
+            Iterator<?> secondIterator = ((Collection<?>) second).iterator();
+            for (Object entry : (Collection<?>) first) {
+                if (!contentEquals(entry, secondIterator.next(), comparedObjects)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (first instanceof Map) {
+            if (!(second instanceof Map) || ((Map<?, ?>) first).size() != ((Map<?, ?>) second).size()) {
+                return false;
+            }
+            Iterator<? extends Entry<?, ?>> secondIterator = ((Map<?, ?>) second).entrySet().iterator();
+            for (Entry<?, ?> entry : ((Map<?, ?>) first).entrySet()) {
+                Entry<?, ?> secondEntry = secondIterator.next();
+                if (!contentEquals(entry.getKey(), secondEntry.getKey(), comparedObjects) || !contentEquals(entry.getValue(), secondEntry.getValue(), comparedObjects)) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            if (second.getClass() != first.getClass()) {
+                return false;
+            }
+            for (Field field : getFields(first.getClass())) {
+                if (!contentEquals(field.get(first), field.get(second), comparedObjects)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writer for cache files.  Class names are written once, then referenced by index.
+     * Objects are also written once, then referenced by the order they were written in.
+     */
+    static class CacheWriter implements AutoCloseable {
+        private final DataOutputStream stream;
+        private final Map<String, Integer> names = new HashMap<>();
+        private final Map<Object, Integer> writtenObjects = new IdentityHashMap<>();
+
+        private CacheWriter(DataOutputStream stream) {
+            this.stream = stream;
+        }
+
+        void writeInt(int value) throws IOException {
+            stream.writeInt(value);
+        }
+
+        void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            stream.writeInt(bytes.length);
+            stream.write(bytes);
+        }
+
+        private void writeName(String name) throws IOException {
+            Integer index = names.get(name);
+            if (index == null) {
+                stream.writeInt(-1);
+                writeString(name);
+                names.put(name, names.size());
+            } else {
+                stream.writeInt(index);
+            }
+        }
+
+        void writeValue(Object value) throws Exception {
+            if (value == null) {
+                stream.writeByte(NULL);
+            } else if (value instanceof Boolean) {
+                stream.writeByte(BOOLEAN);
+                stream.writeBoolean((Boolean) value);
+            } else if (value instanceof Byte) {
+                stream.writeByte(BYTE);
+                stream.writeByte((Byte) value);
+            } else if (value instanceof Short) {
+                stream.writeByte(SHORT);
+                stream.writeShort((Short) value);
+            } else if (value instanceof Character) {
+                stream.writeByte(CHAR);
+                stream.writeChar((Character) value);
+            } else if (value instanceof Integer) {
+                stream.writeByte(INT);
+                stream.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                stream.writeByte(LONG);
+                stream.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                stream.writeByte(FLOAT);
+                stream.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                stream.writeByte(DOUBLE);
+                stream.writeDouble((Double) value);
+            } else if (value instanceof String) {
+                stream.writeByte(STRING);
+                writeString((String) value);
+            } else if (value instanceof Enum) {
+                stream.writeByte(ENUM);
+                writeName(((Enum<?>) value).getDeclaringClass().getName());
+                writeName(((Enum<?>) value).name());
+            } else if (writtenObjects.containsKey(value)) {
+                stream.writeByte(REFERENCE);
+                stream.writeInt(writtenObjects.get(value));
+            } else if (value.getClass().isArray()) {
+                writtenObjects.put(value, writtenObjects.size());
+                stream.writeByte(ARRAY);
+                writeName(value.getClass().getName());
+                int length = Array.getLength(value);
+                stream.writeInt(length);
+                for (int i = 0; i < length; ++i) {
+                    writeValue(Array.get(value, i));
+                }
+            } else if (value instanceof Collection) {
+                writtenObjects.put(value, writtenObjects.size());
+                Collection<?> collection = (Collection<?>) value;
+                stream.writeByte(COLLECTION);
+                writeName(value.getClass().getName());
+                stream.writeInt(collection.size());
+                for (Object entry : collection) {
+                    writeValue(entry);
+                }
+            } else if (value instanceof Map) {
+                writtenObjects.put(value, writtenObjects.size());
+                Map<?, ?> map = (Map<?, ?>) value;
+                stream.writeByte(MAP);
+                writeName(value.getClass().getName());
+                stream.writeInt(map.size());
+                for (Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else {
+                Class<?> objectClass = value.getClass();
+                if (objectClass.getName().startsWith("java.")) {
+                    throw new IOException("Cannot cache objects of type " + objectClass.getName());
+                }
+                //Make sure we can create this on the read.
+                getConstructor(objectClass);
+                writtenObjects.put(value, writtenObjects.size());
+                stream.writeByte(OBJECT);
+                writeName(objectClass.getName());
+                Field[] fields = getFields(objectClass);
+                stream.writeInt(fields.length);
+                for (Field field : fields) {
+                    writeValue(field.get(value));
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+
+    /**
+     * Reader for cache files.  Mirrors {@link CacheWriter}.
+     */
+    static class CacheReader implements AutoCloseable {
+        private final DataInputStream stream;
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> readObjects = new ArrayList<>();
+
+        private CacheReader(DataInputStream stream) {
+            this.stream = stream;
+        }
+
+        int readInt() throws IOException {
+            return stream.readInt();
+        }
+
+        String readString() throws IOException {
+            byte[] bytes = new byte[stream.readInt()];
+            stream.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private String readName() throws IOException {
+            int index = stream.readInt();
+            if (index == -1) {
+                String name = readString();
+                names.add(name);
+                return name;
+            } else {
+                return names.get(index);
+            }
+        }
+
+        private Class<?> readClass() throws Exception {
+            return Class.forName(readName(), false, PackCacheSystem.class.getClassLoader());
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object readValue() throws Exception {
+            byte tag = stream.readByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case BOOLEAN:
+                    return stream.readBoolean();
+                case BYTE:
+                    return stream.readByte();
+                case SHORT:
+                    return stream.readShort();
+                case CHAR:
+                    return stream.readChar();
+                case INT:
+                    return stream.readInt();
+                case LONG:
+                    return stream.readLong();
+                case FLOAT:
+                    return stream.readFloat();
+                case DOUBLE:
+                    return stream.readDouble();
+                case STRING:
+                    return readString();
+                case ENUM: {
+                    Class enumClass = readClass();
+                    return Enum.valueOf(enumClass, readName());
+                }
+                case ARRAY: {
+                    Class<?> arrayClass = readClass();
+                    int length = stream.readInt();
+                    Object array = Array.newInstance(arrayClass.getComponentType(), length);
+                    readObjects.add(array);
+                    for (int i = 0; i < length; ++i) {
+                        Array.set(array, i, readValue());
+                    }
+                    return array;
+                }
+                case COLLECTION: {
+                    Class<?> collectionClass = readClass();
+                    int size = stream.readInt();
+                    Collection<Object> collection;
+                    try {
+                        collection = (Collection<Object>) collectionClass.getDeclaredConstructor().newInstance();
+                    } catch (Exception e) {
+                        //Not a collection we can make, such as an immutable list.  Use the default for the type.
+                        collection = Set.class.isAssignableFrom(collectionClass) ? new LinkedHashSet<>() : new ArrayList<>();
+                    }
+                    readObjects.add(collection);
+                    for (int i = 0; i < size; ++i) {
+                        collection.add(readValue());
+                    }
+                    return collection;
+                }
+                case MAP: {
+                    Class<?> mapClass = readClass();
+                    int size = stream.readInt();
+                    Map<Object, Object> map;
+                    try {
+                        map = (Map<Object, Object>) mapClass.getDeclaredConstructor().newInstance();
+                    } catch (Exception e) {
+                        map = new LinkedHashMap<>();
+                    }
+                    readObjects.add(map);
+                    for (int i = 0; i < size; ++i) {
+                        map.put(readValue(), readValue());
+                    }
+                    return map;
+                }
+                case OBJECT: {
+                    Class<?> objectClass = readClass();
+                    Constructor<?> constructor = getConstructor(objectClass);
+                    Object object = constructor.getParameterCount() == 0 ? constructor.newInstance() : constructor.newInstance((Object) null);
+                    readObjects.add(object);
+                    Field[] fields = getFields(objectClass);
+                    if (stream.readInt() != fields.length) {
+                        throw new IOException("Field mismatch for cached type " + objectClass.getName());
+                    }
+                    for (Field field : fields) {
+                        field.set(object, readValue());
+                    }
+                    return object;
+                }
+                case REFERENCE: {
+                    int index = stream.readInt();
+                    if (index < 0 || index >= readObjects.size()) {
+                        throw new IOException("Invalid object reference in pack cache: " + index);
+                    }
+                    return readObjects.get(index);
+                }
+                default:
+                    throw new IOException("Unknown type tag in pack cache: " + tag);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package minecrafttransportsimulator.packloading;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -38,11 +41,14 @@ import minecrafttransportsimulator.jsondefs.JSONPart;
 import minecrafttransportsimulator.jsondefs.JSONPoleComponent;
 import minecrafttransportsimulator.jsondefs.JSONRoadComponent;
 import minecrafttransportsimulator.jsondefs.JSONSkin;
+import minecrafttransportsimulator.jsondefs.JSONSound;
 import minecrafttransportsimulator.jsondefs.JSONSubDefinition;
 import minecrafttransportsimulator.jsondefs.JSONVehicle;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packloading.PackResourceLoader.ItemClassification;
 import minecrafttransportsimulator.packloading.PackResourceLoader.PackStructure;
+import minecrafttransportsimulator.rendering.AModelParser;
+import minecrafttransportsimulator.sound.SoundDecodeSystem;
 import minecrafttransportsimulator.systems.ConfigSystem;
 
 /**
@@ -158,6 +164,37 @@ public final class PackParser {
         //Check for custom skins.
         parseAllSkins();
 
+        //Start parsing models in the background on clients, so they're ready when we need to render them.
+        if (ConfigSystem.client != null && ConfigSystem.client.renderingSettings.preParseModels.value) {
+            Set<String> modelLocations = new LinkedHashSet<>();
+            for (AItemPack<?> packItem : getAllPackItems()) {
+                if (packItem instanceof AItemSubTyped && packItem.definition instanceof AJSONMultiModelProvider && ((AJSONMultiModelProvider) packItem.definition).rendering != null) {
+                    String modelLocation = ((AItemSubTyped<?>) packItem).definition.getModelLocation(((AItemSubTyped<?>) packItem).subDefinition);
+                    if (modelLocation != null) {
+                        modelLocations.add(modelLocation);
+                    }
+                }
+            }
+            AModelParser.preParseModels(modelLocations);
+        }
+
+        //Also start decoding sounds in the background on clients.
+        if (ConfigSystem.client != null && ConfigSystem.client.controlSettings.preloadSounds.value) {
+            Set<String> soundNames = new LinkedHashSet<>();
+            for (AItemPack<?> packItem : getAllPackItems()) {
+                if (packItem.definition instanceof AJSONMultiModelProvider && ((AJSONMultiModelProvider) packItem.definition).rendering != null && ((AJSONMultiModelProvider) packItem.definition).rendering.sounds != null) {
+                    for (JSONSound soundDef : ((AJSONMultiModelProvider) packItem.definition).rendering.sounds) {
+                        if (soundDef.soundVariations != null) {
+                            soundNames.addAll(soundDef.soundVariations);
+                        } else if (soundDef.name != null) {
+                            soundNames.add(soundDef.name);
+                        }
+                    }
+                }
+            }
+            SoundDecodeSystem.preloadSounds(soundNames);
+        }
+
         //Check to make sure we have all our fuels.  We may have loaded a new engine type this launch.
         if (ConfigSystem.settings.fuel.fuels == null) {
             ConfigSystem.settings.fuel.fuels = new HashMap<>();
@@ -320,6 +357,7 @@ public final class PackParser {
      */
     private static void parseAllPacks() {
         List<String> packIDs = new ArrayList<>(packMap.keySet());
+        List<PackLoadTask> loadTasks = new ArrayList<>();
         for (String s : packMap.keySet()) {
             JSONPack packDef = packMap.get(s);
             //Don't parse the core pack.  THat's all internal.
@@ -371,79 +409,312 @@ public final class PackParser {
                 }
             }
 
-            //Load the pack components into the game.
-            //We iterate over all the sub-folders we found from the packDef checks.
+            //Queue the pack components for loading into the game.
+            //We add a task for all the sub-folders we found from the packDef checks.
             PackStructure structure = PackStructure.values()[packDef.fileStructure];
             for (String subDirectory : validSubDirectories) {
                 String assetPathPrefix = "assets/" + packDef.packID + "/";
                 if (!subDirectory.isEmpty()) {
                     assetPathPrefix += subDirectory + "/";
                 }
+                loadTasks.add(new PackLoadTask(packDef, structure, assetPathPrefix));
+            }
+        }
+
+        //Parse all the tasks.  If we are parallel, do so in a pool and wait for them all to finish.
+        //Parsing doesn't touch any of the registries, so it's safe to do off-thread.
+        if (ConfigSystem.settings == null || ConfigSystem.settings.general.parallelPackParsing.value) {
+            ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            try {
+                pool.submit(() -> loadTasks.parallelStream().forEach(task -> task.parse(true))).get();
+            } catch (Exception e) {
+                InterfaceManager.coreInterface.logError("Fault during parallel pack parsing.  Falling back to single-threaded parsing.");
+                e.printStackTrace();
+                loadTasks.forEach(task -> task.parse(false));
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            loadTasks.forEach(task -> task.parse(false));
+        }
+
+        //Now register everything on this thread.  We do this in the same order as the tasks and their entries,
+        //which is the order a single-threaded load would go in, so the registries end up identical.
+        for (PackLoadTask task : loadTasks) {
+            if (task.fault != null) {
+                InterfaceManager.coreInterface.logError("Could not start parsing of pack: " + task.packDef.packID);
+                task.fault.printStackTrace();
+                continue;
+            }
+            for (PackLoadEntry entry : task.entries) {
+                for (String error : entry.errors) {
+                    InterfaceManager.coreInterface.logError(error);
+                }
+                if (entry.fault != null) {
+                    InterfaceManager.coreInterface.logError(entry.fault.getMessage());
+                    entry.fault.printStackTrace();
+                } else if (entry.definition != null) {
+                    registerPreparedItem(entry.definition);
+                }
+            }
+        }
+    }
 
+    /**
+     * Task for loading the JSONs in a single sub-folder of a pack jar.  Parsing of the JSONs, along with their
+     * legacy compats and validation, is done in {@link #parse(boolean)}, which is safe to call off the main thread.
+     * Results and errors are stored in the task for registration and logging after all tasks are done.
+     * If the {@link PackCacheSystem} has a valid cache for the jar, the results are loaded from that instead.
+     */
+    private static class PackLoadTask {
+        private final JSONPack packDef;
+        private final PackStructure structure;
+        private final String assetPathPrefix;
+        private final List<PackLoadEntry> entries = new ArrayList<>();
+        private Exception fault;
+
+        private PackLoadTask(JSONPack packDef, PackStructure structure, String assetPathPrefix) {
+            this.packDef = packDef;
+            this.structure = structure;
+            this.assetPathPrefix = assetPathPrefix;
+        }
+
+        private void parse(boolean parallel) {
+            entries.clear();
+            fault = null;
+
+            //If we have a valid cache for this jar, use it rather than parsing.
+            File packJar = packJarMap.get(packDef.packID);
+            File cacheFile = null;
+            String cacheKey = null;
+            if (PackCacheSystem.isEnabled()) {
                 try {
-                    ZipFile jarFile = new ZipFile(packJarMap.get(packDef.packID));
-                    Enumeration<? extends ZipEntry> entries = jarFile.entries();
-                    while (entries.hasMoreElements()) {
-                        //Get next entry and path.
-                        ZipEntry entry = entries.nextElement();
-                        String entryFullPath = entry.getName();
-                        if (entryFullPath.startsWith(assetPathPrefix) && entryFullPath.endsWith(".json")) {
-                            //JSON is in correct folder.  Get path properties and ensure they match our specs.
-                            //Need the asset folder structure between the main prefix and the asset itself.
-                            //This lets us know what asset we need to create as all assets are in their own folders.
-                            String fileName = entryFullPath.substring(entryFullPath.lastIndexOf('/') + 1);
-                            String assetPath = entryFullPath.substring(assetPathPrefix.length(), entryFullPath.substring(0, entryFullPath.length() - fileName.length()).lastIndexOf("/") + 1);
-                            if (!structure.equals(PackStructure.MODULAR)) {
-                                //Need to trim the jsondefs folder to get correct sub-folder of jsondefs data.
-                                //Modular structure does not have a jsondefs folder, so we don't need to trim it off for that.
-                                //If we aren't modular, and aren't in a jsondefs folder, skip this entry.
-                                if (assetPath.startsWith("jsondefs/")) {
-                                    assetPath = assetPath.substring("jsondefs/".length());
-                                } else {
-                                    continue;
-                                }
-                            }
+                    cacheFile = PackCacheSystem.getCacheFile(packDef.packID, assetPathPrefix);
+                    cacheKey = PackCacheSystem.getCacheKey(packJar, assetPathPrefix);
+                    if (readCache(cacheFile, cacheKey)) {
+                        return;
+                    }
+                } catch (Exception e) {
+                    InterfaceManager.coreInterface.logError("Could not check pack cache for: " + packDef.packID + ".  Parsing normally.");
+                    cacheKey = null;
+                }
+            }
 
-                            //Check to make sure json isn't an item JSON or our pack definition.
-                            if (!fileName.equals("packdefinition.json") && (structure.equals(PackStructure.MODULAR) ? !fileName.endsWith("_item.json") : entryFullPath.contains("jsondefs"))) {
-                                //Get classification and JSON class type to use with GSON system.
-                                ItemClassification classification;
-                                try {
-                                    classification = ItemClassification.fromDirectory(assetPath.substring(0, assetPath.indexOf("/") + 1));
-                                } catch (Exception e) {
-                                    InterfaceManager.coreInterface.logError("Was given an invalid classifcation sub-folder for asset: " + fileName + ".  Check your folder paths.");
-                                    continue;
-                                }
-
-                                //Create the JSON instance.
-                                String systemName = fileName.substring(0, fileName.length() - ".json".length());
-                                AJSONBase definition;
-                                try {
-                                    definition = JSONParser.parseStream(jarFile.getInputStream(entry), classification.representingClass, packDef.packID, systemName);
-                                } catch (Exception e) {
-                                    InterfaceManager.coreInterface.logError("Could not parse: " + packDef.packID + ":" + fileName);
-                                    InterfaceManager.coreInterface.logError(e.getMessage());
-                                    continue;
-                                }
-
-                                //Remove the classification folder from the assetPath.  We don't use this for the resource-loading code.
-                                //Instead, this will be loaded by referencing the definition.  This also allows us to omit the path
-                                //if we are loading a non-default pack format.
-                                definition.packID = packDef.packID;
-                                definition.systemName = systemName;
-                                definition.classification = classification;
-                                definition.prefixFolders = assetPath.substring(classification.toDirectory().length());
-                                registerItem(definition);
+            try {
+                ZipFile jarFile = new ZipFile(packJar);
+                Enumeration<? extends ZipEntry> zipEntries = jarFile.entries();
+                while (zipEntries.hasMoreElements()) {
+                    //Get next entry and path.
+                    ZipEntry zipEntry = zipEntries.nextElement();
+                    String entryFullPath = zipEntry.getName();
+                    if (entryFullPath.startsWith(assetPathPrefix) && entryFullPath.endsWith(".json")) {
+                        //JSON is in correct folder.  Get path properties and ensure they match our specs.
+                        //Need the asset folder structure between the main prefix and the asset itself.
+                        //This lets us know what asset we need to create as all assets are in their own folders.
+                        String fileName = entryFullPath.substring(entryFullPath.lastIndexOf('/') + 1);
+                        String assetPath = entryFullPath.substring(assetPathPrefix.length(), entryFullPath.substring(0, entryFullPath.length() - fileName.length()).lastIndexOf("/") + 1);
+                        if (!structure.equals(PackStructure.MODULAR)) {
+                            //Need to trim the jsondefs folder to get correct sub-folder of jsondefs data.
+                            //Modular structure does not have a jsondefs folder, so we don't need to trim it off for that.
+                            //If we aren't modular, and aren't in a jsondefs folder, skip this entry.
+                            if (assetPath.startsWith("jsondefs/")) {
+                                assetPath = assetPath.substring("jsondefs/".length());
+                            } else {
+                                continue;
                             }
                         }
+
+                        //Check to make sure json isn't an item JSON or our pack definition.
+                        if (!fileName.equals("packdefinition.json") && (structure.equals(PackStructure.MODULAR) ? !fileName.endsWith("_item.json") : entryFullPath.contains("jsondefs"))) {
+                            entries.add(new PackLoadEntry(zipEntry, fileName, assetPath));
+                        }
                     }
+                }
 
-                    //Done parsing.  Close the jarfile.
-                    jarFile.close();
-                } catch (Exception e) {
-                    InterfaceManager.coreInterface.logError("Could not start parsing of pack: " + packDef.packID);
-                    e.printStackTrace();
+                //Parse all entries we found.  Zip files are safe to read from multiple threads.
+                if (parallel) {
+                    entries.parallelStream().forEach(entry -> entry.parse(jarFile, packDef));
+                } else {
+                    entries.forEach(entry -> entry.parse(jarFile, packDef));
                 }
+
+                //Done parsing.  Close the jarfile.
+                jarFile.close();
+            } catch (Exception e) {
+                fault = e;
+            }
+
+            //Save the results for the next boot.
+            if (fault == null && cacheKey != null) {
+                writeCache(cacheFile, cacheKey);
+            }
+        }
+
+        /**
+         * Reads the entries for this task from the passed-in cache file.  Returns true if the cache was valid.
+         * If not, no entries are loaded.
+         */
+        private boolean readCache(File cacheFile, String cacheKey) {
+            try {
+                List<PackLoadEntry> cachedEntries = readCacheEntries(cacheFile, cacheKey);
+                if (cachedEntries != null) {
+                    entries.addAll(cachedEntries);
+                    return true;
+                }
+            } catch (Throwable e) {
+                //Errors such as missing classes from another build also mean the cache is bad, so catch them too.
+                InterfaceManager.coreInterface.logError("Could not read pack cache for: " + packDef.packID + ".  Parsing normally.");
+            }
+            return false;
+        }
+
+        /**
+         * Returns the entries in the passed-in cache file, or null if the file doesn't exist or has the wrong key.
+         */
+        private List<PackLoadEntry> readCacheEntries(File cacheFile, String cacheKey) throws Exception {
+            try (PackCacheSystem.CacheReader reader = PackCacheSystem.openReader(cacheFile, cacheKey)) {
+                if (reader == null) {
+                    return null;
+                }
+                int entryCount = reader.readInt();
+                List<PackLoadEntry> cachedEntries = new ArrayList<>(entryCount);
+                for (int i = 0; i < entryCount; ++i) {
+                    PackLoadEntry entry = new PackLoadEntry(null, null, null);
+                    int errorCount = reader.readInt();
+                    for (int j = 0; j < errorCount; ++j) {
+                        entry.errors.add(reader.readString());
+                    }
+                    entry.definition = (AJSONBase) reader.readValue();
+                    if (entry.definition != null) {
+                        //These are transient, so they aren't part of the definition's cached fields.
+                        entry.definition.packID = reader.readString();
+                        entry.definition.systemName = reader.readString();
+                        entry.definition.prefixFolders = reader.readString();
+                        entry.definition.classification = ItemClassification.valueOf(reader.readString());
+                        if (!packDef.packID.equals(entry.definition.packID)) {
+                            throw new IOException("Cached definition " + entry.definition.packID + ":" + entry.definition.systemName + " is not from pack " + packDef.packID);
+                        }
+                    }
+                    cachedEntries.add(entry);
+                }
+                return cachedEntries;
+            }
+        }
+
+        /**
+         * Reads back the passed-in cache file and checks that it gives the same definitions we wrote,
+         * down to the content of every field.  This catches fields the cache can't save before a later
+         * boot registers broken definitions.
+         */
+        private void verifyCache(File cacheFile, String cacheKey) throws Exception {
+            List<PackLoadEntry> cachedEntries = readCacheEntries(cacheFile, cacheKey);
+            if (cachedEntries == null || cachedEntries.size() != entries.size()) {
+                throw new IOException("Cache entry count mismatch.");
+            }
+            for (int i = 0; i < entries.size(); ++i) {
+                PackLoadEntry entry = entries.get(i);
+                AJSONBase definition = entry.fault == null ? entry.definition : null;
+                AJSONBase cachedDefinition = cachedEntries.get(i).definition;
+                List<String> errors = new ArrayList<>();
+                entry.errors.forEach(error -> errors.add(String.valueOf(error)));
+                if (entry.fault != null) {
+                    errors.add(String.valueOf(entry.fault.getMessage()));
+                }
+                if (!errors.equals(cachedEntries.get(i).errors)) {
+                    throw new IOException("Cached errors mismatch for: " + (definition != null ? definition.systemName : "entry " + i));
+                }
+                if (definition == null ? cachedDefinition != null : (cachedDefinition == null || !definition.packID.equals(cachedDefinition.packID) || !definition.systemName.equals(cachedDefinition.systemName) || !definition.prefixFolders.equals(cachedDefinition.prefixFolders) || definition.classification != cachedDefinition.classification || !PackCacheSystem.contentEquals(definition, cachedDefinition))) {
+                    throw new IOException("Cached definition mismatch for: " + (definition != null ? definition.systemName : "entry " + i));
+                }
+            }
+        }
+
+        /**
+         * Writes the entries for this task to the passed-in cache file.  Entries that faulted on
+         * preparation are saved as errors only, as their definitions aren't valid.
+         */
+        private void writeCache(File cacheFile, String cacheKey) {
+            try {
+                try (PackCacheSystem.CacheWriter writer = PackCacheSystem.openWriter(cacheFile, cacheKey)) {
+                    writer.writeInt(entries.size());
+                    for (PackLoadEntry entry : entries) {
+                        writer.writeInt(entry.errors.size() + (entry.fault != null ? 1 : 0));
+                        for (String error : entry.errors) {
+                            writer.writeString(String.valueOf(error));
+                        }
+                        if (entry.fault != null) {
+                            writer.writeString(String.valueOf(entry.fault.getMessage()));
+                            writer.writeValue(null);
+                        } else {
+                            writer.writeValue(entry.definition);
+                            if (entry.definition != null) {
+                                writer.writeString(entry.definition.packID);
+                                writer.writeString(entry.definition.systemName);
+                                writer.writeString(entry.definition.prefixFolders);
+                                writer.writeString(entry.definition.classification.name());
+                            }
+                        }
+                    }
+                }
+                //Make sure what we wrote reads back the same before we trust it next boot.
+                verifyCache(cacheFile, cacheKey);
+            } catch (Throwable e) {
+                //Errors such as running out of stack on a deep definition mean the cache is bad, not that loading failed.
+                InterfaceManager.coreInterface.logError("Could not write pack cache for: " + packDef.packID + ".  It will be parsed normally next boot.");
+                InterfaceManager.coreInterface.logError(e.toString());
+                cacheFile.delete();
+            }
+        }
+    }
+
+    /**
+     * A single JSON entry in a {@link PackLoadTask}.
+     */
+    private static class PackLoadEntry {
+        private final ZipEntry zipEntry;
+        private final String fileName;
+        private final String assetPath;
+        private final List<String> errors = new ArrayList<>();
+        private AJSONBase definition;
+        private Exception fault;
+
+        private PackLoadEntry(ZipEntry zipEntry, String fileName, String assetPath) {
+            this.zipEntry = zipEntry;
+            this.fileName = fileName;
+            this.assetPath = assetPath;
+        }
+
+        private void parse(ZipFile jarFile, JSONPack packDef) {
+            //Get classification and JSON class type to use with GSON system.
+            ItemClassification classification;
+            try {
+                classification = ItemClassification.fromDirectory(assetPath.substring(0, assetPath.indexOf("/") + 1));
+            } catch (Exception e) {
+                errors.add("Was given an invalid classifcation sub-folder for asset: " + fileName + ".  Check your folder paths.");
+                return;
+            }
+
+            //Create the JSON instance.
+            String systemName = fileName.substring(0, fileName.length() - ".json".length());
+            try {
+                definition = JSONParser.parseStream(jarFile.getInputStream(zipEntry), classification.representingClass, packDef.packID, systemName);
+            } catch (Exception e) {
+                errors.add("Could not parse: " + packDef.packID + ":" + fileName);
+                errors.add(e.getMessage());
+                return;
+            }
+
+            //Remove the classification folder from the assetPath.  We don't use this for the resource-loading code.
+            //Instead, this will be loaded by referencing the definition.  This also allows us to omit the path
+            //if we are loading a non-default pack format.
+            definition.packID = packDef.packID;
+            definition.systemName = systemName;
+            definition.classification = classification;
+            definition.prefixFolders = assetPath.substring(classification.toDirectory().length());
+            try {
+                prepareItem(definition, errors);
+            } catch (Exception e) {
+                fault = e;
             }
         }
     }
@@ -464,11 +735,34 @@ public final class PackParser {
      */
     public static void registerItem(AJSONBase itemDef) {
         try {
-            //Do legacy compats before validating the JSON.
-            //This will populate any required fields that were not in older versions.
-            LegacyCompatSystem.performLegacyCompats(itemDef);
-            JSONParser.validateFields(itemDef, itemDef.packID + ":" + itemDef.systemName + "/", 1);
+            List<String> errors = new ArrayList<>();
+            prepareItem(itemDef, errors);
+            errors.forEach(InterfaceManager.coreInterface::logError);
+            registerPreparedItem(itemDef);
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError(e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
+    /**
+     * Performs the legacy compats and validation on the passed-in definition.  This only modifies the
+     * definition itself, so it may be called from multiple threads for different definitions.
+     * Non-fatal errors are added to the passed-in list, so they can be logged, and cached, with the definition.
+     */
+    private static void prepareItem(AJSONBase itemDef, List<String> errors) {
+        //Do legacy compats before validating the JSON.
+        //This will populate any required fields that were not in older versions.
+        LegacyCompatSystem.performLegacyCompats(itemDef, errors);
+        JSONParser.validateFields(itemDef, itemDef.packID + ":" + itemDef.systemName + "/", 1);
+    }
+
+    /**
+     * Creates and registers all items for the passed-in definition.  The definition must have gone through
+     * {@link #prepareItem(AJSONBase, List)} prior to this call.
+     */
+    private static void registerPreparedItem(AJSONBase itemDef) {
+        try {
             //Create all required items.
             if (itemDef instanceof AJSONMultiModelProvider) {
                 //Check if the definition is a skin.  If so, we need to just add it to the skin map for processing later.
@@ -1,9 +1,13 @@
 package minecrafttransportsimulator.rendering;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 
@@ -18,7 +22,8 @@ import minecrafttransportsimulator.entities.components.AEntityD_Definable;
  */
 public abstract class AModelParser {
     private static final Map<String, AModelParser> parsers = new HashMap<>();
-    private static final Map<String, List<RenderableVertices>> parsedVertices = new HashMap<>();
+    private static final Map<String, List<RenderableVertices>> parsedVertices = new ConcurrentHashMap<>();
+    private static final Map<String, Future<?>> pendingModels = new ConcurrentHashMap<>();
     public static final String WINDOW_OBJECT_NAME = "window";
     public static final String ONLINE_TEXTURE_OBJECT_NAME = "url";
     public static final String TRANSLUCENT_OBJECT_NAME = "translucent";
@@ -44,6 +49,15 @@ public abstract class AModelParser {
      */
     protected abstract List<RenderableVertices> parseModelInternal(String modelLocation);
 
+    /**
+     * Returns true if models from this parser only depend on the model file.  Such models may be
+     * parsed off the main thread, and may be stored in the {@link ModelCacheSystem}.  Parsers that
+     * use external state, such as game textures, should return false.
+     */
+    protected boolean isCacheable() {
+        return false;
+    }
+
     /**
      * Attempts to obtain the parser for the passed-in modelLocation.  After this, the model
      * is parsed and returned.  If no parser is found, an exception is thrown.
@@ -53,13 +67,30 @@ public abstract class AModelParser {
         List<RenderableVertices> vertices = null;
         if (returnCached) {
             vertices = parsedVertices.get(modelLocation);
+            if (vertices == null) {
+                //If the model is being pre-parsed, wait for that rather than parsing it again.
+                //If the pre-parse failed, we'll parse it below and get the error then.
+                Future<?> pendingModel = pendingModels.get(modelLocation);
+                if (pendingModel != null) {
+                    try {
+                        pendingModel.get();
+                    } catch (Exception e) {
+                        //Ignored, see above.
+                    }
+                    vertices = parsedVertices.get(modelLocation);
+                }
+            }
         }
         if (vertices == null) {
             AModelParser parser = parsers.get(modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
             if (parser != null) {
-                vertices = parser.parseModelInternal(modelLocation);
+                vertices = parser.parseModelWithCache(modelLocation);
                 if (returnCached) {
-                    parsedVertices.put(modelLocation, vertices);
+                    //Models may be parsed from multiple threads during pack loading, so only keep the first result.
+                    List<RenderableVertices> existingVertices = parsedVertices.putIfAbsent(modelLocation, vertices);
+                    if (existingVertices != null) {
+                        vertices = existingVertices;
+                    }
                 }
             } else {
                 throw new IllegalArgumentException("No parser found for model format of " + modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
@@ -68,6 +99,55 @@ public abstract class AModelParser {
         return vertices;
     }
 
+    /**
+     * Parses the model, using the {@link ModelCacheSystem} if this parser allows it.
+     */
+    private List<RenderableVertices> parseModelWithCache(String modelLocation) {
+        if (isCacheable() && ModelCacheSystem.isEnabled()) {
+            byte[] key;
+            try {
+                key = ModelCacheSystem.getModelKey(modelLocation);
+            } catch (Exception e) {
+                //Couldn't read the model for the key, let the parser report the error.
+                return parseModelInternal(modelLocation);
+            }
+            List<RenderableVertices> vertices = ModelCacheSystem.readCache(modelLocation, key);
+            if (vertices == null) {
+                vertices = parseModelInternal(modelLocation);
+                ModelCacheSystem.writeCache(modelLocation, key, vertices);
+            }
+            return vertices;
+        } else {
+            return parseModelInternal(modelLocation);
+        }
+    }
+
+    /**
+     * Parses all the passed-in models in the background, caching them for later calls to {@link #parseModel(String, boolean)}.
+     * This prevents the hitch when a model is first seen, as it'll already be parsed.  Models from parsers that aren't
+     * {@link #isCacheable()} are skipped, as those can't be parsed off the main thread.  Any calls to get a model that
+     * is still being parsed will wait for that parse to finish.
+     */
+    public static void preParseModels(Collection<String> modelLocations) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        for (String modelLocation : modelLocations) {
+            AModelParser parser = parsers.get(modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
+            if (parser != null && parser.isCacheable() && !parsedVertices.containsKey(modelLocation) && !pendingModels.containsKey(modelLocation)) {
+                pendingModels.put(modelLocation, pool.submit(() -> {
+                    try {
+                        parsedVertices.putIfAbsent(modelLocation, parser.parseModelWithCache(modelLocation));
+                    } catch (Exception e) {
+                        //Don't log here, the error will be logged when the model is parsed on use.
+                    } finally {
+                        pendingModels.remove(modelLocation);
+                    }
+                }));
+            }
+        }
+        //Lets the threads exit once all models are done.
+        pool.shutdown();
+    }
+
     /**
      * Parses the model for the passed-in entity, and generates all {@link RenderableModelObject}s for it.
      * These are returned as a list.  Objects in the parsed model are cross-checked with the passed-in
@@ -25,9 +25,15 @@ public class DurationDelayClock {
     private static final double d1 = 2.75;
 
     public final JSONAnimationDefinition animation;
+    /**The slot of the animation variable in the entity's definition, resolved once here so lookups don't need to hash the name.**/
+    public final int variableSlot;
     public final double animationAxisMagnitude;
     public final Point3D animationAxisNormalized;
     public final boolean isUseful;
+    /**True if this clock's output depends on time, and not just the variable value, due to duration/delay or sounds.**/
+    public final boolean dependsOnTime;
+    /**True if the animation has a non-zero center point, and needs offset operations for rotation and scaling.**/
+    public final boolean hasCenterPoint;
     private Long timeCommandedForwards = 0L;
     private Long timeCommandedReverse = 0L;
 
@@ -37,11 +43,14 @@ public class DurationDelayClock {
     private boolean startedReverseMovement = false;
     private boolean endedReverseMovement = false;
 
-    public DurationDelayClock(JSONAnimationDefinition animation) {
+    public DurationDelayClock(AEntityD_Definable<?> entity, JSONAnimationDefinition animation) {
         this.animation = animation;
+        this.variableSlot = entity.getVariableSlot(animation.variable);
         this.animationAxisMagnitude = animation.axis != null ? animation.axis.length() : 1.0;
         this.animationAxisNormalized = animation.axis != null ? animation.axis.copy().normalize() : null;
         this.shouldDoFactoring = animation.duration != 0 || animation.forwardsDelay != 0 || animation.reverseDelay != 0;
+        this.dependsOnTime = shouldDoFactoring || animation.forwardsStartSound != null || animation.forwardsEndSound != null || animation.reverseStartSound != null || animation.reverseEndSound != null;
+        this.hasCenterPoint = animation.centerPoint != null && (animation.centerPoint.x != 0 || animation.centerPoint.y != 0 || animation.centerPoint.z != 0);
         this.isUseful = shouldDoFactoring || animation.animationType.equals(AnimationComponentType.VISIBILITY) || animation.animationType.equals(AnimationComponentType.INHIBITOR) || animation.animationType.equals(AnimationComponentType.ACTIVATOR) || animation.forwardsStartSound != null || animation.forwardsEndSound != null || animation.reverseStartSound != null || animation.reverseEndSound != null;
     }
 
@@ -0,0 +1,164 @@
+package minecrafttransportsimulator.rendering;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Class responsible for the binary model cache.  Once a model is parsed, the interleaved vertex data of all its
+ * {@link RenderableVertices} is written to a cache file, keyed by a hash of the model file.  On later loads,
+ * the cache file is memory-mapped and the vertex buffers are created as views into it, skipping the parse.
+ * The mapping is private, so any changes made to the buffers during rendering don't get written back to the file.
+ * If the cache is missing, stale, or can't be read, null is returned and the model should be parsed normally.
+ *
+ * @author don_bruce
+ */
+final class ModelCacheSystem {
+    private static final int MAGIC = 0x4D545356;
+    private static final int FORMAT_VERSION = 1;
+    private static final String CACHE_FOLDER = "mtsmodelcache";
+
+    /**
+     * Returns true if the cache is enabled.  Requires the config system to be loaded, as that's where the cache folder is.
+     */
+    static boolean isEnabled() {
+        return ConfigSystem.settings != null && ConfigSystem.settings.general.cacheModelParsing.value && ConfigSystem.getConfigDirectory() != null;
+    }
+
+    /**
+     * Returns the SHA-1 hash of the model at the passed-in location.  This is the key for the model's cache file.
+     */
+    static byte[] getModelKey(String modelLocation) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        byte[] buffer = new byte[65536];
+        try (InputStream stream = InterfaceManager.coreInterface.getPackResource(modelLocation)) {
+            if (stream == null) {
+                throw new IOException("Could not find model " + modelLocation);
+            }
+            int bytesRead;
+            while ((bytesRead = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static File getCacheFile(String modelLocation) {
+        String fileName = modelLocation.substring(modelLocation.lastIndexOf('/') + 1);
+        return new File(new File(ConfigSystem.getConfigDirectory(), CACHE_FOLDER), Integer.toHexString(modelLocation.hashCode()) + "_" + fileName + ".bin");
+    }
+
+    /**
+     * Returns the cached vertices for the model at the passed-in location, or null if there is no valid cache for it.
+     */
+    static List<RenderableVertices> readCache(String modelLocation, byte[] key) {
+        File cacheFile = getCacheFile(modelLocation);
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mappedFile = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+            mappedFile.order(ByteOrder.nativeOrder());
+            if (mappedFile.getInt() != MAGIC || mappedFile.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            byte[] cachedKey = new byte[key.length];
+            mappedFile.get(cachedKey);
+            if (!Arrays.equals(key, cachedKey)) {
+                return null;
+            }
+
+            //Header has the object names and sizes, then the float data for all objects follows.
+            int objectCount = mappedFile.getInt();
+            String[] names = new String[objectCount];
+            int[] floatCounts = new int[objectCount];
+            for (int i = 0; i < objectCount; ++i) {
+                byte[] nameBytes = new byte[mappedFile.getInt()];
+                mappedFile.get(nameBytes);
+                names[i] = new String(nameBytes, StandardCharsets.UTF_8);
+                floatCounts[i] = mappedFile.getInt();
+            }
+            int dataOffset = alignToFloat(mappedFile.position());
+
+            List<RenderableVertices> objects = new ArrayList<>(objectCount);
+            for (int i = 0; i < objectCount; ++i) {
+                mappedFile.limit(dataOffset + floatCounts[i] * Float.BYTES);
+                mappedFile.position(dataOffset);
+                FloatBuffer vertices = mappedFile.slice().order(ByteOrder.nativeOrder()).asFloatBuffer();
+                objects.add(new RenderableVertices(names[i], vertices, true));
+                dataOffset += floatCounts[i] * Float.BYTES;
+                mappedFile.limit(mappedFile.capacity());
+            }
+            return objects;
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Could not read model cache for " + modelLocation + ".  Parsing normally.");
+            return null;
+        }
+    }
+
+    /**
+     * Writes the passed-in vertices to the cache for the model at the passed-in location.
+     */
+    static void writeCache(String modelLocation, byte[] key, List<RenderableVertices> objects) {
+        File cacheFile = getCacheFile(modelLocation);
+        try {
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+            ByteBuffer intBuffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.nativeOrder());
+            int totalFloats = 0;
+            for (RenderableVertices object : objects) {
+                byte[] nameBytes = object.name.getBytes(StandardCharsets.UTF_8);
+                headerBytes.write(intBuffer.putInt(0, nameBytes.length).array());
+                headerBytes.write(nameBytes);
+                headerBytes.write(intBuffer.putInt(0, object.vertices.limit()).array());
+                totalFloats += object.vertices.limit();
+            }
+
+            int headerSize = 3 * Integer.BYTES + key.length + headerBytes.size();
+            int dataOffset = alignToFloat(headerSize);
+            ByteBuffer fileBuffer = ByteBuffer.allocate(dataOffset + totalFloats * Float.BYTES).order(ByteOrder.nativeOrder());
+            fileBuffer.putInt(MAGIC);
+            fileBuffer.putInt(FORMAT_VERSION);
+            fileBuffer.put(key);
+            fileBuffer.putInt(objects.size());
+            fileBuffer.put(headerBytes.toByteArray());
+            fileBuffer.position(dataOffset);
+            FloatBuffer floatView = fileBuffer.asFloatBuffer();
+            for (RenderableVertices object : objects) {
+                //Use a duplicate so we don't change the position of the actual buffer.
+                FloatBuffer vertices = object.vertices.duplicate();
+                vertices.rewind();
+                floatView.put(vertices);
+            }
+
+            //Write to a temp file and move it over, so a partially-written file is never read.
+            cacheFile.getParentFile().mkdirs();
+            File tempFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp" + Thread.currentThread().getId());
+            Files.write(tempFile.toPath(), fileBuffer.array());
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Could not write model cache for " + modelLocation + ".  It will be parsed normally next time.");
+            InterfaceManager.coreInterface.logError(e.getMessage());
+        }
+    }
+
+    private static int alignToFloat(int offset) {
+        return (offset + Float.BYTES - 1) / Float.BYTES * Float.BYTES;
+    }
+}
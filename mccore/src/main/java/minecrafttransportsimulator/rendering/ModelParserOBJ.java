@@ -22,6 +22,11 @@ public final class ModelParserOBJ extends AModelParser {
         return "obj";
     }
 
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
+
     @Override
     protected List<RenderableVertices> parseModelInternal(String modelLocation) {
         List<RenderableVertices> objectList = new ArrayList<>();
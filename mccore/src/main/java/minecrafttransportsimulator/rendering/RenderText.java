@@ -2,8 +2,12 @@ package minecrafttransportsimulator.rendering;
 
 import java.awt.image.BufferedImage;
 import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -124,6 +128,8 @@ public class RenderText {
         private static final ColorRGB[] COLORS = new ColorRGB[]{new ColorRGB(0, 0, 0), new ColorRGB(0, 0, 170), new ColorRGB(0, 170, 0), new ColorRGB(0, 170, 170), new ColorRGB(170, 0, 0), new ColorRGB(170, 0, 170), new ColorRGB(255, 170, 0), new ColorRGB(170, 170, 170), new ColorRGB(85, 85, 85), new ColorRGB(85, 85, 255), new ColorRGB(85, 255, 85), new ColorRGB(85, 255, 255), new ColorRGB(255, 85, 85), new ColorRGB(255, 85, 255), new ColorRGB(255, 255, 85), new ColorRGB(255, 255, 255)};
         private static final FontRenderState[] STATES = FontRenderState.generateDefaults();
         private static final int MAX_VERTCIES_PER_RENDER = 1000 * 6;
+        private static final int MAX_CACHED_MESHES = 256;
+        private static final int MAX_SEEN_TEXTS = 1024;
         private static final Point3D adjustmentOffset = new Point3D();
 
         /**
@@ -180,6 +186,32 @@ public class RenderText {
          * At the end, it will be populated and should be looped over for drawing.
          */
         private final Set<RenderableData> activeRenderObjects = new LinkedHashSet<>();
+        /**
+         * Cache of text meshes, keyed by the text and all parameters that affect its layout.  Meshes are only added
+         * the second time text is rendered, see {@link #seenTexts}.  Least-recently-used meshes are removed once the cache is full.
+         **/
+        private final Map<TextMeshKey, TextMesh> cachedMeshes = new LinkedHashMap<TextMeshKey, TextMesh>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TextMeshKey, TextMesh> eldest) {
+                return size() > MAX_CACHED_MESHES;
+            }
+        };
+        /**
+         * Keys of text that has been rendered once, but isn't in {@link #cachedMeshes}.  Text that changes every frame
+         * only ever ends up here, so it can't push the meshes of static text out of the cache.  Oldest keys are removed
+         * once this is full.  Keys are small, so this can hold a few frames of text, which is needed for static text
+         * to be seen twice when there's lots of changing text rendered between.
+         **/
+        private final Map<TextMeshKey, Boolean> seenTexts = new LinkedHashMap<TextMeshKey, Boolean>(16, 0.75F, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TextMeshKey, Boolean> eldest) {
+                return size() > MAX_SEEN_TEXTS;
+            }
+        };
+        /**
+         * Mutable key for cache lookups.  Copied when a key is added to the cache.
+         **/
+        private final TextMeshKey lookupKey = new TextMeshKey();
         /**
          * Mutable helper for doing vertex-building operations.
          **/
@@ -330,6 +362,14 @@ public class RenderText {
             }
             activeRenderObjects.clear();
 
+            //Check if we already have a mesh for this text.  If so, just render that.
+            lookupKey.set(text, color, alignment, scale, autoScale, wrapWidth, pixelCoords);
+            TextMesh cachedMesh = cachedMeshes.get(lookupKey);
+            if (cachedMesh != null) {
+                renderObjects(cachedMesh.objects, transform, rotation, cachedMesh.scale, cachedMesh.adjustmentOffset, renderLit, worldLightValue, onGUI);
+                return;
+            }
+
             //Cull text to total chars.
             //This is all we can render in one pass.
             if (text.length() > MAX_VERTCIES_PER_RENDER / 6) {
@@ -341,7 +381,10 @@ public class RenderText {
 
             //Check the string for a random font code char.  If we have one, we need to substitute chars.
             //Do this prior to rendering operations as this will affect string length and blocks.
+            //Random chars change every render, so we can't cache this text.
+            boolean canCache = true;
             if (text.indexOf(FORMATTING_CHAR + RANDOM_FORMATTING_CHAR) != -1) {
+                canCache = false;
                 char[] textArray = text.toCharArray();
                 boolean randomActive = false;
                 for (int i = 0; i < textArray.length; ++i) {
@@ -652,10 +695,28 @@ public class RenderText {
                 }
             }
 
-            //All points obtained, render.
-            //Prior to rendering we need to scale the font objects to their requested scale, multiplied by their internal scale factor.
-            //After this, we apply the known-constant adjustmentOffset, which will itself be scaled.
+            //All points obtained, flip buffers for reading.
             for (RenderableData object : activeRenderObjects) {
+                object.vertexObject.vertices.flip();
+            }
+
+            //If we've rendered this text before, cache the mesh, otherwise mark it as seen for next time.
+            if (canCache) {
+                if (seenTexts.remove(lookupKey) != null) {
+                    cachedMesh = new TextMesh();
+                    cachedMesh.setObjects(activeRenderObjects, scale, adjustmentOffset);
+                    cachedMeshes.put(lookupKey.copy(), cachedMesh);
+                } else {
+                    seenTexts.put(lookupKey.copy(), Boolean.TRUE);
+                }
+            }
+            renderObjects(activeRenderObjects, transform, rotation, scale, adjustmentOffset, renderLit, worldLightValue, onGUI);
+        }
+
+        private static void renderObjects(Collection<RenderableData> objects, TransformationMatrix transform, RotationMatrix rotation, float scale, Point3D offset, boolean renderLit, int worldLightValue, boolean onGUI) {
+            //Prior to rendering we need to scale the font objects to their requested scale, multiplied by their internal scale factor.
+            //After this, we apply the known-constant offset, which will itself be scaled.
+            for (RenderableData object : objects) {
                 object.setLightValue(worldLightValue);
                 object.setLightMode(renderLit ? LightingMode.IGNORE_ALL_LIGHTING : (onGUI ? LightingMode.IGNORE_ORIENTATION_LIGHTING : LightingMode.NORMAL));
                 object.transform.set(transform);
@@ -663,8 +724,7 @@ public class RenderText {
                     object.transform.applyRotation(rotation);
                 }
                 object.transform.applyScaling(scale, scale, scale);
-                object.transform.applyTranslation(adjustmentOffset);
-                object.vertexObject.vertices.flip();
+                object.transform.applyTranslation(offset);
                 object.render();
             }
         }
@@ -707,6 +767,94 @@ public class RenderText {
             return stringWidth;
         }
 
+        /**
+         * Laid-out mesh of a text string.  Holds a copy of the vertices of each object the text used,
+         * plus the final scale and offset, so the text can be rendered again without re-doing the layout.
+         */
+        private static class TextMesh {
+            private List<RenderableData> objects;
+            private float scale;
+            private final Point3D adjustmentOffset = new Point3D();
+
+            private void setObjects(Collection<RenderableData> activeObjects, float scale, Point3D adjustmentOffset) {
+                objects = new ArrayList<>(activeObjects.size());
+                for (RenderableData activeObject : activeObjects) {
+                    FloatBuffer activeVertices = activeObject.vertexObject.vertices;
+                    FloatBuffer vertices = FloatBuffer.allocate(activeVertices.limit());
+                    vertices.put(activeVertices).flip();
+                    activeVertices.rewind();
+                    RenderableData object = new RenderableData(new RenderableVertices("font_block", vertices, false), activeObject.texture);
+                    object.setColor(activeObject.color);
+                    objects.add(object);
+                }
+                this.scale = scale;
+                this.adjustmentOffset.set(adjustmentOffset);
+            }
+        }
+
+        /**
+         * Key for {@link TextMesh}es.  Contains all parameters that affect text layout.
+         * The color is stored as values, as the passed-in color may be changed after it's used.
+         */
+        private static class TextMeshKey {
+            private String text;
+            private float red;
+            private float green;
+            private float blue;
+            private TextAlignment alignment;
+            private float scale;
+            private boolean autoScale;
+            private int wrapWidth;
+            private boolean pixelCoords;
+            private int hash;
+
+            private void set(String text, ColorRGB color, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords) {
+                set(text, color.red, color.green, color.blue, alignment, scale, autoScale, wrapWidth, pixelCoords);
+            }
+
+            private void set(String text, float red, float green, float blue, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords) {
+                this.text = text;
+                this.red = red;
+                this.green = green;
+                this.blue = blue;
+                this.alignment = alignment;
+                this.scale = scale;
+                this.autoScale = autoScale;
+                this.wrapWidth = wrapWidth;
+                this.pixelCoords = pixelCoords;
+                int hash = text.hashCode();
+                hash = 31 * hash + Float.floatToIntBits(red);
+                hash = 31 * hash + Float.floatToIntBits(green);
+                hash = 31 * hash + Float.floatToIntBits(blue);
+                hash = 31 * hash + alignment.ordinal();
+                hash = 31 * hash + Float.floatToIntBits(scale);
+                hash = 31 * hash + wrapWidth;
+                hash = 31 * hash + (autoScale ? 1 : 0);
+                this.hash = 31 * hash + (pixelCoords ? 1 : 0);
+            }
+
+            private TextMeshKey copy() {
+                TextMeshKey key = new TextMeshKey();
+                key.set(text, red, green, blue, alignment, scale, autoScale, wrapWidth, pixelCoords);
+                return key;
+            }
+
+            @Override
+            public int hashCode() {
+                return hash;
+            }
+
+            @Override
+            public boolean equals(Object object) {
+                if (object instanceof TextMeshKey) {
+                    TextMeshKey otherKey = (TextMeshKey) object;
+                    return hash == otherKey.hash && red == otherKey.red && green == otherKey.green && blue == otherKey.blue && alignment == otherKey.alignment && scale == otherKey.scale && autoScale == otherKey.autoScale && wrapWidth == otherKey.wrapWidth && pixelCoords == otherKey.pixelCoords && text.equals(otherKey.text);
+                } else {
+                    return false;
+                }
+            }
+        }
+
         private static class FontRenderState {
             private static final int BOLD_BIT_INDEX = 1;
             private static final int ITALIC_BIT_INDEX = 2;
@@ -55,6 +55,8 @@ public class RenderableModelObject {
     private final RenderableData beamRenderable;
     private final RenderableData coverRenderable;
     private final List<Double[]> treadPoints;
+    private long lastSwitchboxTick = -1;
+    private boolean lastSwitchboxResult;
 
     private static final TransformationMatrix treadPathBaseTransform = new TransformationMatrix();
     private static final RotationMatrix treadRotation = new RotationMatrix();
@@ -262,12 +264,14 @@ public class RenderableModelObject {
                 //Set object states and render.
                 if (renderable.isTranslucent == blendingEnabled) {
                     if (lightDef != null && lightDef.isBeam) {
-                        //Model that's actually a beam, render it with beam lighting/blending. 
-                        renderable.setLightValue(entity.worldLightValue);
-                        renderable.setLightMode(ConfigSystem.client.renderingSettings.brightLights.value ? LightingMode.IGNORE_ALL_LIGHTING : LightingMode.NORMAL);
-                        renderable.setBlending(ConfigSystem.client.renderingSettings.blendedLights.value);
-                        renderable.setAlpha(Math.min((1 - entity.world.getLightBrightness(entity.position, false)) * lightLevel, 1));
-                        renderable.render();
+                        //Model that's actually a beam, render it with beam lighting/blending, if we are close enough to see it.
+                        if (entity.distanceToCamera <= ConfigSystem.client.renderingSettings.lightDetailDistance.value) {
+                            renderable.setLightValue(entity.worldLightValue);
+                            renderable.setLightMode(ConfigSystem.client.renderingSettings.brightLights.value ? LightingMode.IGNORE_ALL_LIGHTING : LightingMode.NORMAL);
+                            renderable.setBlending(ConfigSystem.client.renderingSettings.blendedLights.value);
+                            renderable.setAlpha(Math.min((1 - entity.world.getLightBrightness(entity.position, false)) * lightLevel, 1));
+                            renderable.render();
+                        }
                     } else {
                         //Do normal rendering.
                         renderable.setLightValue(entity.worldLightValue);
@@ -300,7 +304,8 @@ public class RenderableModelObject {
                 }
 
                 //Flares and beams are always rendered on the blended pass since they need to do alpha blending.
-                if (blendingEnabled && lightLevel > 0) {
+                //They aren't rendered at all if we are too far away to see them.
+                if (blendingEnabled && lightLevel > 0 && entity.distanceToCamera <= ConfigSystem.client.renderingSettings.lightDetailDistance.value) {
                     //Light flares or beams detected on blended render pass.
                     //First render all flares, then render all beams.
                     float blendableBrightness = Math.min((1 - entity.world.getLightBrightness(entity.position, false)) * lightLevel, 1);
@@ -333,8 +338,8 @@ public class RenderableModelObject {
                 }
             }
 
-            //Render text on this object.  Only do this on the solid pass.
-            if (!blendingEnabled) {
+            //Render text on this object.  Only do this on the solid pass, and if we are close enough to read it.
+            if (!blendingEnabled && entity.distanceToCamera <= ConfigSystem.client.renderingSettings.textDetailDistance.value) {
                 for (Entry<JSONText, String> textEntry : entity.text.entrySet()) {
                     JSONText textDef = textEntry.getKey();
                     if (renderable.vertexObject.name.equals(textDef.attachedTo)) {
@@ -353,6 +358,24 @@ public class RenderableModelObject {
         renderable.destroy();
     }
 
+    /**
+     * Returns the distance from the model origin of the furthest vertex in this object, including any beams and tread paths.
+     */
+    public double getRadius() {
+        double radius = renderable.vertexObject.getRadius();
+        if (beamRenderable != null) {
+            radius = Math.max(radius, beamRenderable.vertexObject.getRadius());
+        }
+        if (treadPoints != null) {
+            //Tread points are Y, Z, and angle.  The tread model is moved along these.
+            float treadRadius = renderable.vertexObject.getRadius();
+            for (Double[] point : treadPoints) {
+                radius = Math.max(radius, Math.hypot(point[0], point[1]) + treadRadius);
+            }
+        }
+        return radius;
+    }
+
     private boolean shouldRender(AEntityD_Definable<?> entity, boolean blendingEnabled, float partialTicks) {
         //Treads only render on solid passes.
         if (treadPoints != null && blendingEnabled) {
@@ -363,11 +386,17 @@ public class RenderableModelObject {
             return false;
         }
         //If we have a switchbox, run it once, and if it returns false for a non-blended object, don't render.
+        //Far-away objects only run it once a tick, and use that state for all frames and passes in that tick.
         if (switchbox != null) {
-            if (objectDef.blendedAnimations) {
-                switchbox.runSwitchbox(partialTicks, false);
-            } else {
-                return switchbox.runSwitchbox(partialTicks, false);
+            if (entity.distanceToCamera <= ConfigSystem.client.renderingSettings.animationDetailDistance.value) {
+                lastSwitchboxResult = switchbox.runSwitchbox(partialTicks, false);
+                lastSwitchboxTick = -1;
+            } else if (lastSwitchboxTick != entity.ticksExisted) {
+                lastSwitchboxResult = switchbox.runSwitchbox(partialTicks, false);
+                lastSwitchboxTick = entity.ticksExisted;
+            }
+            if (!objectDef.blendedAnimations) {
+                return lastSwitchboxResult;
             }
         }
         //No false conditions, return true.
@@ -26,6 +26,7 @@ public class RenderableVertices {
     public final boolean cacheVertices;
     public final boolean isTranslucent;
     public final boolean isLines;
+    private float radius = -1;
 
     /**Index offset array for quad faces required to build a quad-textured box.
      * Order is set here to reference the points in a counter-clockwise order for rendering.
@@ -300,6 +301,24 @@ public class RenderableVertices {
         return backfaceObject;
     }
 
+    /**
+     * Returns the distance from the origin of the furthest vertex in these vertices.
+     * This is calculated on the first call, so don't call it before the vertices are set.
+     */
+    public float getRadius() {
+        if (radius < 0) {
+            float maxRadiusSquared = 0;
+            for (int i = 0; i + FLOATS_PER_VERTEX <= vertices.limit(); i += FLOATS_PER_VERTEX) {
+                float x = vertices.get(i + VERTEX_BUFFER_X_OFFSET);
+                float y = vertices.get(i + VERTEX_BUFFER_Y_OFFSET);
+                float z = vertices.get(i + VERTEX_BUFFER_Z_OFFSET);
+                maxRadiusSquared = Math.max(maxRadiusSquared, x * x + y * y + z * z);
+            }
+            radius = (float) Math.sqrt(maxRadiusSquared);
+        }
+        return radius;
+    }
+
     /**
      * Adds a line to the {@link #vertices} of this object.
      * If the last line is added, this function will automatically handle the batch ending.
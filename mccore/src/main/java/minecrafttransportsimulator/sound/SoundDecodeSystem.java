@@ -0,0 +1,170 @@
+package minecrafttransportsimulator.sound;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Class responsible for decoding pack sounds.  Sounds are decoded on background threads, and the decoded
+ * PCM data is stored off-heap in a cache that's bounded by size, with the least-recently-used sounds removed first.
+ * The audio system should call {@link #takeDecodedSound(String)} when it needs to play a sound: if the sound isn't
+ * decoded yet, null is returned and the decode is started, so the audio system never waits on a decode.
+ * Once taken, the sound is removed from the cache, as the audio system keeps its own copy of the data.
+ * Sounds can also be preloaded after packs load, which fills the cache up to its size, but doesn't evict anything.
+ * Preloading is done on its own thread so sounds that are requested to play never wait behind it.
+ *
+ * @author don_bruce
+ */
+public final class SoundDecodeSystem {
+    private static final Map<String, DecodedSound> decodedSounds = new LinkedHashMap<>(16, 0.75F, true);
+    private static final Set<String> pendingSounds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Set<String> preloadingSounds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Set<String> missingSounds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final ExecutorService decodeExecutor = createExecutor("MTS Sound Decoder", Thread.NORM_PRIORITY);
+    private static final ExecutorService preloadExecutor = createExecutor("MTS Sound Preloader", Thread.MIN_PRIORITY);
+    private static long cachedBytes;
+
+    /**
+     * Max time, in milliseconds, a non-looping sound should wait for its decode.  Sounds that
+     * finish decoding after this are stale, and should be dropped rather than played late.
+     */
+    public static final long MAX_ONE_SHOT_DELAY = 500;
+
+    private static ExecutorService createExecutor(String name, int priority) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the decoded sound for the passed-in name, or null if it isn't decoded.
+     * If it isn't, and isn't missing, a decode is started.  Use {@link #isDecoding(String)}
+     * to check if the sound will be available later.  The returned sound is removed from the cache,
+     * so the caller is expected to keep the data for as long as it needs it.
+     */
+    public static DecodedSound takeDecodedSound(String soundName) {
+        synchronized (decodedSounds) {
+            DecodedSound sound = decodedSounds.remove(soundName);
+            if (sound != null) {
+                cachedBytes -= sound.data.limit();
+                return sound;
+            }
+        }
+        //Don't wait on the preloader if it hasn't got to this sound yet, decode it now.
+        if (!missingSounds.contains(soundName) && pendingSounds.add(soundName)) {
+            decodeExecutor.submit(() -> decodeSound(soundName, false));
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the passed-in sound is queued or being decoded.
+     */
+    public static boolean isDecoding(String soundName) {
+        return pendingSounds.contains(soundName) || preloadingSounds.contains(soundName);
+    }
+
+    /**
+     * Queues all the passed-in sounds for decoding.  Sounds will only be added to the cache
+     * if there's space for them, so preloading never removes sounds that are already cached.
+     */
+    public static void preloadSounds(Collection<String> soundNames) {
+        for (String soundName : soundNames) {
+            if (preloadingSounds.add(soundName)) {
+                preloadExecutor.submit(() -> decodeSound(soundName, true));
+            }
+        }
+    }
+
+    private static void decodeSound(String soundName, boolean preloading) {
+        try {
+            long maxBytes = ConfigSystem.client.controlSettings.soundCacheSize.value * 1024L * 1024L;
+            synchronized (decodedSounds) {
+                if (decodedSounds.containsKey(soundName) || (preloading && (cachedBytes >= maxBytes || pendingSounds.contains(soundName)))) {
+                    return;
+                }
+            }
+
+            //Sound names are in the format packID:soundName.
+            String soundDomain = soundName.substring(0, soundName.indexOf(':'));
+            String soundPath = soundName.substring(soundDomain.length() + 1);
+            InputStream soundStream = InterfaceManager.coreInterface.getPackResource("/assets/" + soundDomain + "/sounds/" + soundPath + ".ogg");
+            if (soundStream == null) {
+                missingSounds.add(soundName);
+                return;
+            }
+
+            //Decode the whole file.  Grow the buffer as we go, and trim it at the end so the cache only holds the data.
+            OGGDecoder decoder = new OGGDecoder(soundStream);
+            ByteBuffer decodedData = ByteBuffer.allocateDirect(IStreamDecoder.BUFFER_SIZE);
+            ByteBuffer blockRead;
+            while ((blockRead = decoder.readBlock()) != null) {
+                if (decodedData.remaining() < blockRead.remaining()) {
+                    ByteBuffer newData = ByteBuffer.allocateDirect(Math.max(decodedData.capacity() * 2, decodedData.position() + blockRead.remaining()));
+                    decodedData.flip();
+                    newData.put(decodedData);
+                    decodedData = newData;
+                }
+                decodedData.put(blockRead);
+            }
+            decoder.stop();
+            decodedData.flip();
+            ByteBuffer soundData = ByteBuffer.allocateDirect(decodedData.limit());
+            soundData.put(decodedData).flip();
+            DecodedSound sound = new DecodedSound(soundData, decoder.getSampleRate());
+
+            synchronized (decodedSounds) {
+                if (decodedSounds.containsKey(soundName) || (preloading && cachedBytes + soundData.limit() > maxBytes)) {
+                    return;
+                }
+                //Remove the oldest sounds until we have space.  Always keep the new sound, as it's about to be played.
+                Iterator<DecodedSound> iterator = decodedSounds.values().iterator();
+                while (cachedBytes + soundData.limit() > maxBytes && iterator.hasNext()) {
+                    cachedBytes -= iterator.next().data.limit();
+                    iterator.remove();
+                }
+                decodedSounds.put(soundName, sound);
+                cachedBytes += soundData.limit();
+            }
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Could not decode sound " + soundName + ".  Is it a valid OGG file?");
+            missingSounds.add(soundName);
+        } finally {
+            (preloading ? preloadingSounds : pendingSounds).remove(soundName);
+        }
+    }
+
+    /**
+     * A decoded sound.  The data is mono 16-bit PCM.
+     */
+    public static class DecodedSound {
+        private final ByteBuffer data;
+        public final int sampleRate;
+
+        private DecodedSound(ByteBuffer data, int sampleRate) {
+            this.data = data;
+            this.sampleRate = sampleRate;
+        }
+
+        /**
+         * Returns the PCM data.  This is a new view of the data each call, so it's safe to read from.
+         */
+        public ByteBuffer getData() {
+            return data.duplicate();
+        }
+    }
+}
@@ -40,6 +40,13 @@ public final class ConfigSystem {
     public static JSONConfigExternalDamageOverrides externalDamageOverrides;
     private static File configDirectory;
 
+    /**
+     * Returns the folder configs are stored in, or null if configs haven't been loaded.
+     */
+    public static File getConfigDirectory() {
+        return configDirectory;
+    }
+
     /**
      * Called to load the config objects from the files in the passed-in folder.
      * If a required file is not present, one will be created at the end of the loading phase.
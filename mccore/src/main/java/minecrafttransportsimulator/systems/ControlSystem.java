@@ -25,9 +25,6 @@ import minecrafttransportsimulator.packets.instances.PacketEntityCameraChange;
 import minecrafttransportsimulator.packets.instances.PacketEntityCustomKeypress;
 import minecrafttransportsimulator.packets.instances.PacketEntityInteract;
 import minecrafttransportsimulator.packets.instances.PacketEntityInteractGUI;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableIncrement;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableSet;
-import minecrafttransportsimulator.packets.instances.PacketEntityVariableToggle;
 import minecrafttransportsimulator.packets.instances.PacketPartGun;
 import minecrafttransportsimulator.packets.instances.PacketPartSeat;
 import minecrafttransportsimulator.packets.instances.PacketPartSeat.SeatAction;
@@ -219,11 +216,11 @@ public final class ControlSystem {
 
     private static void controlBrake(EntityVehicleF_Physics vehicle, ControlsJoystick joystickBrakeAxis, ControlsJoystick joystickBrakeButton, ControlsKeyboard keyboardBrakeButton, ControlsKeyboard parkingBrakeButton) {
         if (parkingBrakeButton.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(vehicle.parkingBrakeVar));
+            vehicle.parkingBrakeVar.requestToggle();
         }
         double brakeValue = joystickBrakeAxis.isJoystickActive() ? joystickBrakeAxis.getAxisState(true) : ((joystickBrakeButton.isPressed() || keyboardBrakeButton.isPressed()) ? EntityVehicleF_Physics.MAX_BRAKE : 0);
         if (brakeValue != vehicle.brakeVar.currentValue) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(vehicle.brakeVar, brakeValue));
+            vehicle.brakeVar.requestSet(brakeValue);
         }
     }
 
@@ -282,24 +279,24 @@ public final class ControlSystem {
         if (axis.isJoystickActive()) {
             double axisValue = axis.getAxisState(false);
             if (Double.isNaN(axisValue)) {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(variable, 0));
+                variable.requestSet(0);
             } else {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(variable, bounds * (-1 + 2 * axisValue)));
+                variable.requestSet(bounds * (-1 + 2 * axisValue));
             }
         } else {
             if (increment.isPressed()) {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(variable, rate * (variable.currentValue < 0 ? 2 : 1), -bounds, bounds));
+                variable.requestIncrement(rate * (variable.currentValue < 0 ? 2 : 1), -bounds, bounds);
                 InterfaceManager.packetInterface.sendToServer(new PacketVehicleControlNotification(vehicle, clientPlayer));
             } else if (decrement.isPressed()) {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(variable, -rate * (variable.currentValue > 0 ? 2 : 1), -bounds, bounds));
+                variable.requestIncrement(-rate * (variable.currentValue > 0 ? 2 : 1), -bounds, bounds);
                 InterfaceManager.packetInterface.sendToServer(new PacketVehicleControlNotification(vehicle, clientPlayer));
             } else if (clientPlayer.equals(vehicle.lastController)) {
                 if (variable.currentValue > dampenRate) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(variable, -dampenRate, 0, bounds));
+                    variable.requestIncrement(-dampenRate, 0, bounds);
                 } else if (variable.currentValue < -dampenRate) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(variable, dampenRate, -bounds, 0));
+                    variable.requestIncrement(dampenRate, -bounds, 0);
                 } else if (variable.currentValue != 0) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(variable, 0));
+                    variable.requestSet(0);
                 }
             }
         }
@@ -307,9 +304,9 @@ public final class ControlSystem {
 
     private static void controlControlTrim(EntityVehicleF_Physics vehicle, ControlsJoystick increment, ControlsJoystick decrement, double bounds, ComputedVariable variable) {
         if (increment.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(variable, 0.1, -bounds, bounds));
+            variable.requestIncrement(0.1, -bounds, bounds);
         } else if (decrement.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(variable, -0.1, -bounds, bounds));
+            variable.requestIncrement(-0.1, -bounds, bounds);
         }
     }
 
@@ -331,23 +328,23 @@ public final class ControlSystem {
 
         //Check for thrust reverse button.
         if (ControlsJoystick.AIRCRAFT_REVERSE.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(aircraft.reverseThrustVar));
+            aircraft.reverseThrustVar.requestToggle();
         }
 
         //Check for gear button.
         if (ControlsJoystick.AIRCRAFT_GEAR.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(aircraft.retractGearVar));
+            aircraft.retractGearVar.requestToggle();
         }
 
         //Increment or decrement throttle.
         if (ControlsJoystick.AIRCRAFT_THROTTLE.isJoystickActive()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(aircraft.throttleVar, ControlsJoystick.AIRCRAFT_THROTTLE.getAxisState(true) * EntityVehicleF_Physics.MAX_THROTTLE));
+            aircraft.throttleVar.requestSet(ControlsJoystick.AIRCRAFT_THROTTLE.getAxisState(true) * EntityVehicleF_Physics.MAX_THROTTLE);
         } else {
             if (ControlsKeyboard.AIRCRAFT_THROTTLE_U.isPressed()) {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(aircraft.throttleVar, EntityVehicleF_Physics.MAX_THROTTLE / 100D, 0, EntityVehicleF_Physics.MAX_THROTTLE));
+                aircraft.throttleVar.requestIncrement(EntityVehicleF_Physics.MAX_THROTTLE / 100D, 0, EntityVehicleF_Physics.MAX_THROTTLE);
             }
             if (ControlsKeyboard.AIRCRAFT_THROTTLE_D.isPressed()) {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(aircraft.throttleVar, -EntityVehicleF_Physics.MAX_THROTTLE / 100D, 0, EntityVehicleF_Physics.MAX_THROTTLE));
+                aircraft.throttleVar.requestIncrement(-EntityVehicleF_Physics.MAX_THROTTLE / 100D, 0, EntityVehicleF_Physics.MAX_THROTTLE);
             }
         }
 
@@ -366,7 +363,7 @@ public final class ControlSystem {
                     }
                 }
                 if (currentFlapSetting != -1 && currentFlapSetting + 1 < aircraft.definition.motorized.flapNotches.size()) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(aircraft.flapDesiredAngleVar, aircraft.definition.motorized.flapNotches.get(currentFlapSetting + 1)));
+                    aircraft.flapDesiredAngleVar.requestSet(aircraft.definition.motorized.flapNotches.get(currentFlapSetting + 1));
                 }
             } else if (ControlsKeyboard.AIRCRAFT_FLAPS_U.isPressed()) {
                 int currentFlapSetting = aircraft.definition.motorized.flapNotches.indexOf((float) aircraft.flapDesiredAngleVar.currentValue);
@@ -381,7 +378,7 @@ public final class ControlSystem {
                     }
                 }
                 if (currentFlapSetting > 0) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(aircraft.flapDesiredAngleVar, aircraft.definition.motorized.flapNotches.get(currentFlapSetting - 1)));
+                    aircraft.flapDesiredAngleVar.requestSet(aircraft.definition.motorized.flapNotches.get(currentFlapSetting - 1));
                 }
             }
         }
@@ -406,7 +403,7 @@ public final class ControlSystem {
 
         //Check to see if we request a different auto-level state.
         if (ConfigSystem.client.controlSettings.heliAutoLevel.value ^ aircraft.autolevelEnabledVar.isActive) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(aircraft.autolevelEnabledVar, ConfigSystem.client.controlSettings.heliAutoLevel.value ? 1 : 0));
+            aircraft.autolevelEnabledVar.requestSet(ConfigSystem.client.controlSettings.heliAutoLevel.value ? 1 : 0);
         }
     }
 
@@ -431,14 +428,14 @@ public final class ControlSystem {
                 //Send throttle over if throttle if cruise control is off, or if throttle is less than the axis level.
                 double throttleLevel = ControlsJoystick.CAR_GAS.getAxisState(true) * EntityVehicleF_Physics.MAX_THROTTLE;
                 if (!powered.autopilotValueVar.isActive || powered.throttleVar.currentValue < throttleLevel) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(powered.throttleVar, throttleLevel));
+                    powered.throttleVar.requestSet(throttleLevel);
                 }
             } else {
                 if (ControlsKeyboard.CAR_GAS.isPressed()) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(powered.throttleVar, EntityVehicleF_Physics.MAX_THROTTLE / 100D, 0, EntityVehicleF_Physics.MAX_THROTTLE));
+                    powered.throttleVar.requestIncrement(EntityVehicleF_Physics.MAX_THROTTLE / 100D, 0, EntityVehicleF_Physics.MAX_THROTTLE);
                 }
                 if (ControlsKeyboard.CAR_BRAKE.isPressed() || ControlsJoystick.CAR_BRAKE_DIGITAL.isPressed()) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableIncrement(powered.throttleVar, -EntityVehicleF_Physics.MAX_THROTTLE / 100D, 0, EntityVehicleF_Physics.MAX_THROTTLE));
+                    powered.throttleVar.requestIncrement(-EntityVehicleF_Physics.MAX_THROTTLE / 100D, 0, EntityVehicleF_Physics.MAX_THROTTLE);
                 }
             }
         } else {
@@ -492,11 +489,11 @@ public final class ControlSystem {
                         powered.engines.forEach(engine -> {
                             //If we don't have velocity, and we have the appropriate control, shift.
                             if (brakeValue > EntityVehicleF_Physics.MAX_BRAKE / 4F && engine.currentGearVar.currentValue >= 0 && powered.axialVelocity < 0.01F) {
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.shiftNeutralVar, 1));
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.shiftDownVar, 1));
+                                engine.shiftNeutralVar.requestSet(1);
+                                engine.shiftDownVar.requestSet(1);
                             } else if (throttleValue > EntityVehicleF_Physics.MAX_THROTTLE / 4F && engine.currentGearVar.currentValue <= 0 && powered.axialVelocity < 0.01F) {
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.shiftNeutralVar, 1));
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.shiftUpVar, 1));
+                                engine.shiftNeutralVar.requestSet(1);
+                                engine.shiftUpVar.requestSet(1);
                             }
                         });
                     }
@@ -508,7 +505,7 @@ public final class ControlSystem {
                     //Send throttle over if throttle if cruise control is off, or if throttle is greater than the current value.
                     double throttleLevel = ControlsJoystick.CAR_GAS.getAxisState(true);
                     if (!powered.autopilotValueVar.isActive || throttleLevel > powered.throttleVar.currentValue) {
-                        InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(powered.throttleVar, throttleLevel));
+                        powered.throttleVar.requestSet(throttleLevel);
                     }
                 } else {
                     if (ControlsKeyboardDynamic.CAR_SLOW.isPressed()) {
@@ -535,10 +532,10 @@ public final class ControlSystem {
                 }
             }
             if (throttleRequest != -999 && powered.throttleVar.currentValue != throttleRequest) {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(powered.throttleVar, throttleRequest));
+                powered.throttleVar.requestSet(throttleRequest);
             }
             if (brakeRequest != -999 && powered.brakeVar.currentValue != brakeRequest) {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(powered.brakeVar, brakeRequest));
+                powered.brakeVar.requestSet(brakeRequest);
             }
         }
 
@@ -574,24 +571,24 @@ public final class ControlSystem {
                 gearNumber = 11;
             }
             powered.engines.forEach(engine -> {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(engine.shiftSelectionVar, gearNumber));
+                engine.shiftSelectionVar.requestSet(gearNumber);
             });
         } else {
             if (ControlsKeyboardDynamic.CAR_SHIFT_NU.isPressed() || ControlsKeyboardDynamic.CAR_SHIFT_ND.isPressed()) {
                 powered.engines.forEach(engine -> {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.shiftNeutralVar));
+                    engine.shiftNeutralVar.requestToggle();
                 });
             } else {
                 if (ControlsKeyboard.CAR_SHIFT_U.isPressed()) {
                     powered.engines.forEach(engine -> {
                         if (engine.isAutomaticVar.isActive) {
                             if (engine.currentGearVar.currentValue < 0) {
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.shiftNeutralVar));
+                                engine.shiftNeutralVar.requestToggle();
                             } else if (engine.currentGearVar.currentValue == 0) {
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.shiftUpVar));
+                                engine.shiftUpVar.requestToggle();
                             }
                         } else {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.shiftUpVar));
+                            engine.shiftUpVar.requestToggle();
                         }
                     });
                 }
@@ -599,12 +596,12 @@ public final class ControlSystem {
                     powered.engines.forEach(engine -> {
                         if (engine.isAutomaticVar.isActive) {
                             if (engine.currentGearVar.currentValue > 0) {
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.shiftNeutralVar));
+                                engine.shiftNeutralVar.requestToggle();
                             } else if (engine.currentGearVar.currentValue == 0) {
-                                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.shiftDownVar));
+                                engine.shiftDownVar.requestToggle();
                             }
                         } else {
-                            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(engine.shiftDownVar));
+                            engine.shiftDownVar.requestToggle();
                         }
                     });
                 }
@@ -613,21 +610,21 @@ public final class ControlSystem {
 
         //Check if horn button is pressed.
         if (ControlsKeyboard.CAR_HORN.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(powered.hornVar, 1));
+            powered.hornVar.requestSet(1);
         } else if (ControlsKeyboard.CAR_HORN.justReleased()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableSet(powered.hornVar, 0));
+            powered.hornVar.requestSet(0);
         }
 
         //Check for lights.
         if (ControlsKeyboard.CAR_LIGHTS.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(powered.runningLightVar));
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(powered.headLightVar));
+            powered.runningLightVar.requestToggle();
+            powered.headLightVar.requestToggle();
         }
         if (ControlsKeyboard.CAR_TURNSIGNAL_L.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(powered.leftTurnLightVar));
+            powered.leftTurnLightVar.requestToggle();
         }
         if (ControlsKeyboard.CAR_TURNSIGNAL_R.isPressed()) {
-            InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(powered.rightTurnLightVar));
+            powered.rightTurnLightVar.requestToggle();
         }
 
         //Change turn signal status depending on turning status.
@@ -638,20 +635,20 @@ public final class ControlSystem {
             if (!powered.turningLeft && powered.rudderInputVar.currentValue < -20) {
                 powered.turningLeft = true;
                 powered.turningCooldown = 40;
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(powered.leftTurnLightVar));
+                powered.leftTurnLightVar.requestToggle();
             }
             if (!powered.turningRight && powered.rudderInputVar.currentValue > 20) {
                 powered.turningRight = true;
                 powered.turningCooldown = 40;
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(powered.rightTurnLightVar));
+                powered.rightTurnLightVar.requestToggle();
             }
             if (powered.turningLeft && (powered.rudderInputVar.currentValue > 0 || powered.turningCooldown == 0)) {
                 powered.turningLeft = false;
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(powered.leftTurnLightVar));
+                powered.leftTurnLightVar.requestToggle();
             }
             if (powered.turningRight && (powered.rudderInputVar.currentValue < 0 || powered.turningCooldown == 0)) {
                 powered.turningRight = false;
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityVariableToggle(powered.rightTurnLightVar));
+                powered.rightTurnLightVar.requestToggle();
             }
             if (powered.velocity != 0 && powered.turningCooldown > 0 && powered.rudderInputVar.currentValue == 0) {
                 --powered.turningCooldown;
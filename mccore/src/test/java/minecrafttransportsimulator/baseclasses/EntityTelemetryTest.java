@@ -0,0 +1,61 @@
+package minecrafttransportsimulator.baseclasses;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.baseclasses.EntityTelemetry.TimingType;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.HeadlessHarness;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+
+/**
+ * Checks the labels of the telemetry report, and that removed entities are dropped from it.
+ *
+ * @author don_bruce
+ */
+public class EntityTelemetryTest {
+    private static final String CAR_ENTITY_NAME = HeadlessHarness.PACK_ID + ":" + HeadlessHarness.CAR + " @";
+
+    @BeforeAll
+    public static void init() {
+        HeadlessHarness.init();
+    }
+
+    private static boolean reportContains(List<String> report, String text) {
+        return report.stream().anyMatch(line -> line.contains(text));
+    }
+
+    @Test
+    public void rendersAreReportedPerCall() {
+        HeadlessWorld world = new HeadlessWorld(64);
+        EntityVehicleF_Physics car = HeadlessHarness.spawnVehicle(world, HeadlessHarness.CAR, new Point3D(0, 66, 0));
+        world.tick();
+        EntityTelemetry telemetry = world.getTelemetry();
+        //Many frames in one tick shouldn't make the render time look like it's per tick.
+        for (int i = 0; i < 10; ++i) {
+            telemetry.record(car, TimingType.RENDER, 2000);
+        }
+        List<String> report = telemetry.getReport(5);
+        assertTrue(reportContains(report, "2.0us/call"), report.toString());
+        assertTrue(reportContains(report, "ms/t"), report.toString());
+    }
+
+    @Test
+    public void removedEntitiesAreDropped() {
+        HeadlessWorld world = new HeadlessWorld(64);
+        EntityVehicleF_Physics car = HeadlessHarness.spawnVehicle(world, HeadlessHarness.CAR, new Point3D(0, 66, 0));
+        world.tick();
+        assertTrue(reportContains(world.getTelemetry().getReport(5), CAR_ENTITY_NAME));
+
+        car.remove();
+        List<String> report = world.getTelemetry().getReport(5);
+        assertFalse(reportContains(report, CAR_ENTITY_NAME), report.toString());
+        //Definition stats are kept, as they're for all entities of the definition.
+        assertTrue(reportContains(report, HeadlessHarness.PACK_ID + ":" + HeadlessHarness.CAR), report.toString());
+    }
+}
@@ -0,0 +1,51 @@
+package minecrafttransportsimulator.entities.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.HeadlessHarness;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+
+/**
+ * Checks that variable slots are dense per definition, and that slot lookups return the same variables as name lookups.
+ *
+ * @author don_bruce
+ */
+public class VariableSlotTest {
+
+    @BeforeAll
+    public static void init() {
+        HeadlessHarness.init();
+    }
+
+    @Test
+    public void slotsAreDensePerDefinition() {
+        HeadlessWorld world = new HeadlessWorld(64);
+        EntityVehicleF_Physics car = HeadlessHarness.spawnVehicle(world, HeadlessHarness.CAR, new Point3D(0, 66, 0));
+        EntityVehicleF_Physics truck = HeadlessHarness.spawnVehicle(world, HeadlessHarness.TRUCK, new Point3D(20, 66, 0));
+        world.tick();
+
+        //A variable only one definition uses doesn't take a slot in the other.
+        int carSlotCount = car.definition.variableSlots.getSlotCount();
+        int truckSlotCount = truck.definition.variableSlots.getSlotCount();
+        int carSlot = car.getVariableSlot("variableslottest_car");
+        assertEquals(carSlotCount, carSlot);
+        assertEquals(truckSlotCount, truck.definition.variableSlots.getSlotCount());
+        assertEquals(truckSlotCount, truck.getVariableSlot("variableslottest_truck"));
+
+        //Entities of the same definition share slots.
+        EntityVehicleF_Physics secondCar = HeadlessHarness.spawnVehicle(world, HeadlessHarness.CAR, new Point3D(40, 66, 0));
+        assertEquals(carSlot, secondCar.getVariableSlot("variableslottest_car"));
+
+        //Slot lookups are the same variable as name lookups, per entity.
+        assertSame(car.getOrCreateVariable("variableslottest_car"), car.getOrCreateVariable(carSlot));
+        assertSame(secondCar.getOrCreateVariable("variableslottest_car"), secondCar.getOrCreateVariable(carSlot));
+        assertNotEquals(car.getOrCreateVariable(carSlot), secondCar.getOrCreateVariable(carSlot));
+    }
+}
@@ -0,0 +1,97 @@
+package minecrafttransportsimulator.entities.instances;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.mcinterface.HeadlessHarness;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+
+/**
+ * Ticks the sample vehicles in a {@link HeadlessWorld}, to check that they settle on the ground, and drive
+ * off once started.  The world ground is at y=64, so wheels rest on the top of that block.
+ *
+ * @author don_bruce
+ */
+public class VehicleTickTest {
+    private static final int GROUND_HEIGHT = 64;
+    private HeadlessWorld world;
+
+    @BeforeAll
+    public static void init() {
+        HeadlessHarness.init();
+    }
+
+    @BeforeEach
+    public void createWorld() {
+        world = new HeadlessWorld(GROUND_HEIGHT);
+        HeadlessHarness.coreInterface.errors.clear();
+    }
+
+    private EntityVehicleF_Physics spawnAndSettle(String systemName) {
+        EntityVehicleF_Physics vehicle = HeadlessHarness.spawnVehicle(world, systemName, new Point3D(0, GROUND_HEIGHT + 2, 0));
+        for (int i = 0; i < 100; ++i) {
+            world.tick();
+        }
+        return vehicle;
+    }
+
+    private void assertSettled(EntityVehicleF_Physics vehicle) {
+        assertTrue(!vehicle.groundDeviceCollective.groundedGroundDevices.isEmpty(), "Vehicle not on ground");
+        assertEquals(0, vehicle.velocity, 0.01);
+        assertTrue(vehicle.position.y > GROUND_HEIGHT && vehicle.position.y < GROUND_HEIGHT + 1, "Vehicle at wrong height " + vehicle.position.y);
+    }
+
+    private void assertDrivesOff(EntityVehicleF_Physics vehicle, double minDistance) {
+        Point3D startPosition = vehicle.position.copy();
+        HeadlessHarness.startVehicle(vehicle, 1.0);
+        for (int i = 0; i < 400; ++i) {
+            world.tick();
+        }
+        assertTrue(vehicle.position.distanceTo(startPosition) > minDistance, "Vehicle only moved " + vehicle.position.distanceTo(startPosition));
+        assertTrue(vehicle.position.y > GROUND_HEIGHT, "Vehicle fell through the ground");
+        assertTrue(HeadlessHarness.coreInterface.errors.isEmpty(), HeadlessHarness.coreInterface.errors.toString());
+    }
+
+    @Test
+    public void carSettlesAndDrives() {
+        EntityVehicleF_Physics vehicle = spawnAndSettle(HeadlessHarness.CAR);
+        assertEquals(6, vehicle.allParts.size());
+        assertSettled(vehicle);
+        assertDrivesOff(vehicle, 50);
+    }
+
+    @Test
+    public void truckSettlesAndDrives() {
+        EntityVehicleF_Physics vehicle = spawnAndSettle(HeadlessHarness.TRUCK);
+        assertSettled(vehicle);
+        assertDrivesOff(vehicle, 20);
+    }
+
+    @Test
+    public void aircraftSettlesAndTaxis() {
+        EntityVehicleF_Physics vehicle = spawnAndSettle(HeadlessHarness.AIRCRAFT);
+        assertSettled(vehicle);
+        assertDrivesOff(vehicle, 50);
+    }
+
+    @Test
+    public void vehicleStopsAtWall() {
+        //Wall of stone 10 blocks in front of the car, which it should hit and not pass through.
+        for (int x = -5; x <= 5; ++x) {
+            for (int y = GROUND_HEIGHT; y < GROUND_HEIGHT + 4; ++y) {
+                world.setSolid(x, y, 10, true);
+            }
+        }
+        EntityVehicleF_Physics vehicle = spawnAndSettle(HeadlessHarness.CAR);
+        HeadlessHarness.startVehicle(vehicle, 1.0);
+        for (int i = 0; i < 200; ++i) {
+            world.tick();
+        }
+        assertTrue(vehicle.position.z < 10, "Car passed through wall to " + vehicle.position.z);
+    }
+}
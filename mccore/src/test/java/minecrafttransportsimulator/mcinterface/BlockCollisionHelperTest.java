@@ -0,0 +1,270 @@
+package minecrafttransportsimulator.mcinterface;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Point3D;
+
+/**
+ * Checks that {@link BlockCollisionHelper} gives the same results as the list-of-boxes code the interfaces
+ * used before it.  Layouts are random blocks made of full blocks, slabs and stairs, and boxes are random
+ * sizes and positions in them, moving in random directions.  The reference code here is a copy of the old
+ * interface code, with MC's AxisAlignedBB replaced by double arrays.
+ *
+ * @author don_bruce
+ */
+public class BlockCollisionHelperTest {
+    private static final int LAYOUT_SIZE = 8;
+    private static final int LAYOUTS = 200;
+    private static final int BOXES_PER_LAYOUT = 200;
+    private static final double[][] FULL_BLOCK = {{0, 0, 0, 1, 1, 1}};
+    private static final double[][] SLAB = {{0, 0, 0, 1, 0.5, 1}};
+    private static final double[][] STAIRS = {{0, 0, 0, 1, 0.5, 1}, {0, 0.5, 0.5, 1, 1, 1}};
+    private static final double[][][] SHAPES = {null, null, FULL_BLOCK, SLAB, STAIRS};
+
+    private final Random random = new Random(1234);
+
+    private int[][][] createLayout() {
+        int[][][] layout = new int[LAYOUT_SIZE][LAYOUT_SIZE][LAYOUT_SIZE];
+        for (int i = 0; i < LAYOUT_SIZE; ++i) {
+            for (int j = 0; j < LAYOUT_SIZE; ++j) {
+                for (int k = 0; k < LAYOUT_SIZE; ++k) {
+                    layout[i][j][k] = random.nextInt(SHAPES.length);
+                }
+            }
+        }
+        return layout;
+    }
+
+    private double[][] getShape(int[][][] layout, int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= LAYOUT_SIZE || y >= LAYOUT_SIZE || z >= LAYOUT_SIZE) {
+            return null;
+        } else {
+            return SHAPES[layout[x][y][z]];
+        }
+    }
+
+    private BoundingBox createBox() {
+        Point3D center = new Point3D(random.nextDouble() * LAYOUT_SIZE, random.nextDouble() * LAYOUT_SIZE, random.nextDouble() * LAYOUT_SIZE);
+        return new BoundingBox(center, 0.1 + random.nextDouble() * 1.5, 0.1 + random.nextDouble() * 1.5, 0.1 + random.nextDouble() * 1.5);
+    }
+
+    private double randomMotion() {
+        switch (random.nextInt(3)) {
+            case 0:
+                return 0;
+            case 1:
+                return random.nextDouble() * 2;
+            default:
+                return -random.nextDouble() * 2;
+        }
+    }
+
+    private static boolean intersects(double[] a, double[] b) {
+        return a[0] < b[3] && a[3] > b[0] && a[1] < b[4] && a[4] > b[1] && a[2] < b[5] && a[5] > b[2];
+    }
+
+    private static double[] offset(double[] bounds, int x, int y, int z) {
+        return new double[] {bounds[0] + x, bounds[1] + y, bounds[2] + z, bounds[3] + x, bounds[4] + y, bounds[5] + z};
+    }
+
+    /**
+     * Old collision code.  If allBoxesOfBlock is false, only boxes that intersect are added, as the 1.12.2
+     * interface did with addCollisionBoxToList.  If true, all boxes of a block are added if any intersect,
+     * as the 1.16.5 interface did with joinIsNotEmpty and toAabbs.
+     */
+    private void referenceCollisions(int[][][] layout, BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater, boolean allBoxesOfBlock) {
+        double[] mcBox = {box.globalCenter.x - box.widthRadius, box.globalCenter.y - box.heightRadius, box.globalCenter.z - box.depthRadius, box.globalCenter.x + box.widthRadius, box.globalCenter.y + box.heightRadius, box.globalCenter.z + box.depthRadius};
+        List<double[]> collidingAABBs = new ArrayList<>();
+        box.collidingBlockPositions.clear();
+        for (int i = (int) Math.floor(mcBox[0]); i < Math.ceil(mcBox[3]); ++i) {
+            for (int j = (int) Math.floor(mcBox[1]); j < Math.ceil(mcBox[4]); ++j) {
+                for (int k = (int) Math.floor(mcBox[2]); k < Math.ceil(mcBox[5]); ++k) {
+                    double[][] shape = getShape(layout, i, j, k);
+                    if (shape != null) {
+                        List<double[]> blockAABBs = new ArrayList<>();
+                        boolean anyIntersect = false;
+                        for (double[] bounds : shape) {
+                            double[] colBox = offset(bounds, i, j, k);
+                            if (intersects(mcBox, colBox)) {
+                                anyIntersect = true;
+                                blockAABBs.add(colBox);
+                            } else if (allBoxesOfBlock) {
+                                blockAABBs.add(colBox);
+                            }
+                        }
+                        if (anyIntersect) {
+                            collidingAABBs.addAll(blockAABBs);
+                            box.collidingBlockPositions.add(new Point3D(i, j, k));
+                        }
+                    }
+                }
+            }
+        }
+
+        box.currentCollisionDepth.set(0D, 0D, 0D);
+        double boxCollisionDepth;
+        for (double[] colBox : collidingAABBs) {
+            if (collisionMotion.x > 0) {
+                boxCollisionDepth = mcBox[3] - colBox[0];
+                if (box.currentCollisionDepth.x < boxCollisionDepth) {
+                    box.currentCollisionDepth.x = boxCollisionDepth;
+                }
+            } else if (collisionMotion.x < 0) {
+                boxCollisionDepth = -(colBox[3] - mcBox[0]);
+                if (box.currentCollisionDepth.x > boxCollisionDepth) {
+                    box.currentCollisionDepth.x = boxCollisionDepth;
+                }
+            }
+            if (collisionMotion.y > 0) {
+                boxCollisionDepth = mcBox[4] - colBox[1];
+                if (box.currentCollisionDepth.y < boxCollisionDepth) {
+                    box.currentCollisionDepth.y = boxCollisionDepth;
+                }
+            } else if (collisionMotion.y < 0) {
+                boxCollisionDepth = -(colBox[4] - mcBox[1]);
+                if (box.currentCollisionDepth.y > boxCollisionDepth) {
+                    box.currentCollisionDepth.y = boxCollisionDepth;
+                }
+            }
+            if (collisionMotion.z > 0) {
+                boxCollisionDepth = mcBox[5] - colBox[2];
+                if (box.currentCollisionDepth.z < boxCollisionDepth) {
+                    box.currentCollisionDepth.z = boxCollisionDepth;
+                }
+            } else if (collisionMotion.z < 0) {
+                boxCollisionDepth = -(colBox[5] - mcBox[2]);
+                if (box.currentCollisionDepth.z > boxCollisionDepth) {
+                    box.currentCollisionDepth.z = boxCollisionDepth;
+                }
+            }
+        }
+
+        if (ignoreIfGreater) {
+            if (collisionMotion.x > 0 && box.currentCollisionDepth.x > collisionMotion.x) {
+                box.currentCollisionDepth.x = collisionMotion.x;
+            } else if (collisionMotion.x < 0 && box.currentCollisionDepth.x < collisionMotion.x) {
+                box.currentCollisionDepth.x = collisionMotion.x;
+            }
+            if (collisionMotion.y > 0 && box.currentCollisionDepth.y > collisionMotion.y) {
+                box.currentCollisionDepth.y = collisionMotion.y;
+            } else if (collisionMotion.y < 0 && box.currentCollisionDepth.y < collisionMotion.y) {
+                box.currentCollisionDepth.y = collisionMotion.y;
+            }
+            if (collisionMotion.z > 0 && box.currentCollisionDepth.z > collisionMotion.z) {
+                box.currentCollisionDepth.z = collisionMotion.z;
+            } else if (collisionMotion.z < 0 && box.currentCollisionDepth.z < collisionMotion.z) {
+                box.currentCollisionDepth.z = collisionMotion.z;
+            }
+        }
+
+        if (box.currentCollisionDepth.isZero()) {
+            box.collidingBlockPositions.clear();
+        }
+    }
+
+    /**
+     * New collision code, as the interfaces call the helper.  allBoxesOfBlock is the same as for the reference code.
+     */
+    private void helperCollisions(BlockCollisionHelper helper, int[][][] layout, BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater, boolean allBoxesOfBlock) {
+        helper.startCheck(box, null);
+        box.clearCollidingBlockPositions();
+        for (int i = (int) Math.floor(helper.minX); i < Math.ceil(helper.maxX); ++i) {
+            for (int j = (int) Math.floor(helper.minY); j < Math.ceil(helper.maxY); ++j) {
+                for (int k = (int) Math.floor(helper.minZ); k < Math.ceil(helper.maxZ); ++k) {
+                    double[][] shape = getShape(layout, i, j, k);
+                    if (shape != null) {
+                        boolean collisionBoxIntersected = false;
+                        if (allBoxesOfBlock) {
+                            int priorBoxCount = helper.getBoxCount();
+                            for (double[] bounds : shape) {
+                                if (helper.addBox(bounds[0] + i, bounds[1] + j, bounds[2] + k, bounds[3] + i, bounds[4] + j, bounds[5] + k)) {
+                                    collisionBoxIntersected = true;
+                                }
+                            }
+                            if (!collisionBoxIntersected) {
+                                helper.resetBoxCount(priorBoxCount);
+                            }
+                        } else {
+                            for (double[] bounds : shape) {
+                                if (helper.intersects(bounds[0] + i, bounds[1] + j, bounds[2] + k, bounds[3] + i, bounds[4] + j, bounds[5] + k)) {
+                                    helper.addBox(bounds[0] + i, bounds[1] + j, bounds[2] + k, bounds[3] + i, bounds[4] + j, bounds[5] + k);
+                                    collisionBoxIntersected = true;
+                                }
+                            }
+                        }
+                        if (collisionBoxIntersected) {
+                            box.addCollidingBlockPosition(i, j, k);
+                        }
+                    }
+                }
+            }
+        }
+        helper.applyCollisionDepths(box, collisionMotion, ignoreIfGreater);
+    }
+
+    private void checkEquivalence(boolean allBoxesOfBlock) {
+        BlockCollisionHelper helper = new BlockCollisionHelper();
+        for (int layoutIndex = 0; layoutIndex < LAYOUTS; ++layoutIndex) {
+            int[][][] layout = createLayout();
+            for (int boxIndex = 0; boxIndex < BOXES_PER_LAYOUT; ++boxIndex) {
+                BoundingBox referenceBox = createBox();
+                BoundingBox helperBox = new BoundingBox(referenceBox.globalCenter.copy(), referenceBox.widthRadius, referenceBox.heightRadius, referenceBox.depthRadius);
+                Point3D collisionMotion = new Point3D(randomMotion(), randomMotion(), randomMotion());
+                boolean ignoreIfGreater = random.nextBoolean();
+                referenceCollisions(layout, referenceBox, collisionMotion, ignoreIfGreater, allBoxesOfBlock);
+                helperCollisions(helper, layout, helperBox, collisionMotion, ignoreIfGreater, allBoxesOfBlock);
+                String message = "Layout " + layoutIndex + ", box " + boxIndex;
+                assertEquals(referenceBox.currentCollisionDepth, helperBox.currentCollisionDepth, message);
+                assertEquals(referenceBox.collidingBlockPositions, helperBox.collidingBlockPositions, message);
+            }
+        }
+    }
+
+    @Test
+    public void intersectingBoxesMatchReference() {
+        checkEquivalence(false);
+    }
+
+    @Test
+    public void allBoxesOfBlockMatchReference() {
+        checkEquivalence(true);
+    }
+
+    @Test
+    public void knownAirMatchesSet() {
+        BlockCollisionHelper helper = new BlockCollisionHelper();
+        Set<Long> knownAir = new HashSet<>();
+        for (int i = 0; i < 10000; ++i) {
+            int x = random.nextInt(200) - 100;
+            int y = random.nextInt(300) - 20;
+            int z = random.nextInt(200) - 100;
+            helper.setKnownAir(x, y, z);
+            knownAir.add(getKey(x, y, z));
+        }
+        for (int x = -100; x < 100; ++x) {
+            for (int z = -100; z < 100; ++z) {
+                int y = random.nextInt(300) - 20;
+                assertEquals(knownAir.contains(getKey(x, y, z)), helper.isKnownAir(x, y, z), x + "," + y + "," + z);
+            }
+        }
+        helper.clearKnownAir();
+        for (int x = -100; x < 100; ++x) {
+            for (int y = -20; y < 280; ++y) {
+                assertEquals(false, helper.isKnownAir(x, y, 0));
+            }
+        }
+    }
+
+    private static long getKey(int x, int y, int z) {
+        return ((long) x << 40) ^ ((long) y << 20) ^ (z & 0xFFFFFL);
+    }
+}
@@ -0,0 +1,120 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.entities.instances.PartEngine;
+import minecrafttransportsimulator.items.instances.ItemVehicle;
+import minecrafttransportsimulator.jsondefs.AJSONBase;
+import minecrafttransportsimulator.jsondefs.JSONConfigSettings;
+import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.packloading.JSONParser;
+import minecrafttransportsimulator.packloading.PackParser;
+import minecrafttransportsimulator.packloading.PackResourceLoader.ItemClassification;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Sets up the mod to run without MC, for tests and benchmarks.  This creates the headless interfaces, loads
+ * the default config, and registers the core items and the sample definitions in the test resources.
+ * The sample pack has a car, a truck and an aircraft, which can be spawned into a {@link HeadlessWorld},
+ * and a signal controller.  Text can be rendered, but only to count the vertices.
+ *
+ * @author don_bruce
+ */
+public final class HeadlessHarness {
+    public static final String PACK_ID = "mtsheadless";
+    public static final String CAR = "car";
+    public static final String TRUCK = "truck";
+    public static final String AIRCRAFT = "plane";
+    public static final String SIGNAL_CONTROLLER = "signal_controller";
+    private static final String[] PARTS = {"wheel", "seat", "engine_car", "engine_truck", "engine_plane", "propeller"};
+    private static final String[] VEHICLES = {CAR, TRUCK, AIRCRAFT};
+
+    public static HeadlessInterfaceCore coreInterface;
+    public static HeadlessInterfacePacket packetInterface;
+    public static HeadlessInterfaceRender renderInterface;
+
+    private HeadlessHarness() {
+    }
+
+    /**
+     * Sets up the mod.  Only does anything the first time it's called, so every test can call it.
+     */
+    public static synchronized void init() {
+        if (coreInterface == null) {
+            coreInterface = new HeadlessInterfaceCore();
+            packetInterface = new HeadlessInterfacePacket();
+            renderInterface = new HeadlessInterfaceRender();
+            File gameDirectory;
+            try {
+                gameDirectory = Files.createTempDirectory("mtsheadless").toFile();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            new InterfaceManager("mts", gameDirectory.getAbsolutePath(), coreInterface, packetInterface, null, null, null, renderInterface);
+            APacketBase.initPackets((byte) 0);
+            ConfigSystem.loadFromDisk(gameDirectory, false);
+            PackParser.addDefaultItems();
+            for (String systemName : PARTS) {
+                registerSample(systemName, ItemClassification.PART);
+            }
+            for (String systemName : VEHICLES) {
+                registerSample(systemName, ItemClassification.VEHICLE);
+            }
+            registerSample(SIGNAL_CONTROLLER, ItemClassification.DECOR);
+            ConfigSystem.settings.fuel.fuels = JSONConfigSettings.ConfigFuel.getDefaultFuels();
+            ConfigSystem.settings.general.packSpeedFactors.value.put(PACK_ID, 1.0);
+            ConfigSystem.settings.general.packVehicleScales.value.put(PACK_ID, 1.0);
+            ConfigSystem.settings.damage.packBulletDamageFactors.value.put(PACK_ID, 1.0);
+        }
+    }
+
+    private static void registerSample(String systemName, ItemClassification classification) {
+        String prefixFolders = "/assets/" + PACK_ID + "/jsondefs/";
+        try {
+            AJSONBase definition = JSONParser.parseStream(coreInterface.getPackResource(prefixFolders + classification.toDirectory() + systemName + ".json"), classification.representingClass, PACK_ID, systemName);
+            definition.packID = PACK_ID;
+            definition.systemName = systemName;
+            definition.classification = classification;
+            definition.prefixFolders = prefixFolders;
+            PackParser.registerItem(definition);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Spawns the sample vehicle with the passed-in name into the world, with its default parts and fuel,
+     * the same as if a player had placed it.
+     */
+    public static EntityVehicleF_Physics spawnVehicle(HeadlessWorld world, String systemName, Point3D position) {
+        ItemVehicle item = PackParser.getItem(PACK_ID, systemName);
+        EntityVehicleF_Physics vehicle = new EntityVehicleF_Physics(world, null, item, null);
+        vehicle.position.set(position);
+        vehicle.prevPosition.set(position);
+        vehicle.world.spawnEntity(vehicle);
+        vehicle.addPartsPostAddition(null, null);
+        return vehicle;
+    }
+
+    /**
+     * Starts all engines on the vehicle with their starters, puts them in first gear, and sets the throttle,
+     * so the vehicle drives or flies off once the engines catch.
+     */
+    public static void startVehicle(EntityVehicleF_Physics vehicle, double throttle) {
+        for (APart part : vehicle.allParts) {
+            if (part instanceof PartEngine) {
+                PartEngine engine = (PartEngine) part;
+                engine.autoStartEngine();
+                if (engine.currentGearVar.currentValue == 0) {
+                    engine.currentGearVar.setTo(1, false);
+                }
+            }
+        }
+        vehicle.throttleVar.setTo(throttle, false);
+    }
+}
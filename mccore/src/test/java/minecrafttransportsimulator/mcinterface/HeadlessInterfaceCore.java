@@ -0,0 +1,78 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import minecrafttransportsimulator.items.components.AItemBase;
+
+/**
+ * {@link IInterfaceCore} for the headless world.  Pack resources are loaded from the classpath,
+ * so test resources can hold the definitions to load.  Errors are counted, so tests can check none happened.
+ *
+ * @author don_bruce
+ */
+public class HeadlessInterfaceCore implements IInterfaceCore {
+    public final List<String> errors = new ArrayList<>();
+
+    @Override
+    public boolean isGameFlattened() {
+        return true;
+    }
+
+    @Override
+    public boolean isModPresent(String modID) {
+        return modID.equals(InterfaceManager.coreModID);
+    }
+
+    @Override
+    public boolean isFluidValid(String fluidID) {
+        return false;
+    }
+
+    @Override
+    public String getModName(String modID) {
+        return modID;
+    }
+
+    @Override
+    public InputStream getPackResource(String resource) {
+        return HeadlessInterfaceCore.class.getResourceAsStream(resource);
+    }
+
+    @Override
+    public void logError(String message) {
+        errors.add(message);
+        System.err.println(message);
+    }
+
+    @Override
+    public IWrapperNBT getNewNBTWrapper() {
+        return new HeadlessNBT();
+    }
+
+    @Override
+    public IWrapperItemStack getAutoGeneratedStack(AItemBase item, IWrapperNBT data) {
+        return new HeadlessItemStack(item, 1, data);
+    }
+
+    @Override
+    public IWrapperItemStack getStackForProperties(String name, int meta, int qty) {
+        return new HeadlessItemStack(null, 0, null);
+    }
+
+    @Override
+    public String getStackItemName(IWrapperItemStack stack) {
+        return stack.getItem() != null ? stack.getItem().getRegistrationName() : "";
+    }
+
+    @Override
+    public boolean isOredictMatch(IWrapperItemStack stackA, IWrapperItemStack stackB) {
+        return false;
+    }
+
+    @Override
+    public List<IWrapperItemStack> getOredictMaterials(String oreName, int stackSize) {
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,91 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**
+ * {@link IInterfacePacket} for the headless world.  There's no network, so packets sent to clients are written
+ * to a buffer to count their size, and kept if {@link #recordPackets} is set.  Packets can be read back
+ * with {@link #readPacket(ByteBuf)}, to check they decode to what was sent.
+ *
+ * @author don_bruce
+ */
+public class HeadlessInterfacePacket implements IInterfacePacket {
+    private final Map<Byte, Class<? extends APacketBase>> packetClasses = new HashMap<>();
+    private final Map<Class<? extends APacketBase>, Byte> packetIndexes = new HashMap<>();
+    private final ByteBuf sizingBuffer = Unpooled.buffer();
+
+    /**Set to keep all packets sent to clients in {@link #sentPackets}.**/
+    public boolean recordPackets;
+    public final List<APacketBase> sentPackets = new ArrayList<>();
+    public long sentPacketCount;
+    public long sentByteCount;
+
+    @Override
+    public void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass) {
+        packetClasses.put(packetIndex, packetClass);
+        packetIndexes.put(packetClass, packetIndex);
+    }
+
+    @Override
+    public byte getPacketIndex(APacketBase packet) {
+        return packetIndexes.get(packet.getClass());
+    }
+
+    @Override
+    public void sendToServer(APacketBase packet) {
+        //No server to send to, this world is the server.
+    }
+
+    @Override
+    public void sendToAllClients(APacketBase packet) {
+        sizingBuffer.clear();
+        packet.writeToBuffer(sizingBuffer);
+        ++sentPacketCount;
+        sentByteCount += sizingBuffer.writerIndex();
+        if (recordPackets) {
+            sentPackets.add(packet);
+        }
+    }
+
+    @Override
+    public void sendToPlayer(APacketBase packet, IWrapperPlayer player) {
+        sendToAllClients(packet);
+    }
+
+    @Override
+    public void writeDataToBuffer(IWrapperNBT data, ByteBuf buf) {
+        ((HeadlessNBT) data).writeToBuffer(buf);
+    }
+
+    @Override
+    public IWrapperNBT readDataFromBuffer(ByteBuf buf) {
+        return HeadlessNBT.readFromBuffer(buf);
+    }
+
+    /**
+     * Creates the packet written to the buffer, as the receiving side would.
+     */
+    public APacketBase readPacket(ByteBuf buf) {
+        try {
+            return packetClasses.get(buf.readByte()).getConstructor(ByteBuf.class).newInstance(buf);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Resets the packet counts, and clears all recorded packets.
+     */
+    public void reset() {
+        sentPackets.clear();
+        sentPacketCount = 0;
+        sentByteCount = 0;
+    }
+}
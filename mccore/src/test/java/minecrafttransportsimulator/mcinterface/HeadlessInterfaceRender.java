@@ -0,0 +1,104 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.guis.components.GUIComponentItem;
+import minecrafttransportsimulator.rendering.GIFParser.ParsedGIF;
+import minecrafttransportsimulator.rendering.RenderableData;
+
+/**
+ * {@link IInterfaceRender} for the headless world.  There's no GPU, so rendered vertices are only counted.
+ * The only texture is the first page of the default font, generated with every char 6 pixels wide,
+ * so text can be laid out.  All other textures are missing.
+ *
+ * @author don_bruce
+ */
+public class HeadlessInterfaceRender implements IInterfaceRender {
+    private static final String FONT_PAGE = "unicode_page_00.png";
+    private static final int FONT_PAGE_SIZE = 128;
+    private final byte[] fontPage;
+
+    /**Number of vertices sent to {@link #renderVertices(RenderableData, boolean)}.**/
+    public long renderedVertexCount;
+
+    public HeadlessInterfaceRender() {
+        BufferedImage image = new BufferedImage(FONT_PAGE_SIZE, FONT_PAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        int charSize = FONT_PAGE_SIZE / 16;
+        for (int charIndex = 0; charIndex < 256; ++charIndex) {
+            int charX = charIndex % 16 * charSize;
+            int charY = charIndex / 16 * charSize;
+            for (int x = 0; x < 6; ++x) {
+                for (int y = 0; y < 7; ++y) {
+                    image.setRGB(charX + x, charY + y, 0xFFFFFFFF);
+                }
+            }
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", stream);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        fontPage = stream.toByteArray();
+    }
+
+    @Override
+    public float[] getBlockBreakTexture(AWrapperWorld world, Point3D position) {
+        return new float[4];
+    }
+
+    @Override
+    public float[] getDefaultBlockTexture(String name) {
+        return new float[4];
+    }
+
+    @Override
+    public InputStream getTextureStream(String name) {
+        return name.endsWith(FONT_PAGE) ? new ByteArrayInputStream(fontPage) : null;
+    }
+
+    @Override
+    public void renderItemModel(GUIComponentItem component) {
+    }
+
+    @Override
+    public void renderVertices(RenderableData data, boolean changedSinceLastRender) {
+        renderedVertexCount += data.vertexObject.vertices.limit() / 8;
+    }
+
+    @Override
+    public void deleteVertices(RenderableData data) {
+    }
+
+    @Override
+    public boolean bindURLTexture(String textureURL, InputStream strea) {
+        return false;
+    }
+
+    @Override
+    public boolean bindURLGIF(String textureURL, ParsedGIF gif) {
+        return false;
+    }
+
+    @Override
+    public int getLightingAtPosition(Point3D position) {
+        return 15;
+    }
+
+    @Override
+    public boolean shouldRenderBoundingBoxes() {
+        return false;
+    }
+
+    @Override
+    public boolean isInView(Point3D center, double radius) {
+        return true;
+    }
+}
@@ -0,0 +1,119 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.util.Objects;
+
+import minecrafttransportsimulator.entities.instances.EntityFluidTank;
+import minecrafttransportsimulator.items.components.AItemBase;
+
+/**
+ * {@link IWrapperItemStack} for the headless world.  Only holds an item, a count and data, as there
+ * are no vanilla items to smelt, brew or burn.  A null item is an empty stack.
+ *
+ * @author don_bruce
+ */
+public class HeadlessItemStack implements IWrapperItemStack {
+    private final AItemBase item;
+    private int size;
+    private IWrapperNBT data;
+
+    public HeadlessItemStack(AItemBase item, int size, IWrapperNBT data) {
+        this.item = item;
+        this.size = item != null ? size : 0;
+        this.data = data;
+    }
+
+    @Override
+    public boolean isCompleteMatch(IWrapperItemStack other) {
+        return other.getItem() == item && Objects.equals(other.getData(), data);
+    }
+
+    @Override
+    public int getFurnaceFuelValue() {
+        return 0;
+    }
+
+    @Override
+    public IWrapperItemStack getSmeltedItem(AWrapperWorld world) {
+        return new HeadlessItemStack(null, 0, null);
+    }
+
+    @Override
+    public int getSmeltingTime(AWrapperWorld world) {
+        return 0;
+    }
+
+    @Override
+    public boolean isBrewingFuel() {
+        return false;
+    }
+
+    @Override
+    public boolean isBrewingVessel() {
+        return false;
+    }
+
+    @Override
+    public boolean isBrewingModifier() {
+        return false;
+    }
+
+    @Override
+    public IWrapperItemStack getBrewedItem(IWrapperItemStack modifierStack) {
+        return new HeadlessItemStack(null, 0, null);
+    }
+
+    @Override
+    public AItemBase getItem() {
+        return item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return item != null ? item.getStackSize() : 64;
+    }
+
+    @Override
+    public int add(int qty) {
+        int newSize = Math.max(0, Math.min(getMaxSize(), size + qty));
+        int remainder = qty - (newSize - size);
+        size = newSize;
+        return remainder;
+    }
+
+    @Override
+    public IWrapperItemStack copy() {
+        return new HeadlessItemStack(item, size, data);
+    }
+
+    @Override
+    public IWrapperItemStack split(int qty) {
+        int splitSize = Math.min(qty, size);
+        size -= splitSize;
+        return new HeadlessItemStack(item, splitSize, data);
+    }
+
+    @Override
+    public boolean interactWith(EntityFluidTank tank, IWrapperPlayer player) {
+        return false;
+    }
+
+    @Override
+    public IWrapperNBT getData() {
+        return data;
+    }
+
+    @Override
+    public void setData(IWrapperNBT data) {
+        this.data = data;
+    }
+}
@@ -0,0 +1,304 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.Point3D;
+
+/**
+ * Map-backed {@link IWrapperNBT} for the headless world.  Follows the same rules as the interface wrappers:
+ * zero and false values are removed rather than stored, and missing values are returned as zero, false or empty.
+ * Stacks are kept in memory, but aren't written to buffers, as nothing sent in packets contains them.
+ *
+ * @author don_bruce
+ */
+public class HeadlessNBT implements IWrapperNBT {
+    private final Map<String, Object> values = new HashMap<>();
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof HeadlessNBT && values.equals(((HeadlessNBT) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    /**
+     * Writes this data to the buffer, for packets.
+     */
+    public void writeToBuffer(ByteBuf buf) {
+        int count = 0;
+        for (Object value : values.values()) {
+            if (!(value instanceof IWrapperItemStack)) {
+                ++count;
+            }
+        }
+        buf.writeInt(count);
+        for (Entry<String, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof IWrapperItemStack) {
+                continue;
+            }
+            writeString(buf, entry.getKey());
+            if (value instanceof Boolean) {
+                buf.writeByte(0);
+            } else if (value instanceof Integer) {
+                buf.writeByte(1);
+                buf.writeInt((Integer) value);
+            } else if (value instanceof Double) {
+                buf.writeByte(2);
+                buf.writeDouble((Double) value);
+            } else if (value instanceof String) {
+                buf.writeByte(3);
+                writeString(buf, (String) value);
+            } else {
+                buf.writeByte(4);
+                ((HeadlessNBT) value).writeToBuffer(buf);
+            }
+        }
+    }
+
+    /**
+     * Reads data written by {@link #writeToBuffer(ByteBuf)}.
+     */
+    public static HeadlessNBT readFromBuffer(ByteBuf buf) {
+        HeadlessNBT data = new HeadlessNBT();
+        for (int count = buf.readInt(); count > 0; --count) {
+            String name = readString(buf);
+            switch (buf.readByte()) {
+                case 0:
+                    data.values.put(name, true);
+                    break;
+                case 1:
+                    data.values.put(name, buf.readInt());
+                    break;
+                case 2:
+                    data.values.put(name, buf.readDouble());
+                    break;
+                case 3:
+                    data.values.put(name, readString(buf));
+                    break;
+                default:
+                    data.values.put(name, readFromBuffer(buf));
+                    break;
+            }
+        }
+        return data;
+    }
+
+    private static void writeString(ByteBuf buf, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buf.writeInt(bytes.length);
+        buf.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readInt()];
+        buf.readBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void setOrRemove(String name, Object value, boolean remove) {
+        if (remove) {
+            values.remove(name);
+        } else {
+            values.put(name, value);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        return values.containsKey(name) && (Boolean) values.get(name);
+    }
+
+    @Override
+    public void setBoolean(String name, boolean value) {
+        setOrRemove(name, value, !value);
+    }
+
+    @Override
+    public int getInteger(String name) {
+        return values.containsKey(name) ? (Integer) values.get(name) : 0;
+    }
+
+    @Override
+    public void setInteger(String name, int value) {
+        setOrRemove(name, value, value == 0);
+    }
+
+    @Override
+    public double getDouble(String name) {
+        return values.containsKey(name) ? (Double) values.get(name) : 0;
+    }
+
+    @Override
+    public void setDouble(String name, double value) {
+        setOrRemove(name, value, value == 0);
+    }
+
+    @Override
+    public String getString(String name) {
+        return values.containsKey(name) ? (String) values.get(name) : "";
+    }
+
+    @Override
+    public void setString(String name, String value) {
+        values.put(name, value);
+    }
+
+    @Override
+    public List<String> getStrings(String name) {
+        return getStrings(name, getInteger(name + "count"));
+    }
+
+    @Override
+    public List<String> getStrings(String name, int count) {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            strings.add(getString(name + i));
+        }
+        return strings;
+    }
+
+    @Override
+    public void setStrings(String name, Collection<String> strings) {
+        setInteger(name + "count", strings.size());
+        int index = 0;
+        for (String value : strings) {
+            setString(name + index++, value);
+        }
+    }
+
+    @Override
+    public UUID getUUID(String name) {
+        return values.containsKey(name) ? UUID.fromString(getString(name)) : null;
+    }
+
+    @Override
+    public void setUUID(String name, UUID value) {
+        setString(name, value.toString());
+    }
+
+    @Override
+    public List<IWrapperItemStack> getStacks(int count) {
+        List<IWrapperItemStack> stacks = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            stacks.add(values.containsKey("stack" + i) ? (IWrapperItemStack) values.get("stack" + i) : new HeadlessItemStack(null, 0, null));
+        }
+        return stacks;
+    }
+
+    @Override
+    public void setStacks(List<IWrapperItemStack> stacks) {
+        for (int i = 0; i < stacks.size(); ++i) {
+            setOrRemove("stack" + i, stacks.get(i).copy(), stacks.get(i).isEmpty());
+        }
+    }
+
+    @Override
+    public Point3D getPoint3d(String name) {
+        return new Point3D(getDouble(name + "x"), getDouble(name + "y"), getDouble(name + "z"));
+    }
+
+    @Override
+    public void setPoint3d(String name, Point3D value) {
+        if (!value.isZero()) {
+            setDouble(name + "x", value.x);
+            setDouble(name + "y", value.y);
+            setDouble(name + "z", value.z);
+        }
+    }
+
+    @Override
+    public List<Point3D> getPoint3ds(String name) {
+        List<Point3D> points = new ArrayList<>();
+        int count = getInteger(name + "count");
+        for (int i = 0; i < count; ++i) {
+            Point3D point = getPoint3d(name + i);
+            if (!point.isZero()) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    @Override
+    public void setPoint3ds(String name, Collection<Point3D> points) {
+        setInteger(name + "count", points.size());
+        int index = 0;
+        for (Point3D value : points) {
+            setPoint3d(name + index++, value);
+        }
+    }
+
+    @Override
+    public Point3D getPoint3dCompact(String name) {
+        return new Point3D(getInteger(name + "x"), getInteger(name + "y"), getInteger(name + "z"));
+    }
+
+    @Override
+    public void setPoint3dCompact(String name, Point3D value) {
+        if (!value.isZero()) {
+            setInteger(name + "x", (int) Math.floor(value.x));
+            setInteger(name + "y", (int) Math.floor(value.y));
+            setInteger(name + "z", (int) Math.floor(value.z));
+        }
+    }
+
+    @Override
+    public List<Point3D> getPoint3dsCompact(String name) {
+        List<Point3D> points = new ArrayList<>();
+        int count = getInteger(name + "count");
+        for (int i = 0; i < count; ++i) {
+            Point3D point = getPoint3dCompact(name + i);
+            if (!point.isZero()) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    @Override
+    public void setPoint3dsCompact(String name, Collection<Point3D> points) {
+        setInteger(name + "count", points.size());
+        int index = 0;
+        for (Point3D value : points) {
+            setPoint3dCompact(name + index++, value);
+        }
+    }
+
+    @Override
+    public IWrapperNBT getData(String name) {
+        return values.get(name) instanceof IWrapperNBT ? (IWrapperNBT) values.get(name) : null;
+    }
+
+    @Override
+    public void setData(String name, IWrapperNBT value) {
+        values.put(name, value);
+    }
+
+    @Override
+    public boolean hasKey(String name) {
+        return values.containsKey(name);
+    }
+
+    @Override
+    public void deleteEntry(String name) {
+        values.remove(name);
+    }
+
+    @Override
+    public Set<String> getAllNames() {
+        return values.keySet();
+    }
+}
@@ -0,0 +1,415 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import minecrafttransportsimulator.baseclasses.BlockHitResult;
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.blocks.components.ABlockBase;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.blocks.components.ABlockBase.BlockMaterial;
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
+import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
+
+/**
+ * Server world that runs without MC, for tests and benchmarks.  The world is a flat voxel world:
+ * all blocks below the ground height are solid full blocks of stone, and all blocks above it are air.
+ * Single blocks may be flipped between the two with {@link #setSolid(int, int, int, boolean)}.
+ * There are no players, vanilla entities, tile entities or weather, and all chunks are loaded.
+ * Call {@link #tick()} to run one server tick.
+ *
+ * @author don_bruce
+ */
+public class HeadlessWorld extends AWrapperWorld {
+    private final int groundHeight;
+    private final Set<Long> flippedBlocks = new HashSet<>();
+    private final IWrapperNBT savedData = new HeadlessNBT();
+    private long time;
+
+    public HeadlessWorld(int groundHeight) {
+        this.groundHeight = groundHeight;
+    }
+
+    /**
+     * Runs one server tick, as the interface would from the world tick events.
+     */
+    public void tick() {
+        tickAll(true);
+        tickAll(false);
+        ++time;
+    }
+
+    /**
+     * Sets the block at the passed-in position to be solid stone or air.
+     */
+    public void setSolid(int x, int y, int z, boolean solid) {
+        long key = getKey(x, y, z);
+        if (solid == y < groundHeight) {
+            flippedBlocks.remove(key);
+        } else {
+            flippedBlocks.add(key);
+        }
+        invalidateBlockCache(x, y, z);
+        collisionHelper.clearKnownAir();
+    }
+
+    /**
+     * Returns true if the block at the passed-in position is solid.
+     */
+    public boolean isSolid(int x, int y, int z) {
+        return y < groundHeight ^ flippedBlocks.contains(getKey(x, y, z));
+    }
+
+    private boolean isSolid(Point3D position) {
+        return isSolid((int) Math.floor(position.x), (int) Math.floor(position.y), (int) Math.floor(position.z));
+    }
+
+    private static long getKey(int x, int y, int z) {
+        return ((x & 0x3FFFFFFL) << 38) | ((y & 0xFFFL) << 26) | (z & 0x3FFFFFFL);
+    }
+
+    @Override
+    public AWrapperWorld getWorld() {
+        return this;
+    }
+
+    @Override
+    public boolean isClient() {
+        return false;
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String getName() {
+        return "headless";
+    }
+
+    @Override
+    public long getMaxHeight() {
+        return 256;
+    }
+
+    @Override
+    public void beginProfiling(String name, boolean subProfile) {
+    }
+
+    @Override
+    public void endProfiling() {
+    }
+
+    @Override
+    public IWrapperNBT getData(String name) {
+        return name.isEmpty() ? savedData : savedData.getData(name);
+    }
+
+    @Override
+    public void setData(String name, IWrapperNBT value) {
+        savedData.setData(name, value);
+    }
+
+    @Override
+    public File getDataFile() {
+        return new File(InterfaceManager.gameDirectory, "headless.dat");
+    }
+
+    @Override
+    public IWrapperEntity getExternalEntity(UUID entityID) {
+        return null;
+    }
+
+    @Override
+    public List<IWrapperEntity> getEntitiesWithin(BoundingBox box) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<IWrapperPlayer> getPlayersWithin(BoundingBox box) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void spawnEntity(AEntityB_Existing entity) {
+        addEntity(entity);
+    }
+
+    @Override
+    public List<IWrapperEntity> attackEntities(Damage damage, Point3D motion, boolean generateList) {
+        return generateList ? new ArrayList<>() : null;
+    }
+
+    @Override
+    public void loadEntities(BoundingBox box, AEntityE_Interactable<?> entityToLoad) {
+    }
+
+    @Override
+    public void populateItemStackEntities(Map<IWrapperEntity, IWrapperItemStack> map, BoundingBox b) {
+    }
+
+    @Override
+    public void removeItemStackEntity(IWrapperEntity entity) {
+    }
+
+    @Override
+    public boolean chunkLoaded(Point3D position) {
+        return true;
+    }
+
+    @Override
+    public ABlockBase getBlock(Point3D position) {
+        return null;
+    }
+
+    @Override
+    protected String getBlockNameInternal(Point3D position) {
+        return isSolid(position) ? "stone" : "air";
+    }
+
+    @Override
+    protected float getBlockHardnessInternal(Point3D position) {
+        return isSolid(position) ? 1.5F : 0;
+    }
+
+    @Override
+    protected float getBlockSlipperinessInternal(Point3D position) {
+        return 0.6F;
+    }
+
+    @Override
+    protected BlockMaterial getBlockMaterialInternal(Point3D position) {
+        return isSolid(position) ? BlockMaterial.STONE : null;
+    }
+
+    @Override
+    public ColorRGB getBlockColor(Point3D position) {
+        return ColorRGB.GRAY;
+    }
+
+    @Override
+    public List<IWrapperItemStack> getBlockDrops(Point3D position) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public BlockHitResult getBlockHit(Point3D position, Point3D delta) {
+        //Step along the ray in small steps, that's accurate enough for full blocks.
+        double length = delta.length();
+        Point3D step = delta.copy().scale(0.05 / length);
+        Point3D testPosition = position.copy();
+        for (double traveled = 0; traveled <= length; traveled += 0.05) {
+            if (isSolid(testPosition)) {
+                Point3D blockPosition = new Point3D(Math.floor(testPosition.x), Math.floor(testPosition.y), Math.floor(testPosition.z));
+                return new BlockHitResult(blockPosition, testPosition, delta.y < 0 ? Axis.UP : Axis.DOWN);
+            }
+            testPosition.add(step);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isBlockSolid(Point3D position, Axis axis) {
+        return axis.blockBased && isSolid(position);
+    }
+
+    @Override
+    protected boolean isBlockLiquidInternal(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public boolean isBlockBelowBottomSlab(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public boolean isBlockAboveTopSlab(Point3D position) {
+        return false;
+    }
+
+    @Override
+    protected double getHeightInternal(Point3D position) {
+        int x = (int) Math.floor(position.x);
+        int z = (int) Math.floor(position.z);
+        for (int y = (int) Math.floor(position.y); y > 0; --y) {
+            if (isSolid(x, y, z)) {
+                return position.y - (y + 1);
+            }
+        }
+        return position.y;
+    }
+
+    @Override
+    public void updateBoundingBoxCollisions(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
+        collisionHelper.startCheck(box, null);
+        box.clearCollidingBlockPositions();
+        for (int i = (int) Math.floor(collisionHelper.minX); i < Math.ceil(collisionHelper.maxX); ++i) {
+            for (int j = (int) Math.floor(collisionHelper.minY); j < Math.ceil(collisionHelper.maxY); ++j) {
+                for (int k = (int) Math.floor(collisionHelper.minZ); k < Math.ceil(collisionHelper.maxZ); ++k) {
+                    if (isSolid(i, j, k)) {
+                        int priorBoxCount = collisionHelper.getBoxCount();
+                        if (collisionHelper.addBox(i, j, k, i + 1, j + 1, k + 1)) {
+                            box.addCollidingBlockPosition(i, j, k);
+                        } else {
+                            collisionHelper.resetBoxCount(priorBoxCount);
+                        }
+                    }
+                }
+            }
+        }
+        collisionHelper.applyCollisionDepths(box, collisionMotion, ignoreIfGreater);
+    }
+
+    @Override
+    public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean clearCache, boolean breakLeaves) {
+        if (clearCache) {
+            collisionHelper.clearKnownAir();
+        }
+        collisionHelper.startCheck(box, offset);
+        for (int i = (int) Math.floor(collisionHelper.minX); i < Math.ceil(collisionHelper.maxX); ++i) {
+            for (int j = (int) Math.floor(collisionHelper.minY); j < Math.ceil(collisionHelper.maxY); ++j) {
+                for (int k = (int) Math.floor(collisionHelper.minZ); k < Math.ceil(collisionHelper.maxZ); ++k) {
+                    if (!collisionHelper.isKnownAir(i, j, k)) {
+                        if (isSolid(i, j, k) && collisionHelper.intersects(i, j, k, i + 1, j + 1, k + 1)) {
+                            return true;
+                        } else {
+                            collisionHelper.setKnownAir(i, j, k);
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getRedstonePower(Point3D position) {
+        return 0;
+    }
+
+    @Override
+    protected float getRainStrengthInternal(Point3D position) {
+        return 0;
+    }
+
+    @Override
+    protected float getTemperatureInternal(Point3D position) {
+        return 0.8F;
+    }
+
+    @Override
+    public <TileEntityType extends ATileEntityBase<JSONDefinition>, JSONDefinition extends AJSONMultiModelProvider> boolean setBlock(ABlockBase block, Point3D position, IWrapperPlayer playerIWrapper, Axis axis) {
+        return false;
+    }
+
+    @Override
+    public <TileEntityType extends ATileEntityBase<?>> TileEntityType getTileEntity(Point3D position) {
+        return null;
+    }
+
+    @Override
+    public void markTileEntityChanged(Point3D position) {
+    }
+
+    @Override
+    protected float getLightBrightnessInternal(Point3D position, boolean calculateBlock) {
+        return isSolid(position) ? 0 : 1;
+    }
+
+    @Override
+    public void updateLightBrightness(Point3D position) {
+    }
+
+    @Override
+    public void destroyBlock(Point3D position, boolean spawnDrops) {
+        setSolid((int) Math.floor(position.x), (int) Math.floor(position.y), (int) Math.floor(position.z), false);
+    }
+
+    @Override
+    protected boolean isAirInternal(Point3D position) {
+        return !isSolid(position);
+    }
+
+    @Override
+    public boolean isFire(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public void setToFire(Point3D position, Axis side) {
+    }
+
+    @Override
+    public void extinguish(Point3D position, Axis side) {
+    }
+
+    @Override
+    public boolean placeBlock(Point3D position, IWrapperItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public boolean fertilizeBlock(Point3D position, IWrapperItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public List<IWrapperItemStack> harvestBlock(Point3D position) {
+        return null;
+    }
+
+    @Override
+    public boolean plantBlock(Point3D position, IWrapperItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public boolean plowBlock(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public boolean removeSnow(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public boolean hydrateBlock(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public boolean insertStack(Point3D position, Axis axis, IWrapperItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public IWrapperItemStack extractStack(Point3D position, Axis axis) {
+        return null;
+    }
+
+    @Override
+    public void spawnItemStack(IWrapperItemStack stack, Point3D point, Point3D optionalMotion) {
+    }
+
+    @Override
+    public void spawnExplosion(Point3D location, double strength, boolean flames) {
+    }
+}
@@ -0,0 +1,255 @@
+package minecrafttransportsimulator.packets.instances;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.HeadlessHarness;
+import minecrafttransportsimulator.mcinterface.HeadlessNBT;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.packloading.PackParser;
+
+/**
+ * Checks that {@link PacketVehicleServerMovementBatch} gets server deltas to clients.  Server vehicles are
+ * mirrored in a second world with the same UUIDs, which stands in for the client, and packets are written to
+ * a buffer and read back before they are handled there.  Also reports the bytes sent per vehicle-tick for
+ * driving vehicles, compared to the per-vehicle packet that was used before batching.
+ *
+ * @author don_bruce
+ */
+public class PacketVehicleServerMovementBatchTest {
+    //Steps per unit, as in the packet.
+    private static final double[] DELTA_SCALES = new double[] { 8192, 8192, 8192, 1024, 1024, 1024, 8192 };
+    private static final int KEYFRAME_INTERVAL = 100;
+    //Index byte, UUID, and the motion, rotation and pathing doubles of the old per-vehicle packet.
+    private static final int OLD_PACKET_BYTES = 1 + 16 + 7 * Double.BYTES;
+
+    private final Random random = new Random(1234);
+    private HeadlessWorld serverWorld;
+    private HeadlessWorld clientWorld;
+
+    @BeforeAll
+    public static void init() {
+        HeadlessHarness.init();
+    }
+
+    @BeforeEach
+    public void createWorlds() {
+        serverWorld = new HeadlessWorld(64);
+        clientWorld = new HeadlessWorld(64);
+        HeadlessHarness.packetInterface.reset();
+    }
+
+    /**
+     * Spawns a vehicle on the server, and a copy of it on the client.
+     */
+    private EntityVehicleF_Physics spawnVehicle(Point3D position) {
+        EntityVehicleF_Physics vehicle = HeadlessHarness.spawnVehicle(serverWorld, HeadlessHarness.CAR, position);
+        EntityVehicleF_Physics clientVehicle = new EntityVehicleF_Physics(clientWorld, null, PackParser.getItem(HeadlessHarness.PACK_ID, HeadlessHarness.CAR), vehicle.save(new HeadlessNBT()));
+        clientWorld.spawnEntity(clientVehicle);
+        return vehicle;
+    }
+
+    /**
+     * Writes the packet to a buffer, reads it back, and handles it in the passed-in world.
+     * Returns the number of bytes the packet took.
+     */
+    private static int sendPacket(APacketBase packet, AWrapperWorld world) {
+        ByteBuf buf = Unpooled.buffer();
+        packet.writeToBuffer(buf);
+        int bytes = buf.readableBytes();
+        APacketBase readPacket = HeadlessHarness.packetInterface.readPacket(buf);
+        assertEquals(0, buf.readableBytes(), "Packet not fully read");
+        readPacket.handle(world);
+        return bytes;
+    }
+
+    private static double[] getDeltas(EntityVehicleF_Physics vehicle) {
+        double[] deltas = new double[PacketVehicleServerMovementBatch.DELTA_COUNT];
+        vehicle.getServerDeltas(deltas);
+        return deltas;
+    }
+
+    /**
+     * Adds random deltas to the vehicle.  Deltas are mostly smaller than a step, and of both signs,
+     * so the quantization error is large compared to the movement.
+     */
+    private void addRandomDeltas(EntityVehicleF_Physics vehicle) {
+        double[] added = new double[PacketVehicleServerMovementBatch.DELTA_COUNT];
+        for (int i = 0; i < added.length; ++i) {
+            added[i] = (random.nextDouble() - 0.5) * 4 / DELTA_SCALES[i];
+        }
+        vehicle.addToServerDeltas(new Point3D(added[0], added[1], added[2]), new Point3D(added[3], added[4], added[5]), added[6]);
+    }
+
+    @Test
+    public void quantizationErrorIsCarried() {
+        EntityVehicleF_Physics vehicle = spawnVehicle(new Point3D(0, 66, 0));
+        EntityVehicleF_Physics clientVehicle = clientWorld.getEntity(vehicle.uniqueUUID);
+        List<EntityVehicleF_Physics> vehicles = Collections.singletonList(vehicle);
+        for (int tick = 0; tick < KEYFRAME_INTERVAL - 1; ++tick) {
+            addRandomDeltas(vehicle);
+            sendPacket(new PacketVehicleServerMovementBatch(vehicles), clientWorld);
+            double[] serverDeltas = getDeltas(vehicle);
+            double[] clientDeltas = getDeltas(clientVehicle);
+            for (int i = 0; i < serverDeltas.length; ++i) {
+                //Client has exactly what the server thinks it has, and that's never more than half a step off.
+                assertEquals(vehicle.sentServerDeltas[i], clientDeltas[i], 1E-12, "Tick " + tick + " delta " + i);
+                assertTrue(Math.abs(serverDeltas[i] - clientDeltas[i]) <= 0.5 / DELTA_SCALES[i] + 1E-12, "Tick " + tick + " delta " + i + " drifted by " + (serverDeltas[i] - clientDeltas[i]));
+            }
+        }
+    }
+
+    @Test
+    public void keyframeSendsFullDeltas() {
+        EntityVehicleF_Physics vehicle = spawnVehicle(new Point3D(0, 66, 0));
+        EntityVehicleF_Physics clientVehicle = clientWorld.getEntity(vehicle.uniqueUUID);
+        List<EntityVehicleF_Physics> vehicles = Collections.singletonList(vehicle);
+
+        //Client gets out of sync, as if it joined late.
+        clientVehicle.addToServerDeltas(new Point3D(5, -3, 2), new Point3D(-45, 10, 1), -7);
+        addRandomDeltas(vehicle);
+        vehicle.ticksExisted = vehicle.lastServerDeltasKeyframe + KEYFRAME_INTERVAL;
+        int bytes = sendPacket(new PacketVehicleServerMovementBatch(vehicles), clientWorld);
+
+        //Index byte, count, UUID, flags and all doubles.
+        assertEquals(1 + 2 + 16 + 1 + 7 * Double.BYTES, bytes);
+        double[] serverDeltas = getDeltas(vehicle);
+        double[] clientDeltas = getDeltas(clientVehicle);
+        for (int i = 0; i < serverDeltas.length; ++i) {
+            assertEquals(serverDeltas[i], clientDeltas[i], 1E-12, "Delta " + i);
+            assertEquals(serverDeltas[i], vehicle.sentServerDeltas[i], "Delta " + i);
+        }
+        assertEquals(vehicle.ticksExisted, vehicle.lastServerDeltasKeyframe);
+    }
+
+    @Test
+    public void negativeDeltasUseZigZag() {
+        EntityVehicleF_Physics vehicle = spawnVehicle(new Point3D(0, 66, 0));
+        EntityVehicleF_Physics clientVehicle = clientWorld.getEntity(vehicle.uniqueUUID);
+        List<EntityVehicleF_Physics> vehicles = Collections.singletonList(vehicle);
+
+        //One step back in all deltas fits in one byte each, as does 63 steps.  64 steps needs two.
+        for (int steps : new int[] { -1, -63, -64, 1, 63, 64 }) {
+            double[] before = getDeltas(clientVehicle);
+            vehicle.addToServerDeltas(new Point3D(steps / 8192D, steps / 8192D, steps / 8192D), new Point3D(steps / 1024D, steps / 1024D, steps / 1024D), steps / 8192D);
+            int bytes = sendPacket(new PacketVehicleServerMovementBatch(vehicles), clientWorld);
+            int bytesPerDelta = steps >= -64 && steps <= 63 ? 1 : 2;
+            assertEquals(1 + 2 + 16 + 1 + 7 * bytesPerDelta, bytes, "Steps " + steps);
+            double[] after = getDeltas(clientVehicle);
+            for (int i = 0; i < after.length; ++i) {
+                assertEquals(steps / DELTA_SCALES[i], after[i] - before[i], 1E-12, "Steps " + steps + " delta " + i);
+            }
+        }
+
+        //Very large movement, such as a teleport.
+        vehicle.addToServerDeltas(new Point3D(-30000000, 0, 30000000), new Point3D(0, -720, 0), 0);
+        sendPacket(new PacketVehicleServerMovementBatch(vehicles), clientWorld);
+        assertEquals(getDeltas(vehicle)[0], getDeltas(clientVehicle)[0], 0.5 / 8192);
+        assertEquals(getDeltas(vehicle)[2], getDeltas(clientVehicle)[2], 0.5 / 8192);
+        assertEquals(getDeltas(vehicle)[4], getDeltas(clientVehicle)[4], 0.5 / 1024);
+    }
+
+    @Test
+    public void batchesSplitAtMaxVehicles() {
+        int vehicleCount = 2 * PacketVehicleServerMovementBatch.MAX_VEHICLES_PER_PACKET + 88;
+        List<EntityVehicleF_Physics> vehicles = new ArrayList<>();
+        for (int i = 0; i < vehicleCount; ++i) {
+            vehicles.add(spawnVehicle(new Point3D(i % 30 * 10, 66, i / 30 * 10)));
+        }
+        HeadlessHarness.packetInterface.reset();
+        HeadlessHarness.packetInterface.recordPackets = true;
+        try {
+            for (EntityVehicleF_Physics vehicle : vehicles) {
+                vehicle.addToServerDeltas(new Point3D(1, 0, 0), new Point3D(), 0);
+                serverWorld.queueVehicleMovement(vehicle);
+            }
+            serverWorld.tick();
+
+            List<Integer> entryCounts = new ArrayList<>();
+            for (APacketBase packet : HeadlessHarness.packetInterface.sentPackets) {
+                if (packet instanceof PacketVehicleServerMovementBatch) {
+                    ByteBuf buf = Unpooled.buffer();
+                    packet.writeToBuffer(buf);
+                    buf.readByte();
+                    entryCounts.add((int) buf.readShort());
+                    buf.resetReaderIndex();
+                    HeadlessHarness.packetInterface.readPacket(buf).handle(clientWorld);
+                }
+            }
+            assertEquals(3, entryCounts.size());
+            assertEquals(PacketVehicleServerMovementBatch.MAX_VEHICLES_PER_PACKET, (int) entryCounts.get(0));
+            assertEquals(PacketVehicleServerMovementBatch.MAX_VEHICLES_PER_PACKET, (int) entryCounts.get(1));
+            assertEquals(88, (int) entryCounts.get(2));
+            for (EntityVehicleF_Physics vehicle : vehicles) {
+                EntityVehicleF_Physics clientVehicle = clientWorld.getEntity(vehicle.uniqueUUID);
+                assertEquals(getDeltas(vehicle)[0], getDeltas(clientVehicle)[0], 0.5 / 8192);
+            }
+        } finally {
+            HeadlessHarness.packetInterface.recordPackets = false;
+        }
+    }
+
+    @Test
+    public void bytesPerVehicleReport() {
+        int vehicleCount = 20;
+        int ticks = 400;
+        List<EntityVehicleF_Physics> vehicles = new ArrayList<>();
+        for (int i = 0; i < vehicleCount; ++i) {
+            vehicles.add(spawnVehicle(new Point3D(i * 10, 66, 0)));
+        }
+        for (EntityVehicleF_Physics vehicle : vehicles) {
+            HeadlessHarness.startVehicle(vehicle, 0.5 + 0.5 * random.nextDouble());
+        }
+        HeadlessHarness.packetInterface.reset();
+        HeadlessHarness.packetInterface.recordPackets = true;
+        long batchBytes = 0;
+        long vehicleTicks = 0;
+        try {
+            for (int tick = 0; tick < ticks; ++tick) {
+                serverWorld.tick();
+            }
+            for (APacketBase packet : HeadlessHarness.packetInterface.sentPackets) {
+                if (packet instanceof PacketVehicleServerMovementBatch) {
+                    ByteBuf buf = Unpooled.buffer();
+                    packet.writeToBuffer(buf);
+                    batchBytes += buf.readableBytes();
+                    buf.readByte();
+                    vehicleTicks += buf.readShort();
+                }
+            }
+        } finally {
+            HeadlessHarness.packetInterface.recordPackets = false;
+        }
+
+        //The old packet was sent once per vehicle per tick that it moved, which is at least every entry sent now.
+        double batchBytesPerVehicle = (double) batchBytes / vehicleTicks;
+        System.out.printf("Movement packets: %d vehicle-ticks, %.1f bytes per vehicle-tick batched, %d bytes per vehicle-tick before batching (%.1f%%)%n", vehicleTicks, batchBytesPerVehicle, OLD_PACKET_BYTES, 100 * batchBytesPerVehicle / OLD_PACKET_BYTES);
+        assertTrue(vehicleTicks > vehicleCount * ticks / 2, "Vehicles didn't move");
+        assertTrue(batchBytesPerVehicle < OLD_PACKET_BYTES / 2D, "Batching saves too little: " + batchBytesPerVehicle);
+        assertTrue(HeadlessHarness.coreInterface.errors.isEmpty(), HeadlessHarness.coreInterface.errors.toString());
+    }
+
+    @Test
+    public void unknownVehiclesAreIgnored() {
+        EntityVehicleF_Physics vehicle = spawnVehicle(new Point3D(0, 66, 0));
+        addRandomDeltas(vehicle);
+        vehicle.addToServerDeltas(new Point3D(1, 1, 1), new Point3D(), 0);
+        //Handle in a world without the vehicle, this shouldn't crash.
+        sendPacket(new PacketVehicleServerMovementBatch(Collections.singletonList(vehicle)), new HeadlessWorld(64));
+    }
+}
@@ -0,0 +1,97 @@
+package minecrafttransportsimulator.packloading;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.jsondefs.JSONDecor;
+import minecrafttransportsimulator.jsondefs.JSONLight;
+import minecrafttransportsimulator.jsondefs.JSONLight.JSONLightBlendableComponent;
+import minecrafttransportsimulator.mcinterface.HeadlessHarness;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packloading.PackResourceLoader.ItemClassification;
+import minecrafttransportsimulator.rendering.AModelParser;
+import minecrafttransportsimulator.rendering.RenderableVertices;
+
+/**
+ * Runs the model-based light compats on the same model from many threads at once, as parallel pack parsing does.
+ * The parsed model is shared between all definitions that use it, so the compats must not move its buffers,
+ * and every thread must get the same lights as a serial run.
+ *
+ * @author don_bruce
+ */
+public class LegacyLightCompatTest {
+    private static final String SYSTEM_NAME = "legacy_lamp";
+    private static final int THREADS = 8;
+    private static final int DEFINITIONS = 200;
+
+    @BeforeAll
+    public static void init() {
+        HeadlessHarness.init();
+    }
+
+    private static JSONDecor parseDefinition() throws IOException {
+        JSONDecor definition = JSONParser.parseStream(HeadlessHarness.coreInterface.getPackResource("/assets/" + HeadlessHarness.PACK_ID + "/jsondefs/decors/" + SYSTEM_NAME + ".json"), JSONDecor.class, HeadlessHarness.PACK_ID, SYSTEM_NAME);
+        //Model is in the core pack, as that's the only pack with a pack definition in the headless world.
+        definition.packID = InterfaceManager.coreModID;
+        definition.systemName = SYSTEM_NAME;
+        definition.classification = ItemClassification.DECOR;
+        definition.prefixFolders = "";
+        return definition;
+    }
+
+    private static String describeLights(JSONDecor definition) {
+        StringBuilder builder = new StringBuilder();
+        for (JSONLight light : definition.rendering.lightObjects) {
+            builder.append(light.objectName).append(':');
+            for (JSONLightBlendableComponent blendable : light.blendableComponents) {
+                builder.append(blendable.pos).append(blendable.axis).append(blendable.flareHeight).append(',').append(blendable.beamDiameter).append(';');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String runCompats() throws IOException {
+        JSONDecor definition = parseDefinition();
+        List<String> errors = new ArrayList<>();
+        LegacyCompatSystem.performLegacyCompats(definition, errors);
+        assertEquals(new ArrayList<>(), errors);
+        return describeLights(definition);
+    }
+
+    @Test
+    public void parallelCompatsMatchSerial() throws Exception {
+        //One light, with a blendable for each of its two triangles.
+        String expected = runCompats();
+        assertEquals(2, expected.length() - expected.replace(";", "").length(), expected);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            Callable<String> task = LegacyLightCompatTest::runCompats;
+            for (int i = 0; i < DEFINITIONS; ++i) {
+                results.add(executor.submit(task));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        //The shared model must be left as it was parsed, for the renderer and any later compats.
+        JSONDecor definition = parseDefinition();
+        for (RenderableVertices object : AModelParser.parseModel(definition.getModelLocation(definition.definitions.get(0)), true)) {
+            assertEquals(0, object.vertices.position(), object.name);
+        }
+    }
+}
@@ -73,6 +73,8 @@ public class InterfaceEventsModelLoader {
             @Override
             public boolean shouldRender(BuilderEntityRenderForwarder builder, ICamera camera, double camX, double camY, double camZ) {
                 //Always render the forwarder, no matter where the camera is.
+                //Save the camera though, since we use it to cull the entities the forwarder renders.
+                InterfaceRender.renderCamera = camera;
                 return true;
             }
 
@@ -17,7 +17,9 @@ import minecrafttransportsimulator.baseclasses.EntityManager;
 import minecrafttransportsimulator.guis.instances.GUIConfig;
 import minecrafttransportsimulator.jsondefs.JSONConfigClient.ConfigJoystick;
 import minecrafttransportsimulator.mcinterface.IInterfaceInput;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packets.instances.PacketPlayerTelemetryRequest;
 import minecrafttransportsimulator.packloading.JSONParser;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.ControlSystem.ControlsJoystick;
@@ -38,6 +40,7 @@ public class InterfaceInput implements IInterfaceInput {
     //Common variables.
     private static KeyBinding configKey;
     private static KeyBinding importKey;
+    private static KeyBinding telemetryKey;
 
     //Mouse variables.
     private static boolean betterCombatDetected;
@@ -70,6 +73,8 @@ public class InterfaceInput implements IInterfaceInput {
         ClientRegistry.registerKeyBinding(configKey);
         importKey = new KeyBinding(LanguageSystem.GUI_IMPORT.getCurrentValue(), Keyboard.KEY_NONE, InterfaceLoader.MODNAME);
         ClientRegistry.registerKeyBinding(importKey);
+        telemetryKey = new KeyBinding(LanguageSystem.GUI_TELEMETRY.getCurrentValue(), Keyboard.KEY_NONE, InterfaceLoader.MODNAME);
+        ClientRegistry.registerKeyBinding(telemetryKey);
         betterCombatDetected = InterfaceManager.coreInterface.isModPresent("bettercombatmod");
     }
 
@@ -331,6 +336,10 @@ public class InterfaceInput implements IInterfaceInput {
             new GUIConfig();
         } else if (ConfigSystem.settings.general.devMode.value && importKey.isPressed()) {
             EntityManager.doImports(() -> InterfaceManager.clientInterface.getClientPlayer().displayChatMessage(LanguageSystem.SYSTEM_DEBUG, JSONParser.importAllJSONs(true)));
+        } else if (telemetryKey.isPressed()) {
+            IWrapperPlayer player = InterfaceManager.clientInterface.getClientPlayer();
+            InterfaceManager.clientInterface.getClientWorld().getTelemetry().sendReport(player, "client", true);
+            InterfaceManager.packetInterface.sendToServer(new PacketPlayerTelemetryRequest(player));
         }
     }
 }
@@ -32,10 +32,12 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.OpenGlHelper;
 import net.minecraft.client.renderer.RenderHelper;
+import net.minecraft.client.renderer.culling.ICamera;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.renderer.texture.TextureMap;
 import net.minecraft.client.renderer.texture.TextureUtil;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
@@ -62,6 +64,7 @@ public class InterfaceRender implements IInterfaceRender {
     private static final Map<RenderableVertices, Set<RenderableData>> objectMap = new HashMap<>();
     private static final Map<RenderableVertices, Integer> cachedIndexMap = new HashMap<>();
     protected static int lastRenderPassActualPass;
+    protected static ICamera renderCamera;
 
     @Override
     public float[] getBlockBreakTexture(AWrapperWorld world, Point3D position) {
@@ -201,6 +204,11 @@ public class InterfaceRender implements IInterfaceRender {
         return Minecraft.getMinecraft().getRenderManager().isDebugBoundingBox();
     }
 
+    @Override
+    public boolean isInView(Point3D center, double radius) {
+        return renderCamera == null || renderCamera.isBoundingBoxInFrustum(new AxisAlignedBB(center.x - radius, center.y - radius, center.z - radius, center.x + radius, center.y + radius, center.z + radius));
+    }
+
     /**
      * Renders a set of raw vertices without any caching.
      */
@@ -1,14 +1,15 @@
 package mcinterface1122;
 
-import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.lwjgl.BufferUtils;
@@ -21,8 +22,9 @@ import minecrafttransportsimulator.mcinterface.IInterfaceSound;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.sound.IStreamDecoder;
-import minecrafttransportsimulator.sound.OGGDecoder;
 import minecrafttransportsimulator.sound.RadioStation;
+import minecrafttransportsimulator.sound.SoundDecodeSystem;
+import minecrafttransportsimulator.sound.SoundDecodeSystem.DecodedSound;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
@@ -48,9 +50,15 @@ public class InterfaceSound implements IInterfaceSound {
 
     /**
      * Map of String-based file-names to Integer pointers to buffer locations.  Used for loading sounds into
-     * memory to prevent the need to load them every time they are played.
+     * memory to prevent the need to load them every time they are played.  This is in access-order, so
+     * the least-recently-used buffers are deleted first when the buffers go over the sound cache size.
      **/
-    private static final Map<String, Integer> dataSourceBuffers = new HashMap<>();
+    private static final Map<String, Integer> dataSourceBuffers = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * Total size, in bytes, of all buffers in {@link #dataSourceBuffers}.
+     **/
+    private static long dataSourceBufferBytes;
 
     /**
      * List of sounds currently playing.  Queued for updates every tick.
@@ -66,6 +74,11 @@ public class InterfaceSound implements IInterfaceSound {
      * List of sounds to start playing next update.  Split from playing sounds to avoid CMEs and odd states.
      **/
     private static final List<SoundInstance> queuedSounds = new ArrayList<>();
+    /**
+     * Map of sounds waiting on their data to be decoded, to the time they were requested.
+     * These are played once the data is ready, unless they waited too long and are stale.
+     **/
+    private static final Map<SoundInstance, Long> decodingSounds = new HashMap<>();
 
     /**
      * List of radios paused.  Needs to be separate from normal paused sound this those get re-added to the sound set.
@@ -125,11 +138,34 @@ public class InterfaceSound implements IInterfaceSound {
         //If the client world is null, or we don't have a player we need to stop all sounds.
         if (InterfaceManager.clientInterface.getClientWorld() == null || player == null) {
             queuedSounds.clear();
+            decodingSounds.clear();
             for (SoundInstance sound : playingSounds) {
                 sound.stopSound = true;
             }
         }
 
+        //Play sounds that were waiting on their data, now that it's decoded.
+        //Drop any that waited too long, as playing them now would be out of sync with what caused them.
+        if (!decodingSounds.isEmpty()) {
+            List<SoundInstance> decodedSounds = new ArrayList<>();
+            long currentTime = System.currentTimeMillis();
+            Iterator<Entry<SoundInstance, Long>> decodingIterator = decodingSounds.entrySet().iterator();
+            while (decodingIterator.hasNext()) {
+                Entry<SoundInstance, Long> entry = decodingIterator.next();
+                if (currentTime - entry.getValue() > SoundDecodeSystem.MAX_ONE_SHOT_DELAY) {
+                    decodingIterator.remove();
+                } else if (!SoundDecodeSystem.isDecoding(entry.getKey().soundPlayingName)) {
+                    decodingIterator.remove();
+                    decodedSounds.add(entry.getKey());
+                }
+            }
+            for (SoundInstance sound : decodedSounds) {
+                if (sound.entity.isValid) {
+                    InterfaceManager.soundInterface.playQuickSound(sound);
+                }
+            }
+        }
+
         //Start playing all queued sounds.
         if (!queuedSounds.isEmpty()) {
             for (SoundInstance sound : queuedSounds) {
@@ -216,6 +252,7 @@ public class InterfaceSound implements IInterfaceSound {
         if (soundSystemReset) {
             InterfaceManager.coreInterface.logError("Had an invalid sound name.  Was the sound system reset?  Clearing all sounds, playing or not!");
             dataSourceBuffers.clear();
+            dataSourceBufferBytes = 0;
             for (SoundInstance sound : playingSounds) {
                 sound.entity.sounds.remove(sound);
             }
@@ -235,7 +272,6 @@ public class InterfaceSound implements IInterfaceSound {
                 AL10.alGetError();
                 AL10.alGenSources(sourceBuffer);
                 if (AL10.alGetError() != AL10.AL_NO_ERROR) {
-                    AL10.alDeleteBuffers(dataBufferPointer);
                     if (++sourceGetFailures == 10) {
                         InterfaceManager.clientInterface.getClientPlayer().displayChatMessage(LanguageSystem.SYSTEM_SOUNDSLOT);
                         ///Kill off the sound that's furthest from the player to make room if we have a sound we can remove.
@@ -271,6 +307,10 @@ public class InterfaceSound implements IInterfaceSound {
                 //Done setting up buffer.  Queue sound to start playing.
                 queuedSounds.add(sound);
                 sound.entity.sounds.add(sound);
+            } else if (SoundDecodeSystem.isDecoding(sound.soundPlayingName) && (sound.soundDef == null || !sound.soundDef.looping)) {
+                //Data is still being decoded, hold onto the sound and play it once it's ready.
+                //Looping sounds are requested by their entity every tick until they play, so they don't need to wait.
+                decodingSounds.putIfAbsent(sound, System.currentTimeMillis());
             }
         }
     }
@@ -365,43 +405,54 @@ public class InterfaceSound implements IInterfaceSound {
     }
 
     /**
-     * Loads an OGG file in its entirety using the {@link InterfaceOGGDecoder}.
-     * The sound is then stored in a dataBuffer keyed by soundName located in {@link #dataSourceBuffers}.
-     * The pointer to the dataBuffer is returned for convenience as it allows for transparent sound caching.
-     * If a sound with the same name is passed-in at a later time, it is assumed to be the same and rather
-     * than re-parse the sound the system will simply return the same pointer index to be bound.
+     * Returns the pointer to the dataBuffer for the passed-in sound, creating it from the data decoded by
+     * {@link SoundDecodeSystem} if required.  Pointers are stored keyed by soundName in {@link #dataSourceBuffers},
+     * so if a sound with the same name is passed-in at a later time, the same pointer is returned.
+     * If the sound hasn't been decoded yet, null is returned and the sound will be decoded in the background.
      */
     private static Integer loadOGGJarSound(String soundName) {
-        if (dataSourceBuffers.containsKey(soundName)) {
-            //Already parsed the data.  Return the buffer.
-            return dataSourceBuffers.get(soundName);
-        } else {
-            //Need to parse the data.  Do so now.
-            String soundDomain = soundName.substring(0, soundName.indexOf(':'));
-            String soundPath = soundName.substring(soundDomain.length() + 1);
-            InputStream soundStream = InterfaceManager.coreInterface.getPackResource("/assets/" + soundDomain + "/sounds/" + soundPath + ".ogg");
-            if (soundStream != null) {
-                //Create decoder and decode whole file.
-                OGGDecoder decoder = new OGGDecoder(soundStream);
-                ByteBuffer decodedData = ByteBuffer.allocateDirect(0);
-                ByteBuffer blockRead;
-                while ((blockRead = decoder.readBlock()) != null) {
-                    decodedData = ByteBuffer.allocateDirect(decodedData.capacity() + blockRead.limit()).put(decodedData).put(blockRead);
-                    decodedData.rewind();
-                }
-
-                //Generate an IntBuffer to store a pointer to the data buffer.
+        Integer dataBufferPointer = dataSourceBuffers.get(soundName);
+        if (dataBufferPointer == null) {
+            DecodedSound decodedSound = SoundDecodeSystem.takeDecodedSound(soundName);
+            if (decodedSound != null) {
+                //Generate an IntBuffer to store a pointer to the data buffer, and bind the decoded data to it.
+                //The decoded data isn't needed after this, as OpenAL has its own copy.
+                ByteBuffer decodedData = decodedSound.getData();
                 IntBuffer dataBufferPointers = BufferUtils.createIntBuffer(1);
                 AL10.alGenBuffers(dataBufferPointers);
+                AL10.alBufferData(dataBufferPointers.get(0), AL10.AL_FORMAT_MONO16, decodedData, decodedSound.sampleRate);
+                dataBufferPointer = dataBufferPointers.get(0);
+                dataSourceBuffers.put(soundName, dataBufferPointer);
+                dataSourceBufferBytes += decodedData.limit();
+                trimDataSourceBuffers(soundName);
+            }
+        }
+        return dataBufferPointer;
+    }
 
-                //Bind the decoder output buffer to the data buffer pointer.
-                AL10.alBufferData(dataBufferPointers.get(0), AL10.AL_FORMAT_MONO16, decodedData, decoder.getSampleRate());
-
-                //Done parsing.  Map the dataBuffer(s) to the soundName and return the index.
-                dataSourceBuffers.put(soundName, dataBufferPointers.get(0));
-                return dataSourceBuffers.get(soundName);
-            } else {
-                return null;
+    /**
+     * Deletes the least-recently-used buffers in {@link #dataSourceBuffers} until they fit in the sound cache size.
+     * Buffers that are bound to a source can't be deleted, so those, and the buffer for the passed-in sound, are kept.
+     */
+    private static void trimDataSourceBuffers(String newSoundName) {
+        long maxBytes = ConfigSystem.client.controlSettings.soundCacheSize.value * 1024L * 1024L;
+        if (dataSourceBufferBytes > maxBytes) {
+            Set<String> boundSoundNames = new HashSet<>();
+            boundSoundNames.add(newSoundName);
+            for (SoundInstance sound : playingSounds) {
+                boundSoundNames.add(sound.soundPlayingName);
+            }
+            for (SoundInstance sound : queuedSounds) {
+                boundSoundNames.add(sound.soundPlayingName);
+            }
+            Iterator<Entry<String, Integer>> iterator = dataSourceBuffers.entrySet().iterator();
+            while (dataSourceBufferBytes > maxBytes && iterator.hasNext()) {
+                Entry<String, Integer> entry = iterator.next();
+                if (!boundSoundNames.contains(entry.getKey())) {
+                    dataSourceBufferBytes -= AL10.alGetBufferi(entry.getValue(), AL10.AL_SIZE);
+                    AL10.alDeleteBuffers(entry.getValue());
+                    iterator.remove();
+                }
             }
         }
     }
@@ -430,6 +481,7 @@ public class InterfaceSound implements IInterfaceSound {
     public static void onIVWorldUnload(WorldEvent.Unload event) {
         if (event.getWorld().isRemote) {
             queuedSounds.removeIf(soundInstance -> event.getWorld() == ((WrapperWorld) soundInstance.entity.world).world);
+            decodingSounds.keySet().removeIf(soundInstance -> event.getWorld() == ((WrapperWorld) soundInstance.entity.world).world);
             for (SoundInstance sound : playingSounds) {
                 if (event.getWorld() == ((WrapperWorld) sound.entity.world).world) {
                     if (sound.radio != null) {
@@ -4,10 +4,8 @@ import java.io.File;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 
 import minecrafttransportsimulator.baseclasses.BlockHitResult;
@@ -80,6 +78,7 @@ import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
@@ -101,7 +100,7 @@ public class WrapperWorld extends AWrapperWorld {
     private final Map<UUID, BuilderEntityExisting> playerServerGunBuilders = new HashMap<>();
     private final Map<UUID, Integer> ticksSincePlayerJoin = new HashMap<>();
     private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<>();
-    private final Set<BlockPos> knownAirBlocks = new HashSet<>();
+    private final BlockPos.MutableBlockPos mutableCollisionPos = new BlockPos.MutableBlockPos();
 
     protected final World world;
     private final IWrapperNBT savedData;
@@ -386,12 +385,12 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public String getBlockName(Point3D position) {
+    protected String getBlockNameInternal(Point3D position) {
         return world.getBlockState(new BlockPos(position.x, position.y, position.z)).getBlock().getRegistryName().toString();
     }
 
     @Override
-    public float getBlockHardness(Point3D position) {
+    protected float getBlockHardnessInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         float hardness = world.getBlockState(pos).getBlockHardness(world, pos);
         if (hardness < 0) {
@@ -401,7 +400,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public float getBlockSlipperiness(Point3D position) {
+    protected float getBlockSlipperinessInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         IBlockState state = world.getBlockState(pos);
         return state.getBlock().getSlipperiness(state, world, pos, null);
@@ -409,7 +408,7 @@ public class WrapperWorld extends AWrapperWorld {
 
     private static HashMap<Material, BlockMaterial> materialMap = new HashMap<>();
     @Override
-    public BlockMaterial getBlockMaterial(Point3D position) {
+    protected BlockMaterial getBlockMaterialInternal(Point3D position) {
         if(materialMap.isEmpty()) {
             materialMap.put(Material.CLAY, BlockMaterial.CLAY);
             materialMap.put(Material.GROUND, BlockMaterial.DIRT);
@@ -492,7 +491,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public boolean isBlockLiquid(Point3D position) {
+    protected boolean isBlockLiquidInternal(Point3D position) {
         return world.getBlockState(new BlockPos(position.x, position.y, position.z)).getMaterial().isLiquid();
     }
 
@@ -511,7 +510,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public double getHeight(Point3D position) {
+    protected double getHeightInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         //Need to go down till we find a block.
         boolean bottomSlab = false;
@@ -533,126 +532,77 @@ public class WrapperWorld extends AWrapperWorld {
 
     @Override
     public void updateBoundingBoxCollisions(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
-        AxisAlignedBB mcBox = WrapperWorld.convert(box);
-        box.collidingBlockPositions.clear();
-        mutableCollidingAABBs.clear();
-        for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
-            for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
-                for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (world.isBlockLoaded(pos)) {
-                        IBlockState state = world.getBlockState(pos);
-                        if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null && state.getMaterial() != Material.LEAVES) {
-                            int oldCollidingBlockCount = mutableCollidingAABBs.size();
-                            state.addCollisionBoxToList(world, pos, mcBox, mutableCollidingAABBs, null, false);
-                            if (mutableCollidingAABBs.size() > oldCollidingBlockCount) {
-                                box.collidingBlockPositions.add(new Point3D(i, j, k));
+        collisionHelper.startCheck(box, null);
+        box.clearCollidingBlockPositions();
+        for (int i = (int) Math.floor(collisionHelper.minX); i < Math.ceil(collisionHelper.maxX); ++i) {
+            for (int j = (int) Math.floor(collisionHelper.minY); j < Math.ceil(collisionHelper.maxY); ++j) {
+                for (int k = (int) Math.floor(collisionHelper.minZ); k < Math.ceil(collisionHelper.maxZ); ++k) {
+                    mutableCollisionPos.setPos(i, j, k);
+                    if (world.isBlockLoaded(mutableCollisionPos)) {
+                        IBlockState state = world.getBlockState(mutableCollisionPos);
+                        if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, mutableCollisionPos) != null && state.getMaterial() != Material.LEAVES) {
+                            //Get all boxes of the block, and add the ones that collide.
+                            //Checking here rather than passing in a box to check lets us not create a box every check.
+                            mutableCollidingAABBs.clear();
+                            state.addCollisionBoxToList(world, mutableCollisionPos, TileEntity.INFINITE_EXTENT_AABB, mutableCollidingAABBs, null, false);
+                            boolean collisionBoxIntersected = false;
+                            for (AxisAlignedBB colBox : mutableCollidingAABBs) {
+                                if (collisionHelper.intersects(colBox.minX, colBox.minY, colBox.minZ, colBox.maxX, colBox.maxY, colBox.maxZ)) {
+                                    collisionHelper.addBox(colBox.minX, colBox.minY, colBox.minZ, colBox.maxX, colBox.maxY, colBox.maxZ);
+                                    collisionBoxIntersected = true;
+                                }
+                            }
+                            if (collisionBoxIntersected) {
+                                box.addCollidingBlockPosition(i, j, k);
                             }
                         }
                         if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                            mutableCollidingAABBs.add(state.getBoundingBox(world, pos).offset(pos));
-                            box.collidingBlockPositions.add(new Point3D(i, j, k));
+                            AxisAlignedBB liquidBox = state.getBoundingBox(world, mutableCollisionPos);
+                            collisionHelper.addBox(liquidBox.minX + i, liquidBox.minY + j, liquidBox.minZ + k, liquidBox.maxX + i, liquidBox.maxY + j, liquidBox.maxZ + k);
+                            box.addCollidingBlockPosition(i, j, k);
                         }
                     }
                 }
             }
         }
-
-        //If we are in the depth bounds for this collision, set it as the collision depth.
-        box.currentCollisionDepth.set(0D, 0D, 0D);
-        double boxCollisionDepth;
-        for (AxisAlignedBB colBox : mutableCollidingAABBs) {
-            if (collisionMotion.x > 0) {
-                boxCollisionDepth = mcBox.maxX - colBox.minX;
-                if (box.currentCollisionDepth.x < boxCollisionDepth) {
-                    box.currentCollisionDepth.x = boxCollisionDepth;
-                }
-            } else if (collisionMotion.x < 0) {
-                boxCollisionDepth = -(colBox.maxX - mcBox.minX);
-                if (box.currentCollisionDepth.x > boxCollisionDepth) {
-                    box.currentCollisionDepth.x = boxCollisionDepth;
-                }
-            }
-            if (collisionMotion.y > 0) {
-                boxCollisionDepth = mcBox.maxY - colBox.minY;
-                if (box.currentCollisionDepth.y < boxCollisionDepth) {
-                    box.currentCollisionDepth.y = boxCollisionDepth;
-                }
-            } else if (collisionMotion.y < 0) {
-                boxCollisionDepth = -(colBox.maxY - mcBox.minY);
-                if (box.currentCollisionDepth.y > boxCollisionDepth) {
-                    box.currentCollisionDepth.y = boxCollisionDepth;
-                }
-            }
-            if (collisionMotion.z > 0) {
-                boxCollisionDepth = mcBox.maxZ - colBox.minZ;
-                if (box.currentCollisionDepth.z < boxCollisionDepth) {
-                    box.currentCollisionDepth.z = boxCollisionDepth;
-                }
-            } else if (collisionMotion.z < 0) {
-                boxCollisionDepth = -(colBox.maxZ - mcBox.minZ);
-                if (box.currentCollisionDepth.z > boxCollisionDepth) {
-                    box.currentCollisionDepth.z = boxCollisionDepth;
-                }
-            }
-        }
-
-        if (ignoreIfGreater) {
-            if (collisionMotion.x > 0 && box.currentCollisionDepth.x > collisionMotion.x) {
-                box.currentCollisionDepth.x = collisionMotion.x;
-            } else if (collisionMotion.x < 0 && box.currentCollisionDepth.x < collisionMotion.x) {
-                box.currentCollisionDepth.x = collisionMotion.x;
-            }
-            if (collisionMotion.y > 0 && box.currentCollisionDepth.y > collisionMotion.y) {
-                box.currentCollisionDepth.y = collisionMotion.y;
-            } else if (collisionMotion.y < 0 && box.currentCollisionDepth.y < collisionMotion.y) {
-                box.currentCollisionDepth.y = collisionMotion.y;
-            }
-            if (collisionMotion.z > 0 && box.currentCollisionDepth.z > collisionMotion.z) {
-                box.currentCollisionDepth.z = collisionMotion.z;
-            } else if (collisionMotion.z < 0 && box.currentCollisionDepth.z < collisionMotion.z) {
-                box.currentCollisionDepth.z = collisionMotion.z;
-            }
-        }
-
-        if (box.currentCollisionDepth.isZero()) {
-            box.collidingBlockPositions.clear();
-        }
+        collisionHelper.applyCollisionDepths(box, collisionMotion, ignoreIfGreater);
     }
 
     @Override
     public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean clearCache, boolean breakLeaves) {
         if (clearCache) {
-            knownAirBlocks.clear();
+            collisionHelper.clearKnownAir();
         }
-        mutableCollidingAABBs.clear();
-        AxisAlignedBB mcBox = WrapperWorld.convertWithOffset(box, offset.x, offset.y, offset.z);
-        for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
-            for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
-                for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!knownAirBlocks.contains(pos)) {
-                        if (world.isBlockLoaded(pos)) {
-                            IBlockState state = world.getBlockState(pos);
+        collisionHelper.startCheck(box, offset);
+        for (int i = (int) Math.floor(collisionHelper.minX); i < Math.ceil(collisionHelper.maxX); ++i) {
+            for (int j = (int) Math.floor(collisionHelper.minY); j < Math.ceil(collisionHelper.maxY); ++j) {
+                for (int k = (int) Math.floor(collisionHelper.minZ); k < Math.ceil(collisionHelper.maxZ); ++k) {
+                    if (!collisionHelper.isKnownAir(i, j, k)) {
+                        mutableCollisionPos.setPos(i, j, k);
+                        if (world.isBlockLoaded(mutableCollisionPos)) {
+                            IBlockState state = world.getBlockState(mutableCollisionPos);
                             if (state.getMaterial() != Material.LEAVES) {
-                                if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null) {
-                                    int oldCollidingBlockCount = mutableCollidingAABBs.size();
-                                    state.addCollisionBoxToList(world, pos, mcBox, mutableCollidingAABBs, null, false);
-                                    if (mutableCollidingAABBs.size() > oldCollidingBlockCount) {
-                                        return true;
+                                if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, mutableCollisionPos) != null) {
+                                    mutableCollidingAABBs.clear();
+                                    state.addCollisionBoxToList(world, mutableCollisionPos, TileEntity.INFINITE_EXTENT_AABB, mutableCollidingAABBs, null, false);
+                                    for (AxisAlignedBB colBox : mutableCollidingAABBs) {
+                                        if (collisionHelper.intersects(colBox.minX, colBox.minY, colBox.minZ, colBox.maxX, colBox.maxY, colBox.maxZ)) {
+                                            return true;
+                                        }
                                     }
                                 } else {
-                                    knownAirBlocks.add(pos);
+                                    collisionHelper.setKnownAir(i, j, k);
                                 }
                                 if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                                    if (mcBox.intersects(state.getBoundingBox(world, pos).offset(pos))) {
+                                    AxisAlignedBB liquidBox = state.getBoundingBox(world, mutableCollisionPos);
+                                    if (collisionHelper.intersects(liquidBox.minX + i, liquidBox.minY + j, liquidBox.minZ + k, liquidBox.maxX + i, liquidBox.maxY + j, liquidBox.maxZ + k)) {
                                         return true;
                                     }
                                 }
                             } else if (breakLeaves) {
-                                world.destroyBlock(pos, false);
+                                world.destroyBlock(mutableCollisionPos.toImmutable(), false);
                             } else {
-                                knownAirBlocks.add(pos);
+                                collisionHelper.setKnownAir(i, j, k);
                             }
                         }
                     }
@@ -668,12 +618,12 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public float getRainStrength(Point3D position) {
+    protected float getRainStrengthInternal(Point3D position) {
         return world.isRainingAt(new BlockPos(position.x, position.y + 1, position.z)) ? world.getRainStrength(1.0F) + world.getThunderStrength(1.0F) : 0.0F;
     }
 
     @Override
-    public float getTemperature(Point3D position) {
+    protected float getTemperatureInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         return world.getBiome(pos).getTemperature(pos);
     }
@@ -733,7 +683,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public float getLightBrightness(Point3D position, boolean calculateBlock) {
+    protected float getLightBrightnessInternal(Point3D position, boolean calculateBlock) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         float sunLight = world.getSunBrightnessFactor(0) * (world.getLightFor(EnumSkyBlock.SKY, pos) - world.getSkylightSubtracted()) / 15F;
         float blockLight = calculateBlock ? world.getLightFromNeighborsFor(EnumSkyBlock.BLOCK, pos) / 15F : 0.0F;
@@ -754,7 +704,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public boolean isAir(Point3D position) {
+    protected boolean isAirInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         IBlockState state = world.getBlockState(pos);
         Block block = state.getBlock();
@@ -1076,6 +1026,17 @@ public class WrapperWorld extends AWrapperWorld {
         }
     }
 
+    /**
+     * Clear cached properties of any block that changes, so we don't use stale properties for the rest of the tick.
+     */
+    @SubscribeEvent
+    public void onIVBlockChange(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getWorld() == world) {
+            BlockPos pos = event.getPos();
+            invalidateBlockCache(pos.getX(), pos.getY(), pos.getZ());
+        }
+    }
+
     /**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
      * Also remove this wrapper from the created lists, as it's invalid.
@@ -15,7 +15,9 @@ import minecrafttransportsimulator.baseclasses.EntityManager;
 import minecrafttransportsimulator.guis.instances.GUIConfig;
 import minecrafttransportsimulator.jsondefs.JSONConfigClient.ConfigJoystick;
 import minecrafttransportsimulator.mcinterface.IInterfaceInput;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packets.instances.PacketPlayerTelemetryRequest;
 import minecrafttransportsimulator.packloading.JSONParser;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.ControlSystem.ControlsJoystick;
@@ -37,6 +39,7 @@ public class InterfaceInput implements IInterfaceInput {
     //Common variables.
     private static KeyBinding configKey;
     private static KeyBinding importKey;
+    private static KeyBinding telemetryKey;
     private static int lastScrollValue;
 
     //Joystick variables.
@@ -68,6 +71,8 @@ public class InterfaceInput implements IInterfaceInput {
         ClientRegistry.registerKeyBinding(configKey);
         importKey = new KeyBinding(LanguageSystem.GUI_IMPORT.getCurrentValue(), GLFW.GLFW_KEY_UNKNOWN, InterfaceLoader.MODNAME);
         ClientRegistry.registerKeyBinding(importKey);
+        telemetryKey = new KeyBinding(LanguageSystem.GUI_TELEMETRY.getCurrentValue(), GLFW.GLFW_KEY_UNKNOWN, InterfaceLoader.MODNAME);
+        ClientRegistry.registerKeyBinding(telemetryKey);
     }
 
     @Override
@@ -353,6 +358,10 @@ public class InterfaceInput implements IInterfaceInput {
             new GUIConfig();
         } else if (ConfigSystem.settings.general.devMode.value && importKey.isDown()) {
         	EntityManager.doImports(() -> InterfaceManager.clientInterface.getClientPlayer().displayChatMessage(LanguageSystem.SYSTEM_DEBUG, JSONParser.importAllJSONs(true)));
+        } else if (telemetryKey.isDown()) {
+            IWrapperPlayer player = InterfaceManager.clientInterface.getClientPlayer();
+            InterfaceManager.clientInterface.getClientWorld().getTelemetry().sendReport(player, "client", true);
+            InterfaceManager.packetInterface.sendToServer(new PacketPlayerTelemetryRequest(player));
         }
     }
 
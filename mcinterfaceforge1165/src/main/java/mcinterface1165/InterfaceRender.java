@@ -55,6 +55,7 @@ import net.minecraft.client.renderer.vertex.VertexBuffer;
 import net.minecraft.client.renderer.vertex.VertexFormat;
 import net.minecraft.inventory.container.PlayerContainer;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.vector.Matrix4f;
@@ -85,6 +86,7 @@ public class InterfaceRender implements IInterfaceRender {
     private static MatrixStack matrixStack;
     private static IRenderTypeBuffer renderBuffer;
     public static Point3D renderCameraOffset = new Point3D();
+    private static ClippingHelper renderCamera;
     private static boolean renderingGUI;
     private static float[] matrixConvertArray = new float[16];
 
@@ -252,6 +254,11 @@ public class InterfaceRender implements IInterfaceRender {
         return Minecraft.getInstance().getEntityRenderDispatcher().shouldRenderHitBoxes();
     }
 
+    @Override
+    public boolean isInView(Point3D center, double radius) {
+        return renderCamera == null || renderCamera.isVisible(new AxisAlignedBB(center.x - radius, center.y - radius, center.z - radius, center.x + radius, center.y + radius, center.z + radius));
+    }
+
     @Override
     public boolean bindURLTexture(String textureURL, InputStream stream) {
         if (stream != null) {
@@ -445,6 +452,8 @@ public class InterfaceRender implements IInterfaceRender {
             @Override
             public boolean shouldRender(BuilderEntityRenderForwarder builder, ClippingHelper camera, double camX, double camY, double camZ) {
                 //Always render the forwarder, no matter where the camera is.
+                //Save the camera though, since we use it to cull the entities the forwarder renders.
+                renderCamera = camera;
                 return true;
             }
 
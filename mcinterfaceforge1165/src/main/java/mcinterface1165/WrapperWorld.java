@@ -5,10 +5,8 @@ import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 
 import mcinterface1165.mixin.common.ConcretePowderBlockMixin;
@@ -78,7 +76,6 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.util.math.RayTraceContext;
 import net.minecraft.util.math.RayTraceResult;
-import net.minecraft.util.math.shapes.IBooleanFunction;
 import net.minecraft.util.math.shapes.VoxelShape;
 import net.minecraft.util.math.shapes.VoxelShapes;
 import net.minecraft.util.math.vector.Vector3d;
@@ -91,6 +88,7 @@ import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.items.CapabilityItemHandler;
@@ -111,8 +109,14 @@ public class WrapperWorld extends AWrapperWorld {
     private final Map<UUID, BuilderEntityExisting> playerServerGunBuilders = new HashMap<>();
     private final Map<UUID, Integer> ticksSincePlayerJoin = new HashMap<>();
     private static Map<UUID, BuilderEntityRenderForwarder> playerFollowers = new HashMap<>();
-    private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<>();
-    private final Set<BlockPos> knownAirBlocks = new HashSet<>();
+    private final BlockPos.Mutable mutableCollisionPos = new BlockPos.Mutable();
+    private boolean collisionBoxIntersected;
+    /**Adds the boxes of a block's collision shape to the collision helper, offset to the current collision position.**/
+    private final VoxelShapes.ILineConsumer collisionBoxAdder = (minX, minY, minZ, maxX, maxY, maxZ) -> {
+        if (collisionHelper.addBox(minX + mutableCollisionPos.getX(), minY + mutableCollisionPos.getY(), minZ + mutableCollisionPos.getZ(), maxX + mutableCollisionPos.getX(), maxY + mutableCollisionPos.getY(), maxZ + mutableCollisionPos.getZ())) {
+            collisionBoxIntersected = true;
+        }
+    };
 
 
     protected final World world;
@@ -418,12 +422,12 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public String getBlockName(Point3D position) {
+    protected String getBlockNameInternal(Point3D position) {
         return world.getBlockState(new BlockPos(position.x, position.y, position.z)).getBlock().getRegistryName().toString();
     }
 
     @Override
-    public float getBlockHardness(Point3D position) {
+    protected float getBlockHardnessInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         float hardness = world.getBlockState(pos).getDestroySpeed(world, pos);
         if (hardness < 0) {
@@ -433,14 +437,14 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public float getBlockSlipperiness(Point3D position) {
+    protected float getBlockSlipperinessInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         return world.getBlockState(pos).getSlipperiness(world, pos, null);
     }
 
     private static HashMap<Material, BlockMaterial> materialMap = new HashMap<>();
     @Override
-    public BlockMaterial getBlockMaterial(Point3D position) {
+    protected BlockMaterial getBlockMaterialInternal(Point3D position) {
         if (materialMap.isEmpty()) {
             materialMap.put(Material.CLAY, BlockMaterial.CLAY);
             materialMap.put(Material.DIRT, BlockMaterial.DIRT);
@@ -523,7 +527,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public boolean isBlockLiquid(Point3D position) {
+    protected boolean isBlockLiquidInternal(Point3D position) {
         return world.getBlockState(new BlockPos(position.x, position.y, position.z)).getMaterial().isLiquid();
     }
 
@@ -540,7 +544,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public double getHeight(Point3D position) {
+    protected double getHeightInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         //Need to go down till we find a block.
         boolean bottomSlab = false;
@@ -561,123 +565,75 @@ public class WrapperWorld extends AWrapperWorld {
 
     @Override
     public void updateBoundingBoxCollisions(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
-        AxisAlignedBB mcBox = WrapperWorld.convert(box);
-        VoxelShape mcShape = VoxelShapes.create(mcBox);
-        box.collidingBlockPositions.clear();
-        mutableCollidingAABBs.clear();
-        for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
-            for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
-                for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!world.isEmptyBlock(pos)) {
-                        BlockState state = world.getBlockState(pos);
-                        VoxelShape collisionShape = state.getCollisionShape(world, pos).move(i, j, k);
-                        if (!collisionShape.isEmpty() && VoxelShapes.joinIsNotEmpty(mcShape, collisionShape, IBooleanFunction.AND) && state.getMaterial() != Material.LEAVES) {
-                            mutableCollidingAABBs.addAll(collisionShape.toAabbs());
-                            box.collidingBlockPositions.add(new Point3D(i, j, k));
+        collisionHelper.startCheck(box, null);
+        box.clearCollidingBlockPositions();
+        for (int i = (int) Math.floor(collisionHelper.minX); i < Math.ceil(collisionHelper.maxX); ++i) {
+            for (int j = (int) Math.floor(collisionHelper.minY); j < Math.ceil(collisionHelper.maxY); ++j) {
+                for (int k = (int) Math.floor(collisionHelper.minZ); k < Math.ceil(collisionHelper.maxZ); ++k) {
+                    mutableCollisionPos.set(i, j, k);
+                    if (!world.isEmptyBlock(mutableCollisionPos)) {
+                        BlockState state = world.getBlockState(mutableCollisionPos);
+                        if (state.getMaterial() != Material.LEAVES) {
+                            VoxelShape collisionShape = state.getCollisionShape(world, mutableCollisionPos);
+                            if (!collisionShape.isEmpty()) {
+                                //Add all boxes of the shape, but only keep them if one of them collides.
+                                int priorBoxCount = collisionHelper.getBoxCount();
+                                collisionBoxIntersected = false;
+                                collisionShape.forAllBoxes(collisionBoxAdder);
+                                if (collisionBoxIntersected) {
+                                    box.addCollidingBlockPosition(i, j, k);
+                                } else {
+                                    collisionHelper.resetBoxCount(priorBoxCount);
+                                }
+                            }
                         }
                         if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                            mutableCollidingAABBs.add(VoxelShapes.block().bounds().move(pos));
-                            box.collidingBlockPositions.add(new Point3D(i, j, k));
+                            collisionHelper.addBox(i, j, k, i + 1, j + 1, k + 1);
+                            box.addCollidingBlockPosition(i, j, k);
                         }
                     }
                 }
             }
         }
-
-        //If we are in the depth bounds for this collision, set it as the collision depth.
-        box.currentCollisionDepth.set(0D, 0D, 0D);
-        double boxCollisionDepth;
-        for (AxisAlignedBB colBox : mutableCollidingAABBs) {
-            if (collisionMotion.x > 0) {
-                boxCollisionDepth = mcBox.maxX - colBox.minX;
-                if (box.currentCollisionDepth.x < boxCollisionDepth) {
-                    box.currentCollisionDepth.x = boxCollisionDepth;
-                }
-            } else if (collisionMotion.x < 0) {
-                boxCollisionDepth = -(colBox.maxX - mcBox.minX);
-                if (box.currentCollisionDepth.x > boxCollisionDepth) {
-                    box.currentCollisionDepth.x = boxCollisionDepth;
-                }
-            }
-            if (collisionMotion.y > 0) {
-                boxCollisionDepth = mcBox.maxY - colBox.minY;
-                if (box.currentCollisionDepth.y < boxCollisionDepth) {
-                    box.currentCollisionDepth.y = boxCollisionDepth;
-                }
-            } else if (collisionMotion.y < 0) {
-                boxCollisionDepth = -(colBox.maxY - mcBox.minY);
-                if (box.currentCollisionDepth.y > boxCollisionDepth) {
-                    box.currentCollisionDepth.y = boxCollisionDepth;
-                }
-            }
-            if (collisionMotion.z > 0) {
-                boxCollisionDepth = mcBox.maxZ - colBox.minZ;
-                if (box.currentCollisionDepth.z < boxCollisionDepth) {
-                    box.currentCollisionDepth.z = boxCollisionDepth;
-                }
-            } else if (collisionMotion.z < 0) {
-                boxCollisionDepth = -(colBox.maxZ - mcBox.minZ);
-                if (box.currentCollisionDepth.z > boxCollisionDepth) {
-                    box.currentCollisionDepth.z = boxCollisionDepth;
-                }
-            }
-        }
-
-        if (ignoreIfGreater) {
-            if (collisionMotion.x > 0 && box.currentCollisionDepth.x > collisionMotion.x) {
-                box.currentCollisionDepth.x = collisionMotion.x;
-            } else if (collisionMotion.x < 0 && box.currentCollisionDepth.x < collisionMotion.x) {
-                box.currentCollisionDepth.x = collisionMotion.x;
-            }
-            if (collisionMotion.y > 0 && box.currentCollisionDepth.y > collisionMotion.y) {
-                box.currentCollisionDepth.y = collisionMotion.y;
-            } else if (collisionMotion.y < 0 && box.currentCollisionDepth.y < collisionMotion.y) {
-                box.currentCollisionDepth.y = collisionMotion.y;
-            }
-            if (collisionMotion.z > 0 && box.currentCollisionDepth.z > collisionMotion.z) {
-                box.currentCollisionDepth.z = collisionMotion.z;
-            } else if (collisionMotion.z < 0 && box.currentCollisionDepth.z < collisionMotion.z) {
-                box.currentCollisionDepth.z = collisionMotion.z;
-            }
-        }
-
-        if (box.currentCollisionDepth.isZero()) {
-            box.collidingBlockPositions.clear();
-        }
+        collisionHelper.applyCollisionDepths(box, collisionMotion, ignoreIfGreater);
     }
 
     @Override
     public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean clearCache, boolean breakLeaves) {
         if (clearCache) {
-            knownAirBlocks.clear();
+            collisionHelper.clearKnownAir();
         }
-        mutableCollidingAABBs.clear();
-        AxisAlignedBB mcBox = WrapperWorld.convertWithOffset(box, offset.x, offset.y, offset.z);
-        VoxelShape mcShape = VoxelShapes.create(mcBox);
-        for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
-            for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
-                for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!knownAirBlocks.contains(pos)) {
-                        if (world.isLoaded(pos)) {
-                            BlockState state = world.getBlockState(pos);
-                            VoxelShape collisionShape = state.getCollisionShape(world, pos).move(i, j, k);
+        collisionHelper.startCheck(box, offset);
+        for (int i = (int) Math.floor(collisionHelper.minX); i < Math.ceil(collisionHelper.maxX); ++i) {
+            for (int j = (int) Math.floor(collisionHelper.minY); j < Math.ceil(collisionHelper.maxY); ++j) {
+                for (int k = (int) Math.floor(collisionHelper.minZ); k < Math.ceil(collisionHelper.maxZ); ++k) {
+                    if (!collisionHelper.isKnownAir(i, j, k)) {
+                        mutableCollisionPos.set(i, j, k);
+                        if (world.isLoaded(mutableCollisionPos)) {
+                            BlockState state = world.getBlockState(mutableCollisionPos);
                             if (state.getMaterial() != Material.LEAVES) {
-                                if (collisionShape != null && !collisionShape.isEmpty() && VoxelShapes.joinIsNotEmpty(mcShape, collisionShape, IBooleanFunction.AND)) {
+                                VoxelShape collisionShape = state.getCollisionShape(world, mutableCollisionPos);
+                                collisionBoxIntersected = false;
+                                if (!collisionShape.isEmpty()) {
+                                    //Boxes are only added to check for intersection, so remove them after.
+                                    int priorBoxCount = collisionHelper.getBoxCount();
+                                    collisionShape.forAllBoxes(collisionBoxAdder);
+                                    collisionHelper.resetBoxCount(priorBoxCount);
+                                }
+                                if (collisionBoxIntersected) {
                                     return true;
                                 } else {
-                                    knownAirBlocks.add(pos);
+                                    collisionHelper.setKnownAir(i, j, k);
                                 }
                                 if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                                    if (mcBox.intersects(VoxelShapes.block().bounds().move(pos))) {
+                                    if (collisionHelper.intersects(i, j, k, i + 1, j + 1, k + 1)) {
                                         return true;
                                     }
                                 }
                             } else if (breakLeaves) {
-                                world.destroyBlock(pos, false);
+                                world.destroyBlock(mutableCollisionPos.immutable(), false);
                             } else {
-                                knownAirBlocks.add(pos);
+                                collisionHelper.setKnownAir(i, j, k);
                             }
                         }
                     }
@@ -693,12 +649,12 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public float getRainStrength(Point3D position) {
+    protected float getRainStrengthInternal(Point3D position) {
         return world.isRainingAt(new BlockPos(position.x, position.y + 1, position.z)) ? world.getRainLevel(1.0F) + world.getThunderLevel(1.0F) : 0.0F;
     }
 
     @Override
-    public float getTemperature(Point3D position) {
+    protected float getTemperatureInternal(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         return world.getBiome(pos).getTemperature(pos);
     }
@@ -757,7 +713,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public float getLightBrightness(Point3D position, boolean calculateBlock) {
+    protected float getLightBrightnessInternal(Point3D position, boolean calculateBlock) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         //Sunlight never goes below 11 in this version, so we factor the darkening.
         float darkenFactor = 15 * world.getSkyDarken() / 11F;
@@ -780,7 +736,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public boolean isAir(Point3D position) {
+    protected boolean isAirInternal(Point3D position) {
         return world.isEmptyBlock(new BlockPos(position.x, position.y, position.z));
     }
 
@@ -1118,6 +1074,17 @@ public class WrapperWorld extends AWrapperWorld {
         }
     }
 
+    /**
+     * Clear cached properties of any block that changes, so we don't use stale properties for the rest of the tick.
+     */
+    @SubscribeEvent
+    public void onIVBlockChange(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getWorld() == world) {
+            BlockPos pos = event.getPos();
+            invalidateBlockCache(pos.getX(), pos.getY(), pos.getZ());
+        }
+    }
+
     /**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
      * Also remove this wrapper from the created lists, as it's invalid.